@@ -0,0 +1,77 @@
+package simulations;
+
+import io.gatling.javaapi.core.*;
+import io.gatling.javaapi.http.*;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+/**
+ * Compares GET /places, answered from the cached JSON bytes, with GET /places/private, which returns
+ * the same private places but serialises them on every request. Also covers the gzipped body and a
+ * conditional GET answered with 304.
+ */
+public class ListingResponseCacheSimulation extends Simulation {
+
+    private static final int PLACE_COUNT = 200;
+    private static final int READERS = 50;
+    private static final int READS_PER_USER = 40;
+
+    HttpProtocolBuilder httpProtocol = http.baseUrl("http://localhost:8080")
+            .acceptHeader("application/json")
+            .contentTypeHeader("application/json");
+
+    ScenarioBuilder seed = scenario("Seed private places")
+            .repeat(PLACE_COUNT, "i").on(
+                    exec(http("Create Place")
+                            .post("/places")
+                            .basicAuth("admin", "admin")
+                            .body(StringBody("""
+                    {
+                        "name":"Cached_#{i}",
+                        "category":"Park",
+                        "latitude":52.4064,
+                        "longitude":16.9252,
+                        "address":"Poznań",
+                        "note":"Response cache benchmark",
+                        "isPublic":false
+                    }
+                    """))
+                            .check(status().in(201, 409))
+                    )
+            );
+
+    ScenarioBuilder read = scenario("Cached bytes vs serialising")
+            .exec(http("Get all places (first)")
+                    .get("/places")
+                    .basicAuth("admin", "admin")
+                    .check(status().is(200))
+                    .check(header("ETag").saveAs("etag")))
+            .repeat(READS_PER_USER).on(
+                    exec(http("Get all places (cached bytes)")
+                            .get("/places")
+                            .basicAuth("admin", "admin")
+                            .check(status().is(200)))
+                    .exec(http("Get all places (cached gzip)")
+                            .get("/places")
+                            .basicAuth("admin", "admin")
+                            .header("Accept-Encoding", "gzip")
+                            .check(status().is(200)))
+                    .exec(http("Get all places (not modified)")
+                            .get("/places")
+                            .basicAuth("admin", "admin")
+                            .header("If-None-Match", "#{etag}")
+                            .check(status().is(304)))
+                    .exec(http("Get private places (serialised)")
+                            .get("/places/private")
+                            .basicAuth("admin", "admin")
+                            .check(status().is(200)))
+            );
+
+    {
+        setUp(
+                seed.injectOpen(atOnceUsers(1))
+                        .andThen(read.injectOpen(rampUsers(READERS).during(10)))
+        ).protocols(httpProtocol);
+    }
+}
@@ -0,0 +1,56 @@
+package simulations;
+
+import io.gatling.javaapi.core.*;
+import io.gatling.javaapi.http.*;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+public class PlaceListingSimulation extends Simulation {
+
+    private static final int PLACE_COUNT = 10_000;
+    private static final int READERS = 50;
+    private static final int READS_PER_USER = 20;
+
+    HttpProtocolBuilder httpProtocol = http.baseUrl("http://localhost:8080")
+            .acceptHeader("application/json")
+            .contentTypeHeader("application/json");
+
+    ScenarioBuilder seed = scenario("Seed 10k places")
+            .repeat(PLACE_COUNT, "i").on(
+                    exec(http("Create Place")
+                            .post("/places")
+                            .basicAuth("admin", "admin")
+                            .body(StringBody("""
+                    {
+                        "name":"Listing_#{i}",
+                        "category":"Park",
+                        "latitude":52.2297,
+                        "longitude":21.0122,
+                        "address":"Warszawa",
+                        "note":"Listing benchmark"
+                    }
+                    """))
+                            .check(status().in(201, 409))
+                    )
+            );
+
+    ScenarioBuilder read = scenario("Read 10k places")
+            .repeat(READS_PER_USER).on(
+                    exec(http("Get all places")
+                            .get("/places")
+                            .basicAuth("admin", "admin")
+                            .check(status().is(200)))
+                    .exec(http("Get private places")
+                            .get("/places/private")
+                            .basicAuth("admin", "admin")
+                            .check(status().is(200)))
+            );
+
+    {
+        setUp(
+                seed.injectOpen(atOnceUsers(1))
+                        .andThen(read.injectOpen(rampUsers(READERS).during(10)))
+        ).protocols(httpProtocol);
+    }
+}
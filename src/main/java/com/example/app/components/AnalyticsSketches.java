@@ -0,0 +1,178 @@
+package com.example.app.components;
+
+import com.example.app.dtos.CountEstimateDTO;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The set of sketches behind the admin analytics: HyperLogLogs for distinct active users overall
+ * and per city, and a Count-Min sketch plus a Space-Saving summary each for places added per
+ * country and per category. Space-Saving picks the top keys and Count-Min tightens their counts,
+ * since both only ever overestimate. Every part is mergeable, so per-node snapshots combine
+ * into platform-wide numbers. Not thread-safe.
+ */
+public final class AnalyticsSketches {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final int USER_PRECISION = 14;
+    private static final int CITY_PRECISION = 10;
+    private static final int MAX_CITIES = 2_000;
+    private static final int SKETCH_DEPTH = 5;
+    private static final int SKETCH_WIDTH = 2_048;
+    private static final int TOP_KEYS = 100;
+
+    private final HyperLogLog activeUsers;
+    private final Map<String, HyperLogLog> activeUsersByCity;
+    private final CountMinSketch countryCounts;
+    private final SpaceSaving topCountries;
+    private final CountMinSketch categoryCounts;
+    private final SpaceSaving topCategories;
+
+    public AnalyticsSketches() {
+        this(new HyperLogLog(USER_PRECISION), new HashMap<>(),
+                new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH), new SpaceSaving(TOP_KEYS),
+                new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH), new SpaceSaving(TOP_KEYS));
+    }
+
+    private AnalyticsSketches(HyperLogLog activeUsers, Map<String, HyperLogLog> activeUsersByCity,
+                              CountMinSketch countryCounts, SpaceSaving topCountries,
+                              CountMinSketch categoryCounts, SpaceSaving topCategories) {
+        this.activeUsers = activeUsers;
+        this.activeUsersByCity = activeUsersByCity;
+        this.countryCounts = countryCounts;
+        this.topCountries = topCountries;
+        this.categoryCounts = categoryCounts;
+        this.topCategories = topCategories;
+    }
+
+    public void recordActivity(long userId, String city) {
+        activeUsers.add(userId);
+        HyperLogLog perCity = cityCounter(city);
+        if (perCity != null) {
+            perCity.add(userId);
+        }
+    }
+
+    public void recordPlaceAdded(String country, String category) {
+        if (country != null && !country.isBlank()) {
+            countryCounts.add(country.trim(), 1);
+            topCountries.offer(country.trim(), 1);
+        }
+        if (category != null && !category.isBlank()) {
+            categoryCounts.add(category, 1);
+            topCategories.offer(category, 1);
+        }
+    }
+
+    public void merge(AnalyticsSketches other) {
+        activeUsers.merge(other.activeUsers);
+        other.activeUsersByCity.forEach((city, sketch) -> {
+            HyperLogLog perCity = cityCounter(city);
+            if (perCity != null) {
+                perCity.merge(sketch);
+            }
+        });
+        countryCounts.merge(other.countryCounts);
+        topCountries.merge(other.topCountries);
+        categoryCounts.merge(other.categoryCounts);
+        topCategories.merge(other.topCategories);
+    }
+
+    public long activeUsers() {
+        return activeUsers.estimate();
+    }
+
+    public List<CountEstimateDTO> activeUsersByCity(int limit) {
+        return activeUsersByCity.entrySet().stream()
+                .map(entry -> new CountEstimateDTO(entry.getKey(), entry.getValue().estimate()))
+                .sorted(Comparator.comparingLong(CountEstimateDTO::count).reversed().thenComparing(CountEstimateDTO::name))
+                .limit(limit)
+                .toList();
+    }
+
+    public long placesAdded() {
+        return categoryCounts.total();
+    }
+
+    public List<CountEstimateDTO> placesByCountry(int limit) {
+        return top(topCountries, countryCounts, limit);
+    }
+
+    public List<CountEstimateDTO> topCategories(int limit) {
+        return top(topCategories, categoryCounts, limit);
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(FORMAT_VERSION);
+            activeUsers.writeTo(out);
+            out.writeInt(activeUsersByCity.size());
+            for (Map.Entry<String, HyperLogLog> entry : activeUsersByCity.entrySet()) {
+                out.writeUTF(entry.getKey());
+                entry.getValue().writeTo(out);
+            }
+            countryCounts.writeTo(out);
+            topCountries.writeTo(out);
+            categoryCounts.writeTo(out);
+            topCategories.writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Returns empty for snapshots written in another format version; they are skipped rather
+     * than merged, so a rolling upgrade never fails the analytics endpoint.
+     */
+    public static Optional<AnalyticsSketches> fromBytes(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                return Optional.empty();
+            }
+            HyperLogLog activeUsers = HyperLogLog.readFrom(in);
+            int cities = in.readInt();
+            Map<String, HyperLogLog> byCity = new HashMap<>();
+            for (int i = 0; i < cities; i++) {
+                byCity.put(in.readUTF(), HyperLogLog.readFrom(in));
+            }
+            return Optional.of(new AnalyticsSketches(activeUsers, byCity,
+                    CountMinSketch.readFrom(in), SpaceSaving.readFrom(in),
+                    CountMinSketch.readFrom(in), SpaceSaving.readFrom(in)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt analytics snapshot", e);
+        }
+    }
+
+    private HyperLogLog cityCounter(String city) {
+        if (city == null || city.isBlank()) {
+            return null;
+        }
+        String key = city.trim();
+        HyperLogLog perCity = activeUsersByCity.get(key);
+        if (perCity == null && activeUsersByCity.size() < MAX_CITIES) {
+            perCity = new HyperLogLog(CITY_PRECISION);
+            activeUsersByCity.put(key, perCity);
+        }
+        return perCity;
+    }
+
+    private static List<CountEstimateDTO> top(SpaceSaving summary, CountMinSketch counts, int limit) {
+        return summary.top(limit).stream()
+                .map(counter -> new CountEstimateDTO(counter.key(),
+                        Math.min(Math.round(counter.count()), counts.estimate(counter.key()))))
+                .sorted(Comparator.comparingLong(CountEstimateDTO::count).reversed().thenComparing(CountEstimateDTO::name))
+                .toList();
+    }
+}
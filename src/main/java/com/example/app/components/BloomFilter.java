@@ -0,0 +1,87 @@
+package com.example.app.components;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, thread-safe Bloom filter over strings. Uses double hashing (Kirsch–Mitzenmacher)
+ * on a 64-bit string hash, so a lookup touches at most {@code hashFunctions} words and allocates nothing.
+ */
+public final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashFunctions;
+    private final long capacity;
+    private final double falsePositiveRate;
+    private final AtomicLong insertions = new AtomicLong();
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be in (0, 1)");
+        }
+        long n = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (LN2 * LN2));
+        this.words = new AtomicLongArray(Math.toIntExact(Math.max(1, (bits + 63) >>> 6)));
+        this.bitCount = (long) words.length() << 6;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / n * LN2));
+        this.capacity = n;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public void put(String value) {
+        long h1 = SketchHashing.hash(value);
+        long h2 = SketchHashing.mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            setBit(bit);
+        }
+        insertions.incrementAndGet();
+    }
+
+    public boolean mightContain(String value) {
+        long h1 = SketchHashing.hash(value);
+        long h2 = SketchHashing.mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isSaturated() {
+        return insertions.get() > capacity;
+    }
+
+    public long capacity() {
+        return capacity;
+    }
+
+    public double falsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public long insertions() {
+        return insertions.get();
+    }
+
+    public long estimatedBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    private void setBit(long bit) {
+        int index = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        long current;
+        do {
+            current = words.get(index);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!words.compareAndSet(index, current, current | mask));
+    }
+}
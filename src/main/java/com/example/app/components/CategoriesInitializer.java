@@ -15,6 +15,7 @@ import java.util.List;
 public class CategoriesInitializer implements CommandLineRunner {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryDictionary categoryDictionary;
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     private static final List<String> DEFAULT_CATEGORIES = List.of(
@@ -32,15 +33,23 @@ public class CategoriesInitializer implements CommandLineRunner {
 
     @Override
     public void run(String... args) {
-        DEFAULT_CATEGORIES.forEach(this::createCategoryIfNotExists);
+        boolean created = false;
+        for (String name : DEFAULT_CATEGORIES) {
+            created |= createCategoryIfNotExists(name);
+        }
+        if (created) {
+            categoryDictionary.categoriesChanged();
+        }
         logger.info("Dodano wstępne kategorie");
     }
 
-    private void createCategoryIfNotExists(String name) {
-        if (!categoryRepository.existsByName(name)) {
-            Category category = new Category();
-            category.setName(name);
-            categoryRepository.save(category);
+    private boolean createCategoryIfNotExists(String name) {
+        if (categoryRepository.existsByName(name)) {
+            return false;
         }
+        Category category = new Category();
+        category.setName(name);
+        categoryRepository.save(category);
+        return true;
     }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.example.app.components;
+
+/**
+ * Signal between application nodes that the category table changed, so each node can drop its
+ * {@link CategoryDictionary} snapshot. It carries no data; receivers reload from the database.
+ */
+public interface CategoryChangeNotifier {
+
+    /**
+     * Tells the other nodes about a change. Called inside the writing transaction where there is
+     * one, and only delivered if that transaction commits.
+     */
+    void notifyChanged();
+
+    /**
+     * Registers a callback run when another node reports a change, or when changes may have been
+     * missed (for example after the signal connection was lost).
+     */
+    void subscribe(Runnable listener);
+}
@@ -0,0 +1,102 @@
+package com.example.app.components;
+
+import com.example.app.entities.Category;
+import com.example.app.repositories.CategoryRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Immutable snapshot of the category table (name -> category, plus the list ordered by id) behind
+ * category lookups on place writes and {@code GET /categories}. The snapshot is swapped atomically:
+ * a change replaces it with an empty one of the next generation after commit, and the next read
+ * loads the table again. A load only installs its result over the exact snapshot it started from,
+ * so one that raced a change never overwrites the newer generation. Other nodes are told through
+ * the {@link CategoryChangeNotifier} when one is configured; a change reported by another node also
+ * moves this node's categories tag in {@link ResourceVersions}.
+ *
+ * <p>The categories handed out are detached copies shared between threads and must not be modified.
+ */
+@Component
+public class CategoryDictionary {
+
+    private record Snapshot(long generation, Map<String, Category> byName, List<Category> all) {
+        boolean isLoaded() {
+            return all != null;
+        }
+    }
+
+    private final CategoryRepository categoryRepository;
+    private final CategoryChangeNotifier notifier;
+    private final ResourceVersions resourceVersions;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(0, null, null));
+
+    public CategoryDictionary(CategoryRepository categoryRepository, Optional<CategoryChangeNotifier> notifier,
+                              ResourceVersions resourceVersions) {
+        this.categoryRepository = categoryRepository;
+        this.notifier = notifier.orElse(null);
+        this.resourceVersions = resourceVersions;
+        notifier.ifPresent(n -> n.subscribe(this::changedElsewhere));
+    }
+
+    public Optional<Category> findByName(String name) {
+        return name == null ? Optional.empty() : Optional.ofNullable(loaded().byName().get(name));
+    }
+
+    public List<Category> findAll() {
+        return loaded().all();
+    }
+
+    /**
+     * Called by writers of the category table: drops this node's snapshot once the current
+     * transaction commits and notifies the other nodes.
+     */
+    public void categoriesChanged() {
+        if (notifier != null) {
+            notifier.notifyChanged();
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate();
+            }
+        });
+    }
+
+    public void invalidate() {
+        snapshot.updateAndGet(current -> new Snapshot(current.generation() + 1, null, null));
+    }
+
+    private void changedElsewhere() {
+        // drop the snapshot before the tag moves, so a request that sees the new tag loads the new table
+        invalidate();
+        resourceVersions.categoriesChangedElsewhere();
+    }
+
+    private Snapshot loaded() {
+        Snapshot current = snapshot.get();
+        if (current.isLoaded()) {
+            return current;
+        }
+        Map<String, Category> byName = new HashMap<>();
+        List<Category> all = categoryRepository.findAll().stream()
+                .map(category -> new Category(category.getId(), category.getName()))
+                .sorted(Comparator.comparingLong(Category::getId))
+                .toList();
+        all.forEach(category -> byName.put(category.getName(), category));
+        Snapshot fresh = new Snapshot(current.generation(), Map.copyOf(byName), all);
+        snapshot.compareAndSet(current, fresh);
+        return fresh;
+    }
+}
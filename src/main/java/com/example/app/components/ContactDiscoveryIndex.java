@@ -0,0 +1,227 @@
+package com.example.app.components;
+
+import com.example.app.dtos.ContactDiscoverySaltDTO;
+import com.example.app.dtos.ContactMatchDTO;
+import com.example.app.dtos.UserEmailDTO;
+import com.example.app.dtos.UserSummaryDTO;
+import com.example.app.repositories.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory index of salted email hashes -> user, with a Bloom filter in front so that the
+ * (usual) non-matching contacts are rejected without touching the map. Clients hash
+ * {@code salt + ":" + lowercase(trim(email))} with SHA-256, so plaintext emails never reach the server.
+ * The salt is an HMAC of the current rotation period under {@code app.discovery.secret}, so a
+ * precomputed email dictionary only works until the next rotation; the index is then rebuilt in
+ * the background and the previous salt keeps being served until the new one is ready.
+ * Writers are serialised; lookups are lock-free.
+ */
+@Component
+public class ContactDiscoveryIndex {
+
+    public static final String ALGORITHM = "SHA-256(salt + \":\" + lowercase(trim(email))), hex";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_CAPACITY = 1024;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final UserRepository userRepository;
+    private final Clock clock;
+    private final SecretKeySpec secret;
+    private final long rotationMillis;
+    private final AtomicBoolean rotationQueued = new AtomicBoolean();
+    private final ExecutorService rotationExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "contact-discovery-rotation");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Generation current;
+
+    public ContactDiscoveryIndex(UserRepository userRepository, Clock clock,
+                                 @Value("${app.discovery.secret}") String secret,
+                                 @Value("${app.discovery.salt-rotation-hours:24}") long rotationHours) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("app.discovery.secret must be set");
+        }
+        this.userRepository = userRepository;
+        this.clock = clock;
+        this.secret = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        this.rotationMillis = Duration.ofHours(rotationHours).toMillis();
+        this.current = generation(currentPeriod());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<UserEmailDTO> users = userRepository.findAccountEntries();
+        Generation rebuilt = generation(currentPeriod());
+        for (UserEmailDTO user : users) {
+            rebuilt.index(user.id(), user.username(), user.email());
+        }
+        rebuilt.rebuildFilter();
+        current = rebuilt;
+        logger.info("Contact discovery index built for {} users", rebuilt.usersByHash.size());
+    }
+
+    public synchronized void put(Long userId, String username, String email) {
+        Generation generation = current;
+        generation.remove(userId);
+        String hash = generation.index(userId, username, email);
+        if (hash == null) {
+            return;
+        }
+        generation.filter.put(hash);
+        if (generation.filter.isSaturated()) {
+            generation.rebuildFilter();
+        }
+    }
+
+    public synchronized void remove(Long userId) {
+        current.remove(userId);
+    }
+
+    public List<ContactMatchDTO> match(Collection<String> emailHashes) {
+        Generation generation = currentGeneration();
+        BloomFilter filter = generation.filter;
+        List<ContactMatchDTO> matches = new ArrayList<>();
+        for (String hash : new LinkedHashSet<>(emailHashes)) {
+            String normalized = hash.toLowerCase(Locale.ROOT);
+            if (!filter.mightContain(normalized)) {
+                continue;
+            }
+            UserSummaryDTO user = generation.usersByHash.get(normalized);
+            if (user != null) {
+                matches.add(new ContactMatchDTO(hash, user.username()));
+            }
+        }
+        return matches;
+    }
+
+    public ContactDiscoverySaltDTO salt() {
+        Generation generation = currentGeneration();
+        return new ContactDiscoverySaltDTO(generation.salt, ALGORITHM, generation.expiresAt);
+    }
+
+    public String hashEmail(String email) {
+        return hash(current.salt, email);
+    }
+
+    public int size() {
+        return current.usersByHash.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rotationExecutor.shutdownNow();
+    }
+
+    private Generation currentGeneration() {
+        Generation generation = current;
+        if (generation.period != currentPeriod() && rotationQueued.compareAndSet(false, true)) {
+            rotationExecutor.execute(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    logger.warn("Could not rotate the contact discovery salt", e);
+                } finally {
+                    rotationQueued.set(false);
+                }
+            });
+        }
+        return generation;
+    }
+
+    private long currentPeriod() {
+        return clock.millis() / rotationMillis;
+    }
+
+    private Generation generation(long period) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(secret);
+            String salt = HexFormat.of().formatHex(mac.doFinal(Long.toString(period).getBytes(StandardCharsets.UTF_8)));
+            return new Generation(period, salt, Instant.ofEpochMilli((period + 1) * rotationMillis));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+
+    private static String hash(String salt, String email) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String input = salt + ":" + email.trim().toLowerCase(Locale.ROOT);
+            return HexFormat.of().formatHex(digest.digest(input.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Everything hashed with one salt; replaced as a whole when the salt rotates.
+     */
+    private static final class Generation {
+
+        private final long period;
+        private final String salt;
+        private final Instant expiresAt;
+        private final Map<String, UserSummaryDTO> usersByHash = new ConcurrentHashMap<>();
+        private final Map<Long, String> hashesByUserId = new ConcurrentHashMap<>();
+        private volatile BloomFilter filter = new BloomFilter(MIN_CAPACITY, FALSE_POSITIVE_RATE);
+
+        private Generation(long period, String salt, Instant expiresAt) {
+            this.period = period;
+            this.salt = salt;
+            this.expiresAt = expiresAt;
+        }
+
+        private String index(Long userId, String username, String email) {
+            if (email == null || email.isBlank()) {
+                return null;
+            }
+            String hash = hash(salt, email);
+            usersByHash.put(hash, new UserSummaryDTO(userId, username));
+            hashesByUserId.put(userId, hash);
+            return hash;
+        }
+
+        private void remove(Long userId) {
+            String hash = hashesByUserId.remove(userId);
+            if (hash != null) {
+                usersByHash.remove(hash);
+            }
+        }
+
+        private void rebuildFilter() {
+            BloomFilter rebuilt = new BloomFilter(Math.max(MIN_CAPACITY, usersByHash.size() * 2L), FALSE_POSITIVE_RATE);
+            usersByHash.keySet().forEach(rebuilt::put);
+            filter = rebuilt;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.app.components;
+
+import com.example.app.exception.DiscoveryQuotaExceededException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user daily budget of email hashes checked through contact discovery, so that one account
+ * cannot walk an email dictionary through /user/discover. Counters reset at midnight UTC.
+ */
+@Component
+public class ContactDiscoveryQuota {
+
+    private final Clock clock;
+    private final int dailyHashes;
+    private final Map<String, Integer> usedByUsername = new ConcurrentHashMap<>();
+    private volatile LocalDate day;
+
+    public ContactDiscoveryQuota(Clock clock,
+                                 @Value("${app.discovery.daily-hash-quota:5000}") int dailyHashes) {
+        this.clock = clock;
+        this.dailyHashes = dailyHashes;
+    }
+
+    public void consume(String username, int hashes) {
+        LocalDate today = LocalDate.now(clock);
+        if (!today.equals(day)) {
+            synchronized (this) {
+                if (!today.equals(day)) {
+                    usedByUsername.clear();
+                    day = today;
+                }
+            }
+        }
+        usedByUsername.compute(username, (key, used) -> {
+            int sofar = used == null ? 0 : used;
+            if (sofar + hashes > dailyHashes) {
+                throw new DiscoveryQuotaExceededException(String.format(
+                        "Daily contact discovery limit of %d email hashes reached, %d left today",
+                        dailyHashes, dailyHashes - sofar));
+            }
+            return sofar + hashes;
+        });
+    }
+}
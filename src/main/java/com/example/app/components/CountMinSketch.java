@@ -0,0 +1,88 @@
+package com.example.app.components;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Count-Min sketch: {@code depth} rows of {@code width} counters. A point estimate never
+ * undercounts and overcounts by at most e/width of the total with probability 1 - e^-depth.
+ * Sketches with the same dimensions merge by adding counters. Not thread-safe.
+ */
+public final class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final long[][] counters;
+    private long total;
+
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || width < 1) {
+            throw new IllegalArgumentException("Depth and width must be positive");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counters = new long[depth][width];
+    }
+
+    public void add(String key, long count) {
+        long h1 = SketchHashing.hash(key);
+        long h2 = SketchHashing.mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int row = 0; row < depth; row++) {
+            counters[row][column(h1, h2, row)] += count;
+        }
+        total += count;
+    }
+
+    public long estimate(String key) {
+        long h1 = SketchHashing.hash(key);
+        long h2 = SketchHashing.mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[row][column(h1, h2, row)]);
+        }
+        return estimate;
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public void merge(CountMinSketch other) {
+        if (other.depth != depth || other.width != width) {
+            throw new IllegalArgumentException("Cannot merge Count-Min sketches of different dimensions");
+        }
+        for (int row = 0; row < depth; row++) {
+            for (int column = 0; column < width; column++) {
+                counters[row][column] += other.counters[row][column];
+            }
+        }
+        total += other.total;
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(depth);
+        out.writeInt(width);
+        out.writeLong(total);
+        for (long[] row : counters) {
+            for (long counter : row) {
+                out.writeLong(counter);
+            }
+        }
+    }
+
+    public static CountMinSketch readFrom(DataInput in) throws IOException {
+        CountMinSketch sketch = new CountMinSketch(in.readInt(), in.readInt());
+        sketch.total = in.readLong();
+        for (long[] row : sketch.counters) {
+            for (int column = 0; column < row.length; column++) {
+                row[column] = in.readLong();
+            }
+        }
+        return sketch;
+    }
+
+    private int column(long h1, long h2, int row) {
+        return (int) Long.remainderUnsigned(h1 + row * h2, width);
+    }
+}
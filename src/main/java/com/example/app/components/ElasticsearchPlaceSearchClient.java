@@ -0,0 +1,256 @@
+package com.example.app.components;
+
+import com.example.app.dtos.PlaceDTO;
+import com.example.app.dtos.PlaceSearchQuery;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Talks to Elasticsearch over its REST API (bulk, search, index creation) using a RestTemplate,
+ * the same way GoogleMapsService talks to the Maps API. The configured name is an alias over a
+ * versioned index ({@code places-v1}); bulk requests pass {@code require_alias}, so a write that
+ * arrives before the index exists fails and is retried instead of auto-creating an index with
+ * dynamic mappings.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.search.elasticsearch", name = "enabled", havingValue = "true")
+public class ElasticsearchPlaceSearchClient implements PlaceSearchClient {
+
+    private static final String INDEX_VERSION = "-v1";
+    private static final MediaType NDJSON = new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final String indexUrl;
+    private final String index;
+    private final String baseUrl;
+
+    @Autowired
+    public ElasticsearchPlaceSearchClient(RestTemplateBuilder restTemplateBuilder,
+                                          SslBundles sslBundles,
+                                          ObjectMapper objectMapper,
+                                          @Value("${app.search.elasticsearch.url}") String baseUrl,
+                                          @Value("${app.search.elasticsearch.index:places}") String index,
+                                          @Value("${app.search.elasticsearch.username:}") String username,
+                                          @Value("${app.search.elasticsearch.password:}") String password,
+                                          @Value("${app.search.elasticsearch.ssl-bundle:}") String sslBundle) {
+        this(buildRestTemplate(restTemplateBuilder, sslBundles, username, password, sslBundle), objectMapper, baseUrl, index);
+    }
+
+    public ElasticsearchPlaceSearchClient(RestTemplate restTemplate, ObjectMapper objectMapper, String baseUrl, String index) {
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.index = index;
+        this.indexUrl = this.baseUrl + "/" + index;
+    }
+
+    @Override
+    public boolean ensureIndex() {
+        try {
+            restTemplate.headForHeaders(indexUrl);
+            return false;
+        } catch (HttpClientErrorException.NotFound notFound) {
+            restTemplate.put(indexUrl + INDEX_VERSION, jsonEntity(indexDefinition()));
+            logger.info("Created Elasticsearch index '{}' behind alias '{}'", index + INDEX_VERSION, index);
+            return true;
+        }
+    }
+
+    @Override
+    public BulkResult bulk(List<PlaceIndexOperation> operations) {
+        if (operations.isEmpty()) {
+            return BulkResult.success();
+        }
+        StringBuilder body = new StringBuilder();
+        for (PlaceIndexOperation operation : operations) {
+            ObjectNode action = objectMapper.createObjectNode();
+            action.putObject(operation.isDelete() ? "delete" : "index")
+                    .put("_index", index)
+                    .put("_id", String.valueOf(operation.placeId()));
+            body.append(write(action)).append('\n');
+            if (!operation.isDelete()) {
+                body.append(write(toDocument(operation))).append('\n');
+            }
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(NDJSON);
+        JsonNode response = restTemplate.postForObject(baseUrl + "/_bulk?require_alias=true", new HttpEntity<>(body.toString(), headers), JsonNode.class);
+        if (response == null || !response.path("errors").asBoolean(false)) {
+            return BulkResult.success();
+        }
+
+        List<PlaceIndexOperation> retryable = new ArrayList<>();
+        int rejected = 0;
+        JsonNode items = response.path("items");
+        for (int i = 0; i < items.size() && i < operations.size(); i++) {
+            JsonNode result = items.get(i).elements().next();
+            int status = result.path("status").asInt(200);
+            PlaceIndexOperation operation = operations.get(i);
+            if (status < 300 || (status == 404 && operation.isDelete())) {
+                continue;
+            }
+            // 404 on a write means the alias is missing: the index is not set up (yet)
+            if (status == 429 || status >= 500 || status == 404) {
+                retryable.add(operation);
+            } else {
+                rejected++;
+                logger.warn("Elasticsearch rejected place {}: {}", operation.placeId(), result.path("error"));
+            }
+        }
+        return new BulkResult(retryable, rejected);
+    }
+
+    @Override
+    public List<PlaceDTO> search(PlaceSearchQuery query) {
+        JsonNode response = restTemplate.postForObject(indexUrl + "/_search", jsonEntity(searchBody(query)), JsonNode.class);
+        List<PlaceDTO> places = new ArrayList<>();
+        if (response == null) {
+            return places;
+        }
+        for (JsonNode hit : response.path("hits").path("hits")) {
+            places.add(fromDocument(hit.path("_source")));
+        }
+        return places;
+    }
+
+    ObjectNode searchBody(PlaceSearchQuery query) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("size", query.limit());
+        ObjectNode bool = body.putObject("query").putObject("bool");
+        if (query.hasText()) {
+            ObjectNode multiMatch = bool.putArray("must").addObject().putObject("multi_match");
+            multiMatch.put("query", query.text());
+            multiMatch.putArray("fields").add("name^3").add("note").add("address");
+            multiMatch.put("operator", "and");
+        }
+        ArrayNode filter = bool.putArray("filter");
+        filter.addObject().putObject("term").put("userId", query.userId());
+        if (query.hasCategory()) {
+            filter.addObject().putObject("term").put("category", query.category());
+        }
+        if (query.hasGeoFilter()) {
+            ObjectNode geo = filter.addObject().putObject("geo_distance");
+            geo.put("distance", query.radiusKm() + "km");
+            geo.putObject("location").put("lat", query.latitude()).put("lon", query.longitude());
+        }
+        if (!query.hasText()) {
+            body.putArray("sort").addObject().put("postDate", "desc");
+        }
+        return body;
+    }
+
+    private ObjectNode toDocument(PlaceIndexOperation operation) {
+        PlaceDTO place = operation.place();
+        ObjectNode document = objectMapper.createObjectNode();
+        document.put("id", place.id());
+        document.put("userId", operation.userId());
+        document.put("name", place.name());
+        document.put("category", place.category());
+        document.put("latitude", place.latitude());
+        document.put("longitude", place.longitude());
+        document.putObject("location").put("lat", place.latitude()).put("lon", place.longitude());
+        document.put("address", place.address());
+        document.put("country", place.country());
+        document.put("city", place.city());
+        document.put("note", place.note());
+        document.put("postDate", place.postDate() == null ? null : place.postDate().toString());
+        document.put("isPublic", place.isPublic());
+        return document;
+    }
+
+    private PlaceDTO fromDocument(JsonNode source) {
+        return new PlaceDTO(
+                source.path("id").asLong(),
+                textOrNull(source, "name"),
+                textOrNull(source, "category"),
+                source.path("latitude").asDouble(),
+                source.path("longitude").asDouble(),
+                textOrNull(source, "address"),
+                textOrNull(source, "country"),
+                textOrNull(source, "city"),
+                textOrNull(source, "note"),
+                source.hasNonNull("postDate") ? OffsetDateTime.parse(source.get("postDate").asText()) : null,
+                source.path("isPublic").asBoolean()
+        );
+    }
+
+    private ObjectNode indexDefinition() {
+        ObjectNode definition = objectMapper.createObjectNode();
+        definition.putObject("aliases").putObject(index);
+        ObjectNode analyzer = definition.putObject("settings").putObject("analysis")
+                .putObject("analyzer").putObject("folded");
+        analyzer.put("tokenizer", "standard");
+        analyzer.putArray("filter").add("lowercase").add("asciifolding");
+
+        ObjectNode properties = definition.putObject("mappings").putObject("properties");
+        properties.putObject("id").put("type", "long");
+        properties.putObject("userId").put("type", "long");
+        properties.putObject("name").put("type", "text").put("analyzer", "folded");
+        properties.putObject("note").put("type", "text").put("analyzer", "folded");
+        properties.putObject("address").put("type", "text").put("analyzer", "folded");
+        properties.putObject("category").put("type", "keyword");
+        properties.putObject("city").put("type", "keyword");
+        properties.putObject("country").put("type", "keyword");
+        properties.putObject("location").put("type", "geo_point");
+        properties.putObject("latitude").put("type", "double");
+        properties.putObject("longitude").put("type", "double");
+        properties.putObject("postDate").put("type", "date");
+        properties.putObject("isPublic").put("type", "boolean");
+        return definition;
+    }
+
+    private HttpEntity<String> jsonEntity(JsonNode body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new HttpEntity<>(write(body), headers);
+    }
+
+    private String write(JsonNode node) {
+        try {
+            return objectMapper.writeValueAsString(node);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise Elasticsearch request", e);
+        }
+    }
+
+    private static String textOrNull(JsonNode source, String field) {
+        return source.hasNonNull(field) ? source.get(field).asText() : null;
+    }
+
+    private static RestTemplate buildRestTemplate(RestTemplateBuilder builder, SslBundles sslBundles,
+                                                  String username, String password, String sslBundle) {
+        builder = builder.connectTimeout(Duration.ofSeconds(5)).readTimeout(Duration.ofSeconds(30));
+        if (!username.isBlank()) {
+            builder = builder.basicAuthentication(username, password);
+        }
+        if (!sslBundle.isBlank()) {
+            builder = builder.sslBundle(sslBundles.getBundle(sslBundle));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.app.components;
+
+import com.example.app.dtos.FriendGraphStatsDTO;
+import com.example.app.entities.FriendshipStatus;
+import com.example.app.repositories.FriendsRepository;
+import com.example.app.repositories.UserRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
+
+/**
+ * Process-local adjacency cache of accepted friendships: user id -> sorted long[] of friend ids.
+ * Arrays are never mutated after publication, so readers need no locking. Loads and updates for
+ * one user are serialised on a lock stripe; updates must run after the DB change has committed.
+ */
+@Component
+public class FriendGraphCache {
+
+    private static final int STRIPES = 64;
+    private static final int MAX_CACHED_USERS = 50_000;
+    private static final long ENTRY_OVERHEAD_BYTES = 32 + 16 + 16;
+    private static final long USERNAME_ENTRY_OVERHEAD_BYTES = 32 + 16 + 40;
+
+    private final FriendsRepository friendsRepository;
+    private final UserRepository userRepository;
+    private final Map<Long, long[]> adjacency = new ConcurrentHashMap<>();
+    private final Map<String, Long> userIds = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[STRIPES];
+
+    public FriendGraphCache(FriendsRepository friendsRepository, UserRepository userRepository) {
+        this.friendsRepository = friendsRepository;
+        this.userRepository = userRepository;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    public Optional<Long> resolveUserId(String username) {
+        Long cached = userIds.get(username);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<Long> loaded = userRepository.findIdByUsername(username);
+        loaded.ifPresent(id -> {
+            evictIfFull(userIds);
+            userIds.put(username, id);
+        });
+        return loaded;
+    }
+
+    public boolean areFriends(long userId, long otherId) {
+        return Arrays.binarySearch(friendsOf(userId), otherId) >= 0;
+    }
+
+    public LongStream friendIds(long userId) {
+        return Arrays.stream(friendsOf(userId));
+    }
+
+    public int friendCount(long userId) {
+        return friendsOf(userId).length;
+    }
+
+    public void addFriendship(long userId, long otherId) {
+        update(userId, otherId, true);
+        update(otherId, userId, true);
+    }
+
+    public void removeFriendship(long userId, long otherId) {
+        update(userId, otherId, false);
+        update(otherId, userId, false);
+    }
+
+    public void evictUser(long userId, String username) {
+        synchronized (lockFor(userId)) {
+            adjacency.remove(userId);
+        }
+        userIds.remove(username);
+        for (Long cachedUserId : adjacency.keySet()) {
+            update(cachedUserId, userId, false);
+        }
+    }
+
+    public void evictUsername(String username) {
+        userIds.remove(username);
+    }
+
+    public FriendGraphStatsDTO stats() {
+        long users = 0;
+        long edges = 0;
+        long bytes = 0;
+        for (long[] friends : adjacency.values()) {
+            users++;
+            edges += friends.length;
+            bytes += ENTRY_OVERHEAD_BYTES + 8L * friends.length;
+        }
+        bytes += userIds.size() * USERNAME_ENTRY_OVERHEAD_BYTES;
+        return new FriendGraphStatsDTO(users, edges, userIds.size(), bytes, users == 0 ? 0 : bytes / users);
+    }
+
+    private long[] friendsOf(long userId) {
+        long[] friends = adjacency.get(userId);
+        if (friends != null) {
+            return friends;
+        }
+        synchronized (lockFor(userId)) {
+            friends = adjacency.get(userId);
+            if (friends == null) {
+                List<Long> loaded = friendsRepository.findFriendIds(userId, FriendshipStatus.ACCEPTED);
+                friends = loaded.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+                evictIfFull(adjacency);
+                adjacency.put(userId, friends);
+            }
+            return friends;
+        }
+    }
+
+    private void update(long userId, long otherId, boolean add) {
+        synchronized (lockFor(userId)) {
+            long[] friends = adjacency.get(userId);
+            if (friends == null) {
+                return;
+            }
+            int index = Arrays.binarySearch(friends, otherId);
+            if (add && index < 0) {
+                int insertAt = -index - 1;
+                long[] updated = new long[friends.length + 1];
+                System.arraycopy(friends, 0, updated, 0, insertAt);
+                updated[insertAt] = otherId;
+                System.arraycopy(friends, insertAt, updated, insertAt + 1, friends.length - insertAt);
+                adjacency.put(userId, updated);
+            } else if (!add && index >= 0) {
+                long[] updated = new long[friends.length - 1];
+                System.arraycopy(friends, 0, updated, 0, index);
+                System.arraycopy(friends, index + 1, updated, index, friends.length - index - 1);
+                adjacency.put(userId, updated);
+            }
+        }
+    }
+
+    private Object lockFor(long userId) {
+        return locks[(int) Math.floorMod(userId, (long) STRIPES)];
+    }
+
+    private static <K, V> void evictIfFull(Map<K, V> map) {
+        if (map.size() < MAX_CACHED_USERS) {
+            return;
+        }
+        Iterator<K> keys = map.keySet().iterator();
+        if (keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.app.components;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Geohash encoding: interleaves longitude and latitude bisection bits into base-32 characters,
+ * so places sharing a prefix lie in the same rectangular cell.
+ */
+public final class Geohash {
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private Geohash() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int index = 0;
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    index = (index << 1) | 1;
+                    minLon = mid;
+                } else {
+                    index <<= 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    index = (index << 1) | 1;
+                    minLat = mid;
+                } else {
+                    index <<= 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32[index]);
+                bit = 0;
+                index = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * The cell containing the point followed by its (up to) eight neighbours at the same precision.
+     */
+    public static List<String> cellAndNeighbours(double latitude, double longitude, int precision) {
+        int bits = precision * 5;
+        double cellHeight = 180 / Math.pow(2, bits / 2);
+        double cellWidth = 360 / Math.pow(2, bits - bits / 2);
+        List<String> cells = new ArrayList<>(9);
+        cells.add(encode(latitude, longitude, precision));
+        for (int dLat = -1; dLat <= 1; dLat++) {
+            for (int dLon = -1; dLon <= 1; dLon++) {
+                double lat = latitude + dLat * cellHeight;
+                if (lat > 90 || lat < -90) {
+                    continue;
+                }
+                double lon = longitude + dLon * cellWidth;
+                lon = lon >= 180 ? lon - 360 : lon < -180 ? lon + 360 : lon;
+                String cell = encode(lat, lon, precision);
+                if (!cells.contains(cell)) {
+                    cells.add(cell);
+                }
+            }
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.app.components;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the serialised JSON of hot listing responses, so a repeated request copies bytes to the
+ * servlet output stream instead of running Jackson again. There is one entry per endpoint and user,
+ * tagged with the {@link ResourceVersions} tag it was built for; a request with a newer tag rebuilds
+ * and replaces it. Bodies above a small threshold are also kept gzipped and sent compressed to
+ * clients that accept it. Entries live in an LRU bounded by their total size.
+ */
+@Component
+public class JsonResponseCache {
+
+    private static final long MAX_BYTES = 32L * 1024 * 1024;
+    private static final int GZIP_MIN_BYTES = 1024;
+
+    private record Entry(String tag, byte[] json, byte[] gzip) {
+        long size() {
+            return json.length + (gzip == null ? 0 : gzip.length);
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long bytes;
+
+    public JsonResponseCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes the body for {@code endpoint} and {@code username} at version {@code tag}, serialising
+     * what {@code loader} returns only when no body for that tag is cached.
+     */
+    public void write(String endpoint, String username, String tag, Supplier<?> loader,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String key = endpoint + '\n' + username;
+        Entry entry = get(key, tag);
+        if (entry == null) {
+            entry = build(tag, loader.get());
+            put(key, entry);
+        }
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        byte[] body = entry.json();
+        if (entry.gzip() != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (acceptsGzip(request)) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                body = entry.gzip();
+            }
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    public synchronized void evictAll() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    Entry build(String tag, Object value) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(value);
+        return new Entry(tag, json, json.length < GZIP_MIN_BYTES ? null : gzip(json));
+    }
+
+    private synchronized Entry get(String key, String tag) {
+        Entry entry = entries.get(key);
+        return entry != null && entry.tag().equals(tag) ? entry : null;
+    }
+
+    private synchronized void put(String key, Entry entry) {
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            bytes -= previous.size();
+        }
+        bytes += entry.size();
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (bytes > MAX_BYTES && eldest.hasNext()) {
+            bytes -= eldest.next().size();
+            eldest.remove();
+        }
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (OutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(json);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String accepted = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (accepted == null) {
+            return false;
+        }
+        for (String coding : accepted.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").equals("q=0");
+            }
+        }
+        return false;
+    }
+}
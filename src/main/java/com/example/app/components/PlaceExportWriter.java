@@ -0,0 +1,168 @@
+package com.example.app.components;
+
+import com.example.app.dtos.ExportFormat;
+import com.example.app.dtos.PlaceDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes places one at a time in an export format, so an export never holds more than the current
+ * place in memory. CSV uses the same columns the importer reads, so an export can be imported back.
+ * Closing the writer finishes the document but leaves the underlying stream open.
+ */
+public abstract class PlaceExportWriter implements Closeable {
+
+    private static final String[] CSV_HEADER = {
+            "name", "category", "latitude", "longitude", "address", "city", "country", "note", "isPublic", "postDate", "shared"
+    };
+
+    public static PlaceExportWriter open(ExportFormat format, OutputStream out, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case GEOJSON -> new GeoJsonWriter(generator(out, objectMapper));
+            case NDJSON -> new NdjsonWriter(generator(out, objectMapper));
+            case CSV -> new CsvWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+        };
+    }
+
+    public abstract void write(PlaceDTO place, boolean shared) throws IOException;
+
+    private static JsonGenerator generator(OutputStream out, ObjectMapper objectMapper) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return generator;
+    }
+
+    private static void writeProperties(JsonGenerator generator, PlaceDTO place, boolean shared) throws IOException {
+        generator.writeNumberField("id", place.id());
+        generator.writeStringField("name", place.name());
+        generator.writeStringField("category", place.category());
+        generator.writeStringField("address", place.address());
+        generator.writeStringField("city", place.city());
+        generator.writeStringField("country", place.country());
+        generator.writeStringField("note", place.note());
+        generator.writeStringField("postDate", place.postDate() == null ? null : place.postDate().toString());
+        generator.writeBooleanField("isPublic", place.isPublic());
+        generator.writeBooleanField("shared", shared);
+    }
+
+    private static final class GeoJsonWriter extends PlaceExportWriter {
+        private final JsonGenerator generator;
+
+        private GeoJsonWriter(JsonGenerator generator) throws IOException {
+            this.generator = generator;
+            generator.writeStartObject();
+            generator.writeStringField("type", "FeatureCollection");
+            generator.writeArrayFieldStart("features");
+        }
+
+        @Override
+        public void write(PlaceDTO place, boolean shared) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("type", "Feature");
+            generator.writeObjectFieldStart("geometry");
+            generator.writeStringField("type", "Point");
+            generator.writeArrayFieldStart("coordinates");
+            generator.writeNumber(place.longitude());
+            generator.writeNumber(place.latitude());
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeObjectFieldStart("properties");
+            writeProperties(generator, place, shared);
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.close();
+        }
+    }
+
+    private static final class NdjsonWriter extends PlaceExportWriter {
+        private final JsonGenerator generator;
+
+        private NdjsonWriter(JsonGenerator generator) {
+            this.generator = generator;
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(PlaceDTO place, boolean shared) throws IOException {
+            generator.writeStartObject();
+            writeProperties(generator, place, shared);
+            generator.writeNumberField("latitude", place.latitude());
+            generator.writeNumberField("longitude", place.longitude());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class CsvWriter extends PlaceExportWriter {
+        private final Writer writer;
+
+        private CsvWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            writeRecord(CSV_HEADER);
+        }
+
+        @Override
+        public void write(PlaceDTO place, boolean shared) throws IOException {
+            writeRecord(new String[]{
+                    place.name(),
+                    place.category(),
+                    Double.toString(place.latitude()),
+                    Double.toString(place.longitude()),
+                    place.address(),
+                    place.city(),
+                    place.country(),
+                    place.note(),
+                    Boolean.toString(place.isPublic()),
+                    place.postDate() == null ? null : place.postDate().toString(),
+                    Boolean.toString(shared)
+            });
+        }
+
+        private void writeRecord(String[] fields) throws IOException {
+            for (int i = 0; i < fields.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeField(fields[i]);
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+}
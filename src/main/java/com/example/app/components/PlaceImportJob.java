@@ -0,0 +1,120 @@
+package com.example.app.components;
+
+import com.example.app.dtos.ImportFormat;
+import com.example.app.dtos.ImportJobDTO;
+import com.example.app.dtos.ImportJobStatus;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one bulk import. Counters are updated by the import threads and read by the status
+ * endpoint, so they are atomics; only the first {@value #MAX_ERRORS} row errors are kept.
+ */
+public class PlaceImportJob {
+
+    private static final int MAX_ERRORS = 100;
+
+    private final UUID id;
+    private final String username;
+    private final ImportFormat format;
+    private final String filename;
+    private final OffsetDateTime createdAt;
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong invalid = new AtomicLong();
+    private final AtomicLong overLimit = new AtomicLong();
+    private final AtomicLong geocodingPending = new AtomicLong();
+    private final AtomicLong geocoded = new AtomicLong();
+    private final AtomicLong geocodingFailed = new AtomicLong();
+    private final List<String> errors = new ArrayList<>();
+    private volatile ImportJobStatus status = ImportJobStatus.QUEUED;
+    private volatile OffsetDateTime finishedAt;
+
+    PlaceImportJob(UUID id, String username, ImportFormat format, String filename, OffsetDateTime createdAt) {
+        this.id = id;
+        this.username = username;
+        this.format = format;
+        this.filename = filename;
+        this.createdAt = createdAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public ImportFormat getFormat() {
+        return format;
+    }
+
+    public ImportJobStatus getStatus() {
+        return status;
+    }
+
+    public boolean isFinished() {
+        return status == ImportJobStatus.COMPLETED || status == ImportJobStatus.FAILED;
+    }
+
+    public OffsetDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void start(ImportJobStatus status) {
+        this.status = status;
+    }
+
+    public void finish(ImportJobStatus status, OffsetDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+        this.status = status;
+    }
+
+    public void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    public void imported(long count) {
+        imported.addAndGet(count);
+    }
+
+    public void duplicates(long count) {
+        duplicates.addAndGet(count);
+    }
+
+    public void overLimit(long count) {
+        overLimit.addAndGet(count);
+    }
+
+    public void geocodingQueued() {
+        geocodingPending.incrementAndGet();
+    }
+
+    public void geocodingDone(boolean success) {
+        geocodingPending.decrementAndGet();
+        (success ? geocoded : geocodingFailed).incrementAndGet();
+    }
+
+    public void invalid(long line, String reason) {
+        invalid.incrementAndGet();
+        error("Row " + line + ": " + reason);
+    }
+
+    public synchronized void error(String message) {
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(message);
+        }
+    }
+
+    public synchronized ImportJobDTO toDTO() {
+        return new ImportJobDTO(id, status, format, filename, rowsRead.get(), imported.get(), duplicates.get(),
+                invalid.get(), overLimit.get(), geocodingPending.get(), geocoded.get(), geocodingFailed.get(),
+                List.copyOf(errors), createdAt, finishedAt);
+    }
+}
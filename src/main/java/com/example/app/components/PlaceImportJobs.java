@@ -0,0 +1,60 @@
+package com.example.app.components;
+
+import com.example.app.dtos.ImportFormat;
+import com.example.app.exception.ImportAlreadyRunningException;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory registry of import jobs. Jobs are only visible to the user who started them and finished
+ * jobs are forgotten after {@link #RETENTION}, so progress is lost on restart. A user has at most one
+ * unfinished job at a time, so one account cannot queue up the shared import and geocoding threads.
+ */
+@Component
+public class PlaceImportJobs {
+
+    private static final Duration RETENTION = Duration.ofHours(24);
+    private static final int MAX_JOBS = 1_000;
+
+    private final ConcurrentHashMap<UUID, PlaceImportJob> jobs = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    public PlaceImportJobs(Clock clock) {
+        this.clock = clock;
+    }
+
+    public synchronized PlaceImportJob create(String username, ImportFormat format, String filename) {
+        boolean running = jobs.values().stream()
+                .anyMatch(job -> !job.isFinished() && job.getUsername().equals(username));
+        if (running) {
+            throw new ImportAlreadyRunningException("An import is already running for " + username);
+        }
+        OffsetDateTime now = OffsetDateTime.now(clock);
+        evictFinished(now);
+        PlaceImportJob job = new PlaceImportJob(UUID.randomUUID(), username, format, filename, now);
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    public Optional<PlaceImportJob> find(UUID id, String username) {
+        return Optional.ofNullable(jobs.get(id)).filter(job -> job.getUsername().equals(username));
+    }
+
+    private void evictFinished(OffsetDateTime now) {
+        OffsetDateTime cutoff = now.minus(RETENTION);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+        Iterator<PlaceImportJob> iterator = jobs.values().iterator();
+        while (jobs.size() >= MAX_JOBS && iterator.hasNext()) {
+            if (iterator.next().isFinished()) {
+                iterator.remove();
+            }
+        }
+    }
+}
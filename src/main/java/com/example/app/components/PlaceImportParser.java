@@ -0,0 +1,328 @@
+package com.example.app.components;
+
+import com.example.app.dtos.ImportFormat;
+import com.example.app.dtos.PlaceImportRowDTO;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads import files row by row without loading them into memory. CSV files need a header row
+ * (comma or semicolon separated, quoted fields may span lines); GeoJSON files are read one feature
+ * at a time, which also covers Google Takeout "Saved Places" exports. Values that cannot be parsed
+ * are reported through {@link Listener#onInvalid} and the rest of the file is still read; a file
+ * that is not CSV/GeoJSON at all fails with {@link IllegalArgumentException}.
+ */
+@Component
+public class PlaceImportParser {
+
+    public interface Listener {
+        void onRow(PlaceImportRowDTO row);
+
+        void onInvalid(long line, String reason);
+    }
+
+    private static final Map<String, String> CSV_COLUMNS = Map.ofEntries(
+            Map.entry("name", "name"), Map.entry("title", "name"), Map.entry("nazwa", "name"),
+            Map.entry("category", "category"), Map.entry("kategoria", "category"),
+            Map.entry("latitude", "latitude"), Map.entry("lat", "latitude"),
+            Map.entry("longitude", "longitude"), Map.entry("lon", "longitude"), Map.entry("lng", "longitude"),
+            Map.entry("address", "address"), Map.entry("adres", "address"),
+            Map.entry("city", "city"), Map.entry("miasto", "city"),
+            Map.entry("country", "country"), Map.entry("kraj", "country"),
+            Map.entry("note", "note"), Map.entry("notes", "note"), Map.entry("comment", "note"), Map.entry("notatka", "note"),
+            Map.entry("ispublic", "isPublic"), Map.entry("public", "isPublic"), Map.entry("publiczne", "isPublic")
+    );
+
+    private final ObjectMapper objectMapper;
+
+    public PlaceImportParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public void parse(InputStream in, ImportFormat format, Listener listener) throws IOException {
+        switch (format) {
+            case CSV -> parseCsv(in, listener);
+            case GEOJSON -> parseGeoJson(in, listener);
+        }
+    }
+
+    private void parseCsv(InputStream in, Listener listener) throws IOException {
+        CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        List<String> header = reader.next(',');
+        if (header == null) {
+            throw new IllegalArgumentException("The CSV file is empty");
+        }
+        char delimiter = ',';
+        if (header.size() == 1 && header.get(0).contains(";")) {
+            delimiter = ';';
+            header = List.of(header.get(0).split(";", -1));
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String key = header.get(i).replace("\uFEFF", "").replaceAll("[\\s_-]", "").toLowerCase(Locale.ROOT);
+            String column = CSV_COLUMNS.get(key);
+            if (column != null) {
+                columns.putIfAbsent(column, i);
+            }
+        }
+        if (!columns.containsKey("name")) {
+            throw new IllegalArgumentException("The CSV header must contain a name column");
+        }
+
+        List<String> record;
+        while ((record = reader.next(delimiter)) != null) {
+            long line = reader.recordLine();
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            try {
+                listener.onRow(new PlaceImportRowDTO(
+                        line,
+                        text(column(record, columns, "name")),
+                        text(column(record, columns, "category")),
+                        decimal(column(record, columns, "latitude"), delimiter),
+                        decimal(column(record, columns, "longitude"), delimiter),
+                        text(column(record, columns, "address")),
+                        text(column(record, columns, "city")),
+                        text(column(record, columns, "country")),
+                        text(column(record, columns, "note")),
+                        bool(column(record, columns, "isPublic"))
+                ));
+            } catch (IllegalArgumentException e) {
+                listener.onInvalid(line, e.getMessage());
+            }
+        }
+    }
+
+    private void parseGeoJson(InputStream in, Listener listener) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(in)) {
+            JsonToken root = parser.nextToken();
+            if (root == JsonToken.START_ARRAY) {
+                readFeatures(parser, listener);
+                return;
+            }
+            if (root != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Expected a GeoJSON FeatureCollection");
+            }
+            boolean found = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (field.equals("features") && value == JsonToken.START_ARRAY) {
+                    readFeatures(parser, listener);
+                    found = true;
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (!found) {
+                throw new IllegalArgumentException("The GeoJSON file has no features array");
+            }
+        } catch (JsonParseException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private void readFeatures(JsonParser parser, Listener listener) throws IOException {
+        long index = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            index++;
+            JsonNode feature = objectMapper.readTree(parser);
+            try {
+                listener.onRow(toRow(index, feature));
+            } catch (IllegalArgumentException e) {
+                listener.onInvalid(index, e.getMessage());
+            }
+        }
+    }
+
+    private PlaceImportRowDTO toRow(long index, JsonNode feature) {
+        JsonNode properties = feature.path("properties");
+        JsonNode location = properties.path("location");
+        JsonNode legacyLocation = properties.path("Location");
+
+        Double latitude = null;
+        Double longitude = null;
+        JsonNode coordinates = feature.path("geometry").path("coordinates");
+        if (coordinates.isArray() && coordinates.size() >= 2) {
+            longitude = coordinates.get(0).asDouble();
+            latitude = coordinates.get(1).asDouble();
+        } else if (legacyLocation.has("Geo Coordinates")) {
+            JsonNode geo = legacyLocation.path("Geo Coordinates");
+            latitude = decimal(geo.path("Latitude").asText(null), ',');
+            longitude = decimal(geo.path("Longitude").asText(null), ',');
+        }
+        // Takeout writes [0, 0] for saved places it has no coordinates for
+        if (latitude != null && longitude != null && latitude == 0 && longitude == 0) {
+            latitude = null;
+            longitude = null;
+        }
+
+        return new PlaceImportRowDTO(
+                index,
+                firstText(properties.path("name"), properties.path("Title"), location.path("name"),
+                        legacyLocation.path("Business Name")),
+                firstText(properties.path("category")),
+                latitude,
+                longitude,
+                firstText(properties.path("address"), location.path("address"), legacyLocation.path("Address")),
+                firstText(properties.path("city")),
+                firstText(properties.path("country")),
+                firstText(properties.path("note"), properties.path("Comment"), properties.path("description")),
+                properties.path("isPublic").isBoolean() ? properties.get("isPublic").booleanValue() : null
+        );
+    }
+
+    private static String firstText(JsonNode... candidates) {
+        for (JsonNode candidate : candidates) {
+            if (candidate.isValueNode()) {
+                String value = text(candidate.asText());
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        return index == null || index >= record.size() ? null : record.get(index);
+    }
+
+    private static String text(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static Double decimal(String value, char delimiter) {
+        String trimmed = text(value);
+        if (trimmed == null) {
+            return null;
+        }
+        if (delimiter == ';') {
+            trimmed = trimmed.replace(',', '.');
+        }
+        try {
+            return Double.parseDouble(trimmed);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number: " + trimmed);
+        }
+    }
+
+    private static Boolean bool(String value) {
+        String trimmed = text(value);
+        if (trimmed == null) {
+            return null;
+        }
+        return switch (trimmed.toLowerCase(Locale.ROOT)) {
+            case "true", "1", "yes", "tak" -> true;
+            case "false", "0", "no", "nie" -> false;
+            default -> throw new IllegalArgumentException("Not a boolean: " + trimmed);
+        };
+    }
+
+    /**
+     * RFC 4180 record reader: double quotes escape delimiters, line breaks and themselves.
+     */
+    private static final class CsvReader {
+        private final Reader reader;
+        private int peeked = -2;
+        private long line = 1;
+        private long recordLine;
+
+        private CsvReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        long recordLine() {
+            return recordLine;
+        }
+
+        List<String> next(char delimiter) throws IOException {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            recordLine = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean fieldStart = true;
+            while (c != -1) {
+                if (quoted) {
+                    if (c == '"') {
+                        if (peek() == '"') {
+                            read();
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && fieldStart) {
+                    quoted = true;
+                    fieldStart = false;
+                } else if (c == delimiter) {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    fieldStart = true;
+                } else if (c == '\n') {
+                    break;
+                } else if (c == '\r') {
+                    if (peek() == '\n') {
+                        read();
+                    }
+                    break;
+                } else {
+                    field.append((char) c);
+                    fieldStart = false;
+                }
+                c = read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        private int peek() throws IOException {
+            if (peeked == -2) {
+                peeked = reader.read();
+            }
+            return peeked;
+        }
+
+        private int read() throws IOException {
+            int c;
+            if (peeked != -2) {
+                c = peeked;
+                peeked = -2;
+            } else {
+                c = reader.read();
+            }
+            if (c == '\n') {
+                line++;
+            }
+            return c;
+        }
+    }
+}
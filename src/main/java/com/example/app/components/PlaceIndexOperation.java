@@ -0,0 +1,18 @@
+package com.example.app.components;
+
+import com.example.app.dtos.PlaceDTO;
+
+public record PlaceIndexOperation(Long placeId, Long userId, PlaceDTO place) {
+
+    public static PlaceIndexOperation index(Long userId, PlaceDTO place) {
+        return new PlaceIndexOperation(place.id(), userId, place);
+    }
+
+    public static PlaceIndexOperation delete(Long placeId) {
+        return new PlaceIndexOperation(placeId, null, null);
+    }
+
+    public boolean isDelete() {
+        return place == null;
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.app.components;
+
+import com.example.app.dtos.PlaceDTO;
+import com.example.app.dtos.PlaceListCacheStatsDTO;
+import com.example.app.events.PlaceChangedEvent;
+import com.example.app.events.PlaceSharedEvent;
+import com.example.app.events.PlacesChangedEvent;
+import com.example.app.events.SharedPlacesChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the place lists served by {@code PlaceService}: a user's own places (all,
+ * private, public) and the places shared with them. Lists are immutable and kept in one LRU bounded
+ * by entry count and by an estimate of their heap size. A committed write evicts exactly the lists
+ * it can change: the owner's own lists, and the shared lists of users the place was shared with.
+ * Each list lives in its own holder; eviction detaches the holder, so a load that started before
+ * the write finishes into the detached holder and is never served. Evictions run before the
+ * {@link ResourceVersions} bump for the same event, so a request that already sees the new ETag
+ * cannot be answered from the old list.
+ */
+@Component
+public class PlaceListCache {
+
+    public enum Kind {
+        ALL, PRIVATE, PUBLIC, SHARED
+    }
+
+    static final int LISTENER_ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    private static final int MAX_LISTS = 20_000;
+    private static final long MAX_BYTES = 64L * 1024 * 1024;
+    private static final long LIST_OVERHEAD_BYTES = 16 + 24 + 64;
+    private static final long PLACE_OVERHEAD_BYTES = 16 + 56 + 16 + 8 + 96;
+    private static final long STRING_OVERHEAD_BYTES = 40;
+
+    private record Key(String username, Kind kind) {
+    }
+
+    private static final class Holder {
+        private volatile List<PlaceDTO> places;
+        private long bytes;
+    }
+
+    private final LinkedHashMap<Key, Holder> lists = new LinkedHashMap<>(256, 0.75f, true);
+    private long bytes;
+    private long cachedPlaces;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public List<PlaceDTO> get(String username, Kind kind, Supplier<List<PlaceDTO>> loader) {
+        Key key = new Key(username, kind);
+        Holder holder;
+        synchronized (this) {
+            holder = lists.computeIfAbsent(key, k -> new Holder());
+        }
+        List<PlaceDTO> cached = holder.places;
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+        List<PlaceDTO> loaded = List.copyOf(loader.get());
+        store(key, holder, loaded);
+        return loaded;
+    }
+
+    @Order(LISTENER_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlaceChanged(PlaceChangedEvent event) {
+        evictUser(event.username());
+    }
+
+    @Order(LISTENER_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlacesChanged(PlacesChangedEvent event) {
+        evictUser(event.username());
+    }
+
+    @Order(LISTENER_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlaceShared(PlaceSharedEvent event) {
+        evict(new Key(event.receiverUsername(), Kind.SHARED));
+    }
+
+    @Order(LISTENER_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSharedPlacesChanged(SharedPlacesChangedEvent event) {
+        for (String username : event.receiverUsernames()) {
+            evict(new Key(username, Kind.SHARED));
+        }
+    }
+
+    /**
+     * Drops the user's own lists; their shared list only changes through other users' writes.
+     */
+    public void evictUser(String username) {
+        evict(new Key(username, Kind.ALL));
+        evict(new Key(username, Kind.PRIVATE));
+        evict(new Key(username, Kind.PUBLIC));
+    }
+
+    /**
+     * Drops every list cached under the username, for account renames.
+     */
+    public void evictAccount(String username) {
+        evictUser(username);
+        evict(new Key(username, Kind.SHARED));
+    }
+
+    public synchronized void evictAll() {
+        invalidations.addAndGet(lists.size());
+        lists.clear();
+        bytes = 0;
+        cachedPlaces = 0;
+    }
+
+    public synchronized PlaceListCacheStatsDTO stats() {
+        long hitCount = hits.get();
+        long lookups = hitCount + misses.get();
+        return new PlaceListCacheStatsDTO(lists.size(), cachedPlaces, hitCount, misses.get(),
+                lookups == 0 ? 0 : (double) hitCount / lookups, evictions.get(), invalidations.get(), bytes);
+    }
+
+    private synchronized void store(Key key, Holder holder, List<PlaceDTO> places) {
+        if (lists.get(key) != holder || holder.places != null) {
+            return;
+        }
+        holder.places = places;
+        holder.bytes = estimateBytes(places);
+        bytes += holder.bytes;
+        cachedPlaces += places.size();
+        trim();
+    }
+
+    private synchronized void evict(Key key) {
+        Holder removed = lists.remove(key);
+        if (removed != null) {
+            invalidations.incrementAndGet();
+            release(removed);
+        }
+    }
+
+    private void trim() {
+        Iterator<Holder> eldest = lists.values().iterator();
+        while ((lists.size() > MAX_LISTS || bytes > MAX_BYTES) && eldest.hasNext()) {
+            Holder holder = eldest.next();
+            eldest.remove();
+            evictions.incrementAndGet();
+            release(holder);
+        }
+    }
+
+    private void release(Holder holder) {
+        List<PlaceDTO> places = holder.places;
+        if (places != null) {
+            bytes -= holder.bytes;
+            cachedPlaces -= places.size();
+        }
+    }
+
+    private static long estimateBytes(List<PlaceDTO> places) {
+        long total = LIST_OVERHEAD_BYTES + 8L * places.size();
+        for (PlaceDTO place : places) {
+            total += PLACE_OVERHEAD_BYTES
+                    + stringBytes(place.name()) + stringBytes(place.category()) + stringBytes(place.address())
+                    + stringBytes(place.country()) + stringBytes(place.city()) + stringBytes(place.note());
+        }
+        return total;
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : STRING_OVERHEAD_BYTES + 2L * value.length();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.app.components;
+
+import com.example.app.dtos.PlaceQueryFilter;
+import com.example.app.dtos.PlaceQueryResultDTO;
+import com.example.app.events.PlaceChangedEvent;
+import com.example.app.events.PlacesChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Caches composite place query results per user until that user's next committed place write.
+ * Each user gets a small LRU of filters; eviction drops the whole user entry, so a load that
+ * started before the write finishes into the detached entry and is never served.
+ */
+@Component
+public class PlaceQueryCache {
+
+    private static final int MAX_CACHED_USERS = 10_000;
+    private static final int MAX_QUERIES_PER_USER = 32;
+
+    private final Map<String, UserQueries> users = new ConcurrentHashMap<>();
+
+    public PlaceQueryResultDTO get(String username, PlaceQueryFilter filter, Supplier<PlaceQueryResultDTO> loader) {
+        UserQueries queries = users.get(username);
+        if (queries == null) {
+            evictIfFull();
+            UserQueries created = new UserQueries();
+            queries = users.putIfAbsent(username, created);
+            if (queries == null) {
+                queries = created;
+            }
+        }
+        PlaceQueryResultDTO cached = queries.get(filter);
+        if (cached != null) {
+            return cached;
+        }
+        PlaceQueryResultDTO loaded = loader.get();
+        queries.put(filter, loaded);
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlaceChanged(PlaceChangedEvent event) {
+        evictUser(event.username());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlacesChanged(PlacesChangedEvent event) {
+        evictUser(event.username());
+    }
+
+    public void evictUser(String username) {
+        users.remove(username);
+    }
+
+    private void evictIfFull() {
+        if (users.size() < MAX_CACHED_USERS) {
+            return;
+        }
+        Iterator<String> keys = users.keySet().iterator();
+        if (keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static final class UserQueries {
+        private final LinkedHashMap<PlaceQueryFilter, PlaceQueryResultDTO> results =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<PlaceQueryFilter, PlaceQueryResultDTO> eldest) {
+                        return size() > MAX_QUERIES_PER_USER;
+                    }
+                };
+
+        synchronized PlaceQueryResultDTO get(PlaceQueryFilter filter) {
+            return results.get(filter);
+        }
+
+        synchronized void put(PlaceQueryFilter filter, PlaceQueryResultDTO result) {
+            results.put(filter, result);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.app.components;
+
+import com.example.app.dtos.PlaceDTO;
+import com.example.app.dtos.PlaceSearchQuery;
+
+import java.util.List;
+
+public interface PlaceSearchClient {
+
+    /**
+     * Creates the index with its mapping if it does not exist yet.
+     *
+     * @return true if the index was created and needs to be backfilled
+     */
+    boolean ensureIndex();
+
+    BulkResult bulk(List<PlaceIndexOperation> operations);
+
+    List<PlaceDTO> search(PlaceSearchQuery query);
+
+    /**
+     * @param retryable operations that failed transiently (throttling, unavailable shard) and should be resent
+     * @param rejected  number of operations the cluster refused permanently
+     */
+    record BulkResult(List<PlaceIndexOperation> retryable, int rejected) {
+
+        public static BulkResult success() {
+            return new BulkResult(List.of(), 0);
+        }
+    }
+}
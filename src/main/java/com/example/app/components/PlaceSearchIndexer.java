@@ -0,0 +1,272 @@
+package com.example.app.components;
+
+import com.example.app.dtos.PlaceIndexEntryDTO;
+import com.example.app.dtos.SearchIndexerStatsDTO;
+import com.example.app.events.PlaceChangedEvent;
+import com.example.app.events.PlacesChangedEvent;
+import com.example.app.repositories.PlaceRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes committed place changes to the search index in the background. Pending operations are
+ * coalesced per place (the newest wins) and sent as one bulk request when a batch fills up or on
+ * every flush tick. Failed batches are put back and retried with exponential backoff.
+ * Nothing is sent until {@link PlaceSearchClient#ensureIndex()} (and the backfill of a newly
+ * created index) has succeeded; until then every flush tick retries it with the same backoff,
+ * and after a failed batch the index is checked again before the retry.
+ * Does nothing when no {@link PlaceSearchClient} is configured.
+ */
+@Component
+public class PlaceSearchIndexer {
+
+    private static final int MAX_PENDING = 100_000;
+    private static final int BACKFILL_PAGE_SIZE = 1_000;
+    private static final long INITIAL_BACKOFF_MILLIS = 100;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final PlaceSearchClient client;
+    private final PlaceRepository placeRepository;
+    private final int batchSize;
+    private final long maxBackoffMillis;
+    private final ScheduledExecutorService executor;
+    private final Map<Long, PlaceIndexOperation> pending = new LinkedHashMap<>();
+    private final AtomicLong indexed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Object indexLock = new Object();
+    private volatile boolean indexReady;
+    private boolean backfillPending;
+    private int consecutiveFailures;
+    private long retryNotBeforeNanos = System.nanoTime();
+
+    public PlaceSearchIndexer(Optional<PlaceSearchClient> client,
+                              PlaceRepository placeRepository,
+                              @Value("${app.search.indexer.batch-size:500}") int batchSize,
+                              @Value("${app.search.indexer.flush-interval-ms:1000}") long flushIntervalMillis,
+                              @Value("${app.search.indexer.max-backoff-ms:30000}") long maxBackoffMillis) {
+        this.client = client.orElse(null);
+        this.placeRepository = placeRepository;
+        this.batchSize = batchSize;
+        this.maxBackoffMillis = maxBackoffMillis;
+        if (this.client == null) {
+            this.executor = null;
+            return;
+        }
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "place-search-indexer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isEnabled() {
+        return client != null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeIndex() {
+        if (client == null) {
+            return;
+        }
+        executor.execute(this::flushQuietly);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlaceChanged(PlaceChangedEvent event) {
+        if (client == null) {
+            return;
+        }
+        enqueue(event.isDelete()
+                ? PlaceIndexOperation.delete(event.placeId())
+                : PlaceIndexOperation.index(event.userId(), event.current()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlacesChanged(PlacesChangedEvent event) {
+        event.changes().forEach(this::onPlaceChanged);
+    }
+
+    /**
+     * Ids of the places an account owns, read before the account is deleted: its places go with it
+     * through the foreign key cascade, so no {@link PlaceChangedEvent} is published for them.
+     */
+    public List<Long> placeIdsOf(Long userId) {
+        return client == null ? List.of() : placeRepository.findIdsByUserId(userId);
+    }
+
+    public void placesDeleted(Collection<Long> placeIds) {
+        if (client == null) {
+            return;
+        }
+        placeIds.forEach(placeId -> enqueue(PlaceIndexOperation.delete(placeId)));
+    }
+
+    public void flush() {
+        if (prepareIndex()) {
+            drain();
+        }
+    }
+
+    public synchronized SearchIndexerStatsDTO stats() {
+        return new SearchIndexerStatsDTO(client != null, pending.size(), indexed.get(), failed.get(), dropped.get(), consecutiveFailures);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+    }
+
+    void backfill() {
+        long afterId = 0;
+        List<PlaceIndexEntryDTO> page;
+        do {
+            page = placeRepository.findIndexEntriesAfter(afterId, PageRequest.of(0, BACKFILL_PAGE_SIZE));
+            for (PlaceIndexEntryDTO entry : page) {
+                enqueue(PlaceIndexOperation.index(entry.userId(), entry.toPlaceDTO()));
+                afterId = entry.id();
+            }
+            drain();
+        } while (page.size() == BACKFILL_PAGE_SIZE);
+        logger.info("Place search index backfill queued up to place id {}", afterId);
+    }
+
+    private boolean prepareIndex() {
+        if (indexReady) {
+            return true;
+        }
+        synchronized (indexLock) {
+            if (indexReady) {
+                return true;
+            }
+            synchronized (this) {
+                if (System.nanoTime() - retryNotBeforeNanos < 0) {
+                    return false;
+                }
+            }
+            try {
+                if (client.ensureIndex()) {
+                    backfillPending = true;
+                }
+                indexReady = true;
+                if (backfillPending) {
+                    backfill();
+                    backfillPending = false;
+                }
+                return true;
+            } catch (RuntimeException e) {
+                indexReady = false;
+                logger.warn("Could not initialise the place search index, changes stay queued: {}", e.getMessage());
+                synchronized (this) {
+                    backOff();
+                }
+                return false;
+            }
+        }
+    }
+
+    private void drain() {
+        while (flushBatch()) {
+            // keep sending while full batches are waiting and the cluster accepts them
+        }
+    }
+
+    private void enqueue(PlaceIndexOperation operation) {
+        boolean batchReady;
+        synchronized (this) {
+            pending.remove(operation.placeId());
+            if (pending.size() >= MAX_PENDING) {
+                Iterator<Long> oldest = pending.keySet().iterator();
+                oldest.next();
+                oldest.remove();
+                dropped.incrementAndGet();
+            }
+            pending.put(operation.placeId(), operation);
+            batchReady = pending.size() >= batchSize;
+        }
+        if (batchReady && executor != null && !executor.isShutdown()) {
+            executor.execute(this::flushQuietly);
+        }
+    }
+
+    private boolean flushBatch() {
+        List<PlaceIndexOperation> batch = new ArrayList<>();
+        synchronized (this) {
+            if (pending.isEmpty() || System.nanoTime() - retryNotBeforeNanos < 0) {
+                return false;
+            }
+            Iterator<PlaceIndexOperation> operations = pending.values().iterator();
+            while (operations.hasNext() && batch.size() < batchSize) {
+                batch.add(operations.next());
+                operations.remove();
+            }
+        }
+
+        PlaceSearchClient.BulkResult result;
+        try {
+            result = client.bulk(batch);
+        } catch (RuntimeException e) {
+            logger.warn("Bulk indexing of {} places failed: {}", batch.size(), e.getMessage());
+            result = new PlaceSearchClient.BulkResult(batch, 0);
+        }
+
+        synchronized (this) {
+            for (PlaceIndexOperation retry : result.retryable()) {
+                pending.putIfAbsent(retry.placeId(), retry);
+            }
+            indexed.addAndGet(batch.size() - result.retryable().size() - result.rejected());
+            failed.addAndGet(result.rejected());
+            if (result.retryable().isEmpty()) {
+                consecutiveFailures = 0;
+                return pending.size() >= batchSize;
+            }
+            // the index may have been deleted behind our back; check it again before the retry
+            indexReady = false;
+            backOff();
+            return false;
+        }
+    }
+
+    private void backOff() {
+        consecutiveFailures++;
+        long backoff = Math.min(maxBackoffMillis, INITIAL_BACKOFF_MILLIS << Math.min(consecutiveFailures - 1, 20));
+        retryNotBeforeNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.warn("Place search flush failed", e);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.app.components;
+
+import com.example.app.dtos.PlaceSuggestionDTO;
+import com.example.app.events.PlaceChangedEvent;
+import com.example.app.events.PlacesChangedEvent;
+import com.example.app.repositories.PlaceRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Per-user autocomplete index: a sorted array of normalised terms (whole name, name words, city,
+ * category) with a parallel array of places, searched by binary search for the prefix lower bound.
+ * Snapshots are immutable; loads and committed place changes for one user are serialised on a lock stripe.
+ */
+@Component
+public class PlaceSuggestionIndex {
+
+    private static final int STRIPES = 64;
+    private static final int MAX_CACHED_USERS = 10_000;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final PlaceRepository placeRepository;
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[STRIPES];
+
+    public PlaceSuggestionIndex(PlaceRepository placeRepository) {
+        this.placeRepository = placeRepository;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    public List<PlaceSuggestionDTO> suggest(String username, String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        Snapshot snapshot = snapshotOf(username);
+        Set<PlaceSuggestionDTO> results = new LinkedHashSet<>();
+        for (int i = snapshot.lowerBound(prefix); i < snapshot.terms.length && results.size() < limit; i++) {
+            if (!snapshot.terms[i].startsWith(prefix)) {
+                break;
+            }
+            results.add(snapshot.places[i]);
+        }
+        return new ArrayList<>(results);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlaceChanged(PlaceChangedEvent event) {
+        synchronized (lockFor(event.username())) {
+            Snapshot snapshot = snapshots.get(event.username());
+            if (snapshot == null) {
+                return;
+            }
+            List<PlaceSuggestionDTO> places = new ArrayList<>(snapshot.distinctPlaces());
+            places.removeIf(place -> place.id().equals(event.placeId()));
+            if (!event.isDelete()) {
+                places.add(PlaceSuggestionDTO.fromPlace(event.current()));
+            }
+            snapshots.put(event.username(), Snapshot.of(places));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlacesChanged(PlacesChangedEvent event) {
+        evictUser(event.username());
+    }
+
+    public void evictUser(String username) {
+        synchronized (lockFor(username)) {
+            snapshots.remove(username);
+        }
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String stripped = COMBINING_MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        stripped = stripped.replace('ł', 'l').replace('Ł', 'L');
+        return WHITESPACE.matcher(stripped.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+
+    private Snapshot snapshotOf(String username) {
+        Snapshot snapshot = snapshots.get(username);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        synchronized (lockFor(username)) {
+            snapshot = snapshots.get(username);
+            if (snapshot == null) {
+                snapshot = Snapshot.of(placeRepository.findDTOsByUsername(username).stream()
+                        .map(PlaceSuggestionDTO::fromPlace)
+                        .toList());
+                evictIfFull();
+                snapshots.put(username, snapshot);
+            }
+            return snapshot;
+        }
+    }
+
+    private Object lockFor(String username) {
+        return locks[Math.floorMod(username.hashCode(), STRIPES)];
+    }
+
+    private void evictIfFull() {
+        if (snapshots.size() < MAX_CACHED_USERS) {
+            return;
+        }
+        Iterator<String> keys = snapshots.keySet().iterator();
+        if (keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record Term(String term, PlaceSuggestionDTO place) {
+    }
+
+    private static final class Snapshot {
+        private final String[] terms;
+        private final PlaceSuggestionDTO[] places;
+
+        private Snapshot(String[] terms, PlaceSuggestionDTO[] places) {
+            this.terms = terms;
+            this.places = places;
+        }
+
+        static Snapshot of(List<PlaceSuggestionDTO> places) {
+            List<Term> entries = new ArrayList<>();
+            for (PlaceSuggestionDTO place : places) {
+                Set<String> terms = new HashSet<>();
+                String name = normalize(place.name());
+                terms.add(name);
+                terms.addAll(Arrays.asList(name.split(" ")));
+                terms.add(normalize(place.city()));
+                terms.add(normalize(place.category()));
+                terms.remove("");
+                for (String term : terms) {
+                    entries.add(new Term(term, place));
+                }
+            }
+            entries.sort(Comparator.comparing(Term::term));
+            String[] sortedTerms = new String[entries.size()];
+            PlaceSuggestionDTO[] sortedPlaces = new PlaceSuggestionDTO[entries.size()];
+            for (int i = 0; i < entries.size(); i++) {
+                sortedTerms[i] = entries.get(i).term();
+                sortedPlaces[i] = entries.get(i).place();
+            }
+            return new Snapshot(sortedTerms, sortedPlaces);
+        }
+
+        int lowerBound(String prefix) {
+            int low = 0;
+            int high = terms.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (terms[mid].compareTo(prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        Set<PlaceSuggestionDTO> distinctPlaces() {
+            return new LinkedHashSet<>(Arrays.asList(places));
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.app.components;
+
+import com.example.app.dtos.PlaceDTO;
+import com.example.app.dtos.PlaceIndexEntryDTO;
+import com.example.app.entities.AnalyticsSnapshot;
+import com.example.app.events.PlaceChangedEvent;
+import com.example.app.events.PlacesChangedEvent;
+import com.example.app.repositories.AnalyticsSnapshotRepository;
+import com.example.app.repositories.PlaceRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This node's live {@link AnalyticsSketches}, fed from committed place changes. The sketches are
+ * written to {@code analytics_snapshots} under this node's id on a fixed interval and on shutdown,
+ * and restored on startup. When no node has written a snapshot yet, existing places are streamed
+ * in once with a keyset scan.
+ */
+@Component
+public class PlatformAnalytics {
+
+    private static final int BACKFILL_PAGE_SIZE = 1_000;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final AnalyticsSnapshotRepository snapshotRepository;
+    private final PlaceRepository placeRepository;
+    private final Clock clock;
+    private final String nodeId;
+    private final long persistIntervalMillis;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "platform-analytics");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private AnalyticsSketches sketches = new AnalyticsSketches();
+    private boolean dirty;
+
+    public PlatformAnalytics(AnalyticsSnapshotRepository snapshotRepository,
+                             PlaceRepository placeRepository,
+                             Clock clock,
+                             @Value("${app.analytics.node-id:local}") String nodeId,
+                             @Value("${app.analytics.persist-interval-ms:60000}") long persistIntervalMillis) {
+        this.snapshotRepository = snapshotRepository;
+        this.placeRepository = placeRepository;
+        this.clock = clock;
+        this.nodeId = nodeId;
+        this.persistIntervalMillis = persistIntervalMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        executor.execute(() -> {
+            try {
+                restoreOrBackfill();
+            } catch (RuntimeException e) {
+                logger.warn("Could not restore platform analytics, starting from empty sketches", e);
+            }
+        });
+        executor.scheduleWithFixedDelay(this::persistQuietly, persistIntervalMillis, persistIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlaceChanged(PlaceChangedEvent event) {
+        PlaceDTO place = event.current();
+        if (place == null) {
+            return;
+        }
+        synchronized (this) {
+            sketches.recordActivity(event.userId(), place.city());
+            if (event.previous() == null) {
+                sketches.recordPlaceAdded(place.country(), place.category());
+            }
+            dirty = true;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlacesChanged(PlacesChangedEvent event) {
+        event.changes().forEach(this::onPlaceChanged);
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * A private copy of this node's sketches that callers may merge into freely.
+     */
+    public AnalyticsSketches snapshot() {
+        byte[] data;
+        synchronized (this) {
+            data = sketches.toBytes();
+        }
+        return AnalyticsSketches.fromBytes(data).orElseThrow();
+    }
+
+    public void persist() {
+        byte[] data;
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            data = sketches.toBytes();
+            dirty = false;
+        }
+        try {
+            snapshotRepository.save(new AnalyticsSnapshot(nodeId, data, OffsetDateTime.now(clock)));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                dirty = true;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        persistQuietly();
+    }
+
+    void restoreOrBackfill() {
+        AnalyticsSnapshot own = snapshotRepository.findById(nodeId).orElse(null);
+        if (own != null) {
+            AnalyticsSketches restored = AnalyticsSketches.fromBytes(own.getData()).orElse(null);
+            if (restored != null) {
+                synchronized (this) {
+                    restored.merge(sketches);
+                    sketches = restored;
+                }
+                return;
+            }
+        }
+        if (snapshotRepository.count() > 0) {
+            return;
+        }
+        backfill();
+    }
+
+    private void backfill() {
+        long afterId = 0;
+        List<PlaceIndexEntryDTO> page;
+        do {
+            page = placeRepository.findIndexEntriesAfter(afterId, PageRequest.of(0, BACKFILL_PAGE_SIZE));
+            synchronized (this) {
+                for (PlaceIndexEntryDTO entry : page) {
+                    sketches.recordActivity(entry.userId(), entry.city());
+                    sketches.recordPlaceAdded(entry.country(), entry.category());
+                    afterId = entry.id();
+                }
+                dirty = true;
+            }
+        } while (page.size() == BACKFILL_PAGE_SIZE);
+        persist();
+        logger.info("Platform analytics backfilled up to place id {}", afterId);
+    }
+
+    private void persistQuietly() {
+        try {
+            persist();
+        } catch (RuntimeException e) {
+            logger.warn("Could not persist platform analytics", e);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.app.components;
+
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * {@link CategoryChangeNotifier} over Postgres LISTEN/NOTIFY. A change is sent with
+ * {@code pg_notify} on the writer's connection, so Postgres holds it back until the transaction
+ * commits and drops it on rollback. One pooled connection per node stays checked out to listen on
+ * the channel. Notifications carry a random per-process id so a node skips its own.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.categories.notify", name = "enabled", havingValue = "true")
+public class PostgresCategoryChangeNotifier implements CategoryChangeNotifier {
+
+    private static final String CHANNEL = "category_changes";
+    private static final long RECONNECT_DELAY_MILLIS = 5_000;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final int pollMillis;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean running;
+    private Thread thread;
+
+    public PostgresCategoryChangeNotifier(DataSource dataSource, JdbcTemplate jdbcTemplate,
+                                          @Value("${app.categories.notify.poll-interval-ms:1000}") int pollMillis) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.pollMillis = pollMillis;
+    }
+
+    @Override
+    public void notifyChanged() {
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, nodeId);
+    }
+
+    @Override
+    public void subscribe(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        running = true;
+        thread = new Thread(this::listen, "category-change-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (thread == null) {
+            return;
+        }
+        thread.interrupt();
+        try {
+            thread.join(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                // changes sent while nobody was listening are lost, so start from a fresh snapshot
+                fire();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+                    if (notifications != null && fromOtherNode(notifications)) {
+                        fire();
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Lost the category change channel, reconnecting in {} ms", RECONNECT_DELAY_MILLIS, e);
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean fromOtherNode(PGNotification[] notifications) {
+        for (PGNotification notification : notifications) {
+            if (!nodeId.equals(notification.getParameter())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void fire() {
+        listeners.forEach(Runnable::run);
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.app.components;
+
+import com.example.app.events.PlaceChangedEvent;
+import com.example.app.events.PlaceSharedEvent;
+import com.example.app.events.PlacesChangedEvent;
+import com.example.app.events.SharedPlacesChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory version counters behind the ETags of the place and category listings, so a conditional
+ * GET can be answered without touching the database. A change stamps the affected key with the next
+ * value of one global counter; keys that were never changed, or were evicted to keep the map bounded,
+ * report the counter value at the last eviction. Either way a key's reported version only ever grows
+ * after a change. Changes are applied after commit, so a tag is never ahead of the data it was issued
+ * for. Tags carry a random per-process epoch, so a restart does not reissue old values.
+ */
+@Component
+public class ResourceVersions {
+
+    // after PlaceListCache has evicted the lists the same event changes
+    static final int LISTENER_ORDER = Ordered.LOWEST_PRECEDENCE;
+
+    private static final int MAX_TRACKED_KEYS = 100_000;
+    private static final String CATEGORIES = "categories";
+
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final AtomicLong counter = new AtomicLong();
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+    private volatile long floor;
+
+    public String placesTag(String username) {
+        return tag("p", version(placesKey(username)));
+    }
+
+    public String sharedTag(String username) {
+        return tag("s", version(sharedKey(username)));
+    }
+
+    public String categoriesTag() {
+        return tag("c", version(CATEGORIES));
+    }
+
+    public void categoriesChanged() {
+        afterCommit(() -> bump(CATEGORIES));
+    }
+
+    /**
+     * For a change committed by another node; its signal only arrives after that commit, so this
+     * bumps right away.
+     */
+    public void categoriesChangedElsewhere() {
+        bump(CATEGORIES);
+    }
+
+    /**
+     * For a renamed account, so whoever takes the old username next does not match its tags.
+     */
+    public void usernameReleased(String username) {
+        afterCommit(() -> {
+            bump(placesKey(username));
+            bump(sharedKey(username));
+        });
+    }
+
+    /**
+     * For changes whose audience is unknown, such as a deleted account whose places were shared.
+     */
+    public void invalidateAll() {
+        afterCommit(() -> {
+            floor = counter.incrementAndGet();
+            versions.clear();
+        });
+    }
+
+    @Order(LISTENER_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlaceChanged(PlaceChangedEvent event) {
+        bump(placesKey(event.username()));
+    }
+
+    @Order(LISTENER_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlacesChanged(PlacesChangedEvent event) {
+        bump(placesKey(event.username()));
+    }
+
+    @Order(LISTENER_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlaceShared(PlaceSharedEvent event) {
+        bump(sharedKey(event.receiverUsername()));
+    }
+
+    @Order(LISTENER_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSharedPlacesChanged(SharedPlacesChangedEvent event) {
+        event.receiverUsernames().forEach(username -> bump(sharedKey(username)));
+    }
+
+    private long version(String key) {
+        Long version = versions.get(key);
+        return version != null ? version : floor;
+    }
+
+    private void bump(String key) {
+        if (!versions.containsKey(key) && versions.size() >= MAX_TRACKED_KEYS) {
+            evictOne();
+        }
+        versions.put(key, counter.incrementAndGet());
+    }
+
+    private void evictOne() {
+        Iterator<String> keys = versions.keySet().iterator();
+        if (keys.hasNext()) {
+            // raise the floor before dropping the key so its reported version never goes back
+            floor = counter.incrementAndGet();
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private String tag(String kind, long version) {
+        return "\"" + kind + "-" + epoch + "-" + version + "\"";
+    }
+
+    private static String placesKey(String username) {
+        return "p:" + username;
+    }
+
+    private static String sharedKey(String username) {
+        return "s:" + username;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.app.components;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Bloom filter that grows by appending stages: each new stage has twice the capacity and half the
+ * false positive rate of the previous one, so the compound rate stays below {@code 2 * initialFalsePositiveRate}.
+ */
+public final class ScalableBloomFilter {
+
+    private static final int GROWTH_FACTOR = 2;
+    private static final double TIGHTENING_RATIO = 0.5;
+
+    private final List<BloomFilter> stages = new CopyOnWriteArrayList<>();
+
+    public ScalableBloomFilter(long initialCapacity, double initialFalsePositiveRate) {
+        stages.add(new BloomFilter(initialCapacity, initialFalsePositiveRate * (1 - TIGHTENING_RATIO)));
+    }
+
+    public synchronized void put(String value) {
+        BloomFilter current = stages.get(stages.size() - 1);
+        if (current.insertions() >= current.capacity()) {
+            double rate = current.falsePositiveRate() * TIGHTENING_RATIO;
+            current = new BloomFilter(current.capacity() * GROWTH_FACTOR, rate);
+            stages.add(current);
+        }
+        current.put(value);
+    }
+
+    public boolean mightContain(String value) {
+        for (BloomFilter stage : stages) {
+            if (stage.mightContain(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int stageCount() {
+        return stages.size();
+    }
+
+    public long insertions() {
+        return stages.stream().mapToLong(BloomFilter::insertions).sum();
+    }
+
+    public long estimatedBytes() {
+        return stages.stream().mapToLong(BloomFilter::estimatedBytes).sum();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.app.components;
+
+/**
+ * 64-bit hashing shared by the probabilistic structures: FNV-1a over the characters followed by
+ * the splitmix64 finaliser, which spreads FNV's weak low bits across the whole word.
+ */
+final class SketchHashing {
+
+    private SketchHashing() {
+    }
+
+    static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    static long hash(long value) {
+        return mix(value + 0x9E3779B97F4A7C15L);
+    }
+
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.app.components;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving heavy-hitter summary keeping at most {@code capacity} weighted counters. A new key
+ * replaces the smallest counter and inherits its count as error, so every key whose true weight
+ * exceeds total/capacity is guaranteed to be present. Counts are doubles so callers can apply
+ * forward decay by growing the weights and calling {@link #scale(double)}. Not thread-safe.
+ */
+public final class SpaceSaving {
+
+    public record Counter(String key, double count, double error) {
+    }
+
+    private static final Comparator<Counter> BY_COUNT =
+            Comparator.comparingDouble(Counter::count).thenComparing(Counter::key);
+
+    private final int capacity;
+    private final Map<String, Counter> counters = new HashMap<>();
+    private final TreeSet<Counter> ordered = new TreeSet<>(BY_COUNT);
+
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    public void offer(String key, double weight) {
+        Counter existing = counters.get(key);
+        if (existing != null) {
+            replace(existing, new Counter(key, existing.count() + weight, existing.error()));
+            return;
+        }
+        if (counters.size() < capacity) {
+            put(new Counter(key, weight, 0));
+            return;
+        }
+        Counter smallest = ordered.pollFirst();
+        counters.remove(smallest.key());
+        put(new Counter(key, smallest.count() + weight, smallest.count()));
+    }
+
+    public List<Counter> top(int limit) {
+        List<Counter> result = new ArrayList<>(Math.min(limit, counters.size()));
+        for (Counter counter : ordered.descendingSet()) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(counter);
+        }
+        return result;
+    }
+
+    public void scale(double factor) {
+        List<Counter> scaled = new ArrayList<>(counters.size());
+        for (Counter counter : counters.values()) {
+            scaled.add(new Counter(counter.key(), counter.count() * factor, counter.error() * factor));
+        }
+        counters.clear();
+        ordered.clear();
+        scaled.forEach(this::put);
+    }
+
+    public void removeBelow(double minimum) {
+        while (!ordered.isEmpty() && ordered.first().count() < minimum) {
+            counters.remove(ordered.pollFirst().key());
+        }
+    }
+
+    /**
+     * Combines two summaries (Agarwal et al., "Mergeable Summaries"): a key missing from one side
+     * is charged that side's minimum counter, then the largest {@code capacity} counters are kept.
+     */
+    public void merge(SpaceSaving other) {
+        double ownMinimum = minimumIfFull();
+        double otherMinimum = other.minimumIfFull();
+        Set<String> keys = new HashSet<>(counters.keySet());
+        keys.addAll(other.counters.keySet());
+
+        List<Counter> combined = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            Counter own = counters.get(key);
+            Counter theirs = other.counters.get(key);
+            combined.add(new Counter(key,
+                    (own != null ? own.count() : ownMinimum) + (theirs != null ? theirs.count() : otherMinimum),
+                    (own != null ? own.error() : ownMinimum) + (theirs != null ? theirs.error() : otherMinimum)));
+        }
+        combined.sort(BY_COUNT.reversed());
+        counters.clear();
+        ordered.clear();
+        combined.stream().limit(capacity).forEach(this::put);
+    }
+
+    public void remove(String key) {
+        Counter counter = counters.remove(key);
+        if (counter != null) {
+            ordered.remove(counter);
+        }
+    }
+
+    public boolean contains(String key) {
+        return counters.containsKey(key);
+    }
+
+    public int size() {
+        return counters.size();
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(capacity);
+        out.writeInt(counters.size());
+        for (Counter counter : counters.values()) {
+            out.writeUTF(counter.key());
+            out.writeDouble(counter.count());
+            out.writeDouble(counter.error());
+        }
+    }
+
+    public static SpaceSaving readFrom(DataInput in) throws IOException {
+        SpaceSaving summary = new SpaceSaving(in.readInt());
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            summary.put(new Counter(in.readUTF(), in.readDouble(), in.readDouble()));
+        }
+        return summary;
+    }
+
+    private double minimumIfFull() {
+        return counters.size() < capacity ? 0 : ordered.first().count();
+    }
+
+    private void replace(Counter previous, Counter next) {
+        ordered.remove(previous);
+        put(next);
+    }
+
+    private void put(Counter counter) {
+        counters.put(counter.key(), counter);
+        ordered.add(counter);
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.app.components;
+
+import com.example.app.dtos.PlaceDTO;
+import com.example.app.dtos.PlaceIndexEntryDTO;
+import com.example.app.dtos.TrendingPlaceDTO;
+import com.example.app.events.PlaceChangedEvent;
+import com.example.app.events.PlaceSharedEvent;
+import com.example.app.events.PlacesChangedEvent;
+import com.example.app.repositories.PlaceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * "Trending near you": one time-decayed Space-Saving summary per geohash cell, keyed by the
+ * normalised place name, fed by saves and shares of public places. Decay is forward decay: an
+ * event at time t weighs e^((t - landmark) / tau), and scores are divided by e^((now - landmark) / tau)
+ * when read, so old counters never need touching on the write path. When the exponent grows
+ * large all counters are rescaled to a new landmark and faded entries and empty cells are dropped.
+ * A query reads the caller's cell and its neighbours only. Each entry shows one owner's place;
+ * when that place is deleted, made private, moved or renamed to another name, or its account is
+ * deleted, the entry is dropped so the place stops being shown.
+ */
+@Component
+public class TrendingPlaces {
+
+    static final int CELL_PRECISION = 5;
+    private static final int PER_CELL_CAPACITY = 50;
+    private static final int MAX_CELLS = 50_000;
+    private static final double RENORMALISE_EXPONENT = 20;
+    private static final double FORGET_BELOW = 0.05;
+    private static final int SEED_HALF_LIVES = 5;
+    private static final int SEED_PAGE_SIZE = 1_000;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final PlaceRepository placeRepository;
+    private final Clock clock;
+    private final Duration halfLife;
+    private final double tauMillis;
+    private final Map<String, Cell> cells = new HashMap<>();
+    private long landmarkMillis;
+
+    public TrendingPlaces(PlaceRepository placeRepository,
+                          Clock clock,
+                          @Value("${app.trending.half-life-hours:24}") long halfLifeHours) {
+        this.placeRepository = placeRepository;
+        this.clock = clock;
+        this.halfLife = Duration.ofHours(halfLifeHours);
+        this.tauMillis = halfLife.toMillis() / Math.log(2);
+        this.landmarkMillis = clock.millis();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedFromRecentPlaces() {
+        OffsetDateTime since = OffsetDateTime.now(clock).minus(halfLife.multipliedBy(SEED_HALF_LIVES));
+        long afterId = 0;
+        List<PlaceIndexEntryDTO> page;
+        do {
+            page = placeRepository.findPublicIndexEntriesPostedSince(since, afterId, PageRequest.of(0, SEED_PAGE_SIZE));
+            for (PlaceIndexEntryDTO entry : page) {
+                record(entry.userId(), entry.toPlaceDTO(), entry.postDate().toInstant().toEpochMilli());
+                afterId = entry.id();
+            }
+        } while (page.size() == SEED_PAGE_SIZE);
+        logger.info("Trending places seeded from public places posted since {}", since);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlaceChanged(PlaceChangedEvent event) {
+        if (event.previous() != null) {
+            placeChanged(event.previous(), event.current());
+        } else if (event.current().isPublic()) {
+            record(event.userId(), event.current(), clock.millis());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlacesChanged(PlacesChangedEvent event) {
+        event.changes().forEach(this::onPlaceChanged);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlaceShared(PlaceSharedEvent event) {
+        if (event.place().isPublic()) {
+            record(event.senderId(), event.place(), clock.millis());
+        }
+    }
+
+    /**
+     * Drops every entry shown with a place of the given account, whose places go away through the
+     * foreign key cascade without a {@link PlaceChangedEvent}.
+     */
+    public synchronized void evictUser(Long userId) {
+        Iterator<Cell> iterator = cells.values().iterator();
+        while (iterator.hasNext()) {
+            Cell cell = iterator.next();
+            cell.representatives.entrySet().removeIf(entry -> {
+                if (!entry.getValue().userId().equals(userId)) {
+                    return false;
+                }
+                cell.summary.remove(entry.getKey());
+                return true;
+            });
+            if (cell.summary.size() == 0) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized List<TrendingPlaceDTO> trending(double latitude, double longitude, int limit) {
+        double decay = Math.exp(-(clock.millis() - landmarkMillis) / tauMillis);
+        List<TrendingPlaceDTO> candidates = new ArrayList<>();
+        for (String cellId : Geohash.cellAndNeighbours(latitude, longitude, CELL_PRECISION)) {
+            Cell cell = cells.get(cellId);
+            if (cell == null) {
+                continue;
+            }
+            for (SpaceSaving.Counter counter : cell.summary.top(PER_CELL_CAPACITY)) {
+                double score = counter.count() * decay;
+                Representative representative = cell.representatives.get(counter.key());
+                if (representative != null && score >= FORGET_BELOW) {
+                    PlaceDTO place = representative.place();
+                    candidates.add(new TrendingPlaceDTO(place.name(), place.category(), place.latitude(),
+                            place.longitude(), place.city(), place.country(), Math.round(score * 100) / 100.0));
+                }
+            }
+        }
+        candidates.sort(Comparator.comparingDouble(TrendingPlaceDTO::score).reversed().thenComparing(TrendingPlaceDTO::name));
+        return candidates.size() > limit ? new ArrayList<>(candidates.subList(0, limit)) : candidates;
+    }
+
+    synchronized void record(Long userId, PlaceDTO place, long eventMillis) {
+        String key = PlaceSuggestionIndex.normalize(place.name());
+        if (key.isEmpty()) {
+            return;
+        }
+        if ((eventMillis - landmarkMillis) / tauMillis > RENORMALISE_EXPONENT) {
+            renormalise(eventMillis);
+        }
+        String cellId = Geohash.encode(place.latitude(), place.longitude(), CELL_PRECISION);
+        Cell cell = cells.get(cellId);
+        if (cell == null) {
+            if (cells.size() >= MAX_CELLS) {
+                renormalise(Math.max(eventMillis, landmarkMillis));
+            }
+            if (cells.size() >= MAX_CELLS) {
+                return;
+            }
+            cell = new Cell();
+            cells.put(cellId, cell);
+        }
+        cell.summary.offer(key, Math.exp((eventMillis - landmarkMillis) / tauMillis));
+        cell.representatives.put(key, new Representative(userId, place));
+        if (cell.representatives.size() > 2 * PER_CELL_CAPACITY) {
+            cell.representatives.keySet().removeIf(name -> !cell.summary.contains(name));
+        }
+    }
+
+    private synchronized void placeChanged(PlaceDTO previous, PlaceDTO current) {
+        String key = PlaceSuggestionIndex.normalize(previous.name());
+        String cellId = Geohash.encode(previous.latitude(), previous.longitude(), CELL_PRECISION);
+        Cell cell = cells.get(cellId);
+        Representative shown = cell == null ? null : cell.representatives.get(key);
+        if (shown == null || !shown.place().id().equals(previous.id())) {
+            return;
+        }
+        boolean sameEntry = current != null && current.isPublic()
+                && key.equals(PlaceSuggestionIndex.normalize(current.name()))
+                && current.latitude() == previous.latitude() && current.longitude() == previous.longitude();
+        if (sameEntry) {
+            cell.representatives.put(key, new Representative(shown.userId(), current));
+            return;
+        }
+        cell.representatives.remove(key);
+        cell.summary.remove(key);
+        if (cell.summary.size() == 0) {
+            cells.remove(cellId);
+        }
+    }
+
+    private void renormalise(long newLandmarkMillis) {
+        double factor = Math.exp(-(newLandmarkMillis - landmarkMillis) / tauMillis);
+        Iterator<Cell> iterator = cells.values().iterator();
+        while (iterator.hasNext()) {
+            Cell cell = iterator.next();
+            cell.summary.scale(factor);
+            cell.summary.removeBelow(FORGET_BELOW);
+            if (cell.summary.size() == 0) {
+                iterator.remove();
+            } else {
+                cell.representatives.keySet().removeIf(name -> !cell.summary.contains(name));
+            }
+        }
+        landmarkMillis = newLandmarkMillis;
+    }
+
+    private record Representative(Long userId, PlaceDTO place) {
+    }
+
+    private static final class Cell {
+        private final SpaceSaving summary = new SpaceSaving(PER_CELL_CAPACITY);
+        private final Map<String, Representative> representatives = new HashMap<>();
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.app.components;
+
+import com.example.app.dtos.UserEmailDTO;
+import com.example.app.repositories.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bloom filters of taken usernames and emails, so the availability check can answer "definitely free"
+ * without a database round trip. A positive only means "maybe taken" and must be confirmed against the
+ * DB. The filters only learn values written through this node, so writes must not rely on them.
+ * Bloom filters cannot forget, so deleted or renamed values are counted as stale and the filters are
+ * rebuilt from the database on a background thread once stale entries exceed
+ * {@value #STALE_REBUILD_RATIO} of all insertions. Until the first build completes every value is
+ * reported as possibly taken.
+ */
+@Component
+public class UserAvailabilityFilter {
+
+    private static final int INITIAL_CAPACITY = 10_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final double STALE_REBUILD_RATIO = 0.2;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final UserRepository userRepository;
+    private final AtomicLong staleEntries = new AtomicLong();
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-availability-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile ScalableBloomFilter usernames = newFilter();
+    private volatile ScalableBloomFilter emails = newFilter();
+    private volatile boolean ready;
+
+    public UserAvailabilityFilter(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<UserEmailDTO> users = userRepository.findAccountEntries();
+        ScalableBloomFilter rebuiltUsernames = newFilter();
+        ScalableBloomFilter rebuiltEmails = newFilter();
+        for (UserEmailDTO user : users) {
+            rebuiltUsernames.put(user.username());
+            if (user.email() != null) {
+                rebuiltEmails.put(normalizeEmail(user.email()));
+            }
+        }
+        usernames = rebuiltUsernames;
+        emails = rebuiltEmails;
+        staleEntries.set(0);
+        ready = true;
+        logger.info("User availability filter built for {} users", users.size());
+    }
+
+    public synchronized void put(String username, String email) {
+        usernames.put(username);
+        if (email != null) {
+            emails.put(normalizeEmail(email));
+        }
+    }
+
+    public void retire(String username, String email) {
+        long retired = (username != null ? 1 : 0) + (email != null ? 1 : 0);
+        long stale = staleEntries.addAndGet(retired);
+        if (ready && stale > STALE_REBUILD_RATIO * (usernames.insertions() + emails.insertions())
+                && rebuildQueued.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    logger.warn("Could not rebuild the user availability filter", e);
+                } finally {
+                    rebuildQueued.set(false);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    public boolean mightContainUsername(String username) {
+        return !ready || usernames.mightContain(username);
+    }
+
+    public boolean mightContainEmail(String email) {
+        return !ready || emails.mightContain(normalizeEmail(email));
+    }
+
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static ScalableBloomFilter newFilter() {
+        return new ScalableBloomFilter(INITIAL_CAPACITY, FALSE_POSITIVE_RATE);
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.app.components;
+
+import com.example.app.dtos.UserRoleRowDTO;
+import com.example.app.entities.RoleName;
+import com.example.app.repositories.UserRepository;
+import com.example.app.security.CustomUserDetails;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolves a username to (user id, role names) for the premium check and the place limit check.
+ * For the user of the current request the answer comes from the authenticated
+ * {@link CustomUserDetails}, which Spring Security loads on every request anyway, so role changes
+ * made on any node apply from the next request on. Other lookups go through a process-local cache
+ * whose entries live for {@code app.users.role-cache-ttl-ms}, bounding how long another node's role
+ * change can go unseen. Entries are also evicted after commit when an account's roles change, and
+ * when the account is renamed or deleted; a load that overlapped an eviction drops its own entry
+ * again, so it cannot bring back roles from before the change.
+ */
+@Component
+public class UserRoleCache {
+
+    private static final int MAX_CACHED_USERS = 50_000;
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    public record Account(Long id, Set<RoleName> roles) {
+
+        public boolean isPremium() {
+            return roles.contains(RoleName.PREMIUM_USER);
+        }
+
+        /**
+         * Free accounts without a premium or admin role are held to the free place limit.
+         */
+        public boolean hasLimitedPlan() {
+            return roles.contains(RoleName.FREE_USER)
+                    && !roles.contains(RoleName.PREMIUM_USER)
+                    && !roles.contains(RoleName.ADMIN);
+        }
+    }
+
+    private record Entry(Account account, Instant expiresAt) {
+    }
+
+    private final UserRepository userRepository;
+    private final Clock clock;
+    private final Duration ttl;
+    private final Map<String, Entry> accounts = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public UserRoleCache(UserRepository userRepository, Clock clock,
+                         @Value("${app.users.role-cache-ttl-ms:30000}") long ttlMillis) {
+        this.userRepository = userRepository;
+        this.clock = clock;
+        this.ttl = Duration.ofMillis(ttlMillis);
+    }
+
+    public Optional<Account> get(String username) {
+        Account authenticated = fromPrincipal(username);
+        if (authenticated != null) {
+            return Optional.of(authenticated);
+        }
+        Instant now = clock.instant();
+        Entry cached = accounts.get(username);
+        if (cached != null && now.isBefore(cached.expiresAt())) {
+            return Optional.of(cached.account());
+        }
+        long seen = evictions.get();
+        List<UserRoleRowDTO> rows = userRepository.findRoleRowsByUsername(username);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Set<RoleName> roles = EnumSet.noneOf(RoleName.class);
+        for (UserRoleRowDTO row : rows) {
+            if (row.role() != null) {
+                roles.add(row.role());
+            }
+        }
+        Account account = new Account(rows.get(0).userId(), Set.copyOf(roles));
+        Entry entry = new Entry(account, now.plus(ttl));
+        evictIfFull();
+        accounts.put(username, entry);
+        if (evictions.get() != seen) {
+            accounts.remove(username, entry);
+        }
+        return Optional.of(account);
+    }
+
+    /**
+     * Drops the entry for {@code username} once the current transaction commits, or right away
+     * outside a transaction.
+     */
+    public void evict(String username) {
+        afterCommit(() -> {
+            evictions.incrementAndGet();
+            accounts.remove(username);
+        });
+    }
+
+    public void evictAll() {
+        evictions.incrementAndGet();
+        accounts.clear();
+    }
+
+    private static Account fromPrincipal(String username) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof CustomUserDetails user)
+                || user.getId() == null || !user.getUsername().equals(username)) {
+            return null;
+        }
+        Set<RoleName> roles = EnumSet.noneOf(RoleName.class);
+        for (GrantedAuthority authority : user.getAuthorities()) {
+            String name = authority.getAuthority();
+            if (name.startsWith(ROLE_PREFIX)) {
+                Arrays.stream(RoleName.values())
+                        .filter(role -> role.name().equals(name.substring(ROLE_PREFIX.length())))
+                        .findFirst()
+                        .ifPresent(roles::add);
+            }
+        }
+        return new Account(user.getId(), Set.copyOf(roles));
+    }
+
+    private void evictIfFull() {
+        if (accounts.size() < MAX_CACHED_USERS) {
+            return;
+        }
+        Iterator<String> keys = accounts.keySet().iterator();
+        if (keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
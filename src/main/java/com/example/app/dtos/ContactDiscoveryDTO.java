@@ -0,0 +1,13 @@
+package com.example.app.dtos;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record ContactDiscoveryDTO(
+        @NotEmpty(message = "Email hashes are required")
+        @Size(max = 2_000, message = "At most 2000 email hashes per request")
+        List<@Pattern(regexp = "[0-9a-fA-F]{64}", message = "Email hash must be a hex-encoded SHA-256 digest") String> emailHashes) {
+}
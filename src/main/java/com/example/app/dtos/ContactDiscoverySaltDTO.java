@@ -0,0 +1,6 @@
+package com.example.app.dtos;
+
+import java.time.Instant;
+
+public record ContactDiscoverySaltDTO(String salt, String algorithm, Instant expiresAt) {
+}
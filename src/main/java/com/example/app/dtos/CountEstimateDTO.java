@@ -0,0 +1,4 @@
+package com.example.app.dtos;
+
+public record CountEstimateDTO(String name, long count) {
+}
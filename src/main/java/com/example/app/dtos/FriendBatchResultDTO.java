@@ -0,0 +1,15 @@
+package com.example.app.dtos;
+
+public record FriendBatchResultDTO(String username, Outcome outcome) {
+
+    public enum Outcome {
+        INVITED,
+        ACCEPTED,
+        DUPLICATE,
+        CANNOT_INVITE_YOURSELF,
+        USER_NOT_FOUND,
+        INVITATION_ALREADY_EXISTS,
+        INVITATION_NOT_FOUND,
+        ALREADY_FRIENDS
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.app.dtos;
+
+public record FriendGraphStatsDTO(
+        long cachedUsers,
+        long cachedEdges,
+        long cachedUsernames,
+        long estimatedBytes,
+        long estimatedBytesPerUser) {
+}
@@ -0,0 +1,9 @@
+package com.example.app.dtos;
+
+public record FriendSuggestionDTO(
+        String username,
+        int mutualFriends,
+        int sharedCategories,
+        int sharedCities,
+        double score) {
+}
@@ -0,0 +1,6 @@
+package com.example.app.dtos;
+
+import com.example.app.entities.FriendshipStatus;
+
+public record FriendshipRowDTO(Long id, Long requesterId, Long receiverId, FriendshipStatus status) {
+}
@@ -0,0 +1,34 @@
+package com.example.app.dtos;
+
+import java.util.Locale;
+
+public enum ImportFormat {
+    CSV,
+    GEOJSON;
+
+    /**
+     * Uses the explicit format when given, otherwise guesses from the file extension. Google Takeout
+     * exports ({@code Saved Places.json}) are GeoJSON feature collections and use {@link #GEOJSON}.
+     */
+    public static ImportFormat resolve(String format, String filename) {
+        if (format != null && !format.isBlank()) {
+            String normalized = format.trim().toUpperCase(Locale.ROOT);
+            if (normalized.equals("JSON") || normalized.equals("TAKEOUT")) {
+                return GEOJSON;
+            }
+            try {
+                return valueOf(normalized);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported import format: " + format);
+            }
+        }
+        String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".json") || name.endsWith(".geojson")) {
+            return GEOJSON;
+        }
+        throw new IllegalArgumentException("Could not detect the import format, pass format=csv or format=geojson");
+    }
+}
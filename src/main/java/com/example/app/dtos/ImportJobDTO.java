@@ -0,0 +1,22 @@
+package com.example.app.dtos;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public record ImportJobDTO(UUID id,
+                           ImportJobStatus status,
+                           ImportFormat format,
+                           String filename,
+                           long rowsRead,
+                           long imported,
+                           long duplicates,
+                           long invalid,
+                           long overLimit,
+                           long geocodingPending,
+                           long geocoded,
+                           long geocodingFailed,
+                           List<String> errors,
+                           OffsetDateTime createdAt,
+                           OffsetDateTime finishedAt) {
+}
@@ -0,0 +1,9 @@
+package com.example.app.dtos;
+
+public enum ImportJobStatus {
+    QUEUED,
+    PARSING,
+    GEOCODING,
+    COMPLETED,
+    FAILED
+}
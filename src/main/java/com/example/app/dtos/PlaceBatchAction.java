@@ -0,0 +1,7 @@
+package com.example.app.dtos;
+
+public enum PlaceBatchAction {
+    CREATE,
+    UPDATE,
+    DELETE
+}
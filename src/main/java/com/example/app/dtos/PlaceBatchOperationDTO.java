@@ -0,0 +1,18 @@
+package com.example.app.dtos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * One entry of {@code POST /places/batch}: {@code place} is required for CREATE, {@code id} for
+ * UPDATE and DELETE, and {@code changes} for UPDATE.
+ */
+public record PlaceBatchOperationDTO(
+        @NotNull(message = "Action is required")
+        PlaceBatchAction action,
+        Long id,
+        @Valid
+        CreatePlaceDTO place,
+        @Valid
+        UpdatePlaceDTO changes) {
+}
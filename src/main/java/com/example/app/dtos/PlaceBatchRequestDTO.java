@@ -0,0 +1,14 @@
+package com.example.app.dtos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record PlaceBatchRequestDTO(
+        @NotEmpty(message = "Operations are required")
+        @Size(max = 500, message = "At most 500 operations per request")
+        List<@NotNull @Valid PlaceBatchOperationDTO> operations) {
+}
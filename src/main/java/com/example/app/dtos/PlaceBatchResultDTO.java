@@ -0,0 +1,23 @@
+package com.example.app.dtos;
+
+public record PlaceBatchResultDTO(int index, PlaceBatchAction action, Outcome outcome, Long id, PlaceDTO place, String error) {
+
+    public enum Outcome {
+        CREATED,
+        UPDATED,
+        DELETED,
+        NOT_FOUND,
+        ALREADY_EXISTS,
+        CATEGORY_NOT_FOUND,
+        LIMIT_EXCEEDED,
+        INVALID
+    }
+
+    public static PlaceBatchResultDTO done(int index, PlaceBatchAction action, Outcome outcome, Long id, PlaceDTO place) {
+        return new PlaceBatchResultDTO(index, action, outcome, id, place, null);
+    }
+
+    public static PlaceBatchResultDTO failed(int index, PlaceBatchOperationDTO operation, Outcome outcome, String error) {
+        return new PlaceBatchResultDTO(index, operation.action(), outcome, operation.id(), null, error);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.app.dtos;
+
+import java.util.List;
+
+/**
+ * Answer to a delta sync request. {@code places} holds places created or updated since the token
+ * and {@code deleted} the ids of places removed since then. When {@code full} is set the client
+ * should replace its local copy with {@code places} instead of merging.
+ */
+public record PlaceChangesDTO(String token, boolean full, List<PlaceDTO> places, List<Long> deleted) {
+}
@@ -0,0 +1,4 @@
+package com.example.app.dtos;
+
+public record PlaceFacetCountDTO(String category, String city, String country, Long count) {
+}
@@ -0,0 +1,26 @@
+package com.example.app.dtos;
+
+/**
+ * One parsed row of an import file. {@code line} is the CSV line or the 1-based GeoJSON feature
+ * number, used in error messages. Coordinates, flags and text fields are null when the source left
+ * them out.
+ */
+public record PlaceImportRowDTO(long line,
+                                String name,
+                                String category,
+                                Double latitude,
+                                Double longitude,
+                                String address,
+                                String city,
+                                String country,
+                                String note,
+                                Boolean isPublic) {
+
+    public boolean hasCoordinates() {
+        return latitude != null && longitude != null;
+    }
+
+    public boolean hasAddress() {
+        return address != null && !address.isBlank();
+    }
+}
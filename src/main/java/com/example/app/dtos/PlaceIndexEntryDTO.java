@@ -0,0 +1,21 @@
+package com.example.app.dtos;
+
+import java.time.OffsetDateTime;
+
+public record PlaceIndexEntryDTO(Long userId,
+                                 Long id,
+                                 String name,
+                                 String category,
+                                 double latitude,
+                                 double longitude,
+                                 String address,
+                                 String country,
+                                 String city,
+                                 String note,
+                                 OffsetDateTime postDate,
+                                 boolean isPublic) {
+
+    public PlaceDTO toPlaceDTO() {
+        return new PlaceDTO(id, name, category, latitude, longitude, address, country, city, note, postDate, isPublic);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.app.dtos;
+
+public record PlaceListCacheStatsDTO(
+        long cachedLists,
+        long cachedPlaces,
+        long hits,
+        long misses,
+        double hitRatio,
+        long evictions,
+        long invalidations,
+        long estimatedBytes) {
+}
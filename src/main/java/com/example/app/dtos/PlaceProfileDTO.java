@@ -0,0 +1,4 @@
+package com.example.app.dtos;
+
+public record PlaceProfileDTO(Long userId, String category, String city) {
+}
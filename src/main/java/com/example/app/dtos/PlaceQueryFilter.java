@@ -0,0 +1,31 @@
+package com.example.app.dtos;
+
+import java.time.OffsetDateTime;
+
+public record PlaceQueryFilter(String category,
+                               String city,
+                               String country,
+                               Boolean isPublic,
+                               OffsetDateTime postedFrom,
+                               OffsetDateTime postedTo,
+                               String text,
+                               Double latitude,
+                               Double longitude,
+                               Double radiusKm,
+                               int limit) {
+
+    public PlaceQueryFilter {
+        category = blankToNull(category);
+        city = blankToNull(city);
+        country = blankToNull(country);
+        text = blankToNull(text);
+    }
+
+    public boolean hasGeoFilter() {
+        return latitude != null && longitude != null && radiusKm != null;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
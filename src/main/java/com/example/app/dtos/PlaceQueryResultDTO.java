@@ -0,0 +1,11 @@
+package com.example.app.dtos;
+
+import java.util.List;
+import java.util.Map;
+
+public record PlaceQueryResultDTO(List<PlaceDTO> places,
+                                  long total,
+                                  Map<String, Long> categories,
+                                  Map<String, Long> cities,
+                                  Map<String, Long> countries) {
+}
@@ -0,0 +1,22 @@
+package com.example.app.dtos;
+
+public record PlaceSearchQuery(Long userId,
+                               String text,
+                               String category,
+                               Double latitude,
+                               Double longitude,
+                               Double radiusKm,
+                               int limit) {
+
+    public boolean hasText() {
+        return text != null && !text.isBlank();
+    }
+
+    public boolean hasCategory() {
+        return category != null && !category.isBlank();
+    }
+
+    public boolean hasGeoFilter() {
+        return latitude != null && longitude != null && radiusKm != null;
+    }
+}
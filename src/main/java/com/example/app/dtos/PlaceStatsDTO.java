@@ -0,0 +1,16 @@
+package com.example.app.dtos;
+
+import java.util.Map;
+
+public record PlaceStatsDTO(long totalPlaces,
+                            long publicPlaces,
+                            long privatePlaces,
+                            Map<String, Long> byCategory,
+                            Map<String, Long> byCity,
+                            Map<String, Long> byCountry,
+                            Map<String, Long> byMonth,
+                            double totalDistanceKm,
+                            double averageDistanceBetweenPlacesKm,
+                            Double centroidLatitude,
+                            Double centroidLongitude) {
+}
@@ -0,0 +1,8 @@
+package com.example.app.dtos;
+
+public record PlaceSuggestionDTO(Long id, String name, String category, String city) {
+
+    public static PlaceSuggestionDTO fromPlace(PlaceDTO place) {
+        return new PlaceSuggestionDTO(place.id(), place.name(), place.category(), place.city());
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.app.dtos;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public record PlatformAnalyticsDTO(long activeUsers,
+                                   List<CountEstimateDTO> activeUsersByCity,
+                                   long placesAdded,
+                                   List<CountEstimateDTO> placesByCountry,
+                                   List<CountEstimateDTO> topCategories,
+                                   int nodes,
+                                   OffsetDateTime generatedAt) {
+}
@@ -0,0 +1,9 @@
+package com.example.app.dtos;
+
+public record SearchIndexerStatsDTO(boolean enabled,
+                                    int pending,
+                                    long indexed,
+                                    long failed,
+                                    long dropped,
+                                    int consecutiveFailures) {
+}
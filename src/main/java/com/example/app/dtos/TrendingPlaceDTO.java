@@ -0,0 +1,10 @@
+package com.example.app.dtos;
+
+public record TrendingPlaceDTO(String name,
+                               String category,
+                               double latitude,
+                               double longitude,
+                               String city,
+                               String country,
+                               double score) {
+}
@@ -0,0 +1,4 @@
+package com.example.app.dtos;
+
+public record UserEmailDTO(Long id, String username, String email) {
+}
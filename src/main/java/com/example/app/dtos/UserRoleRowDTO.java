@@ -0,0 +1,6 @@
+package com.example.app.dtos;
+
+import com.example.app.entities.RoleName;
+
+public record UserRoleRowDTO(Long userId, RoleName role) {
+}
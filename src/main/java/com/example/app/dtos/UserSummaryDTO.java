@@ -0,0 +1,4 @@
+package com.example.app.dtos;
+
+public record UserSummaryDTO(Long id, String username) {
+}
@@ -0,0 +1,13 @@
+package com.example.app.dtos;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record UsernameBatchDTO(
+        @NotEmpty(message = "Usernames are required")
+        @Size(max = 500, message = "At most 500 usernames per request")
+        List<@NotBlank String> usernames) {
+}
@@ -0,0 +1,37 @@
+package com.example.app.endpoints;
+
+import com.example.app.dtos.PlatformAnalyticsDTO;
+import com.example.app.services.AdminAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+
+    private final AdminAnalyticsService adminAnalyticsService;
+
+    public AdminController(AdminAnalyticsService adminAnalyticsService) {
+        this.adminAnalyticsService = adminAnalyticsService;
+    }
+
+    @Operation(
+            summary = "Statystyki całej platformy",
+            description = "Zwraca szacunkowe statystyki ze wszystkich instancji aplikacji: liczbę aktywnych użytkowników (dodających lub edytujących miejsca) ogółem i w podziale na miasta, liczbę dodanych miejsc w podziale na kraje oraz najpopularniejsze kategorie. Wartości pochodzą ze szkiców probabilistycznych (HyperLogLog, Count-Min, Space-Saving), więc są przybliżone. Dostęp tylko dla administratora.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Statystyki pobrane pomyślnie"),
+                    @ApiResponse(responseCode = "400", description = "Nieprawidłowy limit wyników"),
+                    @ApiResponse(responseCode = "403", description = "Brak uprawnień (wymagana rola ADMIN)")
+            }
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/analytics")
+    public PlatformAnalyticsDTO getAnalytics(@RequestParam(defaultValue = "20") int limit) {
+        return adminAnalyticsService.getAnalytics(limit);
+    }
+}
@@ -1,23 +1,36 @@
 package com.example.app.endpoints;
 
+import com.example.app.components.JsonResponseCache;
+import com.example.app.components.ResourceVersions;
 import com.example.app.entities.Category;
 import com.example.app.services.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/categories")
 public class CategoryController {
     private final CategoryService categoryService;
+    private final ResourceVersions resourceVersions;
+    private final JsonResponseCache jsonResponseCache;
 
-    public CategoryController(CategoryService categoryService){
+    public CategoryController(CategoryService categoryService, ResourceVersions resourceVersions,
+                              JsonResponseCache jsonResponseCache){
         this.categoryService = categoryService;
+        this.resourceVersions = resourceVersions;
+        this.jsonResponseCache = jsonResponseCache;
     }
 
 
@@ -25,12 +38,18 @@ public class CategoryController {
             summary = "Pobierz wszystkie kategorie",
             description = "Pobiera listę wszystkich dostępnych kategorii.",
             responses = {
-                    @ApiResponse(responseCode = "200", description = "Kategorie pobrane pomyślnie")
+                    @ApiResponse(responseCode = "200", description = "Kategorie pobrane pomyślnie",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = Category.class)))),
+                    @ApiResponse(responseCode = "304", description = "Lista nie zmieniła się od wersji wskazanej w If-None-Match")
             }
     )
     @GetMapping
-    public List<Category> getAllCategories(){
-        return categoryService.findAll();
+    public void getAllCategories(WebRequest request, HttpServletRequest servletRequest,
+                                 HttpServletResponse servletResponse) throws IOException {
+        String tag = resourceVersions.categoriesTag();
+        if (!request.checkNotModified(tag)) {
+            jsonResponseCache.write("categories", "", tag, categoryService::findAll, servletRequest, servletResponse);
+        }
     }
 
 
@@ -1,10 +1,14 @@
 package com.example.app.endpoints;
 
+import com.example.app.dtos.FriendBatchResultDTO;
+import com.example.app.dtos.FriendSuggestionDTO;
 import com.example.app.dtos.FriendsDTO;
+import com.example.app.dtos.UsernameBatchDTO;
 import com.example.app.security.CustomUserDetails;
 import com.example.app.services.FriendService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
@@ -34,6 +38,21 @@ public class FriendController {
         return friendService.getFriends(user.getUsername());
     }
 
+    @Operation(
+            summary = "Pobierz propozycje znajomych",
+            description = "Zwraca użytkowników, którzy nie są jeszcze znajomymi, uszeregowanych według liczby wspólnych znajomych oraz wspólnych kategorii i miast zapisanych miejsc.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Propozycje znajomych pobrane pomyślnie"),
+                    @ApiResponse(responseCode = "400", description = "Nieprawidłowy limit wyników"),
+                    @ApiResponse(responseCode = "401", description = "Nieautoryzowany dostęp")
+            }
+    )
+    @GetMapping("/friends/suggestions")
+    public List<FriendSuggestionDTO> getFriendSuggestions(@AuthenticationPrincipal CustomUserDetails user,
+                                                          @RequestParam(defaultValue = "10") int limit) {
+        return friendService.getSuggestions(user.getUsername(), limit);
+    }
+
     @Operation(
             summary = "Pobierz wszystkie zaproszenia do znajomych",
             description = "Pobiera listę oczekujących zaproszeń do znajomych dla aktualnie zalogowanego użytkownika.",
@@ -64,6 +83,36 @@ public class FriendController {
         return ResponseEntity.ok(friendService.sendInvitation(user.getUsername(), username));
     }
 
+    @Operation(
+            summary = "Wyślij zaproszenia do wielu użytkowników",
+            description = "Wysyła zaproszenia do znajomych do maksymalnie 500 użytkowników naraz. Dla każdej nazwy użytkownika zwracany jest osobny wynik (np. wysłano, użytkownik nie istnieje, zaproszenie już istnieje).",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Zaproszenia przetworzone, wyniki dla poszczególnych użytkowników w treści odpowiedzi"),
+                    @ApiResponse(responseCode = "400", description = "Pusta lub zbyt długa lista nazw użytkowników"),
+                    @ApiResponse(responseCode = "401", description = "Nieautoryzowany dostęp")
+            }
+    )
+    @PostMapping("/invitations/batch")
+    public List<FriendBatchResultDTO> inviteFriends(@AuthenticationPrincipal CustomUserDetails user,
+                                                    @Valid @RequestBody UsernameBatchDTO dto) {
+        return friendService.sendInvitations(user.getUsername(), dto.usernames());
+    }
+
+    @Operation(
+            summary = "Akceptuj wiele zaproszeń do znajomych",
+            description = "Akceptuje oczekujące zaproszenia od maksymalnie 500 użytkowników naraz. Dla każdej nazwy użytkownika zwracany jest osobny wynik (np. zaakceptowano, zaproszenie nie znalezione, już znajomi).",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Zaproszenia przetworzone, wyniki dla poszczególnych użytkowników w treści odpowiedzi"),
+                    @ApiResponse(responseCode = "400", description = "Pusta lub zbyt długa lista nazw użytkowników"),
+                    @ApiResponse(responseCode = "401", description = "Nieautoryzowany dostęp")
+            }
+    )
+    @PostMapping("/invitations/accept-batch")
+    public List<FriendBatchResultDTO> acceptInvitations(@AuthenticationPrincipal CustomUserDetails user,
+                                                        @Valid @RequestBody UsernameBatchDTO dto) {
+        return friendService.acceptInvitations(user.getUsername(), dto.usernames());
+    }
+
     @Operation(
             summary = "Usuń wysłane zaproszenie do znajomych",
             description = "Usuwa zaproszenie do znajomych wysłane przez aktualnie zalogowanego użytkownika do innego użytkownika.",
@@ -1,5 +1,8 @@
 package com.example.app.endpoints;
 
+import com.example.app.dtos.FriendGraphStatsDTO;
+import com.example.app.dtos.PlaceListCacheStatsDTO;
+import com.example.app.dtos.SearchIndexerStatsDTO;
 import com.example.app.security.CustomUserDetails;
 import com.example.app.services.InfoService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -43,6 +46,48 @@ public class InfoController {
         return "UP";
     }
 
+    @Operation(
+            summary = "Pobierz statystyki pamięci podręcznej grafu znajomych",
+            description = "Zwraca liczbę użytkowników i krawędzi w pamięci podręcznej grafu znajomych oraz szacowane zużycie pamięci, również w przeliczeniu na użytkownika. Dostęp tylko dla administratora.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Statystyki pobrane pomyślnie"),
+                    @ApiResponse(responseCode = "403", description = "Brak uprawnień (wymagana rola ADMIN)")
+            }
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/health/friend-graph")
+    public FriendGraphStatsDTO getFriendGraphStats() {
+        return infoService.getFriendGraphStats();
+    }
+
+    @Operation(
+            summary = "Pobierz stan indeksera wyszukiwarki miejsc",
+            description = "Zwraca liczbę zmian oczekujących na wysłanie do Elasticsearch, liczbę zaindeksowanych i odrzuconych dokumentów oraz liczbę kolejnych nieudanych prób. Dostęp tylko dla administratora.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Stan indeksera pobrany pomyślnie"),
+                    @ApiResponse(responseCode = "403", description = "Brak uprawnień (wymagana rola ADMIN)")
+            }
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/health/search-indexer")
+    public SearchIndexerStatsDTO getSearchIndexerStats() {
+        return infoService.getSearchIndexerStats();
+    }
+
+    @Operation(
+            summary = "Pobierz statystyki pamięci podręcznej list miejsc",
+            description = "Zwraca liczbę list miejsc w pamięci podręcznej, liczbę trafień i chybień wraz ze współczynnikiem trafień, liczbę list usuniętych z powodu limitu i unieważnionych po zmianach oraz szacowane zużycie pamięci. Dostęp tylko dla administratora.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Statystyki pobrane pomyślnie"),
+                    @ApiResponse(responseCode = "403", description = "Brak uprawnień (wymagana rola ADMIN)")
+            }
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/health/place-list-cache")
+    public PlaceListCacheStatsDTO getPlaceListCacheStats() {
+        return infoService.getPlaceListCacheStats();
+    }
+
     @Operation(
             summary = "Pobierz logi systemowe z danego dnia",
             description = "Zwraca zawartość pliku logów dla podanej daty w formacie RRRR-MM-DD, np. 2025-06-08. Dostęp tylko dla administratora.",
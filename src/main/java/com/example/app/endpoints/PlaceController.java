@@ -1,43 +1,139 @@
 package com.example.app.endpoints;
 
+import com.example.app.components.JsonResponseCache;
+import com.example.app.components.ResourceVersions;
 import com.example.app.dtos.CreatePlaceDTO;
+import com.example.app.dtos.ExportFormat;
+import com.example.app.dtos.ImportJobDTO;
+import com.example.app.dtos.PlaceBatchRequestDTO;
+import com.example.app.dtos.PlaceBatchResultDTO;
+import com.example.app.dtos.PlaceChangesDTO;
 import com.example.app.dtos.PlaceDTO;
+import com.example.app.dtos.PlaceQueryFilter;
+import com.example.app.dtos.PlaceQueryResultDTO;
+import com.example.app.dtos.PlaceStatsDTO;
+import com.example.app.dtos.PlaceSuggestionDTO;
+import com.example.app.dtos.TrendingPlaceDTO;
 import com.example.app.dtos.UpdatePlaceDTO;
 import com.example.app.exception.PlaceNotFoundException;
 import com.example.app.repositories.UserRepository;
 import com.example.app.security.CustomUserDetails;
+import com.example.app.services.PlaceExportService;
+import com.example.app.services.PlaceImportService;
+import com.example.app.services.PlaceQueryService;
+import com.example.app.services.PlaceSearchService;
 import com.example.app.services.PlaceService;
+import com.example.app.services.PlaceStatsService;
+import com.example.app.services.PlaceSyncService;
+import com.example.app.services.TrendingPlacesService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/places")
 public class PlaceController {
     private final PlaceService placeService;
+    private final PlaceSearchService placeSearchService;
+    private final PlaceQueryService placeQueryService;
+    private final PlaceStatsService placeStatsService;
+    private final TrendingPlacesService trendingPlacesService;
+    private final PlaceImportService placeImportService;
+    private final PlaceExportService placeExportService;
+    private final PlaceSyncService placeSyncService;
+    private final ResourceVersions resourceVersions;
+    private final JsonResponseCache jsonResponseCache;
 
-    public PlaceController(PlaceService placeService,UserRepository userRepository) {
+    public PlaceController(PlaceService placeService, PlaceSearchService placeSearchService,
+                           PlaceQueryService placeQueryService, PlaceStatsService placeStatsService,
+                           TrendingPlacesService trendingPlacesService, PlaceImportService placeImportService,
+                           PlaceExportService placeExportService, PlaceSyncService placeSyncService,
+                           ResourceVersions resourceVersions, JsonResponseCache jsonResponseCache,
+                           UserRepository userRepository) {
         this.placeService = placeService;
+        this.placeSearchService = placeSearchService;
+        this.placeQueryService = placeQueryService;
+        this.placeStatsService = placeStatsService;
+        this.trendingPlacesService = trendingPlacesService;
+        this.placeImportService = placeImportService;
+        this.placeExportService = placeExportService;
+        this.placeSyncService = placeSyncService;
+        this.resourceVersions = resourceVersions;
+        this.jsonResponseCache = jsonResponseCache;
     }
 
     @Operation(
             summary = "Pobierz wszystkie miejsca użytkownika",
             description = "Pobiera listę wszystkich miejsc dodanych przez aktualnie zalogowanego użytkownika.",
             responses = {
-                    @ApiResponse(responseCode = "200", description = "Lista miejsc pobrana pomyślnie"),
+                    @ApiResponse(responseCode = "200", description = "Lista miejsc pobrana pomyślnie",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = PlaceDTO.class)))),
+                    @ApiResponse(responseCode = "304", description = "Lista nie zmieniła się od wersji wskazanej w If-None-Match"),
                     @ApiResponse(responseCode = "401", description = "Nieautoryzowany dostęp")
             }
     )
     @GetMapping
-    public List<PlaceDTO> getAllPlaces(@AuthenticationPrincipal CustomUserDetails user){
-        return placeService.findAll(user.getUsername());
+    public void getAllPlaces(@AuthenticationPrincipal CustomUserDetails user, WebRequest request,
+                             HttpServletRequest servletRequest, HttpServletResponse servletResponse) throws IOException {
+        String tag = resourceVersions.placesTag(user.getUsername());
+        if (!request.checkNotModified(tag)) {
+            jsonResponseCache.write("places", user.getUsername(), tag,
+                    () -> placeService.findAll(user.getUsername()), servletRequest, servletResponse);
+        }
+    }
+
+    @Operation(
+            summary = "Pobierz wskazane miejsca",
+            description = "Z parametrem ids (np. ids=1,2,3, maksymalnie 100) zwraca tylko wskazane miejsca należące do użytkownika " +
+                    "lub mu udostępnione, w kolejności podanych identyfikatorów; pozostałe identyfikatory są pomijane.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Lista miejsc pobrana pomyślnie"),
+                    @ApiResponse(responseCode = "400", description = "Zbyt wiele identyfikatorów"),
+                    @ApiResponse(responseCode = "401", description = "Nieautoryzowany dostęp")
+            }
+    )
+    @GetMapping(params = "ids")
+    public List<PlaceDTO> getPlacesByIds(@AuthenticationPrincipal CustomUserDetails user, @RequestParam List<Long> ids) {
+        return placeService.findByIds(user.getUsername(), ids);
+    }
+
+    @Operation(
+            summary = "Pobierz zmiany miejsc od ostatniej synchronizacji",
+            description = "Zwraca miejsca użytkownika utworzone lub zmienione od podanego tokenu oraz identyfikatory miejsc usuniętych w tym czasie, " +
+                    "wraz z nowym tokenem do kolejnego wywołania. Bez tokenu (lub z nieznanym tokenem) zwraca pełną listę z flagą full.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Zmiany pobrane pomyślnie"),
+                    @ApiResponse(responseCode = "400", description = "Nieprawidłowy token"),
+                    @ApiResponse(responseCode = "401", description = "Nieautoryzowany dostęp")
+            }
+    )
+    @GetMapping("/changes")
+    public PlaceChangesDTO getChanges(@AuthenticationPrincipal CustomUserDetails user,
+                                      @RequestParam(required = false) String since) {
+        return placeSyncService.changesSince(user.getUsername(), since);
     }
 
     @Operation(
@@ -68,6 +164,165 @@ public class PlaceController {
         return placeService.findFriendPlaces(user.getUsername(), friendUsername);
     }
 
+    @Operation(
+            summary = "Podpowiedzi miejsc podczas wpisywania",
+            description = "Zwraca miejsca aktualnie zalogowanego użytkownika, których nazwa (lub jej słowo), miasto albo kategoria zaczyna się od podanego tekstu. Wielkość liter i polskie znaki diakrytyczne są ignorowane.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Lista podpowiedzi pobrana pomyślnie"),
+                    @ApiResponse(responseCode = "400", description = "Nieprawidłowy limit wyników"),
+                    @ApiResponse(responseCode = "401", description = "Nieautoryzowany dostęp")
+            }
+    )
+    @GetMapping("/suggest")
+    public List<PlaceSuggestionDTO> suggestPlaces(@AuthenticationPrincipal CustomUserDetails user,
+                                                  @RequestParam String q,
+                                                  @RequestParam(defaultValue = "10") int limit) {
+        return placeService.suggest(user.getUsername(), q, limit);
+    }
+
+    @Operation(
+            summary = "Wyszukaj miejsca",
+            description = "Wyszukiwanie pełnotekstowe w nazwie, notatce i adresie miejsc aktualnie zalogowanego użytkownika, z opcjonalnym filtrem kategorii oraz odległości od punktu (latitude, longitude, radiusKm podawane razem). Bez tekstu zwraca najnowsze miejsca spełniające filtry.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Wyniki wyszukiwania pobrane pomyślnie"),
+                    @ApiResponse(responseCode = "400", description = "Nieprawidłowe parametry wyszukiwania"),
+                    @ApiResponse(responseCode = "401", description = "Nieautoryzowany dostęp"),
+                    @ApiResponse(responseCode = "503", description = "Wyszukiwarka jest niedostępna")
+            }
+    )
+    @GetMapping("/search")
+    public List<PlaceDTO> searchPlaces(@AuthenticationPrincipal CustomUserDetails user,
+                                       @RequestParam(required = false) String q,
+                                       @RequestParam(required = false) String category,
+                                       @RequestParam(required = false) Double latitude,
+                                       @RequestParam(required = false) Double longitude,
+                                       @RequestParam(required = false) Double radiusKm,
+                                       @RequestParam(defaultValue = "20") int limit) {
+        return placeSearchService.search(user.getUsername(), q, category, latitude, longitude, radiusKm, limit);
+    }
+
+    @Operation(
+            summary = "Filtruj miejsca z licznikami filtrów",
+            description = "Zwraca miejsca aktualnie zalogowanego użytkownika spełniające wszystkie podane filtry (kategoria, miasto, kraj, widoczność, zakres dat dodania, tekst w nazwie/notatce/adresie/mieście, odległość od punktu) wraz z liczbą pasujących miejsc w podziale na kategorie, miasta i kraje. Daty w formacie ISO-8601, np. 2025-01-01T00:00:00Z.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Wyniki filtrowania pobrane pomyślnie"),
+                    @ApiResponse(responseCode = "400", description = "Nieprawidłowe parametry filtrowania"),
+                    @ApiResponse(responseCode = "401", description = "Nieautoryzowany dostęp")
+            }
+    )
+    @GetMapping("/query")
+    public PlaceQueryResultDTO queryPlaces(@AuthenticationPrincipal CustomUserDetails user,
+                                           @RequestParam(required = false) String category,
+                                           @RequestParam(required = false) String city,
+                                           @RequestParam(required = false) String country,
+                                           @RequestParam(required = false) Boolean isPublic,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime postedFrom,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime postedTo,
+                                           @RequestParam(required = false) String q,
+                                           @RequestParam(required = false) Double latitude,
+                                           @RequestParam(required = false) Double longitude,
+                                           @RequestParam(required = false) Double radiusKm,
+                                           @RequestParam(defaultValue = "100") int limit) {
+        return placeQueryService.query(user.getUsername(), new PlaceQueryFilter(
+                category, city, country, isPublic, postedFrom, postedTo, q, latitude, longitude, radiusKm, limit));
+    }
+
+    @Operation(
+            summary = "Statystyki miejsc użytkownika premium",
+            description = "Zwraca liczbę miejsc aktualnie zalogowanego użytkownika w podziale na kategorie, miasta, kraje i miesiące dodania, liczbę miejsc publicznych i prywatnych, długość trasy łączącej miejsca w kolejności dodania, średnią odległość między kolejnymi miejscami oraz geograficzny środek zapisanych miejsc. Dostępne dla użytkowników premium.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Statystyki pobrane pomyślnie"),
+                    @ApiResponse(responseCode = "401", description = "Nieautoryzowany dostęp"),
+                    @ApiResponse(responseCode = "403", description = "Statystyki są dostępne tylko dla użytkowników premium")
+            }
+    )
+    @PreAuthorize("hasAnyRole('PREMIUM_USER', 'ADMIN')")
+    @GetMapping("/stats")
+    public PlaceStatsDTO getPlaceStats(@AuthenticationPrincipal CustomUserDetails user) {
+        return placeStatsService.getStats(user.getUsername());
+    }
+
+    @Operation(
+            summary = "Popularne miejsca w okolicy",
+            description = "Zwraca publiczne miejsca, które w ostatnim czasie najczęściej dodawali lub udostępniali użytkownicy w pobliżu podanego punktu (komórka geohash o boku ok. 5 km i komórki sąsiednie). Starsze zdarzenia mają coraz mniejszą wagę.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Lista popularnych miejsc pobrana pomyślnie"),
+                    @ApiResponse(responseCode = "400", description = "Nieprawidłowe współrzędne lub limit wyników"),
+                    @ApiResponse(responseCode = "401", description = "Nieautoryzowany dostęp")
+            }
+    )
+    @GetMapping("/trending")
+    public List<TrendingPlaceDTO> getTrendingPlaces(@RequestParam double latitude,
+                                                    @RequestParam double longitude,
+                                                    @RequestParam(defaultValue = "10") int limit) {
+        return trendingPlacesService.findTrending(latitude, longitude, limit);
+    }
+
+    @Operation(
+            summary = "Eksportuj miejsca",
+            description = "Eksportuje wszystkie miejsca aktualnie zalogowanego użytkownika oraz miejsca mu udostępnione w formacie GeoJSON, CSV lub NDJSON. Plik jest generowany strumieniowo; z parametrem gzip=true odpowiedź jest kompresowana (Content-Encoding: gzip). Dostępne tylko dla kont premium.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Eksport wygenerowany pomyślnie"),
+                    @ApiResponse(responseCode = "400", description = "Nieobsługiwany format eksportu"),
+                    @ApiResponse(responseCode = "401", description = "Nieautoryzowany dostęp"),
+                    @ApiResponse(responseCode = "403", description = "Eksport jest dostępny tylko dla kont premium")
+            }
+    )
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('PREMIUM_USER', 'ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportPlaces(@AuthenticationPrincipal CustomUserDetails user,
+                                                              @RequestParam(defaultValue = "geojson") String format,
+                                                              @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        String username = user.getUsername();
+        StreamingResponseBody body = out -> placeExportService.export(username, exportFormat, gzip, out);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("places." + exportFormat.extension())
+                        .build()
+                        .toString());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    @Operation(
+            summary = "Importuj miejsca z pliku",
+            description = "Przyjmuje plik CSV (nagłówek z kolumnami name, category, latitude, longitude, address, note, isPublic), GeoJSON lub eksport \"Zapisane miejsca\" z Google Takeout i importuje go w tle. Zwraca identyfikator zadania, którego postęp można sprawdzać. Wiersze bez kategorii otrzymują kategorię defaultCategory; brakujące współrzędne lub adresy są uzupełniane geokodowaniem po zakończeniu wczytywania. Darmowe konto importuje miejsca tylko do limitu planu. Użytkownik może mieć tylko jeden trwający import, a liczba wierszy i geokodowań w jednym imporcie jest ograniczona.",
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "Import został przyjęty do realizacji"),
+                    @ApiResponse(responseCode = "400", description = "Pusty plik lub nieobsługiwany format"),
+                    @ApiResponse(responseCode = "401", description = "Nieautoryzowany dostęp"),
+                    @ApiResponse(responseCode = "404", description = "Kategoria domyślna nie istnieje"),
+                    @ApiResponse(responseCode = "409", description = "Poprzedni import użytkownika jeszcze trwa")
+            }
+    )
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobDTO> importPlaces(@AuthenticationPrincipal CustomUserDetails user,
+                                                     @RequestParam("file") MultipartFile file,
+                                                     @RequestParam(required = false) String format,
+                                                     @RequestParam(required = false) String defaultCategory) {
+        ImportJobDTO job = placeImportService.startImport(user.getUsername(), file, format, defaultCategory);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @Operation(
+            summary = "Stan importu miejsc",
+            description = "Zwraca postęp zadania importu uruchomionego przez aktualnie zalogowanego użytkownika: liczbę wczytanych, zaimportowanych, zduplikowanych i błędnych wierszy, stan geokodowania oraz pierwsze błędy.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Stan importu pobrany pomyślnie"),
+                    @ApiResponse(responseCode = "401", description = "Nieautoryzowany dostęp"),
+                    @ApiResponse(responseCode = "404", description = "Zadanie importu nie znalezione")
+            }
+    )
+    @GetMapping("/import/{jobId}")
+    public ImportJobDTO getImportJob(@AuthenticationPrincipal CustomUserDetails user, @PathVariable UUID jobId) {
+        return placeImportService.getJob(user.getUsername(), jobId);
+    }
+
     @Operation(
             summary = "Pobierz miejsce po ID",
             description = "Pobiera szczegółowe informacje o miejscu na podstawie jego unikalnego ID, jeśli należy do aktualnie zalogowanego użytkownika.",
@@ -103,6 +358,22 @@ public class PlaceController {
 
     }
 
+    @Operation(
+            summary = "Wykonaj wiele operacji na miejscach",
+            description = "Tworzy, aktualizuje i usuwa wiele miejsc aktualnie zalogowanego użytkownika w jednej transakcji (maksymalnie 500 operacji). " +
+                    "Wynik każdej operacji zwracany jest osobno, w kolejności żądania; operacje, których nie da się wykonać, nie blokują pozostałych.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Operacje przetworzone, wynik każdej z nich w odpowiedzi"),
+                    @ApiResponse(responseCode = "400", description = "Nieprawidłowe dane wejściowe (błędy walidacji)"),
+                    @ApiResponse(responseCode = "401", description = "Nieautoryzowany dostęp")
+            }
+    )
+    @PostMapping("/batch")
+    public List<PlaceBatchResultDTO> applyBatch(@AuthenticationPrincipal CustomUserDetails user,
+                                                @Valid @RequestBody PlaceBatchRequestDTO request) {
+        return placeService.applyBatch(user.getUsername(), request.operations());
+    }
+
     @Operation(
             summary = "Usuń miejsce",
             description = "Trwale usuwa miejsce z systemu na podstawie jego ID, jeśli należy do aktualnie zalogowanego użytkownika.",
@@ -177,13 +448,20 @@ public class PlaceController {
             summary = "Pobierz wszystkie miejsca udostępnione użytkownikowi",
             description = "Pobiera listę wszystkich miejsc, które zostały udostępnione aktualnie zalogowanemu użytkownikowi.",
             responses = {
-                    @ApiResponse(responseCode = "200", description = "Lista udostępnionych miejsc pobrana pomyślnie"),
+                    @ApiResponse(responseCode = "200", description = "Lista udostępnionych miejsc pobrana pomyślnie",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = PlaceDTO.class)))),
+                    @ApiResponse(responseCode = "304", description = "Lista nie zmieniła się od wersji wskazanej w If-None-Match"),
                     @ApiResponse(responseCode = "401", description = "Nieautoryzowany dostęp")
             }
     )
     @GetMapping("/shared")
-    public List<PlaceDTO> getSharedPlaces(@AuthenticationPrincipal CustomUserDetails user) {
-        return placeService.findAllSharedPlaces(user.getUsername());
+    public void getSharedPlaces(@AuthenticationPrincipal CustomUserDetails user, WebRequest request,
+                                HttpServletRequest servletRequest, HttpServletResponse servletResponse) throws IOException {
+        String tag = resourceVersions.sharedTag(user.getUsername());
+        if (!request.checkNotModified(tag)) {
+            jsonResponseCache.write("shared", user.getUsername(), tag,
+                    () -> placeService.findAllSharedPlaces(user.getUsername()), servletRequest, servletResponse);
+        }
     }
 
     @Operation(
@@ -1,5 +1,6 @@
 package com.example.app.endpoints;
 
+import com.example.app.dtos.AvailabilityDTO;
 import com.example.app.dtos.CreateUserDTO;
 import com.example.app.dtos.UserDTO;
 import com.example.app.services.UserService;
@@ -33,4 +34,17 @@ public class PublicController {
         UserDTO savedUser = userService.registerUser(user);
         return ResponseEntity.status(HttpStatus.CREATED).body(savedUser);
     }
+
+    @Operation(
+            summary = "Sprawdź dostępność nazwy użytkownika i adresu email",
+            description = "Sprawdza, czy podana nazwa użytkownika i/lub adres email są wolne. Wartości, które na pewno nie są zajęte, rozpoznawane są bez zapytania do bazy danych. Pole dla parametru, którego nie podano, ma wartość null.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Dostępność sprawdzona pomyślnie")
+            }
+    )
+    @GetMapping("/register/available")
+    public AvailabilityDTO checkAvailability(@RequestParam(required = false) String username,
+                                             @RequestParam(required = false) String email) {
+        return userService.checkAvailability(username, email);
+    }
 }
@@ -1,5 +1,8 @@
 package com.example.app.endpoints;
 
+import com.example.app.dtos.ContactDiscoveryDTO;
+import com.example.app.dtos.ContactDiscoverySaltDTO;
+import com.example.app.dtos.ContactMatchDTO;
 import com.example.app.dtos.PasswordDTO;
 import com.example.app.dtos.UpdateUserDTO;
 import com.example.app.dtos.UserDTO;
@@ -42,6 +45,35 @@ public class UserController {
         return userService.getCurrentUserInfo(user.getUsername());
     }
 
+    @Operation(
+            summary = "Wyszukaj znajomych z kontaktów",
+            description = "Przyjmuje do 2000 skrótów SHA-256 adresów e-mail z książki kontaktów (solonych wartością z /user/discover/salt) i zwraca użytkowników, których adresy pasują. Adresy e-mail w postaci jawnej nie są przesyłane. Każdy użytkownik może sprawdzić dziennie ograniczoną liczbę skrótów.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Lista dopasowanych użytkowników"),
+                    @ApiResponse(responseCode = "400", description = "Pusta lub zbyt długa lista, albo nieprawidłowy format skrótu"),
+                    @ApiResponse(responseCode = "401", description = "Nieautoryzowany dostęp"),
+                    @ApiResponse(responseCode = "429", description = "Przekroczono dzienny limit sprawdzanych skrótów")
+            }
+    )
+    @PostMapping("/discover")
+    public List<ContactMatchDTO> discoverContacts(@AuthenticationPrincipal CustomUserDetails user,
+                                                  @Valid @RequestBody ContactDiscoveryDTO dto) {
+        return userService.discoverContacts(user.getUsername(), dto.emailHashes());
+    }
+
+    @Operation(
+            summary = "Pobierz sól do haszowania kontaktów",
+            description = "Zwraca sól, opis algorytmu i czas ważności soli. Klient powinien zahaszować nimi adresy e-mail przed wywołaniem /user/discover i pobrać sól ponownie po jej wygaśnięciu.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Sól pobrana pomyślnie"),
+                    @ApiResponse(responseCode = "401", description = "Nieautoryzowany dostęp")
+            }
+    )
+    @GetMapping("/discover/salt")
+    public ContactDiscoverySaltDTO getContactDiscoverySalt() {
+        return userService.getContactDiscoverySalt();
+    }
+
     @Operation(
             summary = "Pobierz wszystkich użytkowników",
             description = "Pobiera listę wszystkich użytkowników zarejestrowanych w systemie. Dostępne dla odpowiednio autoryzowanych użytkowników (np. Admin).",
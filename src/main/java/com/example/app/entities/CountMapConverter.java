@@ -0,0 +1,39 @@
+package com.example.app.entities;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+@Converter
+public class CountMapConverter implements AttributeConverter<Map<String, Long>, String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<TreeMap<String, Long>> TYPE = new TypeReference<>() {
+    };
+
+    @Override
+    public String convertToDatabaseColumn(Map<String, Long> counts) {
+        try {
+            return MAPPER.writeValueAsString(counts == null ? Map.of() : new TreeMap<>(counts));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise counts", e);
+        }
+    }
+
+    @Override
+    public Map<String, Long> convertToEntityAttribute(String json) {
+        if (json == null || json.isBlank()) {
+            return new TreeMap<>();
+        }
+        try {
+            return MAPPER.readValue(json, TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read counts", e);
+        }
+    }
+}
@@ -8,7 +8,15 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "friends")
+@Table(name = "friends",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "ux_friends_pair", columnNames = {
+                        "user_low_id", "user_high_id"
+                })
+        },
+        indexes = {
+                @Index(name = "ix_friends_user_high", columnList = "user_high_id")
+        })
 @Getter
 @Setter
 public class Friends {
@@ -25,8 +33,20 @@ public class Friends {
     @JoinColumn(name = "receiver_id", nullable = false)
     private User receiver;
 
+    @Column(name = "user_low_id", nullable = false)
+    private Long userLowId;
+
+    @Column(name = "user_high_id", nullable = false)
+    private Long userHighId;
+
     @Enumerated(EnumType.STRING)
     private FriendshipStatus status;
 
     private LocalDateTime createdAt = LocalDateTime.now();
+
+    @PrePersist
+    void orderPair() {
+        userLowId = Math.min(requester.getId(), receiver.getId());
+        userHighId = Math.max(requester.getId(), receiver.getId());
+    }
 }
@@ -3,13 +3,16 @@ package com.example.app.entities;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.OffsetDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "places")
+@Table(name = "places",
+        indexes = @Index(name = "ix_places_user_change_seq", columnList = "user_id, change_seq"))
 @Getter
 @Setter
 @Builder
@@ -18,7 +21,8 @@ import java.util.Set;
 public class Place {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "places_id_seq")
+    @SequenceGenerator(name = "places_id_seq", sequenceName = "places_id_seq", allocationSize = 50)
     private long id;
 
     @Column(nullable = false)
@@ -48,6 +52,10 @@ public class Place {
     @Column
     private OffsetDateTime postDate;
 
+    @Column(name = "change_seq", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private long changeSeq;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
@@ -57,7 +65,8 @@ public class Place {
     @JsonIgnore
     private User user;
 
-    @ManyToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @ManyToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     @JoinTable(name = "shared_with",
             joinColumns = @JoinColumn(name = "place_id"),
             inverseJoinColumns = @JoinColumn(name = "user_id")
@@ -0,0 +1,42 @@
+package com.example.app.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.OffsetDateTime;
+
+@Entity
+@Table(name = "place_tombstones",
+        indexes = @Index(name = "ix_place_tombstones_user_change_seq", columnList = "user_id, change_seq"))
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaceTombstone implements Persistable<Long> {
+
+    @Id
+    @Column(name = "place_id")
+    private Long placeId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
+    @Column(name = "deleted_at", nullable = false)
+    private OffsetDateTime deletedAt;
+
+    @Override
+    public Long getId() {
+        return placeId;
+    }
+
+    // place ids are never reused, so a tombstone is only ever inserted
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -5,6 +5,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -35,6 +37,14 @@ public class User {
         @Column(nullable = false)
         private String password;
 
+        @Column(name = "place_count", nullable = false, insertable = false, updatable = false)
+        @ColumnDefault("0")
+        private int placeCount;
+
+        @Column(name = "change_seq", nullable = false, insertable = false, updatable = false)
+        @ColumnDefault("0")
+        private long changeSeq;
+
         @ManyToMany
         @JoinTable(
                 name = "user_roles",
@@ -57,7 +67,8 @@ public class User {
         @JsonIgnore
         private Set<Friends> receivedInvites = new HashSet<>();
 
-        @ManyToMany(mappedBy = "sharedWith", fetch = FetchType.EAGER)
+        @ManyToMany(mappedBy = "sharedWith", fetch = FetchType.LAZY)
+        @BatchSize(size = 50)
         @JsonIgnore
         private Set<Place> sharedPlaces = new HashSet<>();
 
@@ -0,0 +1,59 @@
+package com.example.app.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+@Entity
+@Table(name = "user_place_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserPlaceStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private long totalPlaces;
+
+    @Column(nullable = false)
+    private long publicPlaces;
+
+    @Convert(converter = CountMapConverter.class)
+    @Column(name = "by_category", nullable = false, columnDefinition = "TEXT")
+    private Map<String, Long> byCategory = new TreeMap<>();
+
+    @Convert(converter = CountMapConverter.class)
+    @Column(name = "by_city", nullable = false, columnDefinition = "TEXT")
+    private Map<String, Long> byCity = new TreeMap<>();
+
+    @Convert(converter = CountMapConverter.class)
+    @Column(name = "by_country", nullable = false, columnDefinition = "TEXT")
+    private Map<String, Long> byCountry = new TreeMap<>();
+
+    @Convert(converter = CountMapConverter.class)
+    @Column(name = "by_month", nullable = false, columnDefinition = "TEXT")
+    private Map<String, Long> byMonth = new TreeMap<>();
+
+    @Column(name = "total_distance_km", nullable = false)
+    private double totalDistanceKm;
+
+    @Column(name = "sum_x", nullable = false)
+    private double sumX;
+
+    @Column(name = "sum_y", nullable = false)
+    private double sumY;
+
+    @Column(name = "sum_z", nullable = false)
+    private double sumZ;
+
+    public UserPlaceStats(Long userId) {
+        this.userId = userId;
+    }
+}
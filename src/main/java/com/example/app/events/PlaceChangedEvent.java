@@ -0,0 +1,31 @@
+package com.example.app.events;
+
+import com.example.app.dtos.PlaceDTO;
+
+/**
+ * Published by {@code PlaceService} for every place write. {@code previous} is null for a newly
+ * created place and {@code current} is null for a deleted one. Listeners that keep derived state
+ * should use {@code @TransactionalEventListener} so they only observe committed changes.
+ */
+public record PlaceChangedEvent(Long userId, String username, PlaceDTO previous, PlaceDTO current) {
+
+    public static PlaceChangedEvent created(Long userId, String username, PlaceDTO place) {
+        return new PlaceChangedEvent(userId, username, null, place);
+    }
+
+    public static PlaceChangedEvent updated(Long userId, String username, PlaceDTO previous, PlaceDTO current) {
+        return new PlaceChangedEvent(userId, username, previous, current);
+    }
+
+    public static PlaceChangedEvent deleted(Long userId, String username, PlaceDTO place) {
+        return new PlaceChangedEvent(userId, username, place, null);
+    }
+
+    public Long placeId() {
+        return current != null ? current.id() : previous.id();
+    }
+
+    public boolean isDelete() {
+        return current == null;
+    }
+}
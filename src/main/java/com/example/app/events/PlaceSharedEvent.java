@@ -0,0 +1,9 @@
+package com.example.app.events;
+
+import com.example.app.dtos.PlaceDTO;
+
+/**
+ * Published by {@code PlaceService.share} after a place has been added to the receiver's shared places.
+ */
+public record PlaceSharedEvent(Long senderId, String senderUsername, Long receiverId, String receiverUsername, PlaceDTO place) {
+}
@@ -0,0 +1,11 @@
+package com.example.app.events;
+
+import java.util.List;
+
+/**
+ * Published once for a bulk write (an import batch or a {@code POST /places/batch} request) instead
+ * of one {@link PlaceChangedEvent} per place, so listeners can update derived state for the whole
+ * set at once. All changes belong to the same user.
+ */
+public record PlacesChangedEvent(Long userId, String username, List<PlaceChangedEvent> changes) {
+}
@@ -0,0 +1,10 @@
+package com.example.app.events;
+
+import java.util.Set;
+
+/**
+ * Published by {@code PlaceService} when places that were shared with other users are updated or
+ * deleted, so state derived from those users' shared lists can be refreshed.
+ */
+public record SharedPlacesChangedEvent(Set<String> receiverUsernames) {
+}
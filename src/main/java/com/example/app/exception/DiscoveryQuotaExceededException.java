@@ -0,0 +1,7 @@
+package com.example.app.exception;
+
+public class DiscoveryQuotaExceededException extends RuntimeException {
+    public DiscoveryQuotaExceededException(String message) {
+        super(message);
+    }
+}
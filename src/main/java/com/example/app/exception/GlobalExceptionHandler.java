@@ -137,6 +137,30 @@ public class GlobalExceptionHandler {
         return Map.of("error", ex.getMessage());
     }
 
+    @ExceptionHandler(SearchUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Map<String, String> handleSearchUnavailable(SearchUnavailableException ex) {
+        return Map.of("error", ex.getMessage());
+    }
+
+    @ExceptionHandler(ImportJobNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public Map<String, String> handleImportJobNotFound(ImportJobNotFoundException ex) {
+        return Map.of("error", ex.getMessage());
+    }
+
+    @ExceptionHandler(ImportAlreadyRunningException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Map<String, String> handleImportAlreadyRunning(ImportAlreadyRunningException ex) {
+        return Map.of("error", ex.getMessage());
+    }
+
+    @ExceptionHandler(DiscoveryQuotaExceededException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public Map<String, String> handleDiscoveryQuotaExceeded(DiscoveryQuotaExceededException ex) {
+        return Map.of("error", ex.getMessage());
+    }
+
     @ExceptionHandler(LogFileNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public Map<String, String> handleFileNotFound(LogFileNotFoundException ex) {
@@ -0,0 +1,7 @@
+package com.example.app.exception;
+
+public class ImportAlreadyRunningException extends RuntimeException {
+    public ImportAlreadyRunningException(String message) {
+        super(message);
+    }
+}
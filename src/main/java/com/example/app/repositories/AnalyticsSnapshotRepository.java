@@ -0,0 +1,9 @@
+package com.example.app.repositories;
+
+import com.example.app.entities.AnalyticsSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AnalyticsSnapshotRepository extends JpaRepository<AnalyticsSnapshot, String> {
+}
@@ -0,0 +1,67 @@
+package com.example.app.repositories;
+
+import com.example.app.entities.FriendshipStatus;
+import jakarta.transaction.Transactional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Repository
+public class FriendsBatchRepository {
+    private static final int BATCH_SIZE = 100;
+    private static final String INSERT_INVITATION =
+            "INSERT INTO friends (requester_id, receiver_id, user_low_id, user_high_id, status, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String ACCEPT_INVITATION =
+            "UPDATE friends SET status = ? WHERE id = ? AND receiver_id = ? AND status = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public FriendsBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional
+    public void insertInvitations(long requesterId, List<Long> receiverIds, LocalDateTime createdAt) {
+        Timestamp timestamp = Timestamp.valueOf(createdAt);
+        jdbcTemplate.batchUpdate(INSERT_INVITATION, receiverIds, BATCH_SIZE, (ps, receiverId) -> {
+            ps.setLong(1, requesterId);
+            ps.setLong(2, receiverId);
+            ps.setLong(3, Math.min(requesterId, receiverId));
+            ps.setLong(4, Math.max(requesterId, receiverId));
+            ps.setString(5, FriendshipStatus.PENDING.name());
+            ps.setTimestamp(6, timestamp);
+        });
+    }
+
+    /**
+     * Accepts the given invitations if they are still pending and addressed to the receiver, so an
+     * invitation cancelled or accepted concurrently is left alone.
+     *
+     * @return ids of the invitations this call actually accepted
+     */
+    @Transactional
+    public Set<Long> acceptInvitations(long receiverId, List<Long> friendshipIds) {
+        int[][] counts = jdbcTemplate.batchUpdate(ACCEPT_INVITATION, friendshipIds, BATCH_SIZE, (ps, friendshipId) -> {
+            ps.setString(1, FriendshipStatus.ACCEPTED.name());
+            ps.setLong(2, friendshipId);
+            ps.setLong(3, receiverId);
+            ps.setString(4, FriendshipStatus.PENDING.name());
+        });
+        Set<Long> accepted = new HashSet<>();
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count > 0) {
+                    accepted.add(friendshipIds.get(index));
+                }
+                index++;
+            }
+        }
+        return accepted;
+    }
+}
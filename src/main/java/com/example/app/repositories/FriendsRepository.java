@@ -1,10 +1,14 @@
 package com.example.app.repositories;
 
+import com.example.app.dtos.FriendshipRowDTO;
 import com.example.app.entities.Friends;
 import com.example.app.entities.FriendshipStatus;
 import com.example.app.entities.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +16,14 @@ public interface FriendsRepository extends JpaRepository<Friends, Long> {
     List<Friends> findByRequesterOrReceiver(User requester, User receiver);
     List<Friends> findByReceiverAndStatus(User receiver, FriendshipStatus status);
     Optional<Friends> findByRequesterAndReceiver(User requester, User receiver);
+    Optional<Friends> findByUserLowIdAndUserHighId(Long userLowId, Long userHighId);
     void deleteByRequesterAndReceiver(User requester, User receiver);
-}
 
+    @Query("SELECT new com.example.app.dtos.FriendshipRowDTO(f.id, f.requester.id, f.receiver.id, f.status) FROM Friends f " +
+            "WHERE (f.userLowId = :userId AND f.userHighId IN :otherIds) OR (f.userHighId = :userId AND f.userLowId IN :otherIds)")
+    List<FriendshipRowDTO> findRowsBetween(@Param("userId") Long userId, @Param("otherIds") Collection<Long> otherIds);
+
+    @Query("SELECT CASE WHEN f.userLowId = :userId THEN f.userHighId ELSE f.userLowId END FROM Friends f " +
+            "WHERE (f.userLowId = :userId OR f.userHighId = :userId) AND f.status = :status")
+    List<Long> findFriendIds(@Param("userId") Long userId, @Param("status") FriendshipStatus status);
+}
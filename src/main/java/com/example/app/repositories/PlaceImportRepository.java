@@ -0,0 +1,59 @@
+package com.example.app.repositories;
+
+import com.example.app.dtos.PlaceDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Repository
+public class PlaceImportRepository {
+    private static final int BATCH_SIZE = 100;
+    private static final String UPDATE_LOCATION = "UPDATE places SET address = ?, country = ?, city = ? WHERE id = ? AND address IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public PlaceImportRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    public Set<String> findExistingNames(Collection<String> names) {
+        if (names.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                "SELECT name FROM places WHERE name IN (:names)", Map.of("names", names), String.class));
+    }
+
+    /**
+     * Fills in the location of places that still have no address and returns the ids actually
+     * updated; places the owner edited in the meantime are left alone.
+     */
+    public List<Long> updateLocations(List<PlaceDTO> places) {
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_LOCATION, places, BATCH_SIZE, (ps, place) -> {
+            ps.setString(1, place.address());
+            ps.setString(2, place.country());
+            ps.setString(3, place.city());
+            ps.setLong(4, place.id());
+        });
+        List<Long> updated = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count != 0) {
+                    updated.add(places.get(index).id());
+                }
+                index++;
+            }
+        }
+        return updated;
+    }
+}
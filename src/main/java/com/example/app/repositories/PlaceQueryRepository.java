@@ -0,0 +1,14 @@
+package com.example.app.repositories;
+
+import com.example.app.dtos.PlaceDTO;
+import com.example.app.dtos.PlaceFacetCountDTO;
+import com.example.app.dtos.PlaceQueryFilter;
+
+import java.util.List;
+
+public interface PlaceQueryRepository {
+
+    List<PlaceDTO> findDTOsMatching(String username, PlaceQueryFilter filter);
+
+    List<PlaceFacetCountDTO> countFacetsMatching(String username, PlaceQueryFilter filter);
+}
@@ -0,0 +1,131 @@
+package com.example.app.repositories;
+
+import com.example.app.dtos.PlaceDTO;
+import com.example.app.dtos.PlaceFacetCountDTO;
+import com.example.app.dtos.PlaceQueryFilter;
+import com.example.app.entities.Category;
+import com.example.app.entities.Place;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Criteria implementation of the composite place filter. Rows and facet counts share the same
+ * predicates; facets come from a single GROUP BY (category, city, country) query.
+ */
+class PlaceQueryRepositoryImpl implements PlaceQueryRepository {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE_LATITUDE = 111.2;
+
+    private final EntityManager entityManager;
+
+    PlaceQueryRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<PlaceDTO> findDTOsMatching(String username, PlaceQueryFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PlaceDTO> query = cb.createQuery(PlaceDTO.class);
+        Root<Place> place = query.from(Place.class);
+        Join<Place, Category> category = place.join("category");
+
+        query.select(cb.construct(PlaceDTO.class,
+                        place.get("id"), place.get("name"), category.get("name"),
+                        place.get("latitude"), place.get("longitude"), place.get("address"),
+                        place.get("country"), place.get("city"), place.get("note"),
+                        place.get("postDate"), place.get("isPublic")))
+                .where(predicates(cb, place, category, username, filter))
+                .orderBy(cb.desc(place.get("postDate")), cb.desc(place.get("id")));
+        return entityManager.createQuery(query).setMaxResults(filter.limit()).getResultList();
+    }
+
+    @Override
+    public List<PlaceFacetCountDTO> countFacetsMatching(String username, PlaceQueryFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PlaceFacetCountDTO> query = cb.createQuery(PlaceFacetCountDTO.class);
+        Root<Place> place = query.from(Place.class);
+        Join<Place, Category> category = place.join("category");
+
+        query.select(cb.construct(PlaceFacetCountDTO.class,
+                        category.get("name"), place.get("city"), place.get("country"), cb.count(place)))
+                .where(predicates(cb, place, category, username, filter))
+                .groupBy(category.get("name"), place.get("city"), place.get("country"));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private Predicate[] predicates(CriteriaBuilder cb, Root<Place> place, Join<Place, Category> category,
+                                   String username, PlaceQueryFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(place.get("user").get("username"), username));
+        if (filter.category() != null) {
+            predicates.add(cb.equal(category.get("name"), filter.category()));
+        }
+        if (filter.city() != null) {
+            predicates.add(cb.equal(cb.lower(place.get("city")), filter.city().toLowerCase(Locale.ROOT)));
+        }
+        if (filter.country() != null) {
+            predicates.add(cb.equal(cb.lower(place.get("country")), filter.country().toLowerCase(Locale.ROOT)));
+        }
+        if (filter.isPublic() != null) {
+            predicates.add(cb.equal(place.get("isPublic"), filter.isPublic()));
+        }
+        if (filter.postedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(place.get("postDate"), filter.postedFrom()));
+        }
+        if (filter.postedTo() != null) {
+            predicates.add(cb.lessThan(place.get("postDate"), filter.postedTo()));
+        }
+        if (filter.text() != null) {
+            String pattern = "%" + escapeLike(filter.text().toLowerCase(Locale.ROOT)) + "%";
+            predicates.add(cb.or(
+                    cb.like(cb.lower(place.get("name")), pattern, '\\'),
+                    cb.like(cb.lower(place.get("note")), pattern, '\\'),
+                    cb.like(cb.lower(place.get("address")), pattern, '\\'),
+                    cb.like(cb.lower(place.get("city")), pattern, '\\')));
+        }
+        if (filter.hasGeoFilter()) {
+            predicates.addAll(withinRadius(cb, place, filter.latitude(), filter.longitude(), filter.radiusKm()));
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+
+    /**
+     * Haversine test rewritten so only the row's own coordinates go through SQL functions:
+     * sin²(Δφ/2) + cos φ₀·cos φ·sin²(Δλ/2) ≤ sin²(d/2R). A latitude band in front lets the
+     * database discard most rows with plain comparisons.
+     */
+    private List<Predicate> withinRadius(CriteriaBuilder cb, Root<Place> place,
+                                         double latitude, double longitude, double radiusKm) {
+        double halfRadian = Math.PI / 360;
+        double latitudeBand = radiusKm / KM_PER_DEGREE_LATITUDE;
+        double maxHalfAngle = Math.min(radiusKm / (2 * EARTH_RADIUS_KM), Math.PI / 2);
+        double threshold = Math.pow(Math.sin(maxHalfAngle), 2);
+
+        Expression<Double> lat = place.get("latitude");
+        Expression<Double> lon = place.get("longitude");
+        Expression<Double> sinHalfDLat = cb.function("sin", Double.class, cb.prod(cb.diff(lat, latitude), halfRadian));
+        Expression<Double> sinHalfDLon = cb.function("sin", Double.class, cb.prod(cb.diff(lon, longitude), halfRadian));
+        Expression<Double> cosLat = cb.function("cos", Double.class, cb.prod(lat, 2 * halfRadian));
+        Expression<Double> a = cb.sum(
+                cb.prod(sinHalfDLat, sinHalfDLat),
+                cb.prod(cb.prod(cosLat, Math.cos(Math.toRadians(latitude))), cb.prod(sinHalfDLon, sinHalfDLon)));
+
+        return List.of(
+                cb.between(lat, latitude - latitudeBand, latitude + latitudeBand),
+                cb.le(a, threshold));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,40 +1,120 @@
 package com.example.app.repositories;
 
+import com.example.app.dtos.PlaceCoordinatesDTO;
+import com.example.app.dtos.PlaceDTO;
+import com.example.app.dtos.PlaceIndexEntryDTO;
+import com.example.app.dtos.PlaceProfileDTO;
 import com.example.app.entities.Place;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface PlaceRepository extends JpaRepository<Place, Long> {
+public interface PlaceRepository extends JpaRepository<Place, Long>, PlaceQueryRepository {
+    String PLACE_DTO_SELECT = "SELECT new com.example.app.dtos.PlaceDTO(" +
+            "p.id, p.name, c.name, p.latitude, p.longitude, p.address, p.country, p.city, p.note, p.postDate, p.isPublic) ";
+    String EXPORT_FETCH_SIZE = "500";
+
     @EntityGraph(attributePaths = {"category"})
     Optional<Place> findByIdAndUser_Username(Long id, String username);
 
     @EntityGraph(attributePaths = {"category"})
-    Optional<Place> findByNameAndUser_Username(String name, String username);
+    List<Place> findByIdInAndUser_Username(Collection<Long> ids, String username);
 
-    @EntityGraph(attributePaths = {"category"})
-    List<Place> findAllByUser_Username(String username);
+    @Query("SELECT p.id FROM Place p WHERE p.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
 
-    @EntityGraph(attributePaths = {"category"})
-    @Query("SELECT p FROM Place p WHERE p.category.name = :category AND p.user.username = :username")
-    List<Place> findAllByCategoryAndUser_Username(@Param("category")String category,@Param("username")String username);
+    @Query("SELECT p.name FROM Place p WHERE p.name IN :names")
+    List<String> findNamesByNameIn(@Param("names") Collection<String> names);
+
+    @EntityGraph(attributePaths = {"sharedWith"})
+    Optional<Place> findWithSharedWithByIdAndUser_Username(Long id, String username);
 
-    @Query("SELECT p FROM Place p JOIN p.sharedWith u WHERE u.username = :username")
     @EntityGraph(attributePaths = {"category"})
-    List<Place>  findAllSharedByUsername(@Param("username") String username);
+    Optional<Place> findByNameAndUser_Username(String name, String username);
 
+    @Query(PLACE_DTO_SELECT + "FROM Place p JOIN p.category c WHERE p.id = :id AND p.user.username = :username")
+    Optional<PlaceDTO> findDTOByIdAndUsername(@Param("id") Long id, @Param("username") String username);
 
-    @Query("SELECT p FROM Place p WHERE p.user.username = :username AND p.isPublic = false")
-    @EntityGraph(attributePaths = {"category"})
-    List<Place> findPrivatePlacesByUsername(@Param("username") String username);
+    @Query(PLACE_DTO_SELECT + "FROM Place p JOIN p.category c WHERE p.user.username = :username")
+    List<PlaceDTO> findDTOsByUsername(@Param("username") String username);
 
-    @Query("SELECT p FROM Place p WHERE p.user.username = :username AND p.isPublic = true")
-    @EntityGraph(attributePaths = {"category"})
-    List<Place> findPublicPlacesByUsername(@Param("username") String username);
+    @Query(PLACE_DTO_SELECT + "FROM Place p JOIN p.category c WHERE p.id IN :ids ORDER BY p.id")
+    List<PlaceDTO> findDTOsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(PLACE_DTO_SELECT + "FROM Place p JOIN p.category c WHERE p.id IN :ids AND (p.user.username = :username " +
+            "OR EXISTS (SELECT 1 FROM Place s JOIN s.sharedWith u WHERE s.id = p.id AND u.username = :username))")
+    List<PlaceDTO> findAccessibleDTOsByIdIn(@Param("ids") Collection<Long> ids, @Param("username") String username);
+
+    @Query(PLACE_DTO_SELECT + "FROM Place p JOIN p.category c WHERE p.user.username = :username AND p.changeSeq > :since ORDER BY p.id")
+    List<PlaceDTO> findDTOsChangedSince(@Param("username") String username, @Param("since") long since);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Place p SET p.changeSeq = :changeSeq WHERE p.id IN :ids")
+    int markChanged(@Param("ids") Collection<Long> ids, @Param("changeSeq") long changeSeq);
+
+    @Query(PLACE_DTO_SELECT + "FROM Place p JOIN p.category c WHERE c.name = :category AND p.user.username = :username")
+    List<PlaceDTO> findDTOsByCategoryAndUsername(@Param("category") String category, @Param("username") String username);
+
+    @Query(PLACE_DTO_SELECT + "FROM Place p JOIN p.category c JOIN p.sharedWith u WHERE u.username = :username")
+    List<PlaceDTO> findSharedDTOsByUsername(@Param("username") String username);
+
+    @Query(PLACE_DTO_SELECT + "FROM Place p JOIN p.category c WHERE p.user.username = :username AND p.isPublic = false")
+    List<PlaceDTO> findPrivateDTOsByUsername(@Param("username") String username);
+
+    @Query(PLACE_DTO_SELECT + "FROM Place p JOIN p.category c WHERE p.user.username = :username AND p.isPublic = true")
+    List<PlaceDTO> findPublicDTOsByUsername(@Param("username") String username);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(PLACE_DTO_SELECT + "FROM Place p JOIN p.category c WHERE p.user.username = :username ORDER BY p.id")
+    Stream<PlaceDTO> streamDTOsByUsername(@Param("username") String username);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(PLACE_DTO_SELECT + "FROM Place p JOIN p.category c JOIN p.sharedWith u WHERE u.username = :username ORDER BY p.id")
+    Stream<PlaceDTO> streamSharedDTOsByUsername(@Param("username") String username);
+
+    @Query("SELECT DISTINCT new com.example.app.dtos.PlaceProfileDTO(p.user.id, c.name, p.city) " +
+            "FROM Place p JOIN p.category c WHERE p.user.id IN :userIds")
+    List<PlaceProfileDTO> findProfilesByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT new com.example.app.dtos.PlaceIndexEntryDTO(p.user.id, p.id, p.name, c.name, p.latitude, p.longitude, " +
+            "p.address, p.country, p.city, p.note, p.postDate, p.isPublic) " +
+            "FROM Place p JOIN p.category c WHERE p.id > :afterId ORDER BY p.id")
+    List<PlaceIndexEntryDTO> findIndexEntriesAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT new com.example.app.dtos.PlaceIndexEntryDTO(p.user.id, p.id, p.name, c.name, p.latitude, p.longitude, " +
+            "p.address, p.country, p.city, p.note, p.postDate, p.isPublic) " +
+            "FROM Place p JOIN p.category c WHERE p.isPublic = true AND p.postDate >= :since AND p.id > :afterId ORDER BY p.id")
+    List<PlaceIndexEntryDTO> findPublicIndexEntriesPostedSince(@Param("since") OffsetDateTime since,
+                                                               @Param("afterId") long afterId, Pageable pageable);
+
+    @Query(PLACE_DTO_SELECT + "FROM Place p JOIN p.category c WHERE p.user.id = :userId ORDER BY p.postDate, p.id")
+    List<PlaceDTO> findDTOsByUserIdInPostOrder(@Param("userId") Long userId);
+
+    @Query("SELECT new com.example.app.dtos.PlaceCoordinatesDTO(p.latitude, p.longitude) FROM Place p " +
+            "WHERE p.user.id = :userId ORDER BY p.postDate, p.id")
+    List<PlaceCoordinatesDTO> findCoordinatesByUserIdInPostOrder(@Param("userId") Long userId);
+
+    @Query(PLACE_DTO_SELECT + "FROM Place p JOIN p.category c WHERE p.user.id = :userId " +
+            "AND p.id <> :id AND (p.postDate < :postDate OR (p.postDate = :postDate AND p.id < :id)) ORDER BY p.postDate DESC, p.id DESC")
+    List<PlaceDTO> findPostedBefore(@Param("userId") Long userId, @Param("postDate") OffsetDateTime postDate,
+                                    @Param("id") Long id, Pageable pageable);
+
+    @Query(PLACE_DTO_SELECT + "FROM Place p JOIN p.category c WHERE p.user.id = :userId " +
+            "AND p.id <> :id AND (p.postDate > :postDate OR (p.postDate = :postDate AND p.id > :id)) ORDER BY p.postDate, p.id")
+    List<PlaceDTO> findPostedAfter(@Param("userId") Long userId, @Param("postDate") OffsetDateTime postDate,
+                                   @Param("id") Long id, Pageable pageable);
 }
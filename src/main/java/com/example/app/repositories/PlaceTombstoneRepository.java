@@ -0,0 +1,17 @@
+package com.example.app.repositories;
+
+import com.example.app.entities.PlaceTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PlaceTombstoneRepository extends JpaRepository<PlaceTombstone, Long> {
+
+    @Query("SELECT t.placeId FROM PlaceTombstone t, User u WHERE u.id = t.userId AND u.username = :username " +
+            "AND t.changeSeq > :since ORDER BY t.changeSeq, t.placeId")
+    List<Long> findPlaceIdsDeletedSince(@Param("username") String username, @Param("since") long since);
+}
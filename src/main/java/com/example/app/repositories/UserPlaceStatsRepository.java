@@ -0,0 +1,19 @@
+package com.example.app.repositories;
+
+import com.example.app.entities.UserPlaceStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface UserPlaceStatsRepository extends JpaRepository<UserPlaceStats, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserPlaceStats s WHERE s.userId = :userId")
+    Optional<UserPlaceStats> findForUpdate(@Param("userId") Long userId);
+}
@@ -1,10 +1,18 @@
 package com.example.app.repositories;
 
+import com.example.app.dtos.UserEmailDTO;
+import com.example.app.dtos.UserRoleRowDTO;
+import com.example.app.dtos.UserSummaryDTO;
 import com.example.app.entities.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,5 +26,55 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @EntityGraph(attributePaths = {"roles","places"})
     Optional<User> findByUsername(String username);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findForUpdateById(@Param("id") Long id);
+
+    @Query("SELECT u.id FROM User u WHERE u.username = :username")
+    Optional<Long> findIdByUsername(@Param("username") String username);
+
+    @Query("SELECT new com.example.app.dtos.UserRoleRowDTO(u.id, r.name) FROM User u LEFT JOIN u.roles r WHERE u.username = :username")
+    List<UserRoleRowDTO> findRoleRowsByUsername(@Param("username") String username);
+
+    @Query("SELECT new com.example.app.dtos.UserSummaryDTO(u.id, u.username) FROM User u WHERE u.id IN :ids")
+    List<UserSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.example.app.dtos.UserSummaryDTO(u.id, u.username) FROM User u WHERE u.username IN :usernames")
+    List<UserSummaryDTO> findSummariesByUsernameIn(@Param("usernames") Collection<String> usernames);
+
+    @Query("SELECT new com.example.app.dtos.UserEmailDTO(u.id, u.username, u.email) FROM User u")
+    List<UserEmailDTO> findAccountEntries();
+
+    boolean existsByUsername(String username);
+
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.placeCount FROM User u WHERE u.id = :id")
+    Optional<Integer> findPlaceCountById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE User u SET u.placeCount = u.placeCount + 1 WHERE u.id = :id")
+    int incrementPlaceCount(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE User u SET u.placeCount = u.placeCount + 1 WHERE u.id = :id AND u.placeCount < :limit")
+    int incrementPlaceCountBelowLimit(@Param("id") Long id, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE User u SET u.placeCount = u.placeCount + :count WHERE u.id = :id")
+    int addToPlaceCount(@Param("id") Long id, @Param("count") int count);
+
+    @Modifying
+    @Query("UPDATE User u SET u.changeSeq = u.changeSeq + 1 WHERE u.id = :id")
+    int incrementChangeSeq(@Param("id") Long id);
+
+    @Query("SELECT u.changeSeq FROM User u WHERE u.id = :id")
+    long findChangeSeqById(@Param("id") Long id);
+
+    @Query("SELECT u.changeSeq FROM User u WHERE u.username = :username")
+    Optional<Long> findChangeSeqByUsername(@Param("username") String username);
+
+    @Modifying
+    @Query("UPDATE User u SET u.placeCount = u.placeCount - 1 WHERE u.id = :id AND u.placeCount > 0")
+    int decrementPlaceCount(@Param("id") Long id);
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.example.app.services;
+
+import com.example.app.components.AnalyticsSketches;
+import com.example.app.components.PlatformAnalytics;
+import com.example.app.dtos.PlatformAnalyticsDTO;
+import com.example.app.entities.AnalyticsSnapshot;
+import com.example.app.repositories.AnalyticsSnapshotRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+@Service
+public class AdminAnalyticsService {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final PlatformAnalytics platformAnalytics;
+    private final AnalyticsSnapshotRepository snapshotRepository;
+    private final Clock clock;
+
+    public AdminAnalyticsService(PlatformAnalytics platformAnalytics, AnalyticsSnapshotRepository snapshotRepository, Clock clock) {
+        this.platformAnalytics = platformAnalytics;
+        this.snapshotRepository = snapshotRepository;
+        this.clock = clock;
+    }
+
+    public PlatformAnalyticsDTO getAnalytics(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        AnalyticsSketches merged = platformAnalytics.snapshot();
+        int nodes = 1;
+        for (AnalyticsSnapshot snapshot : snapshotRepository.findAll()) {
+            if (snapshot.getNodeId().equals(platformAnalytics.nodeId())) {
+                continue;
+            }
+            Optional<AnalyticsSketches> other = AnalyticsSketches.fromBytes(snapshot.getData());
+            if (other.isPresent()) {
+                merged.merge(other.get());
+                nodes++;
+            }
+        }
+        return new PlatformAnalyticsDTO(
+                merged.activeUsers(),
+                merged.activeUsersByCity(limit),
+                merged.placesAdded(),
+                merged.placesByCountry(limit),
+                merged.topCategories(limit),
+                nodes,
+                OffsetDateTime.now(clock));
+    }
+}
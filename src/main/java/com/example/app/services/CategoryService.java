@@ -1,9 +1,12 @@
 package com.example.app.services;
 
+import com.example.app.components.CategoryDictionary;
+import com.example.app.components.ResourceVersions;
 import com.example.app.entities.Category;
 import com.example.app.exception.CategoryAlreadyExistsException;
 import com.example.app.exception.CategoryNotFoundException;
 import com.example.app.repositories.CategoryRepository;
+import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -12,30 +15,45 @@ import java.util.Optional;
 @Service
 public class CategoryService {
     private final CategoryRepository categoryRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final ResourceVersions resourceVersions;
 
-    public CategoryService(CategoryRepository categoryRepository) {
+    public CategoryService(CategoryRepository categoryRepository, CategoryDictionary categoryDictionary,
+                           ResourceVersions resourceVersions) {
         this.categoryRepository = categoryRepository;
+        this.categoryDictionary = categoryDictionary;
+        this.resourceVersions = resourceVersions;
     }
 
     public List<Category> findAll(){
-        return categoryRepository.findAll();
+        return categoryDictionary.findAll();
     }
 
+    @Transactional
     public Category save(Category category){
         Optional<Category> existingCategory = categoryRepository.findByName(category.getName());
         if (existingCategory.isPresent()) {
             throw new CategoryAlreadyExistsException("Kategoria o nazwie '" + category.getName() + "' już istnieje.");
         }
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        categoryDictionary.categoriesChanged();
+        resourceVersions.categoriesChanged();
+        return saved;
     }
 
+    @Transactional
     public void deleteById(Long id){
         Category category = categoryRepository.findById(id).orElseThrow(() -> new CategoryNotFoundException("Category not found with id: " + id));
         categoryRepository.delete(category);
+        categoryDictionary.categoriesChanged();
+        resourceVersions.categoriesChanged();
     }
 
+    @Transactional
     public void deleteByName(String categoryName){
         Category category = categoryRepository.findByName(categoryName).orElseThrow(() -> new CategoryNotFoundException("Category not found: " + categoryName));
         categoryRepository.delete(category);
+        categoryDictionary.categoriesChanged();
+        resourceVersions.categoriesChanged();
     }
 }
@@ -1,6 +1,12 @@
 package com.example.app.services;
 
+import com.example.app.components.FriendGraphCache;
+import com.example.app.dtos.FriendBatchResultDTO;
+import com.example.app.dtos.FriendBatchResultDTO.Outcome;
+import com.example.app.dtos.FriendSuggestionDTO;
 import com.example.app.dtos.FriendsDTO;
+import com.example.app.dtos.FriendshipRowDTO;
+import com.example.app.dtos.UserSummaryDTO;
 import com.example.app.entities.Friends;
 import com.example.app.entities.FriendshipStatus;
 import com.example.app.entities.User;
@@ -8,13 +14,25 @@ import com.example.app.exception.CannotInviteYourselfException;
 import com.example.app.exception.FriendshipNotFoundException;
 import com.example.app.exception.InvitationAlreadyExistsException;
 import com.example.app.exception.InvitationNotFoundException;
+import com.example.app.repositories.FriendsBatchRepository;
 import com.example.app.repositories.FriendsRepository;
 import com.example.app.repositories.UserRepository;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,10 +40,19 @@ public class FriendService {
 
     private final FriendsRepository friendRepository;
     private final UserRepository userRepository;
+    private final FriendGraphCache friendGraphCache;
+    private final FriendSuggestionService friendSuggestionService;
+    private final FriendsBatchRepository friendsBatchRepository;
+    private final Clock clock;
 
-    public FriendService(FriendsRepository friendRepository, UserRepository userRepository) {
+    public FriendService(FriendsRepository friendRepository, UserRepository userRepository, FriendGraphCache friendGraphCache,
+                         FriendSuggestionService friendSuggestionService, FriendsBatchRepository friendsBatchRepository, Clock clock) {
         this.friendRepository = friendRepository;
         this.userRepository = userRepository;
+        this.friendGraphCache = friendGraphCache;
+        this.friendSuggestionService = friendSuggestionService;
+        this.friendsBatchRepository = friendsBatchRepository;
+        this.clock = clock;
     }
 
     public List<FriendsDTO> getFriends(String username) {
@@ -36,6 +63,10 @@ public class FriendService {
                 .collect(Collectors.toList());
     }
 
+    public List<FriendSuggestionDTO> getSuggestions(String username, int limit) {
+        return friendSuggestionService.getSuggestions(username, limit);
+    }
+
     public List<FriendsDTO> getInvitations(String username) {
         User user = getUser(username);
         return friendRepository.findByReceiverAndStatus(user, FriendshipStatus.PENDING).stream()
@@ -51,7 +82,9 @@ public class FriendService {
             throw new CannotInviteYourselfException("Cannot send invite to yourself.");
         }
 
-        friendRepository.findByRequesterAndReceiver(requester, receiver)
+        friendRepository.findByUserLowIdAndUserHighId(
+                        Math.min(requester.getId(), receiver.getId()),
+                        Math.max(requester.getId(), receiver.getId()))
                 .ifPresent(f -> {
                     throw new InvitationAlreadyExistsException("Invitation already exists.");
                 });
@@ -66,8 +99,13 @@ public class FriendService {
     public void deleteInvitation(String requesterUsername, String receiverUsername) {
         User requester = getUser(requesterUsername);
         User receiver = getUser(receiverUsername);
-        friendRepository.findByRequesterAndReceiver(requester, receiver)
-                .ifPresent(friendRepository::delete);
+        friendRepository.findByRequesterAndReceiver(requester, receiver).ifPresent(friends -> {
+            friendRepository.delete(friends);
+            if (friends.getStatus() == FriendshipStatus.ACCEPTED) {
+                friendGraphCache.removeFriendship(requester.getId(), receiver.getId());
+                friendSuggestionService.onFriendshipChanged(requester.getId(), receiver.getId());
+            }
+        });
     }
 
     public FriendsDTO acceptInvitation(String receiverUsername, String requesterUsername) {
@@ -76,30 +114,142 @@ public class FriendService {
         Friends friends = friendRepository.findByRequesterAndReceiver(requester, receiver)
                 .orElseThrow(() -> new InvitationNotFoundException("Invitation not found"));
         friends.setStatus(FriendshipStatus.ACCEPTED);
-        return FriendsDTO.fromEntity(friendRepository.save(friends));
+        FriendsDTO accepted = FriendsDTO.fromEntity(friendRepository.save(friends));
+        friendGraphCache.addFriendship(requester.getId(), receiver.getId());
+        friendSuggestionService.onFriendshipChanged(requester.getId(), receiver.getId());
+        return accepted;
     }
 
-    public void deleteFriend(String requesterUsername, String receiverUsername) {
-        User requester = getUser(requesterUsername);
-        User receiver = getUser(receiverUsername);
+    public List<FriendBatchResultDTO> sendInvitations(String requesterUsername, List<String> receiverUsernames) {
+        Long requesterId = getUserId(requesterUsername);
+        Map<String, Long> userIds = resolveUserIds(receiverUsernames);
+        Map<Long, FriendshipRowDTO> existing = findRowsByOtherUser(requesterId, userIds.values());
 
-        Optional<Friends> friendOpt = friendRepository.findByRequesterAndReceiver(requester, receiver);
+        List<FriendBatchResultDTO> results = new ArrayList<>(receiverUsernames.size());
+        Map<Long, Integer> invited = new LinkedHashMap<>();
+        Set<String> seen = new HashSet<>();
+        for (String username : receiverUsernames) {
+            Long receiverId = userIds.get(username);
+            Outcome outcome;
+            if (!seen.add(username)) {
+                outcome = Outcome.DUPLICATE;
+            } else if (username.equals(requesterUsername)) {
+                outcome = Outcome.CANNOT_INVITE_YOURSELF;
+            } else if (receiverId == null) {
+                outcome = Outcome.USER_NOT_FOUND;
+            } else if (existing.containsKey(receiverId)) {
+                outcome = existing.get(receiverId).status() == FriendshipStatus.ACCEPTED
+                        ? Outcome.ALREADY_FRIENDS
+                        : Outcome.INVITATION_ALREADY_EXISTS;
+            } else {
+                outcome = Outcome.INVITED;
+                invited.put(receiverId, results.size());
+            }
+            results.add(new FriendBatchResultDTO(username, outcome));
+        }
 
-        if (friendOpt.isEmpty()) {
-            friendOpt = friendRepository.findByRequesterAndReceiver(receiver, requester);
+        if (!invited.isEmpty()) {
+            LocalDateTime createdAt = LocalDateTime.now(clock);
+            try {
+                friendsBatchRepository.insertInvitations(requesterId, new ArrayList<>(invited.keySet()), createdAt);
+            } catch (DataIntegrityViolationException ex) {
+                // a pair was created concurrently; retry one by one to find which
+                for (Map.Entry<Long, Integer> entry : invited.entrySet()) {
+                    try {
+                        friendsBatchRepository.insertInvitations(requesterId, List.of(entry.getKey()), createdAt);
+                    } catch (DataIntegrityViolationException duplicate) {
+                        int index = entry.getValue();
+                        results.set(index, new FriendBatchResultDTO(results.get(index).username(), Outcome.INVITATION_ALREADY_EXISTS));
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    public List<FriendBatchResultDTO> acceptInvitations(String receiverUsername, List<String> requesterUsernames) {
+        Long receiverId = getUserId(receiverUsername);
+        Map<String, Long> userIds = resolveUserIds(requesterUsernames);
+        Map<Long, FriendshipRowDTO> existing = findRowsByOtherUser(receiverId, userIds.values());
+
+        List<FriendBatchResultDTO> results = new ArrayList<>(requesterUsernames.size());
+        Map<Integer, FriendshipRowDTO> toAccept = new LinkedHashMap<>();
+        Set<String> seen = new HashSet<>();
+        for (String username : requesterUsernames) {
+            Long requesterId = userIds.get(username);
+            FriendshipRowDTO row = requesterId == null ? null : existing.get(requesterId);
+            Outcome outcome;
+            if (!seen.add(username)) {
+                outcome = Outcome.DUPLICATE;
+            } else if (requesterId == null) {
+                outcome = Outcome.USER_NOT_FOUND;
+            } else if (row == null) {
+                outcome = Outcome.INVITATION_NOT_FOUND;
+            } else if (row.status() == FriendshipStatus.ACCEPTED) {
+                outcome = Outcome.ALREADY_FRIENDS;
+            } else if (!row.receiverId().equals(receiverId)) {
+                outcome = Outcome.INVITATION_NOT_FOUND;
+            } else {
+                outcome = Outcome.ACCEPTED;
+                toAccept.put(results.size(), row);
+            }
+            results.add(new FriendBatchResultDTO(username, outcome));
+        }
+        if (toAccept.isEmpty()) {
+            return results;
+        }
+
+        Set<Long> accepted = friendsBatchRepository.acceptInvitations(receiverId,
+                toAccept.values().stream().map(FriendshipRowDTO::id).toList());
+        List<Long> lost = new ArrayList<>();
+        for (Map.Entry<Integer, FriendshipRowDTO> entry : toAccept.entrySet()) {
+            Long requesterId = entry.getValue().requesterId();
+            if (accepted.contains(entry.getValue().id())) {
+                friendGraphCache.addFriendship(requesterId, receiverId);
+                friendSuggestionService.onFriendshipChanged(requesterId, receiverId);
+            } else {
+                lost.add(requesterId);
+            }
+        }
+        if (!lost.isEmpty()) {
+            // cancelled or accepted by a concurrent request between the read and the update
+            Map<Long, FriendshipRowDTO> current = findRowsByOtherUser(receiverId, lost);
+            for (Map.Entry<Integer, FriendshipRowDTO> entry : toAccept.entrySet()) {
+                if (accepted.contains(entry.getValue().id())) {
+                    continue;
+                }
+                FriendshipRowDTO row = current.get(entry.getValue().requesterId());
+                Outcome outcome = row != null && row.status() == FriendshipStatus.ACCEPTED
+                        ? Outcome.ALREADY_FRIENDS
+                        : Outcome.INVITATION_NOT_FOUND;
+                results.set(entry.getKey(), new FriendBatchResultDTO(results.get(entry.getKey()).username(), outcome));
+            }
         }
+        return results;
+    }
+
+    public void deleteFriend(String requesterUsername, String receiverUsername) {
+        Long requesterId = getUserId(requesterUsername);
+        Long receiverId = getUserId(receiverUsername);
 
-        Friends friend = friendOpt.orElseThrow(() ->
-                new FriendshipNotFoundException("Friendship not found between " + requesterUsername + " and " + receiverUsername));
+        Friends friend = friendRepository.findByUserLowIdAndUserHighId(Math.min(requesterId, receiverId), Math.max(requesterId, receiverId))
+                .orElseThrow(() -> new FriendshipNotFoundException("Friendship not found between " + requesterUsername + " and " + receiverUsername));
 
         friendRepository.delete(friend);
+        friendGraphCache.removeFriendship(requesterId, receiverId);
+        friendSuggestionService.onFriendshipChanged(requesterId, receiverId);
     }
 
     public boolean isFriendWith(String userUsername, String friendUsername) {
-        return getFriends(userUsername).stream().anyMatch(f ->
-                (f.getRequesterUsername().equals(userUsername) && f.getReceiverUsername().equals(friendUsername)) ||
-                        (f.getReceiverUsername().equals(userUsername) && f.getRequesterUsername().equals(friendUsername))
-        );
+        if (userUsername.equals(friendUsername)) {
+            return false;
+        }
+        Optional<Long> userId = friendGraphCache.resolveUserId(userUsername);
+        Optional<Long> friendId = friendGraphCache.resolveUserId(friendUsername);
+        if (userId.isEmpty() || friendId.isEmpty()) {
+            return false;
+        }
+        return friendGraphCache.areFriends(userId.get(), friendId.get());
     }
 
     private User getUser(String username) {
@@ -107,5 +257,29 @@ public class FriendService {
                 .orElseThrow(() -> new UsernameNotFoundException("User '" + username + "' not found"));
     }
 
+    private Long getUserId(String username) {
+        return friendGraphCache.resolveUserId(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User '" + username + "' not found"));
+    }
+
+    private Map<String, Long> resolveUserIds(List<String> usernames) {
+        Map<String, Long> ids = new HashMap<>();
+        for (UserSummaryDTO summary : userRepository.findSummariesByUsernameIn(new LinkedHashSet<>(usernames))) {
+            ids.put(summary.username(), summary.id());
+        }
+        return ids;
+    }
+
+    private Map<Long, FriendshipRowDTO> findRowsByOtherUser(Long userId, Collection<Long> otherIds) {
+        Map<Long, FriendshipRowDTO> rows = new HashMap<>();
+        if (otherIds.isEmpty()) {
+            return rows;
+        }
+        for (FriendshipRowDTO row : friendRepository.findRowsBetween(userId, otherIds)) {
+            rows.put(row.requesterId().equals(userId) ? row.receiverId() : row.requesterId(), row);
+        }
+        return rows;
+    }
+
 
 }
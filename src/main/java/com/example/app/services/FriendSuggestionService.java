@@ -0,0 +1,158 @@
+package com.example.app.services;
+
+import com.example.app.components.FriendGraphCache;
+import com.example.app.dtos.FriendSuggestionDTO;
+import com.example.app.dtos.PlaceProfileDTO;
+import com.example.app.dtos.UserSummaryDTO;
+import com.example.app.exception.UserNotFoundException;
+import com.example.app.repositories.PlaceRepository;
+import com.example.app.repositories.UserRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Service
+public class FriendSuggestionService {
+    private static final int MAX_FRIENDS_EXPANDED = 500;
+    private static final int MAX_SECOND_HOP_PER_FRIEND = 500;
+    private static final int CANDIDATE_POOL = 200;
+    private static final int MAX_SUGGESTIONS = 50;
+    private static final int MAX_CACHED_USERS = 10_000;
+    private static final Duration CACHE_TTL = Duration.ofMinutes(10);
+    private static final double CATEGORY_WEIGHT = 0.5;
+    private static final double CITY_WEIGHT = 1.0;
+    private static final Comparator<FriendSuggestionDTO> RANKING = Comparator
+            .comparingDouble(FriendSuggestionDTO::score)
+            .thenComparingInt(FriendSuggestionDTO::mutualFriends)
+            .thenComparing(FriendSuggestionDTO::username, Comparator.reverseOrder());
+
+    private final FriendGraphCache friendGraphCache;
+    private final UserRepository userRepository;
+    private final PlaceRepository placeRepository;
+    private final Clock clock;
+    private final Map<Long, CachedSuggestions> cache = new ConcurrentHashMap<>();
+    private final AtomicLong graphVersion = new AtomicLong();
+
+    private record CachedSuggestions(List<FriendSuggestionDTO> suggestions, Instant computedAt) {
+    }
+
+    public FriendSuggestionService(FriendGraphCache friendGraphCache, UserRepository userRepository, PlaceRepository placeRepository, Clock clock) {
+        this.friendGraphCache = friendGraphCache;
+        this.userRepository = userRepository;
+        this.placeRepository = placeRepository;
+        this.clock = clock;
+    }
+
+    public List<FriendSuggestionDTO> getSuggestions(String username, int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        long userId = friendGraphCache.resolveUserId(username)
+                .orElseThrow(() -> new UserNotFoundException("User not found: " + username));
+
+        Instant now = clock.instant();
+        CachedSuggestions cached = cache.get(userId);
+        if (cached == null || cached.computedAt().plus(CACHE_TTL).isBefore(now)) {
+            long version = graphVersion.get();
+            cached = new CachedSuggestions(computeSuggestions(userId), now);
+            if (graphVersion.get() == version) {
+                if (cache.size() >= MAX_CACHED_USERS) {
+                    cache.clear();
+                }
+                cache.put(userId, cached);
+            }
+        }
+
+        List<FriendSuggestionDTO> suggestions = cached.suggestions();
+        return suggestions.subList(0, Math.min(limit, suggestions.size()));
+    }
+
+    public void onFriendshipChanged(long userId, long otherId) {
+        graphVersion.incrementAndGet();
+        cache.remove(userId);
+        cache.remove(otherId);
+        friendGraphCache.friendIds(userId).forEach(id -> cache.remove(id));
+        friendGraphCache.friendIds(otherId).forEach(id -> cache.remove(id));
+    }
+
+    private List<FriendSuggestionDTO> computeSuggestions(long userId) {
+        Map<Long, Integer> mutualCounts = new HashMap<>();
+        long[] friends = friendGraphCache.friendIds(userId).limit(MAX_FRIENDS_EXPANDED).toArray();
+        for (long friendId : friends) {
+            friendGraphCache.friendIds(friendId)
+                    .limit(MAX_SECOND_HOP_PER_FRIEND)
+                    .filter(candidateId -> candidateId != userId && !friendGraphCache.areFriends(userId, candidateId))
+                    .forEach(candidateId -> mutualCounts.merge(candidateId, 1, Integer::sum));
+        }
+        if (mutualCounts.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> candidates = topByMutualFriends(mutualCounts);
+        List<Long> profileIds = new ArrayList<>(candidates);
+        profileIds.add(userId);
+
+        Map<Long, Set<String>> categories = new HashMap<>();
+        Map<Long, Set<String>> cities = new HashMap<>();
+        for (PlaceProfileDTO profile : placeRepository.findProfilesByUserIds(profileIds)) {
+            categories.computeIfAbsent(profile.userId(), id -> new HashSet<>()).add(profile.category());
+            if (profile.city() != null && !profile.city().isBlank()) {
+                cities.computeIfAbsent(profile.userId(), id -> new HashSet<>()).add(profile.city());
+            }
+        }
+        Map<Long, String> usernames = userRepository.findSummariesByIdIn(candidates).stream()
+                .collect(Collectors.toMap(UserSummaryDTO::id, UserSummaryDTO::username));
+
+        Set<String> ownCategories = categories.getOrDefault(userId, Set.of());
+        Set<String> ownCities = cities.getOrDefault(userId, Set.of());
+        PriorityQueue<FriendSuggestionDTO> top = new PriorityQueue<>(RANKING);
+        for (Long candidateId : candidates) {
+            String candidateUsername = usernames.get(candidateId);
+            if (candidateUsername == null) {
+                continue;
+            }
+            int mutualFriends = mutualCounts.get(candidateId);
+            int sharedCategories = countShared(ownCategories, categories.getOrDefault(candidateId, Set.of()));
+            int sharedCities = countShared(ownCities, cities.getOrDefault(candidateId, Set.of()));
+            double score = mutualFriends + CATEGORY_WEIGHT * sharedCategories + CITY_WEIGHT * sharedCities;
+
+            top.add(new FriendSuggestionDTO(candidateUsername, mutualFriends, sharedCategories, sharedCities, score));
+            if (top.size() > MAX_SUGGESTIONS) {
+                top.poll();
+            }
+        }
+
+        List<FriendSuggestionDTO> ranked = new ArrayList<>(top);
+        ranked.sort(RANKING.reversed());
+        return List.copyOf(ranked);
+    }
+
+    private List<Long> topByMutualFriends(Map<Long, Integer> mutualCounts) {
+        PriorityQueue<Map.Entry<Long, Integer>> top = new PriorityQueue<>(Map.Entry.<Long, Integer>comparingByValue());
+        for (Map.Entry<Long, Integer> entry : mutualCounts.entrySet()) {
+            top.add(entry);
+            if (top.size() > CANDIDATE_POOL) {
+                top.poll();
+            }
+        }
+        return top.stream().map(Map.Entry::getKey).toList();
+    }
+
+    private int countShared(Set<String> own, Set<String> other) {
+        Set<String> smaller = own.size() <= other.size() ? own : other;
+        Set<String> larger = smaller == own ? other : own;
+        int shared = 0;
+        for (String value : smaller) {
+            if (larger.contains(value)) {
+                shared++;
+            }
+        }
+        return shared;
+    }
+}
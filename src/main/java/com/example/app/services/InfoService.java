@@ -1,5 +1,11 @@
 package com.example.app.services;
 
+import com.example.app.components.FriendGraphCache;
+import com.example.app.components.PlaceListCache;
+import com.example.app.components.PlaceSearchIndexer;
+import com.example.app.dtos.FriendGraphStatsDTO;
+import com.example.app.dtos.PlaceListCacheStatsDTO;
+import com.example.app.dtos.SearchIndexerStatsDTO;
 import com.example.app.exception.LogFileNotFoundException;
 import org.springframework.stereotype.Service;
 
@@ -13,6 +19,16 @@ import java.nio.file.Paths;
 @Service
 public class InfoService {
 
+    private final FriendGraphCache friendGraphCache;
+    private final PlaceSearchIndexer placeSearchIndexer;
+    private final PlaceListCache placeListCache;
+
+    public InfoService(FriendGraphCache friendGraphCache, PlaceSearchIndexer placeSearchIndexer, PlaceListCache placeListCache) {
+        this.friendGraphCache = friendGraphCache;
+        this.placeSearchIndexer = placeSearchIndexer;
+        this.placeListCache = placeListCache;
+    }
+
     public String getAppInfo() {
         return "Pamietacz Miejscowy to aplikacja, która pomaga użytkownikom zapamiętywać ciekawe miejsca i obiekty napotkane w codziennym życiu.\n" +
                 "Dzięki niej użytkownik może łatwo dodawać lokalizacje, przypisywać im kategorie i notatki oraz otrzymywać przypomnienia, gdy znajdzie się w pobliżu zapisanych miejsc.\n" +
@@ -30,6 +46,18 @@ public class InfoService {
                 "Użytkownicy premium zyskują dodatkowe funkcje, które ułatwiają organizację zapisanych lokalizacji.";
     }
 
+    public FriendGraphStatsDTO getFriendGraphStats() {
+        return friendGraphCache.stats();
+    }
+
+    public SearchIndexerStatsDTO getSearchIndexerStats() {
+        return placeSearchIndexer.stats();
+    }
+
+    public PlaceListCacheStatsDTO getPlaceListCacheStats() {
+        return placeListCache.stats();
+    }
+
     public String getLogs(String date) {
         String fileName = "app-" + date + ".log";
         String LOG_DIR = "logs";
@@ -0,0 +1,57 @@
+package com.example.app.services;
+
+import com.example.app.components.PlaceExportWriter;
+import com.example.app.dtos.ExportFormat;
+import com.example.app.dtos.PlaceDTO;
+import com.example.app.repositories.PlaceRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports a user's own places followed by the places shared with them. Rows are read through
+ * repository streams (DTO projections with a JDBC fetch size, so nothing accumulates in the
+ * persistence context) and written straight to the response, keeping memory flat for any account
+ * size. Must run inside its own transaction because it is called from the response-writing thread.
+ */
+@Service
+public class PlaceExportService {
+
+    private final PlaceRepository placeRepository;
+    private final ObjectMapper objectMapper;
+
+    public PlaceExportService(PlaceRepository placeRepository, ObjectMapper objectMapper) {
+        this.placeRepository = placeRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional
+    public void export(String username, ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, 8192) : null;
+        try (PlaceExportWriter writer = PlaceExportWriter.open(format, compressed != null ? compressed : out, objectMapper)) {
+            try (Stream<PlaceDTO> places = placeRepository.streamDTOsByUsername(username)) {
+                writeAll(writer, places, false);
+            }
+            try (Stream<PlaceDTO> places = placeRepository.streamSharedDTOsByUsername(username)) {
+                writeAll(writer, places, true);
+            }
+        }
+        if (compressed != null) {
+            compressed.finish();
+        }
+        out.flush();
+    }
+
+    private void writeAll(PlaceExportWriter writer, Stream<PlaceDTO> places, boolean shared) throws IOException {
+        Iterator<PlaceDTO> iterator = places.iterator();
+        while (iterator.hasNext()) {
+            writer.write(iterator.next(), shared);
+        }
+    }
+}
@@ -0,0 +1,428 @@
+package com.example.app.services;
+
+import com.example.app.components.CategoryDictionary;
+import com.example.app.components.PlaceImportJob;
+import com.example.app.components.PlaceImportJobs;
+import com.example.app.components.PlaceImportParser;
+import com.example.app.components.UserRoleCache;
+import com.example.app.dtos.ImportFormat;
+import com.example.app.dtos.ImportJobDTO;
+import com.example.app.dtos.ImportJobStatus;
+import com.example.app.dtos.PlaceDTO;
+import com.example.app.dtos.PlaceImportRowDTO;
+import com.example.app.entities.Category;
+import com.example.app.exception.CategoryNotFoundException;
+import com.example.app.exception.ImportJobNotFoundException;
+import com.example.app.exception.UserNotFoundException;
+import com.example.app.repositories.UserRepository;
+import com.example.app.services.PlaceImportWriter.NewPlace;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Bulk place import. The upload is spooled to a temporary file and parsed as a stream on a
+ * background thread; valid rows are written in batches of {@value #BATCH_SIZE} through
+ * {@link PlaceImportWriter}. Rows that need geocoding (an address without coordinates, or
+ * coordinates without an address) do not hold up the import: they are handed to a separate,
+ * rate-limited geocoding thread once parsing is done, and the job reports {@code GEOCODING}
+ * until that finishes. Every Google call costs money, so a job reads at most
+ * {@code app.import.max-rows} rows, queues at most {@code app.import.max-geocodes} lookups, and a
+ * free account only queues addresses for the place slots it has left.
+ */
+@Service
+public class PlaceImportService {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_NAME_LENGTH = 255;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final PlaceImportJobs jobs;
+    private final PlaceImportParser parser;
+    private final PlaceImportWriter writer;
+    private final CategoryDictionary categoryDictionary;
+    private final UserRoleCache userRoleCache;
+    private final GoogleMapsService googleMapsService;
+    private final UserRepository userRepository;
+    private final Clock clock;
+    private final long geocodeIntervalMillis;
+    private final long maxRows;
+    private final int maxGeocodes;
+    private final ExecutorService importExecutor;
+    private final ExecutorService geocodeExecutor;
+
+    private record PendingGeocode(PlaceImportRowDTO row, Category category, boolean isPublic) {
+    }
+
+    public PlaceImportService(PlaceImportJobs jobs, PlaceImportParser parser, PlaceImportWriter writer,
+                              CategoryDictionary categoryDictionary, UserRoleCache userRoleCache,
+                              GoogleMapsService googleMapsService, UserRepository userRepository, Clock clock,
+                              @Value("${app.import.workers:2}") int workers,
+                              @Value("${app.import.geocode-interval-ms:50}") long geocodeIntervalMillis,
+                              @Value("${app.import.max-rows:50000}") long maxRows,
+                              @Value("${app.import.max-geocodes:1000}") int maxGeocodes) {
+        this.jobs = jobs;
+        this.parser = parser;
+        this.writer = writer;
+        this.categoryDictionary = categoryDictionary;
+        this.userRoleCache = userRoleCache;
+        this.googleMapsService = googleMapsService;
+        this.userRepository = userRepository;
+        this.clock = clock;
+        this.geocodeIntervalMillis = geocodeIntervalMillis;
+        this.maxRows = maxRows;
+        this.maxGeocodes = maxGeocodes;
+        this.importExecutor = Executors.newFixedThreadPool(workers, runnable -> daemon(runnable, "place-import"));
+        this.geocodeExecutor = Executors.newSingleThreadExecutor(runnable -> daemon(runnable, "place-import-geocoder"));
+    }
+
+    public ImportJobDTO startImport(String username, MultipartFile file, String format, String defaultCategory) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("The uploaded file is empty");
+        }
+        ImportFormat importFormat = ImportFormat.resolve(format, file.getOriginalFilename());
+        UserRoleCache.Account account = userRoleCache.get(username)
+                .orElseThrow(() -> new UserNotFoundException("User not found: " + username));
+        PlaceImportWriter.Target target = new PlaceImportWriter.Target(account.id(), username, account.hasLimitedPlan());
+        if (defaultCategory != null && categoryDictionary.findByName(defaultCategory).isEmpty()) {
+            throw new CategoryNotFoundException("Category not found: " + defaultCategory);
+        }
+        long freeSlots = Long.MAX_VALUE;
+        if (account.hasLimitedPlan()) {
+            int placeCount = userRepository.findPlaceCountById(account.id())
+                    .orElseThrow(() -> new UserNotFoundException("User not found: " + username));
+            freeSlots = Math.max(0, PlaceService.FREE_USER_PLACE_LIMIT - placeCount);
+        }
+
+        PlaceImportJob job = jobs.create(username, importFormat, file.getOriginalFilename());
+        Path upload;
+        try {
+            upload = Files.createTempFile("place-import-", "." + importFormat.name().toLowerCase(Locale.ROOT));
+            file.transferTo(upload);
+        } catch (IOException e) {
+            fail(job, "Could not store the uploaded file", e);
+            throw new UncheckedIOException("Could not store the uploaded file", e);
+        }
+
+        long slots = freeSlots;
+        importExecutor.execute(() -> run(job, target, slots, upload, defaultCategory));
+        return job.toDTO();
+    }
+
+    public ImportJobDTO getJob(String username, UUID jobId) {
+        return jobs.find(jobId, username)
+                .map(PlaceImportJob::toDTO)
+                .orElseThrow(() -> new ImportJobNotFoundException("Import job not found: " + jobId));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        importExecutor.shutdownNow();
+        geocodeExecutor.shutdownNow();
+    }
+
+    private void run(PlaceImportJob job, PlaceImportWriter.Target target, long freeSlots, Path upload,
+                     String defaultCategory) {
+        job.start(ImportJobStatus.PARSING);
+        ImportRun run;
+        try (InputStream in = Files.newInputStream(upload)) {
+            run = new ImportRun(job, target, freeSlots, categoriesByName(), defaultCategory);
+            try {
+                parser.parse(in, job.getFormat(), run);
+            } catch (RowLimitReached e) {
+                job.error("Only the first " + maxRows + " rows of the file were read");
+            }
+            run.flush();
+        } catch (IllegalArgumentException e) {
+            fail(job, e.getMessage(), null);
+            return;
+        } catch (IOException | RuntimeException e) {
+            fail(job, "Import failed: " + e.getMessage(), e);
+            return;
+        } finally {
+            try {
+                Files.deleteIfExists(upload);
+            } catch (IOException e) {
+                logger.warn("Could not delete import upload {}", upload, e);
+            }
+        }
+
+        if (run.forward.isEmpty() && run.reverse.isEmpty()) {
+            job.finish(ImportJobStatus.COMPLETED, OffsetDateTime.now(clock));
+            return;
+        }
+        job.start(ImportJobStatus.GEOCODING);
+        geocodeExecutor.execute(() -> geocode(run));
+    }
+
+    private void geocode(ImportRun run) {
+        PlaceImportJob job = run.job;
+        try {
+            List<NewPlace> located = new ArrayList<>();
+            for (PendingGeocode pending : run.forward) {
+                PlaceImportRowDTO row = pending.row();
+                Optional<GoogleMapsService.GeoResult> geo = lookup(() -> googleMapsService.geocodeAddress(row.address()));
+                job.geocodingDone(geo.isPresent());
+                if (geo.isEmpty()) {
+                    job.error("Row " + row.line() + ": could not geocode address " + row.address());
+                    continue;
+                }
+                GoogleMapsService.GeoResult result = geo.get();
+                located.add(new NewPlace(row.name(), pending.category().getId(), pending.category().getName(),
+                        result.lat(), result.lng(), result.address(), result.city(), result.country(), row.note(),
+                        pending.isPublic()));
+                if (located.size() >= BATCH_SIZE) {
+                    run.write(located);
+                    located = new ArrayList<>();
+                }
+            }
+            run.write(located);
+
+            List<PlaceDTO> resolved = new ArrayList<>();
+            for (PlaceDTO place : run.reverse) {
+                Optional<GoogleMapsService.GeoResult> geo =
+                        lookup(() -> googleMapsService.reverseGeocode(place.latitude(), place.longitude()));
+                job.geocodingDone(geo.isPresent());
+                if (geo.isEmpty()) {
+                    job.error("Could not resolve the address of " + place.name());
+                    continue;
+                }
+                GoogleMapsService.GeoResult result = geo.get();
+                resolved.add(new PlaceDTO(place.id(), place.name(), place.category(), place.latitude(), place.longitude(),
+                        result.address(), result.country(), result.city(), place.note(), place.postDate(), place.isPublic()));
+                if (resolved.size() >= BATCH_SIZE) {
+                    writer.updateLocations(run.target, resolved);
+                    resolved = new ArrayList<>();
+                }
+            }
+            if (!resolved.isEmpty()) {
+                writer.updateLocations(run.target, resolved);
+            }
+            job.finish(ImportJobStatus.COMPLETED, OffsetDateTime.now(clock));
+        } catch (RuntimeException e) {
+            fail(job, "Geocoding failed: " + e.getMessage(), e);
+        }
+    }
+
+    private Optional<GoogleMapsService.GeoResult> lookup(Supplier<Optional<GoogleMapsService.GeoResult>> call) {
+        if (geocodeIntervalMillis > 0) {
+            try {
+                Thread.sleep(geocodeIntervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while geocoding", e);
+            }
+        }
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            logger.debug("Geocoding request failed", e);
+            return Optional.empty();
+        }
+    }
+
+    private void fail(PlaceImportJob job, String message, Exception cause) {
+        if (cause != null) {
+            logger.warn("Import job {} failed", job.getId(), cause);
+        }
+        job.error(message);
+        job.finish(ImportJobStatus.FAILED, OffsetDateTime.now(clock));
+    }
+
+    private Map<String, Category> categoriesByName() {
+        Map<String, Category> categories = new HashMap<>();
+        for (Category category : categoryDictionary.findAll()) {
+            categories.put(category.getName().toLowerCase(Locale.ROOT), category);
+        }
+        return categories;
+    }
+
+    /**
+     * Thrown from the parser listener to stop reading once a job has seen {@code maxRows} rows.
+     */
+    private static final class RowLimitReached extends RuntimeException {
+        private RowLimitReached() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * State of one import while its file is being read: the current batch, the names seen so far
+     * and the rows left for the geocoding thread. {@code freeSlots} is what a free account had left
+     * when the job started; the writer still enforces the limit, this only keeps addresses that
+     * could never be inserted from being geocoded.
+     */
+    private final class ImportRun implements PlaceImportParser.Listener {
+        private final PlaceImportJob job;
+        private final PlaceImportWriter.Target target;
+        private final Map<String, Category> categories;
+        private final Category defaultCategory;
+        private final long freeSlots;
+        private final Set<String> seenNames = new HashSet<>();
+        private final List<PendingGeocode> forward = new ArrayList<>();
+        private final List<PlaceDTO> reverse = new ArrayList<>();
+        private List<NewPlace> batch = new ArrayList<>();
+        private long rows;
+        private long accepted;
+
+        private ImportRun(PlaceImportJob job, PlaceImportWriter.Target target, long freeSlots,
+                          Map<String, Category> categories, String defaultCategory) {
+            this.job = job;
+            this.target = target;
+            this.freeSlots = freeSlots;
+            this.categories = categories;
+            this.defaultCategory = defaultCategory == null ? null : categories.get(defaultCategory.toLowerCase(Locale.ROOT));
+        }
+
+        @Override
+        public void onRow(PlaceImportRowDTO row) {
+            countRow();
+            job.rowRead();
+            String problem = validate(row);
+            if (problem != null) {
+                job.invalid(row.line(), problem);
+                return;
+            }
+            Category category = row.category() == null
+                    ? defaultCategory
+                    : categories.get(row.category().toLowerCase(Locale.ROOT));
+            if (category == null) {
+                job.invalid(row.line(), row.category() == null ? "missing category and no defaultCategory given" : "unknown category " + row.category());
+                return;
+            }
+            if (!seenNames.add(row.name())) {
+                job.duplicates(1);
+                return;
+            }
+            boolean isPublic = row.isPublic() == null || row.isPublic();
+            if (!row.hasCoordinates()) {
+                if (accepted >= freeSlots) {
+                    job.overLimit(1);
+                    return;
+                }
+                if (!reserveGeocode()) {
+                    job.invalid(row.line(), "geocoding limit of " + maxGeocodes + " rows per import reached");
+                    return;
+                }
+                accepted++;
+                forward.add(new PendingGeocode(row, category, isPublic));
+                return;
+            }
+            accepted++;
+            batch.add(new NewPlace(row.name(), category.getId(), category.getName(), row.latitude(), row.longitude(),
+                    row.hasAddress() ? row.address() : null, row.city(), row.country(), row.note(), isPublic));
+            if (batch.size() >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        @Override
+        public void onInvalid(long line, String reason) {
+            countRow();
+            job.rowRead();
+            job.invalid(line, reason);
+        }
+
+        void flush() {
+            write(batch);
+            batch = new ArrayList<>();
+        }
+
+        void write(List<NewPlace> places) {
+            if (places.isEmpty()) {
+                return;
+            }
+            try {
+                record(writer.insert(target, places));
+            } catch (DataIntegrityViolationException e) {
+                // a name was taken between the check and the insert; retry row by row to isolate it
+                for (NewPlace place : places) {
+                    try {
+                        record(writer.insert(target, List.of(place)));
+                    } catch (DataIntegrityViolationException duplicate) {
+                        job.duplicates(1);
+                    }
+                }
+            }
+        }
+
+        private void record(PlaceImportWriter.Result result) {
+            job.imported(result.inserted().size());
+            job.duplicates(result.duplicates());
+            job.overLimit(result.overLimit());
+            for (PlaceDTO place : result.inserted()) {
+                if (place.address() == null) {
+                    if (reserveGeocode()) {
+                        reverse.add(place);
+                    } else {
+                        job.error("Address of " + place.name() + " not resolved: geocoding limit of "
+                                + maxGeocodes + " rows per import reached");
+                    }
+                }
+            }
+        }
+
+        private void countRow() {
+            if (++rows > maxRows) {
+                throw new RowLimitReached();
+            }
+        }
+
+        private boolean reserveGeocode() {
+            if (forward.size() + reverse.size() >= maxGeocodes) {
+                return false;
+            }
+            job.geocodingQueued();
+            return true;
+        }
+
+        private String validate(PlaceImportRowDTO row) {
+            if (row.name() == null) {
+                return "missing name";
+            }
+            if (row.name().length() > MAX_NAME_LENGTH) {
+                return "name longer than " + MAX_NAME_LENGTH + " characters";
+            }
+            if ((row.latitude() == null) != (row.longitude() == null)) {
+                return "latitude and longitude must be given together";
+            }
+            if (row.hasCoordinates() && (Math.abs(row.latitude()) > 90 || Math.abs(row.longitude()) > 180)) {
+                return "coordinates out of range";
+            }
+            if (!row.hasCoordinates() && !row.hasAddress()) {
+                return "either coordinates or an address is required";
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.app.services;
+
+import com.example.app.dtos.PlaceDTO;
+import com.example.app.entities.Place;
+import com.example.app.entities.User;
+import com.example.app.events.PlaceChangedEvent;
+import com.example.app.events.PlacesChangedEvent;
+import com.example.app.exception.UserNotFoundException;
+import com.example.app.repositories.CategoryRepository;
+import com.example.app.repositories.PlaceImportRepository;
+import com.example.app.repositories.PlaceRepository;
+import com.example.app.repositories.UserRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes one import batch per transaction: skips names that are already taken, reserves place slots
+ * (free users stop at the plan limit) and inserts the rest, which Hibernate sends as JDBC batches
+ * since place ids come from a pooled sequence. Derived state is updated through a single
+ * {@link PlacesChangedEvent} per batch.
+ */
+@Service
+public class PlaceImportWriter {
+
+    public record Target(Long userId, String username, boolean limited) {
+    }
+
+    public record NewPlace(String name, long categoryId, String categoryName, double latitude, double longitude,
+                           String address, String city, String country, String note, boolean isPublic) {
+    }
+
+    public record Result(List<PlaceDTO> inserted, int duplicates, int overLimit) {
+    }
+
+    private final PlaceImportRepository importRepository;
+    private final PlaceRepository placeRepository;
+    private final CategoryRepository categoryRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+
+    public PlaceImportWriter(PlaceImportRepository importRepository, PlaceRepository placeRepository,
+                             CategoryRepository categoryRepository, UserRepository userRepository,
+                             ApplicationEventPublisher eventPublisher, Clock clock) {
+        this.importRepository = importRepository;
+        this.placeRepository = placeRepository;
+        this.categoryRepository = categoryRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+    }
+
+    @Transactional
+    public Result insert(Target target, List<NewPlace> places) {
+        Set<String> taken = importRepository.findExistingNames(places.stream().map(NewPlace::name).toList());
+        List<NewPlace> fresh = places.stream().filter(place -> !taken.contains(place.name())).toList();
+
+        int granted = fresh.size();
+        if (target.limited()) {
+            User user = userRepository.findForUpdateById(target.userId())
+                    .orElseThrow(() -> new UserNotFoundException("User not found: " + target.username()));
+            granted = Math.max(0, Math.min(granted, PlaceService.FREE_USER_PLACE_LIMIT - user.getPlaceCount()));
+        }
+        List<NewPlace> accepted = fresh.subList(0, granted);
+        if (accepted.isEmpty()) {
+            return new Result(List.of(), places.size() - fresh.size(), fresh.size());
+        }
+        if (userRepository.addToPlaceCount(target.userId(), accepted.size()) == 0) {
+            throw new UserNotFoundException("User not found: " + target.username());
+        }
+
+        OffsetDateTime postDate = OffsetDateTime.now(clock);
+        User user = userRepository.getReferenceById(target.userId());
+        List<Place> entities = new ArrayList<>(accepted.size());
+        for (NewPlace place : accepted) {
+            entities.add(Place.builder()
+                    .name(place.name())
+                    .category(categoryRepository.getReferenceById(place.categoryId()))
+                    .latitude(place.latitude())
+                    .longitude(place.longitude())
+                    .address(place.address())
+                    .city(place.city())
+                    .country(place.country())
+                    .note(place.note())
+                    .user(user)
+                    .isPublic(place.isPublic())
+                    .postDate(postDate)
+                    .build());
+        }
+        placeRepository.saveAll(entities);
+        placeRepository.flush();
+
+        List<PlaceDTO> inserted = new ArrayList<>(accepted.size());
+        List<PlaceChangedEvent> changes = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            NewPlace place = accepted.get(i);
+            PlaceDTO dto = new PlaceDTO(entities.get(i).getId(), place.name(), place.categoryName(), place.latitude(),
+                    place.longitude(), place.address(), place.country(), place.city(), place.note(), postDate,
+                    place.isPublic());
+            inserted.add(dto);
+            changes.add(PlaceChangedEvent.created(target.userId(), target.username(), dto));
+        }
+        eventPublisher.publishEvent(new PlacesChangedEvent(target.userId(), target.username(), changes));
+        return new Result(inserted, places.size() - fresh.size(), fresh.size() - granted);
+    }
+
+    @Transactional
+    public int updateLocations(Target target, List<PlaceDTO> located) {
+        List<Long> updated = importRepository.updateLocations(located);
+        if (updated.isEmpty()) {
+            return 0;
+        }
+        List<PlaceChangedEvent> changes = new ArrayList<>(updated.size());
+        for (PlaceDTO current : placeRepository.findDTOsByIdIn(updated)) {
+            PlaceDTO previous = new PlaceDTO(current.id(), current.name(), current.category(), current.latitude(),
+                    current.longitude(), null, null, null, current.note(), current.postDate(), current.isPublic());
+            changes.add(PlaceChangedEvent.updated(target.userId(), target.username(), previous, current));
+        }
+        eventPublisher.publishEvent(new PlacesChangedEvent(target.userId(), target.username(), changes));
+        return updated.size();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.app.services;
+
+import com.example.app.components.PlaceQueryCache;
+import com.example.app.dtos.PlaceDTO;
+import com.example.app.dtos.PlaceFacetCountDTO;
+import com.example.app.dtos.PlaceQueryFilter;
+import com.example.app.dtos.PlaceQueryResultDTO;
+import com.example.app.repositories.PlaceRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+@Service
+public class PlaceQueryService {
+
+    private static final int MAX_RESULTS = 500;
+    private static final double MAX_RADIUS_KM = 20_000;
+
+    private final PlaceRepository placeRepository;
+    private final PlaceQueryCache placeQueryCache;
+
+    public PlaceQueryService(PlaceRepository placeRepository, PlaceQueryCache placeQueryCache) {
+        this.placeRepository = placeRepository;
+        this.placeQueryCache = placeQueryCache;
+    }
+
+    public PlaceQueryResultDTO query(String username, PlaceQueryFilter filter) {
+        validate(filter);
+        return placeQueryCache.get(username, filter, () -> load(username, filter));
+    }
+
+    private PlaceQueryResultDTO load(String username, PlaceQueryFilter filter) {
+        List<PlaceDTO> places = placeRepository.findDTOsMatching(username, filter);
+        List<PlaceFacetCountDTO> facets = placeRepository.countFacetsMatching(username, filter);
+        long total = facets.stream().mapToLong(PlaceFacetCountDTO::count).sum();
+        return new PlaceQueryResultDTO(places, total,
+                facet(facets, PlaceFacetCountDTO::category),
+                facet(facets, PlaceFacetCountDTO::city),
+                facet(facets, PlaceFacetCountDTO::country));
+    }
+
+    private static Map<String, Long> facet(List<PlaceFacetCountDTO> rows, Function<PlaceFacetCountDTO, String> key) {
+        Map<String, Long> counts = new HashMap<>();
+        for (PlaceFacetCountDTO row : rows) {
+            String value = key.apply(row);
+            if (value != null && !value.isBlank()) {
+                counts.merge(value, row.count(), Long::sum);
+            }
+        }
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return Collections.unmodifiableMap(sorted);
+    }
+
+    private static void validate(PlaceQueryFilter filter) {
+        if (filter.limit() < 1 || filter.limit() > MAX_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_RESULTS);
+        }
+        boolean anyGeo = filter.latitude() != null || filter.longitude() != null || filter.radiusKm() != null;
+        if (anyGeo && !filter.hasGeoFilter()) {
+            throw new IllegalArgumentException("latitude, longitude and radiusKm must be given together");
+        }
+        if (filter.hasGeoFilter() && (filter.radiusKm() <= 0 || filter.radiusKm() > MAX_RADIUS_KM)) {
+            throw new IllegalArgumentException("radiusKm must be between 0 and " + (int) MAX_RADIUS_KM);
+        }
+        if (filter.postedFrom() != null && filter.postedTo() != null && filter.postedFrom().isAfter(filter.postedTo())) {
+            throw new IllegalArgumentException("postedFrom must not be after postedTo");
+        }
+    }
+}
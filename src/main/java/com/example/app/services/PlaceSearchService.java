@@ -0,0 +1,55 @@
+package com.example.app.services;
+
+import com.example.app.components.PlaceSearchClient;
+import com.example.app.dtos.PlaceDTO;
+import com.example.app.dtos.PlaceSearchQuery;
+import com.example.app.exception.SearchUnavailableException;
+import com.example.app.exception.UserNotFoundException;
+import com.example.app.repositories.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class PlaceSearchService {
+
+    private static final int MAX_RESULTS = 100;
+    private static final double MAX_RADIUS_KM = 20_000;
+
+    private final PlaceSearchClient client;
+    private final UserRepository userRepository;
+
+    public PlaceSearchService(Optional<PlaceSearchClient> client, UserRepository userRepository) {
+        this.client = client.orElse(null);
+        this.userRepository = userRepository;
+    }
+
+    public List<PlaceDTO> search(String username, String text, String category,
+                                 Double latitude, Double longitude, Double radiusKm, int limit) {
+        if (limit < 1 || limit > MAX_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_RESULTS);
+        }
+        boolean anyGeo = latitude != null || longitude != null || radiusKm != null;
+        boolean allGeo = latitude != null && longitude != null && radiusKm != null;
+        if (anyGeo && !allGeo) {
+            throw new IllegalArgumentException("latitude, longitude and radiusKm must be given together");
+        }
+        if (allGeo && (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM)) {
+            throw new IllegalArgumentException("radiusKm must be between 0 and " + (int) MAX_RADIUS_KM);
+        }
+
+        if (client == null) {
+            throw new SearchUnavailableException("Wyszukiwarka miejsc jest niedostępna.");
+        }
+        Long userId = userRepository.findIdByUsername(username)
+                .orElseThrow(() -> new UserNotFoundException("User not found: " + username));
+
+        try {
+            return client.search(new PlaceSearchQuery(userId, text, category, latitude, longitude, radiusKm, limit));
+        } catch (RestClientException e) {
+            throw new SearchUnavailableException("Wyszukiwarka miejsc jest chwilowo niedostępna.");
+        }
+    }
+}
@@ -1,31 +1,59 @@
 package com.example.app.services;
 
+import com.example.app.components.CategoryDictionary;
+import com.example.app.components.PlaceListCache;
+import com.example.app.components.PlaceListCache.Kind;
+import com.example.app.components.PlaceSuggestionIndex;
+import com.example.app.components.UserRoleCache;
 import com.example.app.dtos.CreatePlaceDTO;
+import com.example.app.dtos.PlaceBatchAction;
+import com.example.app.dtos.PlaceBatchOperationDTO;
+import com.example.app.dtos.PlaceBatchResultDTO;
 import com.example.app.dtos.PlaceDTO;
+import com.example.app.dtos.PlaceSuggestionDTO;
 import com.example.app.dtos.UpdatePlaceDTO;
 import com.example.app.entities.*;
+import com.example.app.events.PlaceChangedEvent;
+import com.example.app.events.PlaceSharedEvent;
+import com.example.app.events.PlacesChangedEvent;
+import com.example.app.events.SharedPlacesChangedEvent;
 import com.example.app.exception.*;
-import com.example.app.repositories.CategoryRepository;
 import com.example.app.repositories.PlaceRepository;
 import com.example.app.repositories.UserRepository;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Clock;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class PlaceService {
     private final PlaceRepository placeRepository;
-    private final CategoryRepository categoryRepository;
+    private final CategoryDictionary categoryDictionary;
     private final UserRepository userRepository;
     private final FriendService friendService;
     private final GoogleMapsService googleMapsService;
+    private final PlaceSuggestionIndex placeSuggestionIndex;
+    private final PlaceListCache placeListCache;
+    private final UserRoleCache userRoleCache;
+    private final ApplicationEventPublisher eventPublisher;
     private final Clock clock;
+    private final TransactionTemplate transactionTemplate;
 
-    private static final int FREE_USER_PLACE_LIMIT = 10;
+    static final int FREE_USER_PLACE_LIMIT = 10;
+    private static final int MAX_SUGGESTIONS = 50;
+    private static final int MAX_IDS_PER_REQUEST = 100;
 
     private record ResolvedLocation(
             double latitude,
@@ -36,29 +64,29 @@ public class PlaceService {
     ) {
     }
 
-    public PlaceService(PlaceRepository placeRepository, CategoryRepository categoryRepository, UserRepository userRepository, GoogleMapsService googleMapsService,FriendService friendService, Clock clock) {
+    public PlaceService(PlaceRepository placeRepository, CategoryDictionary categoryDictionary, UserRepository userRepository, GoogleMapsService googleMapsService,FriendService friendService,
+                        PlaceSuggestionIndex placeSuggestionIndex, PlaceListCache placeListCache,
+                        UserRoleCache userRoleCache, ApplicationEventPublisher eventPublisher, Clock clock,
+                        TransactionTemplate transactionTemplate) {
         this.placeRepository = placeRepository;
-        this.categoryRepository = categoryRepository;
+        this.categoryDictionary = categoryDictionary;
         this.userRepository = userRepository;
         this.googleMapsService = googleMapsService;
         this.friendService = friendService;
+        this.placeSuggestionIndex = placeSuggestionIndex;
+        this.placeListCache = placeListCache;
+        this.userRoleCache = userRoleCache;
+        this.eventPublisher = eventPublisher;
         this.clock = clock;
+        this.transactionTemplate = transactionTemplate;
     }
 
     public List<PlaceDTO> findAll(String username) {
-        List<Place> places = placeRepository.findAllByUser_Username(username);
-
-        return places.stream()
-                .map(PlaceDTO::fromEntity)
-                .toList();
+        return placeListCache.get(username, Kind.ALL, () -> placeRepository.findDTOsByUsername(username));
     }
 
     public List<PlaceDTO> findAllPrivate(String username) {
-        List<Place> places = placeRepository.findPrivatePlacesByUsername(username);
-
-        return places.stream()
-                .map(PlaceDTO::fromEntity)
-                .toList();
+        return placeListCache.get(username, Kind.PRIVATE, () -> placeRepository.findPrivateDTOsByUsername(username));
     }
 
     public List<PlaceDTO> findFriendPlaces(String userUsername, String friendUsername) {
@@ -66,76 +94,69 @@ public class PlaceService {
             throw new FriendNotFoundException("You have no friend named: " + friendUsername);
         }
 
-        List<Place> places = placeRepository.findPublicPlacesByUsername(friendUsername);
+        return placeListCache.get(friendUsername, Kind.PUBLIC, () -> placeRepository.findPublicDTOsByUsername(friendUsername));
+    }
 
-        return places.stream()
-                .map(PlaceDTO::fromEntity)
-                .toList();
+    public List<PlaceSuggestionDTO> suggest(String username, String query, int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        return placeSuggestionIndex.suggest(username, query, limit);
     }
 
     public PlaceDTO findById(String username, Long placeId) {
-        Place place = placeRepository.findByIdAndUser_Username(placeId, username)
+        return placeRepository.findDTOByIdAndUsername(placeId, username)
                 .orElseThrow(() -> new PlaceNotFoundException("Place not found or does not belong to user"));
-        return PlaceDTO.fromEntity(place);
     }
 
-    @Transactional
-    public PlaceDTO save(String username, CreatePlaceDTO dto) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UserNotFoundException("User not found: " + username));
-
-        boolean isFreeUser = false;
-        boolean isPremiumUser = false;
-        boolean isAdmin = false;
-
-        for (Role role : user.getRoles()) {
-            if (role.getName() == RoleName.FREE_USER) {
-                isFreeUser = true;
-            } else if (role.getName() == RoleName.PREMIUM_USER) {
-                isPremiumUser = true;
-            } else if (role.getName() == RoleName.ADMIN) {
-                isAdmin = true;
-            }
+    /**
+     * Loads the requested places in one query, keeping only those the user owns or that were shared
+     * with them. Results follow the order of {@code ids}; duplicates and inaccessible ids are dropped.
+     */
+    public List<PlaceDTO> findByIds(String username, List<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        requested.remove(null);
+        if (requested.size() > MAX_IDS_PER_REQUEST) {
+            throw new IllegalArgumentException("At most " + MAX_IDS_PER_REQUEST + " ids can be requested at once");
         }
-
-        if (isFreeUser && !isPremiumUser && !isAdmin) {
-            int currentPlaceCount = user.getPlaces().size();
-            if (currentPlaceCount >= FREE_USER_PLACE_LIMIT) {
-                throw new PlaceLimitExceededException(
-                        "Użytkownicy z darmowym planem mogą dodać maksymalnie " + FREE_USER_PLACE_LIMIT + " miejsc. " +
-                                "Rozważ przejście na plan premium, aby dodawać miejsca bez limitu."
-                );
+        if (requested.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, PlaceDTO> found = new HashMap<>();
+        for (PlaceDTO place : placeRepository.findAccessibleDTOsByIdIn(requested, username)) {
+            found.put(place.id(), place);
+        }
+        List<PlaceDTO> places = new ArrayList<>(found.size());
+        for (Long id : requested) {
+            PlaceDTO place = found.get(id);
+            if (place != null) {
+                places.add(place);
             }
         }
+        return places;
+    }
 
+    @Transactional
+    public PlaceDTO save(String username, CreatePlaceDTO dto) {
+        UserRoleCache.Account account = userRoleCache.get(username)
+                .orElseThrow(() -> new UserNotFoundException("User not found: " + username));
 
         if(placeRepository.findByNameAndUser_Username(dto.name(),username).isPresent())
             throw new PlaceAlreadyExistsException("Place already exists: " + dto.name());
 
-        Category category = categoryRepository.findByName(dto.category())
+        Category category = categoryDictionary.findByName(dto.category())
                 .orElseThrow(() -> new CategoryNotFoundException("Category not found: " + dto.category()));
 
         ResolvedLocation resolved = resolveLocation(dto.latitude(), dto.longitude(), dto.address());
+        reservePlaceSlot(account.id(), account.hasLimitedPlan());
 
-        boolean isPublic = dto.isPublic() == null || dto.isPublic();
-
-        Place place = Place.builder()
-                .name(dto.name())
-                .category(category)
-                .latitude(resolved.latitude())
-                .longitude(resolved.longitude())
-                .address(resolved.address())
-                .city(resolved.city())
-                .country(resolved.country())
-                .note(dto.note())
-                .user(user)
-                .isPublic(isPublic)
-                .postDate(OffsetDateTime.now(clock)).build();
+        Place place = buildPlace(userRepository.getReferenceById(account.id()), dto, category, resolved, OffsetDateTime.now(clock));
 
-        user.getPlaces().add(place);
         placeRepository.save(place);
 
-        return PlaceDTO.fromEntity(place);
+        PlaceDTO created = PlaceDTO.fromEntity(place);
+        eventPublisher.publishEvent(PlaceChangedEvent.created(account.id(), username, created));
+        return created;
     }
 
     @Transactional
@@ -147,68 +168,56 @@ public class PlaceService {
             throw new ResourceOwnershipException("User does not own this place");
         }
 
+        PlaceDTO deleted = PlaceDTO.fromEntity(place);
+        publishSharedChanged(sharedWithUsernames(List.of(place)));
         placeRepository.delete(place);
+        userRepository.decrementPlaceCount(place.getUser().getId());
+        eventPublisher.publishEvent(PlaceChangedEvent.deleted(place.getUser().getId(), username, deleted));
     }
 
     @Transactional
     public PlaceDTO update(String username, Long placeId, UpdatePlaceDTO dto) {
         Place place = placeRepository.findByIdAndUser_Username(placeId, username)
                 .orElseThrow(() -> new PlaceNotFoundException("Place not found or does not belong to user"));
+        PlaceDTO previous = PlaceDTO.fromEntity(place);
 
+        Category category = null;
         if (dto.category() != null && !dto.category().isBlank()) {
-            Category category = categoryRepository.findByName(dto.category())
+            category = categoryDictionary.findByName(dto.category())
                     .orElseThrow(() -> new CategoryNotFoundException("Category not found" + dto.category()));
-            place.setCategory(category);
-        }
-
-        if ((dto.latitude() != 0 && dto.longitude() != 0) || (dto.address() != null && !dto.address().isBlank())) {
-            ResolvedLocation resolved = resolveLocation(dto.latitude(), dto.longitude(), dto.address());
-            place.setLatitude(resolved.latitude());
-            place.setLongitude(resolved.longitude());
-            place.setAddress(resolved.address());
-            place.setCity(resolved.city());
-            place.setCountry(resolved.country());
-        }
-
-        if (dto.name() != null && !dto.name().isBlank()) {
-            place.setName(dto.name());
-        }
-
-        if (dto.note() != null && !dto.note().isBlank()) {
-            place.setNote(dto.note());
         }
+        applyUpdate(place, dto, category, resolveUpdateLocation(dto));
 
         placeRepository.save(place);
+        publishSharedChanged(sharedWithUsernames(List.of(place)));
 
-        return PlaceDTO.fromEntity(place);
+        PlaceDTO updated = PlaceDTO.fromEntity(place);
+        eventPublisher.publishEvent(PlaceChangedEvent.updated(place.getUser().getId(), username, previous, updated));
+        return updated;
     }
 
     @Transactional
     public PlaceDTO findNearestPlace(String username, double lat, double lng) {
-        List<Place> places = placeRepository.findAllByUser_Username(username);
+        List<PlaceDTO> places = placeRepository.findDTOsByUsername(username);
         if (places.isEmpty()) {
             throw new PlaceNotFoundException("User has no saved places");
         }
 
-        Place nearest = places.stream()
-                .min(Comparator.comparingDouble(p -> haversine(lat, lng, p.getLatitude(), p.getLongitude())))
+        return places.stream()
+                .min(Comparator.comparingDouble(p -> haversine(lat, lng, p.latitude(), p.longitude())))
                 .orElseThrow();
-
-        return PlaceDTO.fromEntity(nearest);
     }
 
     @Transactional
     public PlaceDTO findNearestPlace(String username, double lat, double lng,String category) {
-        List<Place> places = placeRepository.findAllByCategoryAndUser_Username(category,username);
+        List<PlaceDTO> places = placeRepository.findDTOsByCategoryAndUsername(category,username);
         if (places.isEmpty()) {
             throw new PlaceNotFoundException("User has no saved places of category: " + category);
         }
 
-        Place nearest = places.stream()
-                .min(Comparator.comparingDouble(p -> haversine(lat, lng, p.getLatitude(), p.getLongitude())))
+        return places.stream()
+                .min(Comparator.comparingDouble(p -> haversine(lat, lng, p.latitude(), p.longitude())))
                 .orElseThrow();
-
-        return PlaceDTO.fromEntity(nearest);
     }
 
     @Transactional
@@ -216,7 +225,7 @@ public class PlaceService {
         if (senderUsername.equals(receiverUsername)) {
             throw new CannotShareWithYourselfException("Cannot share place to yourself.");
         }
-        Place place = placeRepository.findByIdAndUser_Username(placeId,senderUsername)
+        Place place = placeRepository.findWithSharedWithByIdAndUser_Username(placeId,senderUsername)
                 .orElseThrow(() -> new PlaceNotFoundException("Place not found or does not belong to user"));
 
         User receiver = userRepository.findByUsername(receiverUsername)
@@ -225,14 +234,307 @@ public class PlaceService {
         receiver.getSharedPlaces().add(place);
         userRepository.save(receiver);
         placeRepository.save(place);
+        eventPublisher.publishEvent(new PlaceSharedEvent(place.getUser().getId(), senderUsername, receiver.getId(), receiverUsername, PlaceDTO.fromEntity(place)));
     }
 
     public List<PlaceDTO> findAllSharedPlaces(String username){
-       return placeRepository.findAllSharedByUsername(username).stream()
-                .map(PlaceDTO::fromEntity)
-                .toList();
+       return placeListCache.get(username, Kind.SHARED, () -> placeRepository.findSharedDTOsByUsername(username));
+    }
+
+
+    /**
+     * Applies create, update and delete operations in one transaction. Locations are geocoded
+     * first, outside the transaction, so the user row is not locked while Google answers; a free
+     * account only gets lookups for as many creates as it could still add. Categories, owned
+     * places and existing names (across all users, as place names are unique) are looked up once
+     * for the whole batch. Deletes run first, then updates, then creates, each phase flushed as
+     * one set of JDBC batches, so names freed by a delete or rename can be reused in the same
+     * request. An operation that cannot be applied is reported in its result and the rest still
+     * go through; results follow the request order.
+     */
+    public List<PlaceBatchResultDTO> applyBatch(String username, List<PlaceBatchOperationDTO> operations) {
+        UserRoleCache.Account account = userRoleCache.get(username)
+                .orElseThrow(() -> new UserNotFoundException("User not found: " + username));
+
+        int createBudget = Integer.MAX_VALUE;
+        if (account.hasLimitedPlan()) {
+            long deletes = operations.stream().filter(operation -> operation.action() == PlaceBatchAction.DELETE).count();
+            int placeCount = userRepository.findPlaceCountById(account.id()).orElse(0);
+            createBudget = (int) Math.max(0, FREE_USER_PLACE_LIMIT - placeCount + deletes);
+        }
+        Map<Integer, ResolvedLocation> locations = new HashMap<>();
+        Map<Integer, String> unresolved = new HashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            PlaceBatchOperationDTO operation = operations.get(i);
+            try {
+                if (operation.action() == PlaceBatchAction.CREATE && operation.place() != null && createBudget > 0
+                        && categoryDictionary.findByName(operation.place().category()).isPresent()) {
+                    CreatePlaceDTO dto = operation.place();
+                    createBudget--;
+                    locations.put(i, resolveLocation(dto.latitude(), dto.longitude(), dto.address()));
+                } else if (operation.action() == PlaceBatchAction.UPDATE && operation.changes() != null) {
+                    ResolvedLocation resolved = resolveUpdateLocation(operation.changes());
+                    if (resolved != null) {
+                        locations.put(i, resolved);
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                unresolved.put(i, e.getMessage());
+            }
+        }
+
+        return transactionTemplate.execute(status -> writeBatch(account, username, operations, locations, unresolved));
+    }
+
+    private List<PlaceBatchResultDTO> writeBatch(UserRoleCache.Account account, String username,
+                                                 List<PlaceBatchOperationDTO> operations,
+                                                 Map<Integer, ResolvedLocation> locations, Map<Integer, String> unresolved) {
+        Long userId = account.id();
+        User user = userRepository.findForUpdateById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found: " + username));
+
+        Set<String> categoryNames = new HashSet<>();
+        Set<String> names = new HashSet<>();
+        Set<Long> ids = new HashSet<>();
+        for (PlaceBatchOperationDTO operation : operations) {
+            if (operation.place() != null) {
+                categoryNames.add(operation.place().category());
+                names.add(operation.place().name());
+            }
+            if (operation.changes() != null) {
+                if (operation.changes().category() != null && !operation.changes().category().isBlank()) {
+                    categoryNames.add(operation.changes().category());
+                }
+                if (operation.changes().name() != null && !operation.changes().name().isBlank()) {
+                    names.add(operation.changes().name());
+                }
+            }
+            if (operation.id() != null) {
+                ids.add(operation.id());
+            }
+        }
+        Map<String, Category> categories = new HashMap<>();
+        categoryNames.forEach(name -> categoryDictionary.findByName(name).ifPresent(category -> categories.put(name, category)));
+        Map<Long, Place> owned = new HashMap<>();
+        if (!ids.isEmpty()) {
+            placeRepository.findByIdInAndUser_Username(ids, username).forEach(place -> owned.put(place.getId(), place));
+        }
+        Set<String> takenNames = names.isEmpty()
+                ? new HashSet<>()
+                : new HashSet<>(placeRepository.findNamesByNameIn(names));
+
+        PlaceBatchResultDTO[] results = new PlaceBatchResultDTO[operations.size()];
+        List<PlaceChangedEvent> changes = new ArrayList<>();
+
+        List<Place> deleted = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            PlaceBatchOperationDTO operation = operations.get(i);
+            if (operation.action() != PlaceBatchAction.DELETE) {
+                continue;
+            }
+            Place place = operation.id() == null ? null : owned.remove(operation.id());
+            if (place == null) {
+                results[i] = PlaceBatchResultDTO.failed(i, operation, PlaceBatchResultDTO.Outcome.NOT_FOUND,
+                        "Place not found or does not belong to user");
+                continue;
+            }
+            takenNames.remove(place.getName());
+            deleted.add(place);
+            changes.add(PlaceChangedEvent.deleted(userId, username, PlaceDTO.fromEntity(place)));
+            results[i] = PlaceBatchResultDTO.done(i, operation.action(), PlaceBatchResultDTO.Outcome.DELETED, place.getId(), null);
+        }
+        Set<String> sharedWith = sharedWithUsernames(deleted);
+        placeRepository.deleteAll(deleted);
+        placeRepository.flush();
+
+        for (int i = 0; i < operations.size(); i++) {
+            PlaceBatchOperationDTO operation = operations.get(i);
+            if (operation.action() != PlaceBatchAction.UPDATE) {
+                continue;
+            }
+            Place place = operation.id() == null ? null : owned.get(operation.id());
+            if (place == null) {
+                results[i] = PlaceBatchResultDTO.failed(i, operation, PlaceBatchResultDTO.Outcome.NOT_FOUND,
+                        "Place not found or does not belong to user");
+                continue;
+            }
+            UpdatePlaceDTO dto = operation.changes();
+            if (dto == null) {
+                results[i] = PlaceBatchResultDTO.failed(i, operation, PlaceBatchResultDTO.Outcome.INVALID, "Changes are required");
+                continue;
+            }
+            String rename = dto.name() != null && !dto.name().isBlank() && !dto.name().equals(place.getName()) ? dto.name() : null;
+            if (rename != null && takenNames.contains(rename)) {
+                results[i] = PlaceBatchResultDTO.failed(i, operation, PlaceBatchResultDTO.Outcome.ALREADY_EXISTS,
+                        "Place already exists: " + rename);
+                continue;
+            }
+            Category category = null;
+            if (dto.category() != null && !dto.category().isBlank()) {
+                category = categories.get(dto.category());
+                if (category == null) {
+                    results[i] = PlaceBatchResultDTO.failed(i, operation, PlaceBatchResultDTO.Outcome.CATEGORY_NOT_FOUND,
+                            "Category not found: " + dto.category());
+                    continue;
+                }
+            }
+            if (unresolved.containsKey(i)) {
+                results[i] = PlaceBatchResultDTO.failed(i, operation, PlaceBatchResultDTO.Outcome.INVALID, unresolved.get(i));
+                continue;
+            }
+            PlaceDTO previous = PlaceDTO.fromEntity(place);
+            applyUpdate(place, dto, category, locations.get(i));
+            if (rename != null) {
+                takenNames.remove(previous.name());
+                takenNames.add(rename);
+            }
+            PlaceDTO updated = PlaceDTO.fromEntity(place);
+            sharedWith.addAll(sharedWithUsernames(List.of(place)));
+            changes.add(PlaceChangedEvent.updated(userId, username, previous, updated));
+            results[i] = PlaceBatchResultDTO.done(i, operation.action(), PlaceBatchResultDTO.Outcome.UPDATED, place.getId(), updated);
+        }
+        placeRepository.flush();
+
+        int available = account.hasLimitedPlan()
+                ? Math.max(0, FREE_USER_PLACE_LIMIT - (user.getPlaceCount() - deleted.size()))
+                : Integer.MAX_VALUE;
+        OffsetDateTime postDate = OffsetDateTime.now(clock);
+        List<Place> created = new ArrayList<>();
+        List<Integer> createdIndexes = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            PlaceBatchOperationDTO operation = operations.get(i);
+            if (operation.action() != PlaceBatchAction.CREATE) {
+                continue;
+            }
+            CreatePlaceDTO dto = operation.place();
+            if (dto == null) {
+                results[i] = PlaceBatchResultDTO.failed(i, operation, PlaceBatchResultDTO.Outcome.INVALID, "Place is required");
+                continue;
+            }
+            if (takenNames.contains(dto.name())) {
+                results[i] = PlaceBatchResultDTO.failed(i, operation, PlaceBatchResultDTO.Outcome.ALREADY_EXISTS,
+                        "Place already exists: " + dto.name());
+                continue;
+            }
+            Category category = categories.get(dto.category());
+            if (category == null) {
+                results[i] = PlaceBatchResultDTO.failed(i, operation, PlaceBatchResultDTO.Outcome.CATEGORY_NOT_FOUND,
+                        "Category not found: " + dto.category());
+                continue;
+            }
+            if (created.size() >= available || !locations.containsKey(i) && !unresolved.containsKey(i)) {
+                results[i] = PlaceBatchResultDTO.failed(i, operation, PlaceBatchResultDTO.Outcome.LIMIT_EXCEEDED,
+                        placeLimitExceeded().getMessage());
+                continue;
+            }
+            if (unresolved.containsKey(i)) {
+                results[i] = PlaceBatchResultDTO.failed(i, operation, PlaceBatchResultDTO.Outcome.INVALID, unresolved.get(i));
+                continue;
+            }
+            created.add(buildPlace(user, dto, category, locations.get(i), postDate));
+            createdIndexes.add(i);
+            takenNames.add(dto.name());
+        }
+        placeRepository.saveAll(created);
+        placeRepository.flush();
+
+        for (int j = 0; j < created.size(); j++) {
+            int index = createdIndexes.get(j);
+            PlaceDTO place = PlaceDTO.fromEntity(created.get(j));
+            changes.add(PlaceChangedEvent.created(userId, username, place));
+            results[index] = PlaceBatchResultDTO.done(index, PlaceBatchAction.CREATE, PlaceBatchResultDTO.Outcome.CREATED, place.id(), place);
+        }
+
+        int placeCountDelta = created.size() - deleted.size();
+        if (placeCountDelta != 0) {
+            userRepository.addToPlaceCount(userId, placeCountDelta);
+        }
+        publishSharedChanged(sharedWith);
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new PlacesChangedEvent(userId, username, changes));
+        }
+        return List.of(results);
+    }
+
+    private void reservePlaceSlot(Long userId, boolean limited) {
+        if (!limited) {
+            userRepository.incrementPlaceCount(userId);
+            return;
+        }
+        if (userRepository.incrementPlaceCountBelowLimit(userId, FREE_USER_PLACE_LIMIT) == 0) {
+            throw placeLimitExceeded();
+        }
+    }
+
+    private void publishSharedChanged(Set<String> receiverUsernames) {
+        if (!receiverUsernames.isEmpty()) {
+            eventPublisher.publishEvent(new SharedPlacesChangedEvent(receiverUsernames));
+        }
     }
 
+    private static Set<String> sharedWithUsernames(Collection<Place> places) {
+        Set<String> usernames = new HashSet<>();
+        for (Place place : places) {
+            for (User receiver : place.getSharedWith()) {
+                usernames.add(receiver.getUsername());
+            }
+        }
+        return usernames;
+    }
+
+    private static PlaceLimitExceededException placeLimitExceeded() {
+        return new PlaceLimitExceededException(
+                "Użytkownicy z darmowym planem mogą dodać maksymalnie " + FREE_USER_PLACE_LIMIT + " miejsc. " +
+                        "Rozważ przejście na plan premium, aby dodawać miejsca bez limitu."
+        );
+    }
+
+    private Place buildPlace(User user, CreatePlaceDTO dto, Category category, ResolvedLocation resolved,
+                             OffsetDateTime postDate) {
+        boolean isPublic = dto.isPublic() == null || dto.isPublic();
+
+        return Place.builder()
+                .name(dto.name())
+                .category(category)
+                .latitude(resolved.latitude())
+                .longitude(resolved.longitude())
+                .address(resolved.address())
+                .city(resolved.city())
+                .country(resolved.country())
+                .note(dto.note())
+                .user(user)
+                .isPublic(isPublic)
+                .postDate(postDate).build();
+    }
+
+    private void applyUpdate(Place place, UpdatePlaceDTO dto, Category category, ResolvedLocation resolved) {
+        if (category != null) {
+            place.setCategory(category);
+        }
+
+        if (resolved != null) {
+            place.setLatitude(resolved.latitude());
+            place.setLongitude(resolved.longitude());
+            place.setAddress(resolved.address());
+            place.setCity(resolved.city());
+            place.setCountry(resolved.country());
+        }
+
+        if (dto.name() != null && !dto.name().isBlank()) {
+            place.setName(dto.name());
+        }
+
+        if (dto.note() != null && !dto.note().isBlank()) {
+            place.setNote(dto.note());
+        }
+    }
+
+    private ResolvedLocation resolveUpdateLocation(UpdatePlaceDTO dto) {
+        if ((dto.latitude() != 0 && dto.longitude() != 0) || (dto.address() != null && !dto.address().isBlank())) {
+            return resolveLocation(dto.latitude(), dto.longitude(), dto.address());
+        }
+        return null;
+    }
 
     private ResolvedLocation resolveLocation(double lat, double lng, String address) {
         if ((lat == 0 || lng == 0) && address != null) {
@@ -0,0 +1,225 @@
+package com.example.app.services;
+
+import com.example.app.dtos.PlaceCoordinatesDTO;
+import com.example.app.dtos.PlaceDTO;
+import com.example.app.dtos.PlaceStatsDTO;
+import com.example.app.entities.UserPlaceStats;
+import com.example.app.events.PlaceChangedEvent;
+import com.example.app.events.PlacesChangedEvent;
+import com.example.app.exception.UserNotFoundException;
+import com.example.app.repositories.PlaceRepository;
+import com.example.app.repositories.UserPlaceStatsRepository;
+import com.example.app.repositories.UserRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps one {@link UserPlaceStats} row per user. Counters are adjusted from {@link PlaceChangedEvent}s
+ * inside the transaction of the place write, so the statistics endpoint reads a single row. The
+ * distance aggregate is the length of the path through the user's places in posting order; a change
+ * only touches the legs to the place's two neighbours. Bulk writes ({@link PlacesChangedEvent})
+ * adjust the counters per change and recompute the distance in one pass over the coordinates,
+ * since the neighbours of each change may themselves be part of the batch. Users without a row
+ * (created before the table existed) get it rebuilt from their places on first use.
+ */
+@Service
+public class PlaceStatsService {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final UserPlaceStatsRepository statsRepository;
+    private final PlaceRepository placeRepository;
+    private final UserRepository userRepository;
+
+    public PlaceStatsService(UserPlaceStatsRepository statsRepository, PlaceRepository placeRepository,
+                             UserRepository userRepository) {
+        this.statsRepository = statsRepository;
+        this.placeRepository = placeRepository;
+        this.userRepository = userRepository;
+    }
+
+    @Transactional
+    public PlaceStatsDTO getStats(String username) {
+        Long userId = userRepository.findIdByUsername(username)
+                .orElseThrow(() -> new UserNotFoundException("User not found: " + username));
+        UserPlaceStats stats = statsRepository.findById(userId).orElseGet(() -> rebuild(userId));
+        return toDTO(stats);
+    }
+
+    @EventListener
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void onPlaceChanged(PlaceChangedEvent event) {
+        UserPlaceStats stats = statsRepository.findForUpdate(event.userId()).orElse(null);
+        if (stats == null) {
+            rebuild(event.userId());
+            return;
+        }
+        if (event.previous() != null) {
+            count(stats, event.previous(), -1);
+        }
+        if (event.current() != null) {
+            count(stats, event.current(), 1);
+        }
+        adjustDistance(stats, event);
+    }
+
+    @EventListener
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void onPlacesChanged(PlacesChangedEvent event) {
+        UserPlaceStats stats = statsRepository.findForUpdate(event.userId()).orElse(null);
+        if (stats == null) {
+            rebuild(event.userId());
+            return;
+        }
+        for (PlaceChangedEvent change : event.changes()) {
+            if (change.previous() != null) {
+                count(stats, change.previous(), -1);
+            }
+            if (change.current() != null) {
+                count(stats, change.current(), 1);
+            }
+        }
+        double distance = 0;
+        PlaceCoordinatesDTO last = null;
+        for (PlaceCoordinatesDTO place : placeRepository.findCoordinatesByUserIdInPostOrder(event.userId())) {
+            if (last != null) {
+                distance += distanceKm(last.latitude(), last.longitude(), place.latitude(), place.longitude());
+            }
+            last = place;
+        }
+        stats.setTotalDistanceKm(distance);
+    }
+
+    UserPlaceStats rebuild(Long userId) {
+        userRepository.findForUpdateById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User with ID " + userId + " not found"));
+        UserPlaceStats existing = statsRepository.findForUpdate(userId).orElse(null);
+        UserPlaceStats stats = existing != null ? existing : new UserPlaceStats(userId);
+        stats.setTotalPlaces(0);
+        stats.setPublicPlaces(0);
+        stats.setByCategory(new TreeMap<>());
+        stats.setByCity(new TreeMap<>());
+        stats.setByCountry(new TreeMap<>());
+        stats.setByMonth(new TreeMap<>());
+        stats.setSumX(0);
+        stats.setSumY(0);
+        stats.setSumZ(0);
+
+        double distance = 0;
+        PlaceDTO last = null;
+        for (PlaceDTO place : placeRepository.findDTOsByUserIdInPostOrder(userId)) {
+            count(stats, place, 1);
+            distance += distanceKm(last, place);
+            last = place;
+        }
+        stats.setTotalDistanceKm(distance);
+        return statsRepository.save(stats);
+    }
+
+    private void count(UserPlaceStats stats, PlaceDTO place, int delta) {
+        stats.setTotalPlaces(stats.getTotalPlaces() + delta);
+        if (place.isPublic()) {
+            stats.setPublicPlaces(stats.getPublicPlaces() + delta);
+        }
+        stats.setByCategory(adjust(stats.getByCategory(), place.category(), delta));
+        stats.setByCity(adjust(stats.getByCity(), place.city(), delta));
+        stats.setByCountry(adjust(stats.getByCountry(), place.country(), delta));
+        stats.setByMonth(adjust(stats.getByMonth(), monthOf(place.postDate()), delta));
+
+        double lat = Math.toRadians(place.latitude());
+        double lon = Math.toRadians(place.longitude());
+        stats.setSumX(stats.getSumX() + delta * Math.cos(lat) * Math.cos(lon));
+        stats.setSumY(stats.getSumY() + delta * Math.cos(lat) * Math.sin(lon));
+        stats.setSumZ(stats.getSumZ() + delta * Math.sin(lat));
+    }
+
+    private void adjustDistance(UserPlaceStats stats, PlaceChangedEvent event) {
+        PlaceDTO place = event.isDelete() ? event.previous() : event.current();
+        if (place.postDate() == null) {
+            rebuild(event.userId());
+            return;
+        }
+        PlaceDTO before = first(placeRepository.findPostedBefore(event.userId(), place.postDate(), place.id(), PageRequest.of(0, 1)));
+        PlaceDTO after = first(placeRepository.findPostedAfter(event.userId(), place.postDate(), place.id(), PageRequest.of(0, 1)));
+
+        double removed = event.previous() == null
+                ? distanceKm(before, after)
+                : distanceKm(before, event.previous()) + distanceKm(event.previous(), after);
+        double added = event.current() == null
+                ? distanceKm(before, after)
+                : distanceKm(before, event.current()) + distanceKm(event.current(), after);
+        stats.setTotalDistanceKm(Math.max(0, stats.getTotalDistanceKm() + added - removed));
+    }
+
+    private static Map<String, Long> adjust(Map<String, Long> counts, String key, int delta) {
+        if (key == null || key.isBlank()) {
+            return counts;
+        }
+        Map<String, Long> copy = new TreeMap<>(counts);
+        long value = copy.getOrDefault(key, 0L) + delta;
+        if (value > 0) {
+            copy.put(key, value);
+        } else {
+            copy.remove(key);
+        }
+        return copy;
+    }
+
+    private static String monthOf(OffsetDateTime postDate) {
+        return postDate == null ? null : YearMonth.from(postDate.withOffsetSameInstant(ZoneOffset.UTC)).toString();
+    }
+
+    private static PlaceDTO first(List<PlaceDTO> places) {
+        return places.isEmpty() ? null : places.get(0);
+    }
+
+    private static double distanceKm(PlaceDTO from, PlaceDTO to) {
+        if (from == null || to == null) {
+            return 0;
+        }
+        return distanceKm(from.latitude(), from.longitude(), to.latitude(), to.longitude());
+    }
+
+    private static double distanceKm(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude) {
+        double dLat = Math.toRadians(toLatitude - fromLatitude);
+        double dLon = Math.toRadians(toLongitude - fromLongitude);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(fromLatitude)) * Math.cos(Math.toRadians(toLatitude))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    private static PlaceStatsDTO toDTO(UserPlaceStats stats) {
+        long total = stats.getTotalPlaces();
+        Double centroidLatitude = null;
+        Double centroidLongitude = null;
+        if (total > 0) {
+            double x = stats.getSumX() / total;
+            double y = stats.getSumY() / total;
+            double z = stats.getSumZ() / total;
+            centroidLatitude = Math.toDegrees(Math.atan2(z, Math.sqrt(x * x + y * y)));
+            centroidLongitude = Math.toDegrees(Math.atan2(y, x));
+        }
+        return new PlaceStatsDTO(
+                total,
+                stats.getPublicPlaces(),
+                total - stats.getPublicPlaces(),
+                stats.getByCategory(),
+                stats.getByCity(),
+                stats.getByCountry(),
+                stats.getByMonth(),
+                stats.getTotalDistanceKm(),
+                total > 1 ? stats.getTotalDistanceKm() / (total - 1) : 0,
+                centroidLatitude,
+                centroidLongitude);
+    }
+}
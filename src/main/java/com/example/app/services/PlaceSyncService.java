@@ -0,0 +1,114 @@
+package com.example.app.services;
+
+import com.example.app.dtos.PlaceChangesDTO;
+import com.example.app.dtos.PlaceDTO;
+import com.example.app.entities.PlaceTombstone;
+import com.example.app.events.PlaceChangedEvent;
+import com.example.app.events.PlacesChangedEvent;
+import com.example.app.exception.UserNotFoundException;
+import com.example.app.repositories.PlaceRepository;
+import com.example.app.repositories.PlaceTombstoneRepository;
+import com.example.app.repositories.UserRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delta sync for clients that keep a local copy of their places. Every place write bumps a per-user
+ * change sequence inside the writing transaction and stamps the changed rows with it; deletes leave
+ * a tombstone with the same number. The sync token is the sequence value the client last saw, so
+ * "nothing changed" is answered from the users row alone. The increment takes the user row lock,
+ * which makes sequence order match commit order and keeps a token from skipping a slower writer.
+ */
+@Service
+public class PlaceSyncService {
+
+    private final PlaceRepository placeRepository;
+    private final PlaceTombstoneRepository tombstoneRepository;
+    private final UserRepository userRepository;
+    private final Clock clock;
+
+    public PlaceSyncService(PlaceRepository placeRepository, PlaceTombstoneRepository tombstoneRepository,
+                            UserRepository userRepository, Clock clock) {
+        this.placeRepository = placeRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.userRepository = userRepository;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns what changed after {@code since}. Without a token, or with one from the future (for
+     * example after a database restore), the full list is returned and flagged as such.
+     */
+    @Transactional
+    public PlaceChangesDTO changesSince(String username, String since) {
+        long current = userRepository.findChangeSeqByUsername(username)
+                .orElseThrow(() -> new UserNotFoundException("User not found: " + username));
+        String token = Long.toString(current);
+
+        Long sinceSeq = parseToken(since);
+        if (sinceSeq == null || sinceSeq > current) {
+            return new PlaceChangesDTO(token, true, placeRepository.findDTOsByUsername(username), List.of());
+        }
+        if (sinceSeq == current) {
+            return new PlaceChangesDTO(token, false, List.of(), List.of());
+        }
+        List<PlaceDTO> places = placeRepository.findDTOsChangedSince(username, sinceSeq);
+        List<Long> deleted = tombstoneRepository.findPlaceIdsDeletedSince(username, sinceSeq);
+        return new PlaceChangesDTO(token, false, places, deleted);
+    }
+
+    @EventListener
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void onPlaceChanged(PlaceChangedEvent event) {
+        record(event.userId(), List.of(event));
+    }
+
+    @EventListener
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void onPlacesChanged(PlacesChangedEvent event) {
+        record(event.userId(), event.changes());
+    }
+
+    private void record(Long userId, List<PlaceChangedEvent> changes) {
+        userRepository.incrementChangeSeq(userId);
+        long changeSeq = userRepository.findChangeSeqById(userId);
+
+        List<Long> changed = new ArrayList<>();
+        List<PlaceTombstone> tombstones = new ArrayList<>();
+        OffsetDateTime now = OffsetDateTime.now(clock);
+        for (PlaceChangedEvent change : changes) {
+            if (change.isDelete()) {
+                tombstones.add(new PlaceTombstone(change.placeId(), userId, changeSeq, now));
+            } else {
+                changed.add(change.placeId());
+            }
+        }
+        if (!changed.isEmpty()) {
+            placeRepository.markChanged(changed, changeSeq);
+        }
+        if (!tombstones.isEmpty()) {
+            tombstoneRepository.saveAll(tombstones);
+        }
+    }
+
+    private static Long parseToken(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            long value = Long.parseLong(token.trim());
+            if (value < 0) {
+                throw new IllegalArgumentException("Invalid sync token: " + token);
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid sync token: " + token);
+        }
+    }
+}
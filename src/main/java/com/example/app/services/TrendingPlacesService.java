@@ -0,0 +1,29 @@
+package com.example.app.services;
+
+import com.example.app.components.TrendingPlaces;
+import com.example.app.dtos.TrendingPlaceDTO;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class TrendingPlacesService {
+
+    private static final int MAX_RESULTS = 50;
+
+    private final TrendingPlaces trendingPlaces;
+
+    public TrendingPlacesService(TrendingPlaces trendingPlaces) {
+        this.trendingPlaces = trendingPlaces;
+    }
+
+    public List<TrendingPlaceDTO> findTrending(double latitude, double longitude, int limit) {
+        if (limit < 1 || limit > MAX_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_RESULTS);
+        }
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Invalid coordinates");
+        }
+        return trendingPlaces.trending(latitude, longitude, limit);
+    }
+}
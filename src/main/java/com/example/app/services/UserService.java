@@ -1,5 +1,19 @@
 package com.example.app.services;
 
+import com.example.app.components.ContactDiscoveryIndex;
+import com.example.app.components.ContactDiscoveryQuota;
+import com.example.app.components.FriendGraphCache;
+import com.example.app.components.PlaceListCache;
+import com.example.app.components.PlaceQueryCache;
+import com.example.app.components.PlaceSearchIndexer;
+import com.example.app.components.PlaceSuggestionIndex;
+import com.example.app.components.ResourceVersions;
+import com.example.app.components.TrendingPlaces;
+import com.example.app.components.UserAvailabilityFilter;
+import com.example.app.components.UserRoleCache;
+import com.example.app.dtos.AvailabilityDTO;
+import com.example.app.dtos.ContactDiscoverySaltDTO;
+import com.example.app.dtos.ContactMatchDTO;
 import com.example.app.dtos.CreateUserDTO;
 import com.example.app.dtos.PasswordDTO;
 import com.example.app.dtos.UpdateUserDTO;
@@ -11,6 +25,7 @@ import com.example.app.entities.User;
 import com.example.app.exception.*;
 import com.example.app.repositories.RoleRepository;
 import com.example.app.repositories.UserRepository;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -26,11 +41,39 @@ public class UserService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final FriendGraphCache friendGraphCache;
+    private final ContactDiscoveryIndex contactDiscoveryIndex;
+    private final ContactDiscoveryQuota contactDiscoveryQuota;
+    private final UserAvailabilityFilter userAvailabilityFilter;
+    private final PlaceSuggestionIndex placeSuggestionIndex;
+    private final PlaceQueryCache placeQueryCache;
+    private final PlaceListCache placeListCache;
+    private final ResourceVersions resourceVersions;
+    private final UserRoleCache userRoleCache;
+    private final PlaceSearchIndexer placeSearchIndexer;
+    private final TrendingPlaces trendingPlaces;
 
-    public UserService(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder,
+                       FriendGraphCache friendGraphCache, ContactDiscoveryIndex contactDiscoveryIndex,
+                       ContactDiscoveryQuota contactDiscoveryQuota,
+                       UserAvailabilityFilter userAvailabilityFilter, PlaceSuggestionIndex placeSuggestionIndex,
+                       PlaceQueryCache placeQueryCache, PlaceListCache placeListCache, ResourceVersions resourceVersions,
+                       UserRoleCache userRoleCache, PlaceSearchIndexer placeSearchIndexer,
+                       TrendingPlaces trendingPlaces) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
+        this.friendGraphCache = friendGraphCache;
+        this.contactDiscoveryIndex = contactDiscoveryIndex;
+        this.contactDiscoveryQuota = contactDiscoveryQuota;
+        this.userAvailabilityFilter = userAvailabilityFilter;
+        this.placeSuggestionIndex = placeSuggestionIndex;
+        this.placeQueryCache = placeQueryCache;
+        this.placeListCache = placeListCache;
+        this.resourceVersions = resourceVersions;
+        this.userRoleCache = userRoleCache;
+        this.placeSearchIndexer = placeSearchIndexer;
+        this.trendingPlaces = trendingPlaces;
     }
 
     public List<UserDTO> findAll() {
@@ -52,12 +95,10 @@ public class UserService {
     }
 
     public PremiumStatus getCurrentUserPremiumStatus(String username) {
-        User user = userRepository.findByUsername(username).orElseThrow(() -> new UserNotFoundException("User not found: " + username));
-
-        boolean isPremium = user.getRoles().stream()
-                .anyMatch(role -> role.getName() == RoleName.PREMIUM_USER);
+        UserRoleCache.Account account = userRoleCache.get(username)
+                .orElseThrow(() -> new UserNotFoundException("User not found: " + username));
 
-        return isPremium ? PremiumStatus.PREMIUM : PremiumStatus.NON_PREMIUM;
+        return account.isPremium() ? PremiumStatus.PREMIUM : PremiumStatus.NON_PREMIUM;
     }
 
     public UserDTO registerUser(CreateUserDTO createUserDTO) {
@@ -67,30 +108,85 @@ public class UserService {
                 .orElseThrow(() -> new RoleNotFoundException("Default role not found"));
 
         User newUser = toEntity(createUserDTO, defaultRole);
-        User saved = userRepository.save(newUser);
+        User saved;
+        try {
+            saved = userRepository.save(newUser);
+        } catch (DataIntegrityViolationException e) {
+            if (userRepository.existsByUsername(createUserDTO.username())) {
+                throw usernameTaken(createUserDTO.username());
+            }
+            if (userRepository.existsByEmail(createUserDTO.email())) {
+                throw emailTaken(createUserDTO.email());
+            }
+            throw e;
+        }
+        contactDiscoveryIndex.put(saved.getId(), saved.getUsername(), saved.getEmail());
+        userAvailabilityFilter.put(saved.getUsername(), saved.getEmail());
         return UserDTO.fromEntity(saved);
     }
 
+    public AvailabilityDTO checkAvailability(String username, String email) {
+        Boolean usernameAvailable = username == null || username.isBlank() ? null : !isUsernameTaken(username);
+        Boolean emailAvailable = email == null || email.isBlank() ? null : !isEmailTaken(email);
+        return new AvailabilityDTO(usernameAvailable, emailAvailable);
+    }
+
+    public List<ContactMatchDTO> discoverContacts(String username, List<String> emailHashes) {
+        contactDiscoveryQuota.consume(username, emailHashes.size());
+        return contactDiscoveryIndex.match(emailHashes).stream()
+                .filter(match -> !match.username().equals(username))
+                .collect(Collectors.toList());
+    }
+
+    public ContactDiscoverySaltDTO getContactDiscoverySalt() {
+        return contactDiscoveryIndex.salt();
+    }
+
     public void deleteById(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("User with ID " + id + " not found"));
+        List<Long> placeIds = placeSearchIndexer.placeIdsOf(user.getId());
         userRepository.delete(user);
+        placeSearchIndexer.placesDeleted(placeIds);
+        trendingPlaces.evictUser(user.getId());
+        friendGraphCache.evictUser(user.getId(), user.getUsername());
+        contactDiscoveryIndex.remove(user.getId());
+        userAvailabilityFilter.retire(user.getUsername(), user.getEmail());
+        placeSuggestionIndex.evictUser(user.getUsername());
+        placeQueryCache.evictUser(user.getUsername());
+        placeListCache.evictAll();
+        resourceVersions.invalidateAll();
+        userRoleCache.evict(user.getUsername());
     }
 
     public void deleteCurrentUser(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UserNotFoundException("User not found: " + username));
+        List<Long> placeIds = placeSearchIndexer.placeIdsOf(user.getId());
         userRepository.delete(user);
+        placeSearchIndexer.placesDeleted(placeIds);
+        trendingPlaces.evictUser(user.getId());
+        friendGraphCache.evictUser(user.getId(), user.getUsername());
+        contactDiscoveryIndex.remove(user.getId());
+        userAvailabilityFilter.retire(user.getUsername(), user.getEmail());
+        placeSuggestionIndex.evictUser(user.getUsername());
+        placeQueryCache.evictUser(user.getUsername());
+        placeListCache.evictAll();
+        resourceVersions.invalidateAll();
+        userRoleCache.evict(user.getUsername());
     }
 
     public UserDTO updateCurrentUser(UpdateUserDTO updateUserDTO, String currentUsername) {
         User userToUpdate = userRepository.findByUsername(currentUsername)
                 .orElseThrow(() -> new UserNotFoundException("User not found: " + currentUsername));
 
+        String previousUsername = userToUpdate.getUsername();
+        String previousEmail = userToUpdate.getEmail();
+
         String newUsername = updateUserDTO.username();
         if (newUsername != null && !newUsername.isBlank() && !newUsername.equals(userToUpdate.getUsername())) {
-            if (userRepository.findByUsername(newUsername).isPresent()) {
-                throw new UsernameAlreadyUsedException("Nazwa użytkownika '" + newUsername + "' jest już zajęta.");
+            if (isUsernameTaken(newUsername)) {
+                throw renamedUsernameTaken(newUsername);
             }
             userToUpdate.setUsername(newUsername);
         }
@@ -98,16 +194,39 @@ public class UserService {
         String newEmail = updateUserDTO.email();
         if (newEmail != null && !newEmail.isBlank()) {
             if (!newEmail.equals(userToUpdate.getEmail())) {
-                if (userRepository.existsByEmail(newEmail)) {
-
-                    throw new EmailAlreadyUsedException("Email '" + newEmail + "' jest już używany.");
+                if (isEmailTaken(newEmail)) {
+                    throw changedEmailTaken(newEmail);
                 }
                 userToUpdate.setEmail(newEmail);
             } else {
                 userToUpdate.setEmail(newEmail);
             }
         }
-        User updatedUser = userRepository.save(userToUpdate);
+        User updatedUser;
+        try {
+            updatedUser = userRepository.save(userToUpdate);
+        } catch (DataIntegrityViolationException e) {
+            if (!previousUsername.equals(userToUpdate.getUsername()) && userRepository.existsByUsername(userToUpdate.getUsername())) {
+                throw renamedUsernameTaken(userToUpdate.getUsername());
+            }
+            if (userToUpdate.getEmail() != null && userRepository.existsByEmail(userToUpdate.getEmail())) {
+                throw changedEmailTaken(userToUpdate.getEmail());
+            }
+            throw e;
+        }
+        friendGraphCache.evictUsername(currentUsername);
+        placeSuggestionIndex.evictUser(currentUsername);
+        placeQueryCache.evictUser(currentUsername);
+        placeListCache.evictAccount(currentUsername);
+        if (!previousUsername.equals(updatedUser.getUsername())) {
+            resourceVersions.usernameReleased(previousUsername);
+            userRoleCache.evict(previousUsername);
+        }
+        contactDiscoveryIndex.put(updatedUser.getId(), updatedUser.getUsername(), updatedUser.getEmail());
+        userAvailabilityFilter.put(updatedUser.getUsername(), updatedUser.getEmail());
+        userAvailabilityFilter.retire(
+                previousUsername.equals(updatedUser.getUsername()) ? null : previousUsername,
+                previousEmail == null || previousEmail.equals(updatedUser.getEmail()) ? null : previousEmail);
         return UserDTO.fromEntity(updatedUser);
     }
 
@@ -126,6 +245,7 @@ public class UserService {
 
         user.getRoles().add(role);
         userRepository.save(user);
+        userRoleCache.evict(user.getUsername());
     }
 
     public void deleteRoleFromUser(Long id, RoleName roleName) {
@@ -134,6 +254,7 @@ public class UserService {
         user.getRoles().removeIf(r -> r.getName().equals(roleName));
 
         userRepository.save(user);
+        userRoleCache.evict(user.getUsername());
     }
 
     private User toEntity(CreateUserDTO dto, Role defaultRole) {
@@ -146,11 +267,37 @@ public class UserService {
     }
 
     private void validateUniqueness(CreateUserDTO dto) {
-        if (userRepository.findByUsername(dto.username()).isPresent()) {
-            throw new UsernameAlreadyUsedException("Username already taken: " + dto.username());
+        if (isUsernameTaken(dto.username())) {
+            throw usernameTaken(dto.username());
         }
-        if (userRepository.existsByEmail(dto.email())) {
-            throw new EmailAlreadyUsedException("Email already exists: " + dto.email());
+        if (isEmailTaken(dto.email())) {
+            throw emailTaken(dto.email());
         }
     }
+
+    // a filter miss skips the database; the filters only know this node's writes, so a value taken on
+    // another node can still pass here and is caught by the unique constraints when the user is saved
+    private boolean isUsernameTaken(String username) {
+        return userAvailabilityFilter.mightContainUsername(username) && userRepository.existsByUsername(username);
+    }
+
+    private boolean isEmailTaken(String email) {
+        return userAvailabilityFilter.mightContainEmail(email) && userRepository.existsByEmail(email);
+    }
+
+    private static UsernameAlreadyUsedException usernameTaken(String username) {
+        return new UsernameAlreadyUsedException("Username already taken: " + username);
+    }
+
+    private static EmailAlreadyUsedException emailTaken(String email) {
+        return new EmailAlreadyUsedException("Email already exists: " + email);
+    }
+
+    private static UsernameAlreadyUsedException renamedUsernameTaken(String username) {
+        return new UsernameAlreadyUsedException("Nazwa użytkownika '" + username + "' jest już zajęta.");
+    }
+
+    private static EmailAlreadyUsedException changedEmailTaken(String email) {
+        return new EmailAlreadyUsedException("Email '" + email + "' jest już używany.");
+    }
 }
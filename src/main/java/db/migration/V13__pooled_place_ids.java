@@ -0,0 +1,38 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Moves place ids to a sequence that hands out blocks of 50, matching the pooled generator on
+ * {@code Place}, so Hibernate can assign ids without a round trip per insert and batch them.
+ * On PostgreSQL the SERIAL sequence is reused; H2 (dev profile) gets a new sequence starting one
+ * block above the current maximum id, because the pooled optimizer treats the first value it reads
+ * as the top of its block.
+ */
+public class V13__pooled_place_ids extends BaseJavaMigration {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            if (connection.getMetaData().getDatabaseProductName().equalsIgnoreCase("PostgreSQL")) {
+                statement.execute("ALTER SEQUENCE places_id_seq INCREMENT BY " + ALLOCATION_SIZE);
+                return;
+            }
+            long maxId;
+            try (ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM places")) {
+                rs.next();
+                maxId = rs.getLong(1);
+            }
+            statement.execute("CREATE SEQUENCE places_id_seq START WITH " + (maxId + ALLOCATION_SIZE)
+                    + " INCREMENT BY " + ALLOCATION_SIZE);
+        }
+    }
+}
@@ -0,0 +1 @@
+CREATE INDEX ix_friends_user_high ON friends (user_high_id);
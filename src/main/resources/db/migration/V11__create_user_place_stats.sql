@@ -0,0 +1,17 @@
+CREATE TABLE user_place_stats (
+    user_id BIGINT PRIMARY KEY,
+    total_places BIGINT NOT NULL DEFAULT 0,
+    public_places BIGINT NOT NULL DEFAULT 0,
+    by_category TEXT NOT NULL,
+    by_city TEXT NOT NULL,
+    by_country TEXT NOT NULL,
+    by_month TEXT NOT NULL,
+    total_distance_km DOUBLE PRECISION NOT NULL DEFAULT 0,
+    sum_x DOUBLE PRECISION NOT NULL DEFAULT 0,
+    sum_y DOUBLE PRECISION NOT NULL DEFAULT 0,
+    sum_z DOUBLE PRECISION NOT NULL DEFAULT 0,
+    CONSTRAINT fk_user_place_stats_user
+        FOREIGN KEY (user_id)
+        REFERENCES users(id)
+        ON DELETE CASCADE
+);
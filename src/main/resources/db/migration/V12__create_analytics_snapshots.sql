@@ -0,0 +1,5 @@
+CREATE TABLE analytics_snapshots (
+    node_id VARCHAR(100) PRIMARY KEY,
+    data BYTEA NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
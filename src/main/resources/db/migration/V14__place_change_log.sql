@@ -0,0 +1,18 @@
+ALTER TABLE users ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE places ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX ix_places_user_change_seq ON places (user_id, change_seq);
+
+CREATE TABLE place_tombstones (
+    place_id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    change_seq BIGINT NOT NULL,
+    deleted_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT fk_place_tombstones_user
+        FOREIGN KEY (user_id)
+        REFERENCES users(id)
+        ON DELETE CASCADE
+);
+
+CREATE INDEX ix_place_tombstones_user_change_seq ON place_tombstones (user_id, change_seq);
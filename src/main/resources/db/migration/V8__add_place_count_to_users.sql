@@ -0,0 +1,3 @@
+ALTER TABLE users ADD COLUMN place_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE users SET place_count = (SELECT COUNT(*) FROM places WHERE places.user_id = users.id);
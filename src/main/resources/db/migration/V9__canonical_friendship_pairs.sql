@@ -0,0 +1,28 @@
+DELETE FROM friends
+WHERE requester_id IS NULL
+   OR receiver_id IS NULL
+   OR requester_id = receiver_id;
+
+ALTER TABLE friends ADD COLUMN user_low_id BIGINT;
+ALTER TABLE friends ADD COLUMN user_high_id BIGINT;
+
+UPDATE friends
+SET user_low_id = LEAST(requester_id, receiver_id),
+    user_high_id = GREATEST(requester_id, receiver_id);
+
+DELETE FROM friends f
+WHERE EXISTS (
+    SELECT 1
+    FROM friends other
+    WHERE other.user_low_id = f.user_low_id
+      AND other.user_high_id = f.user_high_id
+      AND other.id <> f.id
+      AND (CASE WHEN other.status = 'ACCEPTED' THEN 0 ELSE 1 END < CASE WHEN f.status = 'ACCEPTED' THEN 0 ELSE 1 END
+           OR (CASE WHEN other.status = 'ACCEPTED' THEN 0 ELSE 1 END = CASE WHEN f.status = 'ACCEPTED' THEN 0 ELSE 1 END
+               AND other.id < f.id))
+);
+
+ALTER TABLE friends ALTER COLUMN user_low_id SET NOT NULL;
+ALTER TABLE friends ALTER COLUMN user_high_id SET NOT NULL;
+
+CREATE UNIQUE INDEX ux_friends_pair ON friends (user_low_id, user_high_id);
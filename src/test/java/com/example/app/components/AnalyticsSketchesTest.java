@@ -0,0 +1,54 @@
+package com.example.app.components;
+
+import com.example.app.dtos.CountEstimateDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+public class AnalyticsSketchesTest {
+
+    @Test
+    void recordedActivity_survivesSerialisationRoundTrip() {
+        AnalyticsSketches sketches = new AnalyticsSketches();
+        for (long userId = 1; userId <= 50; userId++) {
+            sketches.recordActivity(userId, userId <= 30 ? "Poznań" : "Gdańsk");
+            sketches.recordPlaceAdded(userId <= 40 ? "Polska" : "Niemcy", "Park");
+        }
+        sketches.recordPlaceAdded("Polska", "Muzeum");
+
+        AnalyticsSketches restored = AnalyticsSketches.fromBytes(sketches.toBytes()).orElseThrow();
+
+        assertThat(restored.activeUsers()).isCloseTo(50L, within(2L));
+        assertThat(restored.activeUsersByCity(10)).extracting(CountEstimateDTO::name).containsExactly("Poznań", "Gdańsk");
+        assertThat(restored.activeUsersByCity(1).get(0).count()).isCloseTo(30L, within(2L));
+        assertThat(restored.placesByCountry(10)).containsExactly(
+                new CountEstimateDTO("Polska", 41), new CountEstimateDTO("Niemcy", 10));
+        assertThat(restored.topCategories(1)).containsExactly(new CountEstimateDTO("Park", 50));
+        assertThat(restored.placesAdded()).isEqualTo(51);
+    }
+
+    @Test
+    void merge_nodeSnapshots_addsCountsAndUnionsUsers() {
+        AnalyticsSketches nodeA = new AnalyticsSketches();
+        AnalyticsSketches nodeB = new AnalyticsSketches();
+        for (long userId = 1; userId <= 20; userId++) {
+            nodeA.recordActivity(userId, "Kraków");
+            nodeB.recordActivity(userId + 10, "Kraków");
+            nodeA.recordPlaceAdded("Polska", "Kawiarnia");
+            nodeB.recordPlaceAdded("Polska", "Kawiarnia");
+        }
+
+        nodeA.merge(nodeB);
+
+        assertThat(nodeA.activeUsersByCity(1).get(0).count()).isCloseTo(30L, within(2L));
+        assertThat(nodeA.topCategories(1)).containsExactly(new CountEstimateDTO("Kawiarnia", 40));
+    }
+
+    @Test
+    void fromBytes_unknownFormatVersion_isSkipped() {
+        assertThat(AnalyticsSketches.fromBytes(new byte[]{0, 0, 0, 99})).isEmpty();
+    }
+}
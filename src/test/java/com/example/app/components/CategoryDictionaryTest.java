@@ -0,0 +1,75 @@
+package com.example.app.components;
+
+import com.example.app.entities.Category;
+import com.example.app.repositories.CategoryRepository;
+import com.example.app.support.InMemoryCategoryChangeNotifier;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+public class CategoryDictionaryTest {
+
+    @Test
+    void reads_areServedFromOneSnapshotUntilCategoriesChange() {
+        CategoryRepository repository = mock(CategoryRepository.class);
+        when(repository.findAll()).thenReturn(List.of(new Category(2L, "Park"), new Category(1L, "Kino")));
+        CategoryDictionary dictionary = new CategoryDictionary(repository, Optional.empty(), new ResourceVersions());
+
+        assertThat(dictionary.findByName("Park")).map(Category::getId).contains(2L);
+        assertThat(dictionary.findByName("Muzeum")).isEmpty();
+        assertThat(dictionary.findByName(null)).isEmpty();
+        assertThat(dictionary.findAll()).extracting(Category::getName).containsExactly("Kino", "Park");
+        verify(repository, times(1)).findAll();
+
+        when(repository.findAll()).thenReturn(List.of(new Category(1L, "Kino"), new Category(3L, "Muzeum")));
+        dictionary.categoriesChanged();
+
+        assertThat(dictionary.findByName("Muzeum")).map(Category::getId).contains(3L);
+        assertThat(dictionary.findByName("Park")).isEmpty();
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    void categoriesChanged_onOneNodeInvalidatesTheOthers() {
+        CategoryRepository repository = mock(CategoryRepository.class);
+        List<Category> table = new ArrayList<>(List.of(new Category(1L, "Kino")));
+        when(repository.findAll()).thenAnswer(invocation -> List.copyOf(table));
+        InMemoryCategoryChangeNotifier channel = new InMemoryCategoryChangeNotifier();
+        ResourceVersions readerVersions = new ResourceVersions();
+        CategoryDictionary writer = new CategoryDictionary(repository, Optional.of(channel.node()), new ResourceVersions());
+        CategoryDictionary reader = new CategoryDictionary(repository, Optional.of(channel.node()), readerVersions);
+        assertThat(reader.findByName("Park")).isEmpty();
+        String tag = readerVersions.categoriesTag();
+
+        table.add(new Category(2L, "Park"));
+        writer.categoriesChanged();
+
+        assertThat(reader.findByName("Park")).isPresent();
+        assertThat(writer.findByName("Park")).isPresent();
+        assertThat(readerVersions.categoriesTag()).isNotEqualTo(tag);
+    }
+
+    @Test
+    void loadThatRacedAChange_isNotKept() {
+        CategoryRepository repository = mock(CategoryRepository.class);
+        CategoryDictionary dictionary = new CategoryDictionary(repository, Optional.empty(), new ResourceVersions());
+        when(repository.findAll()).thenAnswer(invocation -> {
+            // the table changes while this load is reading the old rows
+            dictionary.categoriesChanged();
+            return List.of(new Category(1L, "Kino"));
+        }).thenReturn(List.of(new Category(1L, "Kino"), new Category(2L, "Park")));
+
+        assertThat(dictionary.findByName("Park")).isEmpty();
+        assertThat(dictionary.findByName("Park")).isPresent();
+    }
+}
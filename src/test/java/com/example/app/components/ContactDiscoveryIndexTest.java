@@ -0,0 +1,120 @@
+package com.example.app.components;
+
+import com.example.app.dtos.ContactDiscoverySaltDTO;
+import com.example.app.dtos.ContactMatchDTO;
+import com.example.app.dtos.UserEmailDTO;
+import com.example.app.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+public class ContactDiscoveryIndexTest {
+
+    private static final Instant START = Instant.parse("2025-06-01T12:00:00Z");
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private Clock clock;
+
+    private ContactDiscoveryIndex index;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(clock.millis()).thenReturn(START.toEpochMilli());
+        index = new ContactDiscoveryIndex(userRepository, clock, "test-secret", 24);
+        when(userRepository.findAccountEntries()).thenReturn(List.of(
+                new UserEmailDTO(1L, "alice", "Alice@Example.com"),
+                new UserEmailDTO(2L, "bob", "bob@example.com")));
+        index.rebuild();
+    }
+
+    @Test
+    void hashEmail_normalizesCaseAndWhitespace() {
+        assertThat(index.hashEmail(" ALICE@example.com ")).isEqualTo(index.hashEmail("alice@example.com"));
+        assertThat(index.hashEmail("alice@example.com")).hasSize(64);
+    }
+
+    @Test
+    void match_returnsOnlyKnownHashes() {
+        String alice = index.hashEmail("alice@example.com");
+        String unknown = index.hashEmail("nobody@example.com");
+
+        List<ContactMatchDTO> matches = index.match(List.of(alice, unknown, alice.toUpperCase()));
+
+        assertThat(matches).extracting(ContactMatchDTO::username).containsExactly("alice", "alice");
+    }
+
+    @Test
+    void put_updatedEmail_replacesPreviousHash() {
+        String oldHash = index.hashEmail("bob@example.com");
+        String newHash = index.hashEmail("bob@new.example.com");
+
+        index.put(2L, "bobby", "bob@new.example.com");
+
+        assertThat(index.match(List.of(oldHash))).isEmpty();
+        assertThat(index.match(List.of(newHash))).extracting(ContactMatchDTO::username).containsExactly("bobby");
+    }
+
+    @Test
+    void remove_deletedUser_noLongerMatches() {
+        String alice = index.hashEmail("alice@example.com");
+
+        index.remove(1L);
+
+        assertThat(index.match(List.of(alice))).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void match_largeBatch_findsEveryRegisteredUserPastFilterResize() {
+        List<String> hashes = new ArrayList<>();
+        for (long id = 100; id < 3_100; id++) {
+            index.put(id, "user" + id, "user" + id + "@example.com");
+            hashes.add(index.hashEmail("user" + id + "@example.com"));
+        }
+        for (int i = 0; i < 7_000; i++) {
+            hashes.add(index.hashEmail("stranger" + i + "@example.com"));
+        }
+
+        assertThat(index.match(hashes)).hasSize(3_000);
+    }
+
+    @Test
+    void salt_isDerivedFromTheSecretAndExpiresWithThePeriod() {
+        ContactDiscoveryIndex otherDeployment = new ContactDiscoveryIndex(userRepository, clock, "other-secret", 24);
+
+        ContactDiscoverySaltDTO salt = index.salt();
+
+        assertThat(salt.salt()).hasSize(64).isNotEqualTo(otherDeployment.salt().salt());
+        assertThat(salt.expiresAt()).isEqualTo(Instant.parse("2025-06-02T00:00:00Z"));
+    }
+
+    @Test
+    void rebuild_afterRotation_oldHashesNoLongerMatch() {
+        String oldSalt = index.salt().salt();
+        String alice = index.hashEmail("alice@example.com");
+        when(clock.millis()).thenReturn(START.plus(Duration.ofDays(1)).toEpochMilli());
+
+        assertThat(index.match(List.of(alice))).hasSize(1);
+        index.rebuild();
+
+        assertThat(index.salt().salt()).isNotEqualTo(oldSalt);
+        assertThat(index.match(List.of(alice))).isEmpty();
+        assertThat(index.match(List.of(index.hashEmail("alice@example.com"))))
+                .extracting(ContactMatchDTO::username).containsExactly("alice");
+    }
+}
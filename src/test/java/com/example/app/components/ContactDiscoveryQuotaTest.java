@@ -0,0 +1,35 @@
+package com.example.app.components;
+
+import com.example.app.exception.DiscoveryQuotaExceededException;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+public class ContactDiscoveryQuotaTest {
+
+    @Test
+    void consume_overDailyBudget_throwsUntilNextDay() {
+        Clock clock = mock(Clock.class);
+        when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        when(clock.instant()).thenReturn(Instant.parse("2025-06-01T12:00:00Z"));
+        ContactDiscoveryQuota quota = new ContactDiscoveryQuota(clock, 100);
+
+        quota.consume("alice", 60);
+
+        assertThatThrownBy(() -> quota.consume("alice", 41)).isInstanceOf(DiscoveryQuotaExceededException.class);
+        assertThatCode(() -> quota.consume("alice", 40)).doesNotThrowAnyException();
+        assertThatCode(() -> quota.consume("bob", 100)).doesNotThrowAnyException();
+
+        when(clock.instant()).thenReturn(Instant.parse("2025-06-02T00:00:01Z"));
+        assertThatCode(() -> quota.consume("alice", 100)).doesNotThrowAnyException();
+    }
+}
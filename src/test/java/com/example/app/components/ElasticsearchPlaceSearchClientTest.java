@@ -0,0 +1,117 @@
+package com.example.app.components;
+
+import com.example.app.dtos.PlaceDTO;
+import com.example.app.dtos.PlaceSearchQuery;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@SpringBootTest
+public class ElasticsearchPlaceSearchClientTest {
+
+    private static final String BASE_URL = "http://localhost:9200";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MockRestServiceServer server;
+    private ElasticsearchPlaceSearchClient client;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        client = new ElasticsearchPlaceSearchClient(restTemplate, objectMapper, BASE_URL, "places");
+    }
+
+    @Test
+    void ensureIndex_missingIndex_createsItWithMapping() {
+        server.expect(requestTo(BASE_URL + "/places")).andExpect(method(HttpMethod.HEAD))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+        server.expect(requestTo(BASE_URL + "/places-v1")).andExpect(method(HttpMethod.PUT))
+                .andExpect(content().string(org.hamcrest.Matchers.allOf(
+                        org.hamcrest.Matchers.containsString("\"aliases\":{\"places\":{}}"),
+                        org.hamcrest.Matchers.containsString("\"geo_point\""))))
+                .andRespond(withSuccess());
+
+        assertThat(client.ensureIndex()).isTrue();
+        server.verify();
+    }
+
+    @Test
+    void bulk_sendsNdjsonAndReportsRetryableItems() {
+        server.expect(requestTo(BASE_URL + "/_bulk?require_alias=true")).andExpect(method(HttpMethod.POST))
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andExpect(content().string(org.hamcrest.Matchers.allOf(
+                        org.hamcrest.Matchers.containsString("{\"index\":{\"_index\":\"places\",\"_id\":\"1\"}}\n"),
+                        org.hamcrest.Matchers.containsString("\"location\":{\"lat\":52.4,\"lon\":16.9}"),
+                        org.hamcrest.Matchers.containsString("{\"delete\":{\"_index\":\"places\",\"_id\":\"2\"}}\n"))))
+                .andRespond(withSuccess("""
+                        {"errors": true, "items": [
+                          {"index": {"_id": "1", "status": 429}},
+                          {"delete": {"_id": "2", "status": 404}},
+                          {"index": {"_id": "3", "status": 400, "error": {"type": "mapper_parsing_exception"}}},
+                          {"index": {"_id": "4", "status": 404, "error": {"type": "index_not_found_exception"}}}
+                        ]}""", MediaType.APPLICATION_JSON));
+
+        PlaceIndexOperation first = PlaceIndexOperation.index(7L, place(1L));
+        PlaceIndexOperation third = PlaceIndexOperation.index(7L, place(3L));
+        PlaceIndexOperation fourth = PlaceIndexOperation.index(7L, place(4L));
+        PlaceSearchClient.BulkResult result = client.bulk(List.of(first, PlaceIndexOperation.delete(2L), third, fourth));
+
+        assertThat(result.retryable()).containsExactly(first, fourth);
+        assertThat(result.rejected()).isEqualTo(1);
+        server.verify();
+    }
+
+    @Test
+    void searchBody_combinesTextCategoryAndGeoFilters() {
+        JsonNode body = client.searchBody(new PlaceSearchQuery(7L, "kawa", "Restauracja", 54.35, 18.65, 5.0, 20));
+
+        JsonNode bool = body.path("query").path("bool");
+        assertThat(bool.path("must").get(0).path("multi_match").path("query").asText()).isEqualTo("kawa");
+        JsonNode filter = bool.path("filter");
+        assertThat(filter.get(0).path("term").path("userId").asLong()).isEqualTo(7L);
+        assertThat(filter.get(1).path("term").path("category").asText()).isEqualTo("Restauracja");
+        assertThat(filter.get(2).path("geo_distance").path("distance").asText()).isEqualTo("5.0km");
+        assertThat(body.has("sort")).isFalse();
+    }
+
+    @Test
+    void search_parsesSourceDocuments() {
+        server.expect(requestTo(BASE_URL + "/places/_search")).andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess("""
+                        {"hits": {"hits": [{"_source": {"id": 1, "userId": 7, "name": "Park", "category": "Natura",
+                          "latitude": 52.4, "longitude": 16.9, "city": "Poznań", "postDate": "2025-05-01T10:00:00Z",
+                          "isPublic": true}}]}}""", MediaType.APPLICATION_JSON));
+
+        List<PlaceDTO> places = client.search(new PlaceSearchQuery(7L, null, null, null, null, null, 10));
+
+        assertThat(places).singleElement().satisfies(place -> {
+            assertThat(place.id()).isEqualTo(1L);
+            assertThat(place.name()).isEqualTo("Park");
+            assertThat(place.city()).isEqualTo("Poznań");
+            assertThat(place.isPublic()).isTrue();
+        });
+        server.verify();
+    }
+
+    private static PlaceDTO place(Long id) {
+        return new PlaceDTO(id, "Park", "Natura", 52.4, 16.9, null, "Polska", "Poznań", null, OffsetDateTime.parse("2025-05-01T10:00:00Z"), true);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.app.components;
+
+import com.example.app.dtos.FriendGraphStatsDTO;
+import com.example.app.entities.FriendshipStatus;
+import com.example.app.repositories.FriendsRepository;
+import com.example.app.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+public class FriendGraphCacheTest {
+
+    @Mock
+    private FriendsRepository friendsRepository;
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private FriendGraphCache friendGraphCache;
+
+    @Test
+    void areFriends_cacheHit_shouldNotQueryDatabaseAgain() {
+        when(friendsRepository.findFriendIds(1L, FriendshipStatus.ACCEPTED)).thenReturn(List.of(3L, 2L));
+
+        assertThat(friendGraphCache.areFriends(1L, 2L)).isTrue();
+        assertThat(friendGraphCache.areFriends(1L, 3L)).isTrue();
+        assertThat(friendGraphCache.areFriends(1L, 4L)).isFalse();
+
+        verify(friendsRepository, times(1)).findFriendIds(1L, FriendshipStatus.ACCEPTED);
+    }
+
+    @Test
+    void addAndRemoveFriendship_shouldUpdateCachedUsersOnly() {
+        when(friendsRepository.findFriendIds(1L, FriendshipStatus.ACCEPTED)).thenReturn(List.of(2L));
+        friendGraphCache.areFriends(1L, 2L);
+
+        friendGraphCache.addFriendship(1L, 5L);
+        assertThat(friendGraphCache.friendIds(1L).toArray()).containsExactly(2L, 5L);
+
+        friendGraphCache.removeFriendship(2L, 1L);
+        assertThat(friendGraphCache.friendIds(1L).toArray()).containsExactly(5L);
+
+        verify(friendsRepository, times(1)).findFriendIds(1L, FriendshipStatus.ACCEPTED);
+        verify(friendsRepository, never()).findFriendIds(5L, FriendshipStatus.ACCEPTED);
+    }
+
+    @Test
+    void resolveUserId_shouldCacheUsername() {
+        when(userRepository.findIdByUsername("user")).thenReturn(Optional.of(7L));
+
+        assertThat(friendGraphCache.resolveUserId("user")).contains(7L);
+        assertThat(friendGraphCache.resolveUserId("user")).contains(7L);
+        verify(userRepository, times(1)).findIdByUsername("user");
+
+        friendGraphCache.evictUsername("user");
+        friendGraphCache.resolveUserId("user");
+        verify(userRepository, times(2)).findIdByUsername("user");
+    }
+
+    @Test
+    void evictUser_shouldRemoveUserFromNeighbours() {
+        when(friendsRepository.findFriendIds(1L, FriendshipStatus.ACCEPTED)).thenReturn(List.of(2L, 3L));
+        friendGraphCache.friendCount(1L);
+
+        friendGraphCache.evictUser(2L, "deleted");
+
+        assertThat(friendGraphCache.friendIds(1L).toArray()).containsExactly(3L);
+    }
+
+    @Test
+    void stats_shouldReportMemoryPerCachedUser() {
+        when(friendsRepository.findFriendIds(1L, FriendshipStatus.ACCEPTED)).thenReturn(List.of(2L, 3L));
+        when(friendsRepository.findFriendIds(2L, FriendshipStatus.ACCEPTED)).thenReturn(List.of(1L));
+        friendGraphCache.friendCount(1L);
+        friendGraphCache.friendCount(2L);
+
+        FriendGraphStatsDTO stats = friendGraphCache.stats();
+
+        assertThat(stats.cachedUsers()).isEqualTo(2);
+        assertThat(stats.cachedEdges()).isEqualTo(3);
+        assertThat(stats.estimatedBytesPerUser()).isPositive();
+        assertThat(stats.estimatedBytes()).isEqualTo(stats.estimatedBytesPerUser() * 2);
+    }
+}
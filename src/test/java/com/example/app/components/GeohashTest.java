@@ -0,0 +1,34 @@
+package com.example.app.components;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class GeohashTest {
+
+    @Test
+    void encode_knownPoint_matchesReferenceHash() {
+        assertThat(Geohash.encode(57.64911, 10.40744, 11)).isEqualTo("u4pruydqqvj");
+        assertThat(Geohash.encode(57.64911, 10.40744, 5)).isEqualTo("u4pru");
+    }
+
+    @Test
+    void cellAndNeighbours_returnsCentreAndEightDistinctCells() {
+        List<String> cells = Geohash.cellAndNeighbours(52.4064, 16.9252, 5);
+
+        assertThat(cells).hasSize(9).doesNotHaveDuplicates();
+        assertThat(cells.get(0)).isEqualTo(Geohash.encode(52.4064, 16.9252, 5));
+        assertThat(cells).allMatch(cell -> cell.length() == 5);
+    }
+
+    @Test
+    void cellAndNeighbours_wrapsAroundTheAntimeridian() {
+        List<String> cells = Geohash.cellAndNeighbours(0.01, 179.99, 5);
+
+        assertThat(cells).contains(Geohash.encode(0.01, -179.99, 5));
+    }
+}
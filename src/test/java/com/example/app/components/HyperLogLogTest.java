@@ -0,0 +1,53 @@
+package com.example.app.components;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+public class HyperLogLogTest {
+
+    @Test
+    void estimate_smallCardinality_isNearlyExact() {
+        HyperLogLog sketch = new HyperLogLog(14);
+        for (long id = 1; id <= 1_000; id++) {
+            sketch.add(id);
+            sketch.add(id);
+        }
+
+        assertThat(sketch.estimate()).isCloseTo(1_000L, within(20L));
+    }
+
+    @Test
+    void estimate_largeCardinality_withinFewPercent() {
+        HyperLogLog sketch = new HyperLogLog(12);
+        for (long id = 0; id < 200_000; id++) {
+            sketch.add(id);
+        }
+
+        assertThat(sketch.estimate()).isCloseTo(200_000L, within(10_000L));
+    }
+
+    @Test
+    void merge_overlappingSketches_countsUnionOnce() {
+        HyperLogLog first = new HyperLogLog(12);
+        HyperLogLog second = new HyperLogLog(12);
+        for (long id = 0; id < 30_000; id++) {
+            first.add(id);
+            second.add(id + 15_000);
+        }
+
+        first.merge(second);
+
+        assertThat(first.estimate()).isCloseTo(45_000L, within(2_500L));
+    }
+
+    @Test
+    void merge_differentPrecision_throws() {
+        assertThatThrownBy(() -> new HyperLogLog(10).merge(new HyperLogLog(12)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
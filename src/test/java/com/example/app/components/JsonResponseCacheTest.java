@@ -0,0 +1,91 @@
+package com.example.app.components;
+
+import com.example.app.dtos.PlaceDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class JsonResponseCacheTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void write_serialisesOncePerTag() throws Exception {
+        JsonResponseCache cache = new JsonResponseCache(objectMapper);
+        AtomicInteger loads = new AtomicInteger();
+        List<PlaceDTO> places = places(1);
+
+        MockHttpServletResponse first = write(cache, "\"v1\"", places, loads, null);
+        MockHttpServletResponse second = write(cache, "\"v1\"", List.of(), loads, null);
+        MockHttpServletResponse changed = write(cache, "\"v2\"", List.of(), loads, null);
+
+        assertThat(loads).hasValue(2);
+        assertThat(first.getContentType()).isEqualTo("application/json");
+        assertThat(first.getContentAsByteArray()).isEqualTo(objectMapper.writeValueAsBytes(places));
+        assertThat(second.getContentAsByteArray()).isEqualTo(first.getContentAsByteArray());
+        assertThat(changed.getContentAsString()).isEqualTo("[]");
+        assertThat(first.getContentLength()).isEqualTo(first.getContentAsByteArray().length);
+    }
+
+    @Test
+    void write_sendsGzipOnlyForLargeBodiesAndAcceptingClients() throws Exception {
+        JsonResponseCache cache = new JsonResponseCache(objectMapper);
+        List<PlaceDTO> places = places(50);
+
+        MockHttpServletResponse plain = write(cache, "\"v1\"", places, new AtomicInteger(), null);
+        MockHttpServletResponse gzipped = write(cache, "\"v1\"", places, new AtomicInteger(), "br, gzip;q=0.8");
+        MockHttpServletResponse refused = write(cache, "\"v1\"", places, new AtomicInteger(), "gzip;q=0");
+
+        assertThat(plain.getHeader("Content-Encoding")).isNull();
+        assertThat(plain.getHeader("Vary")).isEqualTo("Accept-Encoding");
+        assertThat(refused.getHeader("Content-Encoding")).isNull();
+        assertThat(gzipped.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(gzipped.getContentAsByteArray().length).isLessThan(plain.getContentAsByteArray().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getContentAsByteArray()))) {
+            assertThat(in.readAllBytes()).isEqualTo(plain.getContentAsByteArray());
+        }
+
+        MockHttpServletResponse small = write(cache, "\"v2\"", places(1), new AtomicInteger(), "gzip");
+        assertThat(small.getHeader("Content-Encoding")).isNull();
+        assertThat(small.getHeader("Vary")).isNull();
+    }
+
+    private static MockHttpServletResponse write(JsonResponseCache cache, String tag, List<PlaceDTO> places,
+                                                 AtomicInteger loads, String acceptEncoding) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/places");
+        if (acceptEncoding != null) {
+            request.addHeader("Accept-Encoding", acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        cache.write("places", "alice", tag, () -> {
+            loads.incrementAndGet();
+            return places;
+        }, request, response);
+        return response;
+    }
+
+    private static List<PlaceDTO> places(int count) {
+        List<PlaceDTO> places = new ArrayList<>();
+        OffsetDateTime postDate = OffsetDateTime.of(2025, 5, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+        for (int i = 0; i < count; i++) {
+            places.add(new PlaceDTO((long) i, "Miejsce " + i, "Park", 52.4 + i / 1000.0, 16.9 + i / 1000.0,
+                    "ul. Matejki " + i, "Polska", "Poznań", "notatka " + i, postDate.plusMinutes(i), i % 2 == 0));
+        }
+        return places;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.app.components;
+
+import com.example.app.dtos.ImportFormat;
+import com.example.app.dtos.PlaceImportRowDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+public class PlaceImportParserTest {
+
+    private final PlaceImportParser parser = new PlaceImportParser(new ObjectMapper());
+    private final List<PlaceImportRowDTO> rows = new ArrayList<>();
+    private final List<String> invalid = new ArrayList<>();
+
+    @Test
+    void csv_readsQuotedFieldsAcrossLinesAndReportsBadValues() throws IOException {
+        parse(ImportFormat.CSV, """
+                Name,Category,Lat,Lng,Address,Note,isPublic
+                Palmiarnia,Park,52.4069,16.8993,,"Szklarnie, ""tropiki""
+                i kaktusy",false
+                Bez współrzędnych,Muzeum,,,"ul. Wolności 1, Poznań",,
+                Zepsuta,Park,abc,16.9,,,
+                """);
+
+        assertThat(rows).hasSize(2);
+        PlaceImportRowDTO palmiarnia = rows.get(0);
+        assertThat(palmiarnia.line()).isEqualTo(2);
+        assertThat(palmiarnia.name()).isEqualTo("Palmiarnia");
+        assertThat(palmiarnia.latitude()).isEqualTo(52.4069);
+        assertThat(palmiarnia.address()).isNull();
+        assertThat(palmiarnia.note()).isEqualTo("Szklarnie, \"tropiki\"\ni kaktusy");
+        assertThat(palmiarnia.isPublic()).isFalse();
+
+        PlaceImportRowDTO museum = rows.get(1);
+        assertThat(museum.line()).isEqualTo(4);
+        assertThat(museum.hasCoordinates()).isFalse();
+        assertThat(museum.address()).isEqualTo("ul. Wolności 1, Poznań");
+        assertThat(museum.isPublic()).isNull();
+
+        assertThat(invalid).containsExactly("5: Not a number: abc");
+    }
+
+    @Test
+    void csv_semicolonSeparatedWithDecimalCommas() throws IOException {
+        parse(ImportFormat.CSV, "nazwa;kategoria;latitude;longitude;miasto;kraj\r\nStary Rynek;Zabytek;52,4083;16,9335;Poznań;\r\n");
+
+        assertThat(rows).singleElement().satisfies(row -> {
+            assertThat(row.name()).isEqualTo("Stary Rynek");
+            assertThat(row.category()).isEqualTo("Zabytek");
+            assertThat(row.latitude()).isEqualTo(52.4083);
+            assertThat(row.longitude()).isEqualTo(16.9335);
+            assertThat(row.city()).isEqualTo("Poznań");
+            assertThat(row.country()).isNull();
+        });
+    }
+
+    @Test
+    void csv_withoutNameColumn_isRejected() {
+        assertThatThrownBy(() -> parse(ImportFormat.CSV, "category,latitude\nPark,52\n"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void geoJson_readsPlainFeaturesAndBothTakeoutLayouts() throws IOException {
+        parse(ImportFormat.GEOJSON, """
+                {"type": "FeatureCollection", "features": [
+                  {"type": "Feature", "geometry": {"type": "Point", "coordinates": [16.8993, 52.4069]},
+                   "properties": {"name": "Palmiarnia", "category": "Park", "isPublic": false,
+                                  "city": "Poznań", "country": "Polska"}},
+                  {"type": "Feature", "geometry": {"type": "Point", "coordinates": [0, 0]},
+                   "properties": {"date": "2024-05-01T10:00:00Z", "Comment": "na weekend",
+                                  "location": {"name": "Cytadela", "address": "al. Armii Poznań, Poznań"}}},
+                  {"type": "Feature",
+                   "properties": {"Title": "Fara", "Location": {"Address": "ul. Gołębia 1, Poznań",
+                                  "Geo Coordinates": {"Latitude": "52.4065", "Longitude": "16.9337"}}}}
+                ], "metadata": {"exported": true}}
+                """);
+
+        assertThat(rows).extracting(PlaceImportRowDTO::name).containsExactly("Palmiarnia", "Cytadela", "Fara");
+        assertThat(rows.get(0).latitude()).isEqualTo(52.4069);
+        assertThat(rows.get(0).longitude()).isEqualTo(16.8993);
+        assertThat(rows.get(0).isPublic()).isFalse();
+        assertThat(rows.get(0).city()).isEqualTo("Poznań");
+        assertThat(rows.get(0).country()).isEqualTo("Polska");
+        assertThat(rows.get(1).hasCoordinates()).isFalse();
+        assertThat(rows.get(1).city()).isNull();
+        assertThat(rows.get(1).note()).isEqualTo("na weekend");
+        assertThat(rows.get(1).address()).isEqualTo("al. Armii Poznań, Poznań");
+        assertThat(rows.get(2).latitude()).isEqualTo(52.4065);
+        assertThat(rows.get(2).address()).isEqualTo("ul. Gołębia 1, Poznań");
+        assertThat(invalid).isEmpty();
+    }
+
+    @Test
+    void geoJson_withoutFeatures_isRejected() {
+        assertThatThrownBy(() -> parse(ImportFormat.GEOJSON, "{\"type\": \"FeatureCollection\"}"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> parse(ImportFormat.GEOJSON, "{\"features\": [ {"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void parse(ImportFormat format, String content) throws IOException {
+        parser.parse(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format,
+                new PlaceImportParser.Listener() {
+                    @Override
+                    public void onRow(PlaceImportRowDTO row) {
+                        rows.add(row);
+                    }
+
+                    @Override
+                    public void onInvalid(long line, String reason) {
+                        invalid.add(line + ": " + reason);
+                    }
+                });
+    }
+}
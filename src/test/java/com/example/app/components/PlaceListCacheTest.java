@@ -0,0 +1,168 @@
+package com.example.app.components;
+
+import com.example.app.components.PlaceListCache.Kind;
+import com.example.app.dtos.PlaceDTO;
+import com.example.app.dtos.PlaceListCacheStatsDTO;
+import com.example.app.events.PlaceChangedEvent;
+import com.example.app.events.PlaceSharedEvent;
+import com.example.app.events.SharedPlacesChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+public class PlaceListCacheTest {
+
+    private static final PlaceDTO PLACE = new PlaceDTO(1L, "Palmiarnia", "Park", 52.4, 16.9, "ul. Matejki 18", "Polska", "Poznań", null, null, true);
+
+    /**
+     * Reads the way a listing request does, ordered between the list eviction and the ETag bump.
+     */
+    static class ReadBetweenListeners {
+        private final PlaceListCache placeListCache;
+        private final ResourceVersions resourceVersions;
+        private volatile String tag;
+        private volatile List<PlaceDTO> places;
+
+        ReadBetweenListeners(PlaceListCache placeListCache, ResourceVersions resourceVersions) {
+            this.placeListCache = placeListCache;
+            this.resourceVersions = resourceVersions;
+        }
+
+        @Order(0)
+        @TransactionalEventListener
+        public void onSharedPlacesChanged(SharedPlacesChangedEvent event) {
+            String username = event.receiverUsernames().iterator().next();
+            tag = resourceVersions.sharedTag(username);
+            places = placeListCache.get(username, Kind.SHARED, () -> List.of(PLACE));
+        }
+    }
+
+    @TestConfiguration
+    static class ReadBetweenConfig {
+        @Bean
+        ReadBetweenListeners readBetweenListeners(PlaceListCache placeListCache, ResourceVersions resourceVersions) {
+            return new ReadBetweenListeners(placeListCache, resourceVersions);
+        }
+    }
+
+    @Autowired
+    private PlaceListCache placeListCache;
+    @Autowired
+    private ResourceVersions resourceVersions;
+    @Autowired
+    private ReadBetweenListeners readBetween;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void committedWrite_evictsTheListBeforeTheETagMoves() {
+        placeListCache.get("orderCarol", Kind.SHARED, List::of);
+        String before = resourceVersions.sharedTag("orderCarol");
+
+        transactionTemplate.executeWithoutResult(status ->
+                eventPublisher.publishEvent(new SharedPlacesChangedEvent(Set.of("orderCarol"))));
+
+        assertThat(readBetween.tag).isEqualTo(before);
+        assertThat(readBetween.places).containsExactly(PLACE);
+        assertThat(resourceVersions.sharedTag("orderCarol")).isNotEqualTo(before);
+        assertThat(placeListCache.get("orderCarol", Kind.SHARED, List::of)).containsExactly(PLACE);
+    }
+
+    @Test
+    void get_loadsOnceAndReturnsAnImmutableList() {
+        PlaceListCache cache = new PlaceListCache();
+        AtomicInteger loads = new AtomicInteger();
+
+        List<PlaceDTO> first = cache.get("alice", Kind.ALL, () -> {
+            loads.incrementAndGet();
+            return new ArrayList<>(List.of(PLACE));
+        });
+        List<PlaceDTO> second = cache.get("alice", Kind.ALL, () -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+
+        assertThat(loads).hasValue(1);
+        assertThat(second).isSameAs(first).containsExactly(PLACE);
+        assertThatThrownBy(() -> first.add(PLACE)).isInstanceOf(UnsupportedOperationException.class);
+
+        PlaceListCacheStatsDTO stats = cache.stats();
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.hitRatio()).isEqualTo(0.5);
+        assertThat(stats.cachedPlaces()).isEqualTo(1);
+        assertThat(stats.estimatedBytes()).isPositive();
+    }
+
+    @Test
+    void placeWrite_evictsOnlyTheOwnersOwnLists() {
+        PlaceListCache cache = new PlaceListCache();
+        cache.get("alice", Kind.ALL, () -> List.of(PLACE));
+        cache.get("alice", Kind.SHARED, () -> List.of(PLACE));
+        cache.get("bob", Kind.ALL, () -> List.of(PLACE));
+
+        cache.onPlaceChanged(PlaceChangedEvent.created(1L, "alice", PLACE));
+
+        assertThat(cache.get("alice", Kind.ALL, List::of)).isEmpty();
+        assertThat(cache.get("alice", Kind.SHARED, List::of)).containsExactly(PLACE);
+        assertThat(cache.get("bob", Kind.ALL, List::of)).containsExactly(PLACE);
+        assertThat(cache.stats().invalidations()).isEqualTo(1);
+    }
+
+    @Test
+    void sharing_evictsTheReceiversSharedList() {
+        PlaceListCache cache = new PlaceListCache();
+        cache.get("carol", Kind.SHARED, List::of);
+        cache.get("dave", Kind.SHARED, List::of);
+
+        cache.onPlaceShared(new PlaceSharedEvent(1L, "alice", 3L, "carol", PLACE));
+        cache.onSharedPlacesChanged(new SharedPlacesChangedEvent(Set.of("dave")));
+
+        assertThat(cache.get("carol", Kind.SHARED, () -> List.of(PLACE))).containsExactly(PLACE);
+        assertThat(cache.get("dave", Kind.SHARED, () -> List.of(PLACE))).containsExactly(PLACE);
+    }
+
+    @Test
+    void loadThatOverlapsAWrite_isNotCached() {
+        PlaceListCache cache = new PlaceListCache();
+
+        List<PlaceDTO> stale = cache.get("alice", Kind.ALL, () -> {
+            cache.evictUser("alice");
+            return List.of();
+        });
+
+        assertThat(stale).isEmpty();
+        assertThat(cache.get("alice", Kind.ALL, () -> List.of(PLACE))).containsExactly(PLACE);
+    }
+
+    @Test
+    void evictAll_dropsEveryList() {
+        PlaceListCache cache = new PlaceListCache();
+        cache.get("alice", Kind.ALL, () -> List.of(PLACE));
+        cache.get("bob", Kind.PUBLIC, () -> List.of(PLACE));
+
+        cache.evictAll();
+
+        PlaceListCacheStatsDTO stats = cache.stats();
+        assertThat(stats.cachedLists()).isZero();
+        assertThat(stats.cachedPlaces()).isZero();
+        assertThat(stats.estimatedBytes()).isZero();
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.app.components;
+
+import com.example.app.dtos.PlaceDTO;
+import com.example.app.dtos.PlaceIndexEntryDTO;
+import com.example.app.dtos.PlaceSearchQuery;
+import com.example.app.events.PlaceChangedEvent;
+import com.example.app.repositories.PlaceRepository;
+import com.example.app.support.InMemoryPlaceSearchClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+public class PlaceSearchIndexerTest {
+
+    private static final long HOUR_MILLIS = 3_600_000;
+
+    @Mock
+    private PlaceRepository placeRepository;
+
+    private InMemoryPlaceSearchClient searchClient;
+    private PlaceSearchIndexer indexer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        searchClient = new InMemoryPlaceSearchClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (indexer != null) {
+            indexer.shutdown();
+        }
+    }
+
+    @Test
+    void flush_coalescesChangesToTheSamePlace() {
+        indexer = new PlaceSearchIndexer(Optional.of(searchClient), placeRepository, 100, HOUR_MILLIS, 0);
+        PlaceDTO original = place(1L, "Park");
+        PlaceDTO renamed = place(1L, "Ogród");
+
+        indexer.onPlaceChanged(PlaceChangedEvent.created(7L, "user", original));
+        indexer.onPlaceChanged(PlaceChangedEvent.updated(7L, "user", original, renamed));
+        indexer.onPlaceChanged(PlaceChangedEvent.created(7L, "user", place(2L, "Muzeum")));
+        indexer.flush();
+
+        assertThat(searchClient.bulkRequests()).hasSize(1);
+        assertThat(searchClient.bulkRequests().get(0)).extracting(PlaceIndexOperation::placeId).containsExactly(1L, 2L);
+        assertThat(search("ogród")).extracting(PlaceDTO::id).containsExactly(1L);
+        assertThat(indexer.stats().indexed()).isEqualTo(2);
+    }
+
+    @Test
+    void flush_deleteRemovesDocument() {
+        indexer = new PlaceSearchIndexer(Optional.of(searchClient), placeRepository, 100, HOUR_MILLIS, 0);
+        PlaceDTO park = place(1L, "Park");
+        indexer.onPlaceChanged(PlaceChangedEvent.created(7L, "user", park));
+        indexer.flush();
+
+        indexer.onPlaceChanged(PlaceChangedEvent.deleted(7L, "user", park));
+        indexer.flush();
+
+        assertThat(searchClient.documentCount()).isZero();
+    }
+
+    @Test
+    void flush_failedBulkRequest_isRetriedAfterBackoff() throws InterruptedException {
+        indexer = new PlaceSearchIndexer(Optional.of(searchClient), placeRepository, 100, HOUR_MILLIS, 50);
+        searchClient.failNextBulkRequests(1);
+        indexer.onPlaceChanged(PlaceChangedEvent.created(7L, "user", place(1L, "Park")));
+
+        indexer.flush();
+        assertThat(indexer.stats().pending()).isEqualTo(1);
+        assertThat(indexer.stats().consecutiveFailures()).isEqualTo(1);
+
+        indexer.flush();
+        assertThat(searchClient.bulkRequests()).hasSize(1);
+
+        Thread.sleep(120);
+        indexer.flush();
+
+        assertThat(searchClient.bulkRequests()).hasSize(2);
+        assertThat(searchClient.documentCount()).isEqualTo(1);
+        assertThat(indexer.stats().consecutiveFailures()).isZero();
+    }
+
+    @Test
+    void flush_unreachableClusterAtStartup_sendsNothingUntilTheIndexExists() throws InterruptedException {
+        indexer = new PlaceSearchIndexer(Optional.of(searchClient), placeRepository, 100, HOUR_MILLIS, 50);
+        searchClient.failNextIndexChecks(1);
+        when(placeRepository.findIndexEntriesAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(entry(1L, "Park")));
+        indexer.onPlaceChanged(PlaceChangedEvent.created(7L, "user", place(2L, "Muzeum")));
+
+        indexer.flush();
+        assertThat(searchClient.bulkRequests()).isEmpty();
+        assertThat(indexer.stats().consecutiveFailures()).isEqualTo(1);
+
+        Thread.sleep(120);
+        indexer.flush();
+
+        assertThat(searchClient.documentCount()).isEqualTo(2);
+    }
+
+    @Test
+    void placesDeleted_removesTheDocumentsOfADeletedAccount() {
+        indexer = new PlaceSearchIndexer(Optional.of(searchClient), placeRepository, 100, HOUR_MILLIS, 0);
+        indexer.onPlaceChanged(PlaceChangedEvent.created(7L, "user", place(1L, "Park")));
+        indexer.onPlaceChanged(PlaceChangedEvent.created(7L, "user", place(2L, "Muzeum")));
+        indexer.flush();
+        when(placeRepository.findIdsByUserId(7L)).thenReturn(List.of(1L, 2L));
+
+        indexer.placesDeleted(indexer.placeIdsOf(7L));
+        indexer.flush();
+
+        assertThat(searchClient.documentCount()).isZero();
+    }
+
+    @Test
+    void onPlaceChanged_fullBatch_isFlushedInTheBackground() throws InterruptedException {
+        indexer = new PlaceSearchIndexer(Optional.of(searchClient), placeRepository, 2, HOUR_MILLIS, 0);
+
+        indexer.onPlaceChanged(PlaceChangedEvent.created(7L, "user", place(1L, "Park")));
+        indexer.onPlaceChanged(PlaceChangedEvent.created(7L, "user", place(2L, "Muzeum")));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (searchClient.documentCount() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(searchClient.documentCount()).isEqualTo(2);
+    }
+
+    @Test
+    void backfill_indexesExistingPlacesPageByPage() {
+        indexer = new PlaceSearchIndexer(Optional.of(searchClient), placeRepository, 100, HOUR_MILLIS, 0);
+        when(placeRepository.findIndexEntriesAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                entry(1L, "Park"), entry(2L, "Muzeum")));
+
+        indexer.backfill();
+
+        assertThat(searchClient.documentCount()).isEqualTo(2);
+    }
+
+    @Test
+    void disabledIndexer_ignoresEvents() {
+        indexer = new PlaceSearchIndexer(Optional.empty(), placeRepository, 100, HOUR_MILLIS, 0);
+
+        indexer.onPlaceChanged(PlaceChangedEvent.created(7L, "user", place(1L, "Park")));
+
+        assertThat(indexer.stats().enabled()).isFalse();
+        assertThat(indexer.stats().pending()).isZero();
+    }
+
+    private List<PlaceDTO> search(String text) {
+        return searchClient.search(new PlaceSearchQuery(7L, text, null, null, null, null, 10));
+    }
+
+    private static PlaceDTO place(Long id, String name) {
+        return new PlaceDTO(id, name, "Natura", 52.4, 16.9, "ul. Święty Marcin 1", "Polska", "Poznań", null, OffsetDateTime.now(), true);
+    }
+
+    private static PlaceIndexEntryDTO entry(Long id, String name) {
+        return new PlaceIndexEntryDTO(7L, id, name, "Natura", 52.4, 16.9, "ul. Święty Marcin 1", "Polska", "Poznań", null, OffsetDateTime.now(), true);
+    }
+}
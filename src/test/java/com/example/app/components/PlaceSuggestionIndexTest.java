@@ -0,0 +1,89 @@
+package com.example.app.components;
+
+import com.example.app.dtos.PlaceDTO;
+import com.example.app.dtos.PlaceSuggestionDTO;
+import com.example.app.events.PlaceChangedEvent;
+import com.example.app.repositories.PlaceRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+public class PlaceSuggestionIndexTest {
+
+    @Mock
+    private PlaceRepository placeRepository;
+
+    @InjectMocks
+    private PlaceSuggestionIndex index;
+
+    @Test
+    void suggest_matchesNameWordsCityAndCategoryIgnoringCaseAndDiacritics() {
+        when(placeRepository.findDTOsByUsername("user")).thenReturn(List.of(
+                place(1L, "Kawiarnia Pod Żaglami", "Restauracja", "Gdańsk"),
+                place(2L, "Zamek Królewski", "Zabytek", "Łódź"),
+                place(3L, "Park", "Natura", "Kraków")));
+
+        assertThat(ids(index.suggest("user", "kaw", 10))).containsExactly(1L);
+        assertThat(ids(index.suggest("user", "ZAG", 10))).containsExactly(1L);
+        assertThat(ids(index.suggest("user", "lodz", 10))).containsExactly(2L);
+        assertThat(ids(index.suggest("user", "za", 10))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids(index.suggest("user", "kr", 10))).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(index.suggest("user", "xyz", 10)).isEmpty();
+        assertThat(index.suggest("user", "  ", 10)).isEmpty();
+
+        verify(placeRepository, times(1)).findDTOsByUsername("user");
+    }
+
+    @Test
+    void suggest_respectsLimit() {
+        when(placeRepository.findDTOsByUsername("user")).thenReturn(List.of(
+                place(1L, "Park A", "Natura", "Poznań"),
+                place(2L, "Park B", "Natura", "Poznań"),
+                place(3L, "Park C", "Natura", "Poznań")));
+
+        assertThat(index.suggest("user", "park", 2)).hasSize(2);
+    }
+
+    @Test
+    void onPlaceChanged_updatesLoadedSnapshotIncrementally() {
+        PlaceDTO original = place(1L, "Park", "Natura", "Poznań");
+        when(placeRepository.findDTOsByUsername("user")).thenReturn(List.of(original));
+        index.suggest("user", "park", 10);
+
+        PlaceDTO renamed = place(1L, "Ogród", "Natura", "Poznań");
+        index.onPlaceChanged(PlaceChangedEvent.updated(7L, "user", original, renamed));
+        index.onPlaceChanged(PlaceChangedEvent.created(7L, "user", place(2L, "Muzeum", "Kultura", "Poznań")));
+
+        assertThat(index.suggest("user", "park", 10)).isEmpty();
+        assertThat(ids(index.suggest("user", "ogrod", 10))).containsExactly(1L);
+        assertThat(ids(index.suggest("user", "mu", 10))).containsExactly(2L);
+
+        index.onPlaceChanged(PlaceChangedEvent.deleted(7L, "user", renamed));
+
+        assertThat(index.suggest("user", "ogrod", 10)).isEmpty();
+        verify(placeRepository, times(1)).findDTOsByUsername("user");
+    }
+
+    @Test
+    void onPlaceChanged_userNotLoaded_doesNotQueryDatabase() {
+        index.onPlaceChanged(PlaceChangedEvent.created(7L, "other", place(1L, "Park", "Natura", "Poznań")));
+
+        verifyNoInteractions(placeRepository);
+    }
+
+    private static PlaceDTO place(Long id, String name, String category, String city) {
+        return new PlaceDTO(id, name, category, 52.0, 21.0, "address", "Polska", city, null, OffsetDateTime.now(), true);
+    }
+
+    private static List<Long> ids(List<PlaceSuggestionDTO> suggestions) {
+        return suggestions.stream().map(PlaceSuggestionDTO::id).toList();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.app.components;
+
+import com.example.app.dtos.PlaceDTO;
+import com.example.app.events.PlaceChangedEvent;
+import com.example.app.events.PlaceSharedEvent;
+import com.example.app.events.SharedPlacesChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class ResourceVersionsTest {
+
+    private static final PlaceDTO PLACE = new PlaceDTO(1L, "Palmiarnia", "Park", 52.4, 16.9, null, null, null, null, null, true);
+
+    @Test
+    void placesTag_changesOnlyForTheWritingUser() {
+        ResourceVersions versions = new ResourceVersions();
+        String alice = versions.placesTag("alice");
+        String bob = versions.placesTag("bob");
+
+        versions.onPlaceChanged(PlaceChangedEvent.created(1L, "alice", PLACE));
+
+        assertThat(versions.placesTag("alice")).isNotEqualTo(alice);
+        assertThat(versions.placesTag("bob")).isEqualTo(bob);
+        assertThat(versions.sharedTag("alice")).isEqualTo(versions.sharedTag("bob"));
+    }
+
+    @Test
+    void sharedTag_changesForReceiversOfSharesAndSharedPlaceWrites() {
+        ResourceVersions versions = new ResourceVersions();
+        String before = versions.sharedTag("carol");
+
+        versions.onPlaceShared(new PlaceSharedEvent(1L, "alice", 3L, "carol", PLACE));
+        String afterShare = versions.sharedTag("carol");
+        versions.onSharedPlacesChanged(new SharedPlacesChangedEvent(Set.of("carol")));
+
+        assertThat(afterShare).isNotEqualTo(before);
+        assertThat(versions.sharedTag("carol")).isNotIn(before, afterShare);
+    }
+
+    @Test
+    void evictedKeys_neverReportAnEarlierVersion() {
+        ResourceVersions versions = new ResourceVersions();
+        String beforeWrite = versions.placesTag("alice");
+        versions.onPlaceChanged(PlaceChangedEvent.created(1L, "alice", PLACE));
+
+        for (int i = 0; i < 100_001; i++) {
+            versions.onPlaceChanged(PlaceChangedEvent.created(2L, "user" + i, PLACE));
+        }
+
+        assertThat(versions.placesTag("alice")).isNotEqualTo(beforeWrite);
+    }
+
+    @Test
+    void usernameReleased_changesBothListTagsOfTheOldName() {
+        ResourceVersions versions = new ResourceVersions();
+        String places = versions.placesTag("alice");
+        String shared = versions.sharedTag("alice");
+
+        versions.usernameReleased("alice");
+
+        assertThat(versions.placesTag("alice")).isNotEqualTo(places);
+        assertThat(versions.sharedTag("alice")).isNotEqualTo(shared);
+    }
+
+    @Test
+    void invalidateAll_changesEveryTag() {
+        ResourceVersions versions = new ResourceVersions();
+        versions.onPlaceChanged(PlaceChangedEvent.created(1L, "alice", PLACE));
+        String places = versions.placesTag("alice");
+        String untouched = versions.sharedTag("bob");
+        String categories = versions.categoriesTag();
+
+        versions.invalidateAll();
+
+        assertThat(versions.placesTag("alice")).isNotEqualTo(places);
+        assertThat(versions.sharedTag("bob")).isNotEqualTo(untouched);
+        assertThat(versions.categoriesTag()).isNotEqualTo(categories);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.app.components;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class SpaceSavingTest {
+
+    @Test
+    void top_keepsHeavyHittersAmongManyRareKeys() {
+        SpaceSaving summary = new SpaceSaving(20);
+        for (int i = 0; i < 5_000; i++) {
+            summary.offer("rare" + i, 1);
+            if (i % 5 == 0) {
+                summary.offer("Park", 1);
+            }
+            if (i % 10 == 0) {
+                summary.offer("Muzeum", 1);
+            }
+        }
+
+        assertThat(summary.size()).isEqualTo(20);
+        assertThat(summary.top(2)).extracting(SpaceSaving.Counter::key).containsExactly("Park", "Muzeum");
+        SpaceSaving.Counter park = summary.top(1).get(0);
+        assertThat(park.count() - park.error()).isLessThanOrEqualTo(1_000);
+        assertThat(park.count()).isGreaterThanOrEqualTo(1_000);
+    }
+
+    @Test
+    void merge_combinesCountsAndKeepsCapacity() {
+        SpaceSaving first = new SpaceSaving(3);
+        SpaceSaving second = new SpaceSaving(3);
+        first.offer("Park", 10);
+        first.offer("Kino", 2);
+        second.offer("Park", 5);
+        second.offer("Muzeum", 8);
+        second.offer("Sklep", 1);
+
+        first.merge(second);
+
+        assertThat(first.size()).isEqualTo(3);
+        assertThat(first.top(3)).extracting(SpaceSaving.Counter::key).containsExactly("Park", "Muzeum", "Kino");
+        assertThat(first.top(1).get(0).count()).isEqualTo(15);
+    }
+
+    @Test
+    void scale_andRemoveBelow_dropsFadedKeys() {
+        SpaceSaving summary = new SpaceSaving(5);
+        summary.offer("old", 1);
+        summary.offer("fresh", 8);
+
+        summary.scale(0.25);
+        summary.removeBelow(0.5);
+
+        assertThat(summary.top(5)).extracting(SpaceSaving.Counter::key).containsExactly("fresh");
+        assertThat(summary.top(1).get(0).count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.app.components;
+
+import com.example.app.dtos.PlaceDTO;
+import com.example.app.dtos.TrendingPlaceDTO;
+import com.example.app.events.PlaceChangedEvent;
+import com.example.app.events.PlaceSharedEvent;
+import com.example.app.repositories.PlaceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+public class TrendingPlacesTest {
+
+    private static final Instant START = Instant.parse("2025-06-01T12:00:00Z");
+
+    @Mock
+    private PlaceRepository placeRepository;
+    @Mock
+    private Clock clock;
+
+    private TrendingPlaces trendingPlaces;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        at(START);
+        trendingPlaces = new TrendingPlaces(placeRepository, clock, 24);
+    }
+
+    @Test
+    void trending_ranksPlacesSavedAndSharedMostOften() {
+        for (int i = 0; i < 3; i++) {
+            saved(place("Palmiarnia", 52.4069, 16.8993, true));
+        }
+        saved(place("Stary Rynek", 52.4084, 16.9342, true));
+        trendingPlaces.onPlaceShared(new PlaceSharedEvent(1L, "anna", 2L, "jan", place("Stary rynek", 52.4085, 16.9341, true)));
+        trendingPlaces.onPlaceShared(new PlaceSharedEvent(1L, "anna", 3L, "ola", place("STARY RYNEK", 52.4085, 16.9341, true)));
+        saved(place("Cytadela", 52.4236, 16.9370, true));
+
+        List<TrendingPlaceDTO> trending = trendingPlaces.trending(52.4064, 16.9252, 10);
+
+        assertThat(trending).extracting(TrendingPlaceDTO::name).containsExactly("Palmiarnia", "STARY RYNEK", "Cytadela");
+        assertThat(trending.get(0).score()).isCloseTo(3.0, within(0.01));
+    }
+
+    @Test
+    void trending_ignoresPrivatePlacesAndDistantCells() {
+        saved(place("Ogród", 52.4166, 16.8787, false));
+        saved(place("Wawel", 50.0540, 19.9354, true));
+
+        assertThat(trendingPlaces.trending(52.4064, 16.9252, 10)).isEmpty();
+        assertThat(trendingPlaces.trending(50.0540, 19.9354, 10)).extracting(TrendingPlaceDTO::name).containsExactly("Wawel");
+    }
+
+    @Test
+    void trending_oldActivityDecaysByHalfLife() {
+        saved(place("Palmiarnia", 52.4069, 16.8993, true));
+        saved(place("Palmiarnia", 52.4069, 16.8993, true));
+
+        at(START.plus(Duration.ofHours(24)));
+        saved(place("Cytadela", 52.4236, 16.9370, true));
+
+        List<TrendingPlaceDTO> trending = trendingPlaces.trending(52.4064, 16.9252, 10);
+        assertThat(trending.get(0).score()).isCloseTo(1.0, within(0.01));
+        assertThat(trending.get(1).score()).isCloseTo(1.0, within(0.01));
+
+        at(START.plus(Duration.ofDays(30)));
+        assertThat(trendingPlaces.trending(52.4064, 16.9252, 10)).isEmpty();
+    }
+
+    @Test
+    void record_farBeyondLandmark_renormalisesWithoutOverflow() {
+        saved(place("Palmiarnia", 52.4069, 16.8993, true));
+
+        at(START.plus(Duration.ofDays(365)));
+        saved(place("Cytadela", 52.4236, 16.9370, true));
+
+        assertThat(trendingPlaces.trending(52.4064, 16.9252, 10))
+                .singleElement()
+                .satisfies(place -> {
+                    assertThat(place.name()).isEqualTo("Cytadela");
+                    assertThat(place.score()).isCloseTo(1.0, within(0.01));
+                });
+    }
+
+    @Test
+    void deletedOrMovedPlace_stopsBeingShown() {
+        PlaceDTO palmiarnia = place(1L, "Palmiarnia", 52.4069, 16.8993);
+        PlaceDTO cytadela = place(2L, "Cytadela", 52.4236, 16.9370);
+        saved(palmiarnia);
+        saved(cytadela);
+
+        trendingPlaces.onPlaceChanged(PlaceChangedEvent.deleted(1L, "anna", palmiarnia));
+        trendingPlaces.onPlaceChanged(PlaceChangedEvent.updated(1L, "anna", cytadela, place(2L, "Cytadela", 52.4240, 16.9370)));
+
+        assertThat(trendingPlaces.trending(52.4064, 16.9252, 10)).isEmpty();
+    }
+
+    @Test
+    void updatedPlace_keepsItsScoreAndShowsTheNewDetails() {
+        PlaceDTO rynek = place(1L, "stary rynek", 52.4084, 16.9342);
+        saved(rynek);
+        saved(place(3L, "Stary Rynek", 52.4084, 16.9342));
+        PlaceDTO renamed = place(3L, "Stary  Rynek", 52.4084, 16.9342);
+
+        trendingPlaces.onPlaceChanged(PlaceChangedEvent.updated(1L, "anna", rynek, place(1L, "Rynek", 52.4084, 16.9342)));
+        trendingPlaces.onPlaceChanged(PlaceChangedEvent.updated(1L, "anna", place(3L, "Stary Rynek", 52.4084, 16.9342), renamed));
+
+        assertThat(trendingPlaces.trending(52.4064, 16.9252, 10)).singleElement().satisfies(place -> {
+            assertThat(place.name()).isEqualTo("Stary  Rynek");
+            assertThat(place.score()).isCloseTo(2.0, within(0.01));
+        });
+    }
+
+    @Test
+    void evictUser_dropsPlacesOfTheDeletedAccount() {
+        saved(place(1L, "Palmiarnia", 52.4069, 16.8993));
+        trendingPlaces.onPlaceChanged(PlaceChangedEvent.created(2L, "jan", place(2L, "Cytadela", 52.4236, 16.9370)));
+
+        trendingPlaces.evictUser(1L);
+
+        assertThat(trendingPlaces.trending(52.4064, 16.9252, 10)).extracting(TrendingPlaceDTO::name).containsExactly("Cytadela");
+    }
+
+    private void saved(PlaceDTO place) {
+        trendingPlaces.onPlaceChanged(PlaceChangedEvent.created(1L, "anna", place));
+    }
+
+    private void at(Instant instant) {
+        when(clock.millis()).thenReturn(instant.toEpochMilli());
+        when(clock.instant()).thenReturn(instant);
+    }
+
+    private static PlaceDTO place(Long id, String name, double latitude, double longitude) {
+        return new PlaceDTO(id, name, "Park", latitude, longitude, null, "Polska", "Poznań", null, null, true);
+    }
+
+    private static PlaceDTO place(String name, double latitude, double longitude, boolean isPublic) {
+        return new PlaceDTO(1L, name, "Park", latitude, longitude, null, "Polska", "Poznań", null, null, isPublic);
+    }
+}
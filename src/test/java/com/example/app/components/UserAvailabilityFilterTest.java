@@ -0,0 +1,78 @@
+package com.example.app.components;
+
+import com.example.app.dtos.UserEmailDTO;
+import com.example.app.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+public class UserAvailabilityFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserAvailabilityFilter filter;
+
+    @Test
+    void mightContain_beforeFirstBuild_reportsEverythingAsPossiblyTaken() {
+        assertThat(filter.mightContainUsername("anyone")).isTrue();
+        assertThat(filter.mightContainEmail("anyone@example.com")).isTrue();
+    }
+
+    @Test
+    void rebuild_existingUsers_areReportedAsPossiblyTaken() {
+        when(userRepository.findAccountEntries()).thenReturn(List.of(
+                new UserEmailDTO(1L, "alice", "Alice@Example.com"),
+                new UserEmailDTO(2L, "admin", null)));
+
+        filter.rebuild();
+
+        assertThat(filter.mightContainUsername("alice")).isTrue();
+        assertThat(filter.mightContainUsername("admin")).isTrue();
+        assertThat(filter.mightContainEmail("alice@example.com")).isTrue();
+        assertThat(filter.mightContainUsername("definitely-free-name")).isFalse();
+    }
+
+    @Test
+    void put_afterBuild_growsBeyondInitialCapacityWithoutFalseNegatives() {
+        when(userRepository.findAccountEntries()).thenReturn(List.of());
+        filter.rebuild();
+
+        for (int i = 0; i < 25_000; i++) {
+            filter.put("user" + i, "user" + i + "@example.com");
+        }
+
+        for (int i = 0; i < 25_000; i++) {
+            assertThat(filter.mightContainUsername("user" + i)).isTrue();
+            assertThat(filter.mightContainEmail("user" + i + "@example.com")).isTrue();
+        }
+    }
+
+    @Test
+    void retire_manyStaleEntries_rebuildsFromDatabase() {
+        List<UserEmailDTO> users = new ArrayList<>();
+        for (long i = 0; i < 10; i++) {
+            users.add(new UserEmailDTO(i, "user" + i, null));
+        }
+        when(userRepository.findAccountEntries()).thenReturn(users);
+        filter.rebuild();
+
+        filter.retire("user0", null);
+        filter.retire("user1", null);
+        filter.retire("user2", null);
+
+        verify(userRepository, timeout(5_000).times(2)).findAccountEntries();
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.app.components;
+
+import com.example.app.dtos.UserRoleRowDTO;
+import com.example.app.entities.Role;
+import com.example.app.entities.RoleName;
+import com.example.app.entities.User;
+import com.example.app.repositories.UserRepository;
+import com.example.app.security.CustomUserDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+public class UserRoleCacheTest {
+
+    private static final long TTL_MILLIS = 30_000;
+    private static final Instant START = Instant.parse("2025-06-01T12:00:00Z");
+
+    @Mock
+    private Clock clock;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(clock.instant()).thenReturn(START);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void get_loadsRolesOnceUntilEvicted() {
+        UserRepository repository = mock(UserRepository.class);
+        when(repository.findRoleRowsByUsername("alice")).thenReturn(List.of(new UserRoleRowDTO(7L, RoleName.FREE_USER)));
+        UserRoleCache cache = new UserRoleCache(repository, clock, TTL_MILLIS);
+
+        UserRoleCache.Account account = cache.get("alice").orElseThrow();
+        cache.get("alice");
+
+        assertThat(account.id()).isEqualTo(7L);
+        assertThat(account.hasLimitedPlan()).isTrue();
+        assertThat(account.isPremium()).isFalse();
+        verify(repository, times(1)).findRoleRowsByUsername("alice");
+
+        when(repository.findRoleRowsByUsername("alice")).thenReturn(List.of(
+                new UserRoleRowDTO(7L, RoleName.FREE_USER), new UserRoleRowDTO(7L, RoleName.PREMIUM_USER)));
+        cache.evict("alice");
+
+        UserRoleCache.Account upgraded = cache.get("alice").orElseThrow();
+        assertThat(upgraded.isPremium()).isTrue();
+        assertThat(upgraded.hasLimitedPlan()).isFalse();
+    }
+
+    @Test
+    void get_handlesAccountsWithoutRolesAndUnknownUsers() {
+        UserRepository repository = mock(UserRepository.class);
+        when(repository.findRoleRowsByUsername("bob")).thenReturn(List.of(new UserRoleRowDTO(8L, null)));
+        when(repository.findRoleRowsByUsername("ghost")).thenReturn(List.of());
+        UserRoleCache cache = new UserRoleCache(repository, clock, TTL_MILLIS);
+
+        assertThat(cache.get("bob")).hasValueSatisfying(account -> assertThat(account.roles()).isEmpty());
+        assertThat(cache.get("ghost")).isEmpty();
+        cache.get("ghost");
+        verify(repository, times(2)).findRoleRowsByUsername("ghost");
+    }
+
+    @Test
+    void get_forTheAuthenticatedUser_readsRolesFromThePrincipal() {
+        UserRepository repository = mock(UserRepository.class);
+        UserRoleCache cache = new UserRoleCache(repository, clock, TTL_MILLIS);
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("alice");
+        user.setPassword("password");
+        Role premium = new Role();
+        premium.setName(RoleName.PREMIUM_USER);
+        user.setRoles(Set.of(premium));
+        CustomUserDetails principal = new CustomUserDetails(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        assertThat(cache.get("alice")).hasValueSatisfying(account -> {
+            assertThat(account.id()).isEqualTo(7L);
+            assertThat(account.isPremium()).isTrue();
+        });
+        verify(repository, never()).findRoleRowsByUsername("alice");
+    }
+
+    @Test
+    void get_reloadsRolesOnceTheEntryExpires() {
+        UserRepository repository = mock(UserRepository.class);
+        when(repository.findRoleRowsByUsername("dave")).thenReturn(List.of(new UserRoleRowDTO(10L, RoleName.FREE_USER)))
+                .thenReturn(List.of(new UserRoleRowDTO(10L, RoleName.PREMIUM_USER)));
+        UserRoleCache cache = new UserRoleCache(repository, clock, TTL_MILLIS);
+
+        assertThat(cache.get("dave")).hasValueSatisfying(account -> assertThat(account.isPremium()).isFalse());
+        when(clock.instant()).thenReturn(START.plusMillis(TTL_MILLIS - 1));
+        assertThat(cache.get("dave")).hasValueSatisfying(account -> assertThat(account.isPremium()).isFalse());
+        when(clock.instant()).thenReturn(START.plusMillis(TTL_MILLIS));
+
+        assertThat(cache.get("dave")).hasValueSatisfying(account -> assertThat(account.isPremium()).isTrue());
+        verify(repository, times(2)).findRoleRowsByUsername("dave");
+    }
+
+    @Test
+    void loadThatOverlappedAnEviction_isNotKept() {
+        UserRepository repository = mock(UserRepository.class);
+        UserRoleCache cache = new UserRoleCache(repository, clock, TTL_MILLIS);
+        when(repository.findRoleRowsByUsername("carol")).thenAnswer(invocation -> {
+            // the role change commits while this load is reading the old rows
+            cache.evict("carol");
+            return List.of(new UserRoleRowDTO(9L, RoleName.FREE_USER));
+        }).thenReturn(List.of(new UserRoleRowDTO(9L, RoleName.PREMIUM_USER)));
+
+        assertThat(cache.get("carol")).hasValueSatisfying(account -> assertThat(account.roles()).isEqualTo(Set.of(RoleName.FREE_USER)));
+        assertThat(cache.get("carol")).hasValueSatisfying(account -> assertThat(account.isPremium()).isTrue());
+    }
+}
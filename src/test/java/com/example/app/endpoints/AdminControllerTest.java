@@ -0,0 +1,52 @@
+package com.example.app.endpoints;
+
+import com.example.app.dtos.CountEstimateDTO;
+import com.example.app.dtos.PlatformAnalyticsDTO;
+import com.example.app.services.AdminAnalyticsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AdminAnalyticsService adminAnalyticsService;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldReturnAnalyticsForAdmin() throws Exception {
+        when(adminAnalyticsService.getAnalytics(5)).thenReturn(new PlatformAnalyticsDTO(
+                12, List.of(new CountEstimateDTO("Poznań", 7)), 40,
+                List.of(new CountEstimateDTO("Polska", 38)), List.of(new CountEstimateDTO("Park", 15)),
+                2, OffsetDateTime.parse("2025-06-01T12:00:00Z")));
+
+        mockMvc.perform(get("/admin/analytics").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.activeUsers").value(12))
+                .andExpect(jsonPath("$.activeUsersByCity[0].name").value("Poznań"))
+                .andExpect(jsonPath("$.nodes").value(2));
+    }
+
+    @Test
+    @WithMockUser(roles = "FREE_USER")
+    void shouldNotReturnAnalyticsForUser() throws Exception {
+        mockMvc.perform(get("/admin/analytics"))
+                .andExpect(status().isForbidden());
+    }
+}
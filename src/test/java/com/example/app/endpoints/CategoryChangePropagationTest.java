@@ -0,0 +1,91 @@
+package com.example.app.endpoints;
+
+import com.example.app.components.CategoryChangeNotifier;
+import com.example.app.components.JsonResponseCache;
+import com.example.app.entities.Category;
+import com.example.app.repositories.CategoryRepository;
+import com.example.app.support.InMemoryCategoryChangeNotifier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The application context plays one node of a two-node deployment; the test plays the other and
+ * writes the category table behind this node's back.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class CategoryChangePropagationTest {
+
+    private static final String NAME = "Propagated category";
+
+    @TestConfiguration
+    static class ChannelConfig {
+
+        @Bean
+        InMemoryCategoryChangeNotifier categoryChannel() {
+            return new InMemoryCategoryChangeNotifier();
+        }
+
+        @Bean
+        CategoryChangeNotifier categoryChangeNotifier(InMemoryCategoryChangeNotifier categoryChannel) {
+            return categoryChannel.node();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InMemoryCategoryChangeNotifier categoryChannel;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JsonResponseCache jsonResponseCache;
+
+    @BeforeEach
+    void setUp() {
+        jsonResponseCache.evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        categoryRepository.findByName(NAME).ifPresent(categoryRepository::delete);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void changeOnAnotherNode_movesTheTagAndRebuildsTheCachedBody() throws Exception {
+        CategoryChangeNotifier otherNode = categoryChannel.node();
+        String etag = mockMvc.perform(get("/categories"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.name == '" + NAME + "')]").isEmpty())
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/categories").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        Category category = new Category();
+        category.setName(NAME);
+        categoryRepository.save(category);
+        otherNode.notifyChanged();
+
+        mockMvc.perform(get("/categories").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$[?(@.name == '" + NAME + "')]").isNotEmpty());
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.app.endpoints;
 
+import com.example.app.components.JsonResponseCache;
 import com.example.app.entities.Category;
 import com.example.app.exception.CategoryNotFoundException;
 import com.example.app.services.CategoryService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,6 +35,14 @@ class CategoryControllerTest {
     @MockitoBean
     private CategoryService categoryService;
 
+    @Autowired
+    private JsonResponseCache jsonResponseCache;
+
+    @BeforeEach
+    void setUp() {
+        jsonResponseCache.evictAll();
+    }
+
     @Test
     @WithMockUser(roles = "USER")
     void shouldReturnAllCategoriesForUser() throws Exception {
@@ -49,6 +59,22 @@ class CategoryControllerTest {
                 .andExpect(jsonPath("$[1].name").value("Electronics"));
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    void shouldAnswerNotModifiedForCurrentETag() throws Exception {
+        when(categoryService.findAll()).thenReturn(List.of(new Category(1L, "Books")));
+
+        String etag = mockMvc.perform(get("/categories"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/categories").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        Mockito.verify(categoryService, Mockito.times(1)).findAll();
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void shouldCreateCategoryAsAdmin() throws Exception {
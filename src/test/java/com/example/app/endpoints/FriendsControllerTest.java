@@ -1,6 +1,8 @@
 package com.example.app.endpoints;
 
 
+import com.example.app.dtos.FriendBatchResultDTO;
+import com.example.app.dtos.FriendSuggestionDTO;
 import com.example.app.dtos.FriendsDTO;
 import com.example.app.entities.Role;
 import com.example.app.entities.RoleName;
@@ -22,6 +24,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.*;
 
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
@@ -316,4 +319,54 @@ public class FriendsControllerTest {
 
         verify(friendService, times(1)).deleteFriend(testUsername, friendUsername);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReturnFriendSuggestions() throws Exception{
+        when(friendService.getSuggestions(testUsername, 5))
+                .thenReturn(List.of(new FriendSuggestionDTO("suggested", 3, 1, 1, 4.5)));
+
+        mockMvc.perform(get("/user/friends/suggestions").param("limit", "5").with(user(customUser)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].username").value("suggested"))
+                .andExpect(jsonPath("$[0].mutualFriends").value(3));
+
+        verify(friendService, times(1)).getSuggestions(testUsername, 5);
+    }
+
+    @Test
+    void inviteFriendsBatch_returnsPerItemResults() throws Exception {
+        when(friendService.sendInvitations(testUsername, List.of(friendUsername, "ghost"))).thenReturn(List.of(
+                new FriendBatchResultDTO(friendUsername, FriendBatchResultDTO.Outcome.INVITED),
+                new FriendBatchResultDTO("ghost", FriendBatchResultDTO.Outcome.USER_NOT_FOUND)));
+
+        mockMvc.perform(post("/user/invitations/batch").with(user(customUser))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"usernames\":[\"friendUser\",\"ghost\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].outcome").value("INVITED"))
+                .andExpect(jsonPath("$[1].outcome").value("USER_NOT_FOUND"));
+    }
+
+    @Test
+    void inviteFriendsBatch_emptyList_returnsBadRequest() throws Exception {
+        mockMvc.perform(post("/user/invitations/batch").with(user(customUser))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"usernames\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(friendService, never()).sendInvitations(anyString(), anyList());
+    }
+
+    @Test
+    void acceptInvitationsBatch_returnsPerItemResults() throws Exception {
+        when(friendService.acceptInvitations(testUsername, List.of(friendUsername))).thenReturn(List.of(
+                new FriendBatchResultDTO(friendUsername, FriendBatchResultDTO.Outcome.ACCEPTED)));
+
+        mockMvc.perform(post("/user/invitations/accept-batch").with(user(customUser))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"usernames\":[\"friendUser\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].username").value(friendUsername))
+                .andExpect(jsonPath("$[0].outcome").value("ACCEPTED"));
+    }
+}
@@ -1,11 +1,35 @@
 package com.example.app.endpoints;
 
+import com.example.app.components.JsonResponseCache;
 import com.example.app.dtos.CreatePlaceDTO;
+import com.example.app.dtos.ExportFormat;
+import com.example.app.dtos.ImportFormat;
+import com.example.app.dtos.ImportJobDTO;
+import com.example.app.dtos.ImportJobStatus;
+import com.example.app.dtos.PlaceBatchAction;
+import com.example.app.dtos.PlaceBatchOperationDTO;
+import com.example.app.dtos.PlaceBatchRequestDTO;
+import com.example.app.dtos.PlaceBatchResultDTO;
+import com.example.app.dtos.PlaceChangesDTO;
 import com.example.app.dtos.PlaceDTO;
+import com.example.app.dtos.PlaceQueryFilter;
+import com.example.app.dtos.PlaceQueryResultDTO;
+import com.example.app.dtos.PlaceStatsDTO;
+import com.example.app.dtos.PlaceSuggestionDTO;
+import com.example.app.dtos.TrendingPlaceDTO;
 import com.example.app.entities.*;
+import com.example.app.exception.ImportJobNotFoundException;
 import com.example.app.exception.PlaceNotFoundException;
+import com.example.app.exception.SearchUnavailableException;
 import com.example.app.security.CustomUserDetails;
+import com.example.app.services.PlaceExportService;
+import com.example.app.services.PlaceImportService;
+import com.example.app.services.PlaceQueryService;
+import com.example.app.services.PlaceSearchService;
 import com.example.app.services.PlaceService;
+import com.example.app.services.PlaceStatsService;
+import com.example.app.services.PlaceSyncService;
+import com.example.app.services.TrendingPlacesService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,12 +38,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.HashSet;
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
@@ -33,9 +64,33 @@ class PlaceControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private JsonResponseCache jsonResponseCache;
+
     @MockitoBean
     private PlaceService placeService;
 
+    @MockitoBean
+    private PlaceSearchService placeSearchService;
+
+    @MockitoBean
+    private PlaceQueryService placeQueryService;
+
+    @MockitoBean
+    private PlaceStatsService placeStatsService;
+
+    @MockitoBean
+    private TrendingPlacesService trendingPlacesService;
+
+    @MockitoBean
+    private PlaceImportService placeImportService;
+
+    @MockitoBean
+    private PlaceExportService placeExportService;
+
+    @MockitoBean
+    private PlaceSyncService placeSyncService;
+
     private CustomUserDetails customUser;
     private PlaceDTO testPlace;
     private final String testUsername = "testUser";
@@ -43,6 +98,9 @@ class PlaceControllerTest {
 
     @BeforeEach
     void setUp() {
+        // placeService is a mock, so nothing moves the list versions between tests
+        jsonResponseCache.evictAll();
+
         Role role = new Role();
         role.setName(RoleName.FREE_USER);
         Set<Role> roles = new HashSet<>();
@@ -72,6 +130,48 @@ class PlaceControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void shouldAnswerNotModifiedForCurrentPlacesETag() throws Exception {
+        Mockito.when(placeService.findAll(testUsername)).thenReturn(List.of(testPlace));
+
+        String etag = mockMvc.perform(get("/places")
+                        .with(user(customUser)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/places")
+                        .header("If-None-Match", etag)
+                        .with(user(customUser)))
+                .andExpect(status().isNotModified());
+        Mockito.verify(placeService, Mockito.times(1)).findAll(testUsername);
+    }
+
+    @Test
+    void shouldReturnPlacesByIds() throws Exception {
+        Mockito.when(placeService.findByIds(testUsername, List.of(3L, 1L))).thenReturn(List.of(testPlace));
+
+        mockMvc.perform(get("/places")
+                        .param("ids", "3,1")
+                        .with(user(customUser)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+        Mockito.verify(placeService, Mockito.never()).findAll(any());
+    }
+
+    @Test
+    void shouldReturnChangesSinceToken() throws Exception {
+        Mockito.when(placeSyncService.changesSince(testUsername, "4"))
+                .thenReturn(new PlaceChangesDTO("6", false, List.of(testPlace), List.of(9L)));
+
+        mockMvc.perform(get("/places/changes")
+                        .param("since", "4")
+                        .with(user(customUser)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("6"))
+                .andExpect(jsonPath("$.full").value(false))
+                .andExpect(jsonPath("$.deleted[0]").value(9));
+    }
+
     @Test
     void shouldReturnPrivatePlaces() throws Exception {
         Mockito.when(placeService.findAllPrivate("testuser")).thenReturn(List.of());
@@ -114,6 +214,38 @@ class PlaceControllerTest {
                 .andExpect(status().isCreated());
     }
 
+    @Test
+    void shouldApplyBatchOperations() throws Exception {
+        PlaceBatchRequestDTO request = new PlaceBatchRequestDTO(List.of(
+                new PlaceBatchOperationDTO(PlaceBatchAction.CREATE, null,
+                        new CreatePlaceDTO("Place", "Park", 52.4, 16.9, null, null, true), null),
+                new PlaceBatchOperationDTO(PlaceBatchAction.DELETE, 7L, null, null)
+        ));
+        Mockito.when(placeService.applyBatch(eq("testuser"), anyList()))
+                .thenReturn(List.of(
+                        PlaceBatchResultDTO.done(0, PlaceBatchAction.CREATE, PlaceBatchResultDTO.Outcome.CREATED, 5L, testPlace),
+                        PlaceBatchResultDTO.failed(1, request.operations().get(1), PlaceBatchResultDTO.Outcome.NOT_FOUND, "Place not found")
+                ));
+
+        mockMvc.perform(post("/places/batch")
+                        .with(user(customUser))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].outcome").value("CREATED"))
+                .andExpect(jsonPath("$[1].outcome").value("NOT_FOUND"))
+                .andExpect(jsonPath("$[1].id").value(7));
+    }
+
+    @Test
+    void shouldRejectEmptyBatch() throws Exception {
+        mockMvc.perform(post("/places/batch")
+                        .with(user(customUser))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldDeletePlace() throws Exception {
         mockMvc.perform(delete("/places/1")
@@ -149,5 +281,165 @@ class PlaceControllerTest {
                         .with(user(customUser)))
                 .andExpect(status().isOk());
     }
-}
 
+    @Test
+    void shouldReturnPlaceSuggestions() throws Exception {
+        Mockito.when(placeService.suggest(testUsername, "kaw", 5))
+                .thenReturn(List.of(new PlaceSuggestionDTO(1L, "Kawiarnia", "Restauracja", "Gdańsk")));
+
+        mockMvc.perform(get("/places/suggest")
+                        .param("q", "kaw")
+                        .param("limit", "5")
+                        .with(user(customUser)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].name").value("Kawiarnia"));
+    }
+
+    @Test
+    void shouldSearchPlaces() throws Exception {
+        Mockito.when(placeSearchService.search(testUsername, "kawa", "Restauracja", 54.35, 18.65, 5.0, 20))
+                .thenReturn(List.of(testPlace));
+
+        mockMvc.perform(get("/places/search")
+                        .param("q", "kawa")
+                        .param("category", "Restauracja")
+                        .param("latitude", "54.35")
+                        .param("longitude", "18.65")
+                        .param("radiusKm", "5")
+                        .with(user(customUser)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].category").value("category"));
+    }
+
+    @Test
+    void shouldReturnServiceUnavailableWhenSearchIsDown() throws Exception {
+        Mockito.when(placeSearchService.search(eq(testUsername), any(), any(), any(), any(), any(), anyInt()))
+                .thenThrow(new SearchUnavailableException("Wyszukiwarka miejsc jest niedostępna."));
+
+        mockMvc.perform(get("/places/search")
+                        .param("q", "kawa")
+                        .with(user(customUser)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error").value("Wyszukiwarka miejsc jest niedostępna."));
+    }
+
+    @Test
+    void shouldQueryPlacesWithFacets() throws Exception {
+        PlaceQueryFilter filter = new PlaceQueryFilter("Park", null, null, true,
+                OffsetDateTime.parse("2025-01-01T00:00Z"), null, null, null, null, null, 100);
+        Mockito.when(placeQueryService.query(testUsername, filter))
+                .thenReturn(new PlaceQueryResultDTO(List.of(testPlace), 1, Map.of("Park", 1L), Map.of(), Map.of()));
+
+        mockMvc.perform(get("/places/query")
+                        .param("category", "Park")
+                        .param("isPublic", "true")
+                        .param("postedFrom", "2025-01-01T00:00:00Z")
+                        .with(user(customUser)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.categories.Park").value(1));
+    }
+
+    @Test
+    void shouldRejectStatsForFreeUser() throws Exception {
+        mockMvc.perform(get("/places/stats")
+                        .with(user(customUser)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void shouldReturnStatsForPremiumUser() throws Exception {
+        Role premium = new Role();
+        premium.setName(RoleName.PREMIUM_USER);
+        User premiumUser = new User();
+        premiumUser.setId(2L);
+        premiumUser.setUsername("premiumUser");
+        premiumUser.setPassword("password");
+        premiumUser.setRoles(new HashSet<>(Set.of(premium)));
+        Mockito.when(placeStatsService.getStats("premiumUser")).thenReturn(new PlaceStatsDTO(
+                3, 2, 1, Map.of("Park", 3L), Map.of(), Map.of(), Map.of("2025-05", 3L), 120.5, 60.25, 52.0, 19.0));
+
+        mockMvc.perform(get("/places/stats")
+                        .with(user(new CustomUserDetails(premiumUser))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalPlaces").value(3))
+                .andExpect(jsonPath("$.byMonth['2025-05']").value(3));
+    }
+
+    @Test
+    void shouldReturnTrendingPlaces() throws Exception {
+        Mockito.when(trendingPlacesService.findTrending(52.4064, 16.9252, 10))
+                .thenReturn(List.of(new TrendingPlaceDTO("Palmiarnia", "Park", 52.4069, 16.8993, "Poznań", "Polska", 3.0)));
+
+        mockMvc.perform(get("/places/trending")
+                        .param("latitude", "52.4064")
+                        .param("longitude", "16.9252")
+                        .with(user(customUser)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Palmiarnia"))
+                .andExpect(jsonPath("$[0].score").value(3.0));
+    }
+
+    @Test
+    void shouldAcceptImportAndReturnJob() throws Exception {
+        UUID jobId = UUID.randomUUID();
+        MockMultipartFile file = new MockMultipartFile("file", "places.csv", "text/csv",
+                "name,category,latitude,longitude\nPalmiarnia,Park,52.4069,16.8993\n".getBytes());
+        Mockito.when(placeImportService.startImport(eq(testUsername), any(), isNull(), eq("Park")))
+                .thenReturn(new ImportJobDTO(jobId, ImportJobStatus.QUEUED, ImportFormat.CSV, "places.csv",
+                        0, 0, 0, 0, 0, 0, 0, 0, List.of(), OffsetDateTime.now(), null));
+
+        mockMvc.perform(multipart("/places/import")
+                        .file(file)
+                        .param("defaultCategory", "Park")
+                        .with(user(customUser)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(jobId.toString()))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownImportJob() throws Exception {
+        UUID jobId = UUID.randomUUID();
+        Mockito.when(placeImportService.getJob(testUsername, jobId))
+                .thenThrow(new ImportJobNotFoundException("Import job not found: " + jobId));
+
+        mockMvc.perform(get("/places/import/" + jobId)
+                        .with(user(customUser)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldRejectExportForFreeUser() throws Exception {
+        mockMvc.perform(get("/places/export")
+                        .with(user(customUser)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void shouldStreamExportForPremiumUser() throws Exception {
+        Role premium = new Role();
+        premium.setName(RoleName.PREMIUM_USER);
+        User premiumUser = new User();
+        premiumUser.setId(2L);
+        premiumUser.setUsername("premiumUser");
+        premiumUser.setPassword("password");
+        premiumUser.setRoles(new HashSet<>(Set.of(premium)));
+        Mockito.doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(3).write("name\r\nPalmiarnia\r\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(placeExportService).export(eq("premiumUser"), eq(ExportFormat.CSV), eq(false), any());
+
+        MvcResult result = mockMvc.perform(get("/places/export")
+                        .param("format", "csv")
+                        .with(user(new CustomUserDetails(premiumUser))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"places.csv\""))
+                .andExpect(content().string("name\r\nPalmiarnia\r\n"));
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.app.endpoints;
+
+import com.example.app.components.JsonResponseCache;
+import com.example.app.components.PlaceListCache;
+import com.example.app.components.UserRoleCache;
+import com.example.app.entities.*;
+import com.example.app.repositories.CategoryRepository;
+import com.example.app.repositories.PlaceRepository;
+import com.example.app.repositories.RoleRepository;
+import com.example.app.repositories.UserRepository;
+import com.example.app.security.CustomUserDetails;
+import com.example.app.support.SqlStatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SqlStatementCountTest {
+
+    private static final int PLACE_COUNT = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private PlaceRepository placeRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlaceListCache placeListCache;
+    @Autowired
+    private JsonResponseCache jsonResponseCache;
+    @Autowired
+    private UserRoleCache userRoleCache;
+
+    private SqlStatementCounter sqlStatementCounter;
+    private User owner;
+    private User receiver;
+    private final List<Long> placeIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        sqlStatementCounter = new SqlStatementCounter(entityManagerFactory);
+        // places below are written straight through the repository, which bypasses cache invalidation
+        placeListCache.evictAll();
+        jsonResponseCache.evictAll();
+        userRoleCache.evictAll();
+        Role freeRole = roleRepository.findByName(RoleName.FREE_USER).orElseThrow();
+        Category category = categoryRepository.findByName("Park").orElseThrow();
+
+        owner = userRepository.save(newUser("stmtOwner", freeRole));
+        receiver = userRepository.save(newUser("stmtReceiver", freeRole));
+
+        for (int i = 0; i < PLACE_COUNT; i++) {
+            Place place = Place.builder()
+                    .name("stmtPlace" + i)
+                    .category(category)
+                    .user(owner)
+                    .latitude(50.0 + i)
+                    .longitude(19.0 + i)
+                    .isPublic(i % 2 == 0)
+                    .postDate(OffsetDateTime.now())
+                    .build();
+            long placeId = placeRepository.save(place).getId();
+            placeIds.add(placeId);
+            jdbcTemplate.update("INSERT INTO shared_with (place_id, user_id) VALUES (?, ?)", placeId, receiver.getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        Long[] userIds = {owner.getId(), receiver.getId()};
+        jdbcTemplate.update("DELETE FROM shared_with WHERE user_id IN (?, ?)", (Object[]) userIds);
+        jdbcTemplate.update("DELETE FROM places WHERE user_id IN (?, ?)", (Object[]) userIds);
+        jdbcTemplate.update("DELETE FROM user_roles WHERE user_id IN (?, ?)", (Object[]) userIds);
+        jdbcTemplate.update("DELETE FROM users WHERE id IN (?, ?)", (Object[]) userIds);
+        placeIds.clear();
+    }
+
+    @Test
+    void getAllPlaces_shouldExecuteSingleStatement() throws Exception {
+        sqlStatementCounter.assertStatements(1, () ->
+                mockMvc.perform(get("/places").with(user(new CustomUserDetails(owner))))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.length()").value(PLACE_COUNT)));
+    }
+
+    @Test
+    void getAllPlaces_withCurrentETag_shouldNotTouchDatabase() throws Exception {
+        String etag = mockMvc.perform(get("/places").with(user(new CustomUserDetails(owner))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        sqlStatementCounter.assertStatements(0, () ->
+                mockMvc.perform(get("/places").header("If-None-Match", etag).with(user(new CustomUserDetails(owner))))
+                        .andExpect(status().isNotModified()));
+    }
+
+    @Test
+    void getAllPlaces_repeated_shouldBeServedFromCache() throws Exception {
+        mockMvc.perform(get("/places").with(user(new CustomUserDetails(owner))))
+                .andExpect(status().isOk());
+
+        sqlStatementCounter.assertStatements(0, () ->
+                mockMvc.perform(get("/places").with(user(new CustomUserDetails(owner))))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.length()").value(PLACE_COUNT)));
+    }
+
+    @Test
+    void getPrivatePlaces_shouldExecuteSingleStatement() throws Exception {
+        sqlStatementCounter.assertStatements(1, () ->
+                mockMvc.perform(get("/places/private").with(user(new CustomUserDetails(owner))))
+                        .andExpect(status().isOk()));
+    }
+
+    @Test
+    void getPlaceById_shouldExecuteSingleStatement() throws Exception {
+        sqlStatementCounter.assertStatements(1, () ->
+                mockMvc.perform(get("/places/" + placeIds.get(0)).with(user(new CustomUserDetails(owner))))
+                        .andExpect(status().isOk()));
+    }
+
+    @Test
+    void getSharedPlaces_shouldExecuteSingleStatement() throws Exception {
+        sqlStatementCounter.assertStatements(1, () ->
+                mockMvc.perform(get("/places/shared").with(user(new CustomUserDetails(receiver))))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.length()").value(PLACE_COUNT)));
+    }
+
+    @Test
+    void getPlacesByIds_shouldExecuteSingleStatementAndKeepRequestOrder() throws Exception {
+        String ids = placeIds.get(3) + "," + placeIds.get(0) + ",999999," + placeIds.get(3) + "," + placeIds.get(1);
+        sqlStatementCounter.assertStatements(1, () ->
+                mockMvc.perform(get("/places").param("ids", ids).with(user(new CustomUserDetails(receiver))))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.length()").value(3))
+                        .andExpect(jsonPath("$[0].id").value(placeIds.get(3)))
+                        .andExpect(jsonPath("$[1].id").value(placeIds.get(0)))
+                        .andExpect(jsonPath("$[2].id").value(placeIds.get(1))));
+    }
+
+    @Test
+    void getChanges_withCurrentToken_shouldExecuteSingleStatement() throws Exception {
+        sqlStatementCounter.assertStatements(1, () ->
+                mockMvc.perform(get("/places/changes").param("since", "0").with(user(new CustomUserDetails(owner))))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.token").value("0"))
+                        .andExpect(jsonPath("$.places.length()").value(0)));
+    }
+
+    @Test
+    void getCurrentUser_shouldNotLoadSharedPlaces() throws Exception {
+        sqlStatementCounter.assertStatements(1, () ->
+                mockMvc.perform(get("/user/me").with(user(new CustomUserDetails(owner))))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.places.length()").value(PLACE_COUNT)));
+    }
+
+    @Test
+    void getAccountStatus_shouldLoadRolesOnceAndThenUseTheCache() throws Exception {
+        sqlStatementCounter.assertStatements(1, () ->
+                mockMvc.perform(get("/user/account/status").with(user(new CustomUserDetails(owner))))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$").value("NON_PREMIUM")));
+
+        sqlStatementCounter.assertStatements(0, () ->
+                mockMvc.perform(get("/user/account/status").with(user(new CustomUserDetails(owner))))
+                        .andExpect(status().isOk()));
+    }
+
+    private User newUser(String username, Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        Set<Role> roles = new HashSet<>();
+        roles.add(role);
+        user.setRoles(roles);
+        return user;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.app.endpoints;
 
 
+import com.example.app.dtos.ContactMatchDTO;
 import com.example.app.dtos.PasswordDTO;
 import com.example.app.dtos.UpdateUserDTO;
 import com.example.app.dtos.UserDTO;
@@ -349,4 +350,26 @@ public class UserControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void discoverContacts_returnsMatches() throws Exception {
+        String hash = "a".repeat(64);
+        when(userService.discoverContacts(freeUsername, List.of(hash)))
+                .thenReturn(List.of(new ContactMatchDTO(hash, premiumUsername)));
+
+        mockMvc.perform(post("/user/discover").with(user(customUserFree))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"emailHashes\":[\"" + hash + "\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].emailHash").value(hash))
+                .andExpect(jsonPath("$[0].username").value(premiumUsername));
+    }
+
+    @Test
+    void discoverContacts_invalidHash_returnsBadRequest() throws Exception {
+        mockMvc.perform(post("/user/discover").with(user(customUserFree))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"emailHashes\":[\"free@example.com\"]}"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -1,6 +1,8 @@
 package com.example.app.services;
 
 
+import com.example.app.components.CategoryDictionary;
+import com.example.app.components.ResourceVersions;
 import com.example.app.entities.Category;
 import com.example.app.exception.CategoryNotFoundException;
 import com.example.app.repositories.CategoryRepository;
@@ -10,6 +12,7 @@ import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.mockito.Mockito.verify;
@@ -29,7 +32,8 @@ public class CategoryServiceTest {
 
     @BeforeEach
     public void setUp() {
-        categoryService = new CategoryService(categoryRepository);
+        categoryService = new CategoryService(categoryRepository, new CategoryDictionary(categoryRepository, Optional.empty(), new ResourceVersions()),
+                new ResourceVersions());
 
         category1 = new Category();
         category1.setId(1L);
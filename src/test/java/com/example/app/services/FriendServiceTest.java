@@ -1,10 +1,17 @@
 package com.example.app.services;
 
+import com.example.app.components.FriendGraphCache;
+import com.example.app.dtos.FriendBatchResultDTO;
+import com.example.app.dtos.FriendBatchResultDTO.Outcome;
 import com.example.app.dtos.FriendsDTO;
+import com.example.app.dtos.FriendshipRowDTO;
+import com.example.app.dtos.UserSummaryDTO;
 import com.example.app.entities.Friends;
 import com.example.app.entities.FriendshipStatus;
 import com.example.app.entities.User;
 import com.example.app.exception.CannotInviteYourselfException;
+import com.example.app.exception.InvitationAlreadyExistsException;
+import com.example.app.repositories.FriendsBatchRepository;
 import com.example.app.repositories.FriendsRepository;
 import com.example.app.repositories.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,14 +21,25 @@ import org.mockito.Mock;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyCollection;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 import static org.mockito.Mockito.when;
@@ -35,6 +53,18 @@ public class FriendServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private FriendGraphCache friendGraphCache;
+
+    @Mock
+    private FriendSuggestionService friendSuggestionService;
+
+    @Mock
+    private FriendsBatchRepository friendsBatchRepository;
+
+    @Mock
+    private Clock clock;
+
     @InjectMocks
     private FriendService friendService;
 
@@ -121,7 +151,7 @@ public class FriendServiceTest {
 
         when(userRepository.findByUsername(user1.getUsername())).thenReturn(Optional.of(user1));
         when(userRepository.findByUsername(user2.getUsername())).thenReturn(Optional.of(user2));
-        when(friendsRepository.findByRequesterAndReceiver(user1, user2)).thenReturn(Optional.empty());
+        when(friendsRepository.findByUserLowIdAndUserHighId(user1.getId(), user2.getId())).thenReturn(Optional.empty());
         when(friendsRepository.save(any(Friends.class))).thenReturn(savedFriend);
 
         FriendsDTO result = friendService.sendInvitation(user1.getUsername(), user2.getUsername());
@@ -147,6 +177,8 @@ public class FriendServiceTest {
         assertEquals(user1.getUsername(), result.getReceiverUsername());
         assertEquals(user2.getUsername(), result.getRequesterUsername());
         assertEquals(FriendshipStatus.ACCEPTED, result.getStatus());
+        verify(friendGraphCache).addFriendship(user2.getId(), user1.getId());
+        verify(friendSuggestionService).onFriendshipChanged(user2.getId(), user1.getId());
     }
 
     @Test
@@ -168,22 +200,55 @@ public class FriendServiceTest {
         friendService.deleteInvitation(user1.getUsername(), user2.getUsername());
 
         verify(friendsRepository).delete(pending);
+        verify(friendGraphCache, never()).removeFriendship(anyLong(), anyLong());
         }
 
     @Test
-    void deleteFriendship() {
+    void deleteInvitation_ofAcceptedRow_removesFriendshipFromGraph() {
+        FriendGraphCache graph = new FriendGraphCache(friendsRepository, userRepository);
+        FriendService service = new FriendService(friendsRepository, userRepository, graph,
+                friendSuggestionService, friendsBatchRepository, clock);
+        when(userRepository.findIdByUsername(user1.getUsername())).thenReturn(Optional.of(user1.getId()));
+        when(userRepository.findIdByUsername(user2.getUsername())).thenReturn(Optional.of(user2.getId()));
+        when(friendsRepository.findFriendIds(user1.getId(), FriendshipStatus.ACCEPTED)).thenReturn(List.of(user2.getId()));
         when(userRepository.findByUsername(user1.getUsername())).thenReturn(Optional.of(user1));
         when(userRepository.findByUsername(user2.getUsername())).thenReturn(Optional.of(user2));
         when(friendsRepository.findByRequesterAndReceiver(user1, user2)).thenReturn(Optional.of(accepted));
+        assertTrue(service.isFriendWith(user1.getUsername(), user2.getUsername()));
+
+        service.deleteInvitation(user1.getUsername(), user2.getUsername());
+
+        verify(friendsRepository).delete(accepted);
+        verify(friendSuggestionService).onFriendshipChanged(user1.getId(), user2.getId());
+        assertFalse(service.isFriendWith(user1.getUsername(), user2.getUsername()));
+    }
+
+    @Test
+    void deleteFriendship() {
+        when(friendGraphCache.resolveUserId(user1.getUsername())).thenReturn(Optional.of(user1.getId()));
+        when(friendGraphCache.resolveUserId(user2.getUsername())).thenReturn(Optional.of(user2.getId()));
+        when(friendsRepository.findByUserLowIdAndUserHighId(user1.getId(), user2.getId())).thenReturn(Optional.of(accepted));
 
         friendService.deleteFriend(user1.getUsername(), user2.getUsername());
 
+        verify(friendsRepository).delete(accepted);
+        verify(friendGraphCache).removeFriendship(user1.getId(), user2.getId());
+    }
+
+    @Test
+    void deleteFriendship_receiverInitiated_usesSamePair() {
+        when(friendGraphCache.resolveUserId(user1.getUsername())).thenReturn(Optional.of(user1.getId()));
+        when(friendGraphCache.resolveUserId(user2.getUsername())).thenReturn(Optional.of(user2.getId()));
+        when(friendsRepository.findByUserLowIdAndUserHighId(user1.getId(), user2.getId())).thenReturn(Optional.of(accepted));
+
+        friendService.deleteFriend(user2.getUsername(), user1.getUsername());
+
         verify(friendsRepository).delete(accepted);
     }
 
     @Test
     void deleteFriendship_userNotFound_throwsException(){
-        when(userRepository.findByUsername("nonexistent")).thenReturn(Optional.empty());
+        when(friendGraphCache.resolveUserId("nonexistent")).thenReturn(Optional.empty());
 
         assertThrows(UsernameNotFoundException.class, () -> {
             friendService.deleteFriend("nonexistent", "nonexistent");
@@ -192,8 +257,9 @@ public class FriendServiceTest {
 
     @Test
     void isFriendWith_whenUsersAreFriends_returnTrue() {
-        when(userRepository.findByUsername(user1.getUsername())).thenReturn(Optional.of(user1));
-        when(friendsRepository.findByRequesterOrReceiver(user1, user1)).thenReturn(List.of(accepted));
+        when(friendGraphCache.resolveUserId(user1.getUsername())).thenReturn(Optional.of(user1.getId()));
+        when(friendGraphCache.resolveUserId(user2.getUsername())).thenReturn(Optional.of(user2.getId()));
+        when(friendGraphCache.areFriends(user1.getId(), user2.getId())).thenReturn(true);
 
         boolean result = friendService.isFriendWith(user1.getUsername(), user2.getUsername());
 
@@ -202,12 +268,112 @@ public class FriendServiceTest {
 
     @Test
     void isFriendWith_whenUsersAreNotFriends_returnFalse() {
-        when(userRepository.findByUsername(user1.getUsername())).thenReturn(Optional.of(user1));
-        when(friendsRepository.findByRequesterOrReceiver(user1, user1)).thenReturn(List.of());
+        when(friendGraphCache.resolveUserId(user1.getUsername())).thenReturn(Optional.of(user1.getId()));
+        when(friendGraphCache.resolveUserId(user2.getUsername())).thenReturn(Optional.of(user2.getId()));
+        when(friendGraphCache.areFriends(user1.getId(), user2.getId())).thenReturn(false);
 
         boolean result = friendService.isFriendWith(user1.getUsername(), user2.getUsername());
 
         assertFalse(result);
     }
 
+    @Test
+    void sendInvitation_reverseInvitationExists_throwsException() {
+        when(userRepository.findByUsername(user1.getUsername())).thenReturn(Optional.of(user1));
+        when(userRepository.findByUsername(user2.getUsername())).thenReturn(Optional.of(user2));
+        when(friendsRepository.findByUserLowIdAndUserHighId(user1.getId(), user2.getId())).thenReturn(Optional.of(pending));
+
+        assertThrows(InvitationAlreadyExistsException.class, () -> {
+            friendService.sendInvitation(user1.getUsername(), user2.getUsername());
+        });
+    }
+
+    @Test
+    void sendInvitations_reportsOutcomePerUsername() {
+        when(clock.instant()).thenReturn(Instant.parse("2025-01-01T10:00:00Z"));
+        when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        when(friendGraphCache.resolveUserId(user1.getUsername())).thenReturn(Optional.of(user1.getId()));
+        when(userRepository.findSummariesByUsernameIn(anyCollection())).thenReturn(List.of(
+                new UserSummaryDTO(1L, "user1"), new UserSummaryDTO(2L, "user2"), new UserSummaryDTO(3L, "user3")));
+        when(friendsRepository.findRowsBetween(eq(1L), anyCollection())).thenReturn(List.of(
+                new FriendshipRowDTO(20L, 2L, 1L, FriendshipStatus.PENDING)));
+
+        List<FriendBatchResultDTO> result = friendService.sendInvitations("user1",
+                List.of("user3", "user2", "user1", "ghost", "user3"));
+
+        assertThat(result).extracting(FriendBatchResultDTO::outcome).containsExactly(
+                Outcome.INVITED, Outcome.INVITATION_ALREADY_EXISTS, Outcome.CANNOT_INVITE_YOURSELF,
+                Outcome.USER_NOT_FOUND, Outcome.DUPLICATE);
+        verify(friendsBatchRepository).insertInvitations(1L, List.of(3L), LocalDateTime.of(2025, 1, 1, 10, 0));
+    }
+
+    @Test
+    void sendInvitations_concurrentInvite_isReportedOnlyForThatReceiver() {
+        when(clock.instant()).thenReturn(Instant.parse("2025-01-01T10:00:00Z"));
+        when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 10, 0);
+        when(friendGraphCache.resolveUserId(user1.getUsername())).thenReturn(Optional.of(user1.getId()));
+        when(userRepository.findSummariesByUsernameIn(anyCollection())).thenReturn(List.of(
+                new UserSummaryDTO(3L, "user3"), new UserSummaryDTO(4L, "user4")));
+        when(friendsRepository.findRowsBetween(eq(1L), anyCollection())).thenReturn(List.of());
+        doThrow(new DataIntegrityViolationException("ux_friends_pair"))
+                .when(friendsBatchRepository).insertInvitations(1L, List.of(3L, 4L), createdAt);
+        doThrow(new DataIntegrityViolationException("ux_friends_pair"))
+                .when(friendsBatchRepository).insertInvitations(1L, List.of(4L), createdAt);
+
+        List<FriendBatchResultDTO> result = friendService.sendInvitations("user1", List.of("user3", "user4"));
+
+        assertThat(result).extracting(FriendBatchResultDTO::outcome).containsExactly(
+                Outcome.INVITED, Outcome.INVITATION_ALREADY_EXISTS);
+        verify(friendsBatchRepository).insertInvitations(1L, List.of(3L), createdAt);
+    }
+
+    @Test
+    void acceptInvitations_acceptsOnlyPendingInvitationsAddressedToUser() {
+        when(friendGraphCache.resolveUserId(user1.getUsername())).thenReturn(Optional.of(user1.getId()));
+        when(userRepository.findSummariesByUsernameIn(anyCollection())).thenReturn(List.of(
+                new UserSummaryDTO(2L, "user2"), new UserSummaryDTO(3L, "user3")));
+        when(friendsRepository.findRowsBetween(eq(1L), anyCollection())).thenReturn(List.of(
+                new FriendshipRowDTO(20L, 2L, 1L, FriendshipStatus.PENDING),
+                new FriendshipRowDTO(30L, 1L, 3L, FriendshipStatus.PENDING)));
+        when(friendsBatchRepository.acceptInvitations(1L, List.of(20L))).thenReturn(Set.of(20L));
+
+        List<FriendBatchResultDTO> result = friendService.acceptInvitations("user1", List.of("user2", "user3", "ghost"));
+
+        assertThat(result).extracting(FriendBatchResultDTO::outcome).containsExactly(
+                Outcome.ACCEPTED, Outcome.INVITATION_NOT_FOUND, Outcome.USER_NOT_FOUND);
+        verify(friendsBatchRepository).acceptInvitations(1L, List.of(20L));
+        verify(friendGraphCache).addFriendship(2L, 1L);
+        verify(friendSuggestionService).onFriendshipChanged(2L, 1L);
+    }
+
+    @Test
+    void acceptInvitations_rowsChangedConcurrently_areNotReportedAsAccepted() {
+        when(friendGraphCache.resolveUserId(user1.getUsername())).thenReturn(Optional.of(user1.getId()));
+        when(userRepository.findSummariesByUsernameIn(anyCollection())).thenReturn(List.of(
+                new UserSummaryDTO(2L, "user2"), new UserSummaryDTO(3L, "user3")));
+        when(friendsRepository.findRowsBetween(eq(1L), anyCollection()))
+                .thenReturn(List.of(
+                        new FriendshipRowDTO(20L, 2L, 1L, FriendshipStatus.PENDING),
+                        new FriendshipRowDTO(30L, 3L, 1L, FriendshipStatus.PENDING)))
+                .thenReturn(List.of(new FriendshipRowDTO(20L, 2L, 1L, FriendshipStatus.ACCEPTED)));
+        when(friendsBatchRepository.acceptInvitations(1L, List.of(20L, 30L))).thenReturn(Set.of());
+
+        List<FriendBatchResultDTO> result = friendService.acceptInvitations("user1", List.of("user2", "user3"));
+
+        assertThat(result).extracting(FriendBatchResultDTO::outcome).containsExactly(
+                Outcome.ALREADY_FRIENDS, Outcome.INVITATION_NOT_FOUND);
+        verify(friendGraphCache, never()).addFriendship(anyLong(), anyLong());
+        verify(friendSuggestionService, never()).onFriendshipChanged(anyLong(), anyLong());
+    }
+
+    @Test
+    void acceptInvitations_nothingToAccept_skipsBatchWrite() {
+        when(friendGraphCache.resolveUserId(user1.getUsername())).thenReturn(Optional.of(user1.getId()));
+        when(userRepository.findSummariesByUsernameIn(anyCollection())).thenReturn(List.of());
+
+        friendService.acceptInvitations("user1", List.of("ghost"));
+
+        verify(friendsBatchRepository, never()).acceptInvitations(anyLong(), anyList());
+    }
 }
@@ -0,0 +1,89 @@
+package com.example.app.services;
+
+import com.example.app.components.FriendGraphCache;
+import com.example.app.dtos.FriendSuggestionDTO;
+import com.example.app.dtos.PlaceProfileDTO;
+import com.example.app.dtos.UserSummaryDTO;
+import com.example.app.repositories.PlaceRepository;
+import com.example.app.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+public class FriendSuggestionServiceTest {
+
+    @Mock
+    private FriendGraphCache friendGraphCache;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private PlaceRepository placeRepository;
+    @Mock
+    private Clock clock;
+
+    @InjectMocks
+    private FriendSuggestionService friendSuggestionService;
+
+    @BeforeEach
+    void setUp() {
+        // user 1 is friends with 2 and 3; 4 is a friend of both, 5 only of 3
+        when(clock.instant()).thenReturn(Instant.parse("2025-06-01T10:00:00Z"));
+        when(friendGraphCache.resolveUserId("user1")).thenReturn(Optional.of(1L));
+        when(friendGraphCache.friendIds(1L)).thenAnswer(invocation -> LongStream.of(2L, 3L));
+        when(friendGraphCache.friendIds(2L)).thenAnswer(invocation -> LongStream.of(1L, 4L));
+        when(friendGraphCache.friendIds(3L)).thenAnswer(invocation -> LongStream.of(1L, 4L, 5L));
+        when(friendGraphCache.areFriends(1L, 2L)).thenReturn(true);
+        when(friendGraphCache.areFriends(1L, 3L)).thenReturn(true);
+        when(userRepository.findSummariesByIdIn(anyCollection())).thenReturn(List.of(
+                new UserSummaryDTO(4L, "user4"),
+                new UserSummaryDTO(5L, "user5")));
+    }
+
+    @Test
+    void getSuggestions_shouldRankByMutualFriendsAndSharedPlaces() {
+        when(placeRepository.findProfilesByUserIds(anyCollection())).thenReturn(List.of(
+                new PlaceProfileDTO(1L, "Park", "Kraków"),
+                new PlaceProfileDTO(5L, "Park", "Kraków")));
+
+        List<FriendSuggestionDTO> suggestions = friendSuggestionService.getSuggestions("user1", 10);
+
+        assertThat(suggestions).extracting(FriendSuggestionDTO::username).containsExactly("user5", "user4");
+        assertThat(suggestions.get(0).mutualFriends()).isEqualTo(1);
+        assertThat(suggestions.get(0).sharedCategories()).isEqualTo(1);
+        assertThat(suggestions.get(0).sharedCities()).isEqualTo(1);
+        assertThat(suggestions.get(1).mutualFriends()).isEqualTo(2);
+    }
+
+    @Test
+    void getSuggestions_shouldServeFromCacheUntilFriendshipChanges() {
+        when(placeRepository.findProfilesByUserIds(anyCollection())).thenReturn(List.of());
+
+        friendSuggestionService.getSuggestions("user1", 10);
+        friendSuggestionService.getSuggestions("user1", 1);
+        verify(placeRepository, times(1)).findProfilesByUserIds(anyCollection());
+
+        friendSuggestionService.onFriendshipChanged(2L, 4L);
+        friendSuggestionService.getSuggestions("user1", 10);
+        verify(placeRepository, times(2)).findProfilesByUserIds(anyCollection());
+    }
+
+    @Test
+    void getSuggestions_invalidLimit_shouldThrowException() {
+        assertThatThrownBy(() -> friendSuggestionService.getSuggestions("user1", 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.app.services;
+
+import com.example.app.components.PlaceImportParser;
+import com.example.app.components.UserRoleCache;
+import com.example.app.dtos.CreatePlaceDTO;
+import com.example.app.dtos.ExportFormat;
+import com.example.app.dtos.ImportFormat;
+import com.example.app.dtos.PlaceDTO;
+import com.example.app.dtos.PlaceImportRowDTO;
+import com.example.app.entities.Role;
+import com.example.app.entities.RoleName;
+import com.example.app.entities.User;
+import com.example.app.repositories.RoleRepository;
+import com.example.app.repositories.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class PlaceExportServiceTest {
+
+    @Autowired
+    private PlaceExportService placeExportService;
+    @Autowired
+    private PlaceService placeService;
+    @Autowired
+    private PlaceImportParser placeImportParser;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserRoleCache userRoleCache;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User owner;
+    private User friend;
+
+    @BeforeEach
+    void setUp() {
+        owner = createUser("exportOwner");
+        friend = createUser("exportFriend");
+        placeService.save(owner.getUsername(), new CreatePlaceDTO("exportPalmiarnia", "Park", 52.4069, 16.8993,
+                "ul. Matejki 18, Poznań", "Szklarnie, \"tropiki\"", false));
+        placeService.save(owner.getUsername(), new CreatePlaceDTO("exportFara", "Zabytek", 52.4065, 16.9337,
+                "ul. Gołębia 1, Poznań", null, true));
+        PlaceDTO shared = placeService.save(friend.getUsername(), new CreatePlaceDTO("exportCytadela", "Park", 52.4200, 16.9400,
+                "al. Armii Poznań, Poznań", null, true));
+        placeService.share(friend.getUsername(), owner.getUsername(), shared.id());
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (User user : List.of(owner, friend)) {
+            jdbcTemplate.update("DELETE FROM shared_with WHERE user_id = ?", user.getId());
+            jdbcTemplate.update("DELETE FROM user_place_stats WHERE user_id = ?", user.getId());
+        }
+        for (User user : List.of(owner, friend)) {
+            jdbcTemplate.update("DELETE FROM places WHERE user_id = ?", user.getId());
+            jdbcTemplate.update("DELETE FROM user_roles WHERE user_id = ?", user.getId());
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+        }
+        // the users are deleted behind UserService, so their cached ids must go too
+        userRoleCache.evictAll();
+    }
+
+    @Test
+    void geoJsonExport_containsOwnPlacesThenSharedOnes() throws IOException {
+        JsonNode document = objectMapper.readTree(export(ExportFormat.GEOJSON, false));
+
+        assertThat(document.path("type").asText()).isEqualTo("FeatureCollection");
+        JsonNode features = document.path("features");
+        assertThat(features).hasSize(3);
+        assertThat(features.get(0).path("properties").path("name").asText()).isEqualTo("exportPalmiarnia");
+        assertThat(features.get(0).path("geometry").path("coordinates").get(0).asDouble()).isEqualTo(16.8993);
+        assertThat(features.get(0).path("properties").path("shared").asBoolean()).isFalse();
+        assertThat(features.get(2).path("properties").path("name").asText()).isEqualTo("exportCytadela");
+        assertThat(features.get(2).path("properties").path("shared").asBoolean()).isTrue();
+    }
+
+    @Test
+    void ndjsonExport_writesOneObjectPerLine() throws IOException {
+        String[] lines = new String(export(ExportFormat.NDJSON, false), StandardCharsets.UTF_8).split("\n");
+
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readTree(lines[1]).path("name").asText()).isEqualTo("exportFara");
+        assertThat(objectMapper.readTree(lines[1]).path("latitude").asDouble()).isEqualTo(52.4065);
+    }
+
+    @Test
+    void gzippedCsvExport_canBeReadBackByTheImporter() throws IOException {
+        byte[] compressed = export(ExportFormat.CSV, true);
+        List<PlaceImportRowDTO> rows = new ArrayList<>();
+        placeImportParser.parse(new GZIPInputStream(new ByteArrayInputStream(compressed)), ImportFormat.CSV,
+                new PlaceImportParser.Listener() {
+                    @Override
+                    public void onRow(PlaceImportRowDTO row) {
+                        rows.add(row);
+                    }
+
+                    @Override
+                    public void onInvalid(long line, String reason) {
+                        throw new AssertionError(reason);
+                    }
+                });
+
+        assertThat(rows).extracting(PlaceImportRowDTO::name)
+                .containsExactly("exportPalmiarnia", "exportFara", "exportCytadela");
+        assertThat(rows.get(0).note()).isEqualTo("Szklarnie, \"tropiki\"");
+        assertThat(rows.get(0).isPublic()).isFalse();
+        assertThat(rows.get(1).category()).isEqualTo("Zabytek");
+    }
+
+    private byte[] export(ExportFormat format, boolean gzip) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        placeExportService.export(owner.getUsername(), format, gzip, out);
+        return out.toByteArray();
+    }
+
+    private User createUser(String username) {
+        Role role = roleRepository.findByName(RoleName.PREMIUM_USER).orElseThrow();
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        Set<Role> roles = new HashSet<>();
+        roles.add(role);
+        user.setRoles(roles);
+        return userRepository.save(user);
+    }
+}
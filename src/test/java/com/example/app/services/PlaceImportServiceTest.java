@@ -0,0 +1,267 @@
+package com.example.app.services;
+
+import com.example.app.components.PlaceImportJob;
+import com.example.app.components.PlaceImportJobs;
+import com.example.app.dtos.CreatePlaceDTO;
+import com.example.app.dtos.ExportFormat;
+import com.example.app.dtos.ImportFormat;
+import com.example.app.dtos.ImportJobDTO;
+import com.example.app.dtos.ImportJobStatus;
+import com.example.app.dtos.PlaceStatsDTO;
+import com.example.app.entities.Role;
+import com.example.app.entities.RoleName;
+import com.example.app.entities.User;
+import com.example.app.exception.ImportAlreadyRunningException;
+import com.example.app.exception.ImportJobNotFoundException;
+import com.example.app.repositories.RoleRepository;
+import com.example.app.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.anyString;
+
+@SpringBootTest
+public class PlaceImportServiceTest {
+
+    @Autowired
+    private PlaceImportService placeImportService;
+    @Autowired
+    private PlaceService placeService;
+    @Autowired
+    private PlaceStatsService placeStatsService;
+    @Autowired
+    private PlaceExportService placeExportService;
+    @Autowired
+    private PlaceImportJobs placeImportJobs;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockitoBean
+    private GoogleMapsService googleMapsService;
+
+    private final List<User> users = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        for (User user : users) {
+            jdbcTemplate.update("DELETE FROM user_place_stats WHERE user_id = ?", user.getId());
+            jdbcTemplate.update("DELETE FROM places WHERE user_id = ?", user.getId());
+            jdbcTemplate.update("DELETE FROM user_roles WHERE user_id = ?", user.getId());
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+        }
+    }
+
+    @Test
+    void csvImport_freeUserStopsAtPlanLimitAndReportsSkippedRows() throws Exception {
+        User user = createUser("importFree", RoleName.FREE_USER);
+        StringBuilder csv = new StringBuilder("name,category,latitude,longitude,address\n");
+        for (int i = 1; i <= 13; i++) {
+            csv.append("importFree").append(i).append(",Park,52.").append(i).append(",16.9,Poznań\n");
+        }
+        csv.append("importFree1,Park,52.1,16.9,Poznań\n");
+        csv.append("importFreeFar,Park,95,16.9,Poznań\n");
+        csv.append("importFreeOdd,Nieznana,52.1,16.9,Poznań\n");
+
+        ImportJobDTO job = awaitFinished(user, placeImportService.startImport(user.getUsername(), csvFile(csv.toString()), null, null));
+
+        assertThat(job.status()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(job.rowsRead()).isEqualTo(16);
+        assertThat(job.imported()).isEqualTo(10);
+        assertThat(job.overLimit()).isEqualTo(3);
+        assertThat(job.duplicates()).isEqualTo(1);
+        assertThat(job.invalid()).isEqualTo(2);
+        assertThat(job.errors()).hasSize(2);
+        assertThat(placeCount(user)).isEqualTo(10);
+        assertThat(countPlaces(user)).isEqualTo(10);
+        assertThat(placeStatsService.getStats(user.getUsername()).totalPlaces()).isEqualTo(10);
+        verify(googleMapsService, never()).geocodeAddress(anyString());
+    }
+
+    @Test
+    void csvImport_freeUserOnlyGeocodesAddressesItHasSlotsFor() throws Exception {
+        User user = createUser("importFreeAddr", RoleName.FREE_USER);
+        placeService.save(user.getUsername(),
+                new CreatePlaceDTO("importFreeAddrOwned", "Park", 52.4, 16.9, "Poznań", null, true));
+        when(googleMapsService.geocodeAddress(anyString()))
+                .thenReturn(Optional.of(new GoogleMapsService.GeoResult(52.4, 16.9, "Poznań", "Poznań", "Polska")));
+        StringBuilder csv = new StringBuilder("name,category,address\n");
+        for (int i = 1; i <= 12; i++) {
+            csv.append("importFreeAddr").append(i).append(",Park,ul. Testowa ").append(i).append(" Poznań\n");
+        }
+
+        ImportJobDTO job = awaitFinished(user, placeImportService.startImport(user.getUsername(), csvFile(csv.toString()), null, null));
+
+        assertThat(job.status()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(job.imported()).isEqualTo(9);
+        assertThat(job.overLimit()).isEqualTo(3);
+        assertThat(job.geocoded()).isEqualTo(9);
+        verify(googleMapsService, times(9)).geocodeAddress(anyString());
+        assertThat(placeCount(user)).isEqualTo(10);
+    }
+
+    @Test
+    void secondImport_isRejectedWhileTheFirstIsRunning() {
+        User user = createUser("importBusy", RoleName.PREMIUM_USER);
+        PlaceImportJob running = placeImportJobs.create(user.getUsername(), ImportFormat.CSV, "first.csv");
+        try {
+            assertThatThrownBy(() -> placeImportService.startImport(user.getUsername(),
+                    csvFile("name,category,latitude,longitude\nimportBusy1,Park,52.4,16.9\n"), null, null))
+                    .isInstanceOf(ImportAlreadyRunningException.class);
+        } finally {
+            running.finish(ImportJobStatus.COMPLETED, OffsetDateTime.now());
+        }
+    }
+
+    @Test
+    void geoJsonImport_skipsTakenNamesAndGeocodesMissingDataInBackground() throws Exception {
+        User user = createUser("importPremium", RoleName.PREMIUM_USER);
+        placeService.save(user.getUsername(),
+                new CreatePlaceDTO("importTaken", "Park", 52.4, 16.9, "Poznań", null, true));
+        when(googleMapsService.geocodeAddress("ul. Gołębia 1, Poznań"))
+                .thenReturn(Optional.of(new GoogleMapsService.GeoResult(52.4065, 16.9337, "ul. Gołębia 1, Poznań", "Poznań", "Polska")));
+        when(googleMapsService.geocodeAddress("nigdzie"))
+                .thenReturn(Optional.empty());
+        when(googleMapsService.reverseGeocode(52.4069, 16.8993))
+                .thenReturn(Optional.of(new GoogleMapsService.GeoResult(52.4069, 16.8993, "ul. Matejki 18, Poznań", "Poznań", "Polska")));
+
+        String geoJson = """
+                {"type": "FeatureCollection", "features": [
+                  {"type": "Feature", "geometry": {"type": "Point", "coordinates": [16.8993, 52.4069]},
+                   "properties": {"name": "importPalmiarnia"}},
+                  {"type": "Feature", "properties": {"location": {"name": "importFara", "address": "ul. Gołębia 1, Poznań"}}},
+                  {"type": "Feature", "properties": {"location": {"name": "importNigdzie", "address": "nigdzie"}}},
+                  {"type": "Feature", "geometry": {"type": "Point", "coordinates": [16.9, 52.4]},
+                   "properties": {"name": "importTaken", "address": "Poznań"}}
+                ]}
+                """;
+        MockMultipartFile file = new MockMultipartFile("file", "Saved Places.json", "application/json",
+                geoJson.getBytes(StandardCharsets.UTF_8));
+
+        ImportJobDTO job = awaitFinished(user, placeImportService.startImport(user.getUsername(), file, null, "Zabytek"));
+
+        assertThat(job.status()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(job.imported()).isEqualTo(2);
+        assertThat(job.duplicates()).isEqualTo(1);
+        assertThat(job.geocoded()).isEqualTo(2);
+        assertThat(job.geocodingFailed()).isEqualTo(1);
+        assertThat(job.geocodingPending()).isZero();
+        assertThat(placeCount(user)).isEqualTo(3);
+
+        Map<String, Object> palmiarnia = jdbcTemplate.queryForMap(
+                "SELECT address, city FROM places WHERE name = 'importPalmiarnia'");
+        assertThat(palmiarnia.get("address")).isEqualTo("ul. Matejki 18, Poznań");
+        assertThat(palmiarnia.get("city")).isEqualTo("Poznań");
+
+        PlaceStatsDTO stats = placeStatsService.getStats(user.getUsername());
+        assertThat(stats.totalPlaces()).isEqualTo(3);
+        assertThat(stats.byCategory()).containsEntry("Zabytek", 2L);
+        assertThat(stats.byCity()).containsEntry("Poznań", 2L);
+    }
+
+    @Test
+    void csvExport_importedBack_keepsCityAndCountry() throws Exception {
+        User user = createUser("importRoundTrip", RoleName.PREMIUM_USER);
+        when(googleMapsService.reverseGeocode(52.4083, 16.9335))
+                .thenReturn(Optional.of(new GoogleMapsService.GeoResult(52.4083, 16.9335, "Stary Rynek 1, Poznań", "Poznań", "Polska")));
+        placeService.save(user.getUsername(),
+                new CreatePlaceDTO("importRynek", "Zabytek", 52.4083, 16.9335, null, null, true));
+        placeService.save(user.getUsername(),
+                new CreatePlaceDTO("importBezMiasta", "Park", 52.4, 16.9, "Poznań", null, true));
+        jdbcTemplate.update("UPDATE places SET city = NULL, country = NULL WHERE name = 'importBezMiasta'");
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        placeExportService.export(user.getUsername(), ExportFormat.CSV, false, exported);
+        jdbcTemplate.update("DELETE FROM places WHERE user_id = ?", user.getId());
+
+        MockMultipartFile file = new MockMultipartFile("file", "places.csv", "text/csv", exported.toByteArray());
+        ImportJobDTO job = awaitFinished(user, placeImportService.startImport(user.getUsername(), file, null, null));
+
+        assertThat(job.status()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(job.imported()).isEqualTo(2);
+        Map<String, Object> rynek = jdbcTemplate.queryForMap("SELECT address, city, country FROM places WHERE name = 'importRynek'");
+        assertThat(rynek.get("address")).isEqualTo("Stary Rynek 1, Poznań");
+        assertThat(rynek.get("city")).isEqualTo("Poznań");
+        assertThat(rynek.get("country")).isEqualTo("Polska");
+        Map<String, Object> withoutCity = jdbcTemplate.queryForMap("SELECT city, country FROM places WHERE name = 'importBezMiasta'");
+        assertThat(withoutCity.get("city")).isNull();
+        assertThat(withoutCity.get("country")).isNull();
+    }
+
+    @Test
+    void importJobs_areOnlyVisibleToTheirOwner() throws Exception {
+        User owner = createUser("importOwner", RoleName.PREMIUM_USER);
+        User other = createUser("importOther", RoleName.PREMIUM_USER);
+        ImportJobDTO job = awaitFinished(owner, placeImportService.startImport(owner.getUsername(),
+                csvFile("name,category,latitude,longitude,address\nimportOwned,Park,52.4,16.9,Poznań\n"), null, null));
+
+        assertThatThrownBy(() -> placeImportService.getJob(other.getUsername(), job.id()))
+                .isInstanceOf(ImportJobNotFoundException.class);
+    }
+
+    @Test
+    void unsupportedFile_isRejectedBeforeAJobStarts() {
+        User user = createUser("importBadFile", RoleName.PREMIUM_USER);
+        MockMultipartFile file = new MockMultipartFile("file", "places.xlsx", "application/octet-stream", new byte[]{1, 2, 3});
+
+        assertThatThrownBy(() -> placeImportService.startImport(user.getUsername(), file, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private ImportJobDTO awaitFinished(User user, ImportJobDTO started) throws InterruptedException {
+        ImportJobDTO job = started;
+        for (int i = 0; i < 200 && job.status() != ImportJobStatus.COMPLETED && job.status() != ImportJobStatus.FAILED; i++) {
+            Thread.sleep(50);
+            job = placeImportService.getJob(user.getUsername(), started.id());
+        }
+        return job;
+    }
+
+    private MockMultipartFile csvFile(String content) {
+        return new MockMultipartFile("file", "places.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private int placeCount(User user) {
+        return jdbcTemplate.queryForObject("SELECT place_count FROM users WHERE id = ?", Integer.class, user.getId());
+    }
+
+    private int countPlaces(User user) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM places WHERE user_id = ?", Integer.class, user.getId());
+    }
+
+    private User createUser(String username, RoleName roleName) {
+        Role role = roleRepository.findByName(roleName).orElseThrow();
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        Set<Role> roles = new HashSet<>();
+        roles.add(role);
+        user.setRoles(roles);
+        user = userRepository.save(user);
+        users.add(user);
+        return user;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.app.services;
+
+import com.example.app.components.UserRoleCache;
+import com.example.app.dtos.CreatePlaceDTO;
+import com.example.app.entities.Role;
+import com.example.app.entities.RoleName;
+import com.example.app.entities.User;
+import com.example.app.exception.PlaceLimitExceededException;
+import com.example.app.repositories.RoleRepository;
+import com.example.app.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class PlaceLimitConcurrencyTest {
+
+    private static final int FREE_USER_PLACE_LIMIT = 10;
+    private static final int PARALLEL_CREATES = 5;
+
+    @Autowired
+    private PlaceService placeService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserRoleCache userRoleCache;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        Role freeRole = roleRepository.findByName(RoleName.FREE_USER).orElseThrow();
+        User newUser = new User();
+        newUser.setUsername("limitUser");
+        newUser.setEmail("limitUser@example.com");
+        newUser.setPassword("password");
+        Set<Role> roles = new HashSet<>();
+        roles.add(freeRole);
+        newUser.setRoles(roles);
+        user = userRepository.save(newUser);
+
+        jdbcTemplate.update("UPDATE users SET place_count = ? WHERE id = ?", FREE_USER_PLACE_LIMIT - 1, user.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM places WHERE user_id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM user_roles WHERE user_id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+        // the users are deleted behind UserService, so their cached ids must go too
+        userRoleCache.evictAll();
+    }
+
+    @Test
+    void parallelCreatesAtLimitBoundary_shouldAcceptExactlyOne() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(PARALLEL_CREATES);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < PARALLEL_CREATES; i++) {
+            CreatePlaceDTO dto = new CreatePlaceDTO("limitPlace" + i, "Park", 52.2297, 21.0122, "Warszawa", null, true);
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    placeService.save(user.getUsername(), dto);
+                    created.incrementAndGet();
+                } catch (PlaceLimitExceededException ex) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        Integer placeCount = jdbcTemplate.queryForObject("SELECT place_count FROM users WHERE id = ?", Integer.class, user.getId());
+        Integer storedPlaces = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM places WHERE user_id = ?", Integer.class, user.getId());
+
+        assertThat(created.get()).isEqualTo(1);
+        assertThat(rejected.get()).isEqualTo(PARALLEL_CREATES - 1);
+        assertThat(placeCount).isEqualTo(FREE_USER_PLACE_LIMIT);
+        assertThat(storedPlaces).isEqualTo(1);
+    }
+}
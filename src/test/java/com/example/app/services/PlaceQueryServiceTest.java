@@ -0,0 +1,160 @@
+package com.example.app.services;
+
+import com.example.app.components.PlaceQueryCache;
+import com.example.app.dtos.PlaceDTO;
+import com.example.app.dtos.PlaceQueryFilter;
+import com.example.app.dtos.PlaceQueryResultDTO;
+import com.example.app.entities.Place;
+import com.example.app.entities.Role;
+import com.example.app.entities.RoleName;
+import com.example.app.entities.User;
+import com.example.app.events.PlaceChangedEvent;
+import com.example.app.repositories.CategoryRepository;
+import com.example.app.repositories.PlaceRepository;
+import com.example.app.repositories.RoleRepository;
+import com.example.app.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+public class PlaceQueryServiceTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.parse("2025-05-01T12:00:00Z");
+
+    @Autowired
+    private PlaceQueryService placeQueryService;
+    @Autowired
+    private PlaceQueryCache placeQueryCache;
+    @Autowired
+    private PlaceRepository placeRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        Role freeRole = roleRepository.findByName(RoleName.FREE_USER).orElseThrow();
+        User newUser = new User();
+        newUser.setUsername("queryUser");
+        newUser.setEmail("queryUser@example.com");
+        newUser.setPassword("password");
+        Set<Role> roles = new HashSet<>();
+        roles.add(freeRole);
+        newUser.setRoles(roles);
+        user = userRepository.save(newUser);
+
+        save("Palmiarnia", "Park", "Poznań", "Polska", 52.4069, 16.8993, true, NOW.minusDays(30), "szklarnie");
+        save("Park Cytadela", "Park", "Poznań", "Polska", 52.4236, 16.9370, false, NOW.minusDays(3), null);
+        save("Łazienki Królewskie", "Park", "Warszawa", "Polska", 52.2150, 21.0355, true, NOW.minusDays(2), null);
+        save("Tiergarten", "Park", "Berlin", "Niemcy", 52.5145, 13.3501, true, NOW.minusDays(1), "100% zieleni");
+    }
+
+    @AfterEach
+    void tearDown() {
+        placeQueryCache.evictUser(user.getUsername());
+        jdbcTemplate.update("DELETE FROM places WHERE user_id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM user_roles WHERE user_id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+    }
+
+    @Test
+    void query_withoutFilters_returnsNewestFirstWithFacets() {
+        PlaceQueryResultDTO result = placeQueryService.query(user.getUsername(), filter(null, null, null, null, null, null));
+
+        assertThat(result.places()).extracting(PlaceDTO::name)
+                .containsExactly("Tiergarten", "Łazienki Królewskie", "Park Cytadela", "Palmiarnia");
+        assertThat(result.total()).isEqualTo(4);
+        assertThat(result.categories()).containsExactly(Map.entry("Park", 4L));
+        assertThat(result.cities()).containsExactly(
+                Map.entry("Poznań", 2L), Map.entry("Berlin", 1L), Map.entry("Warszawa", 1L));
+        assertThat(result.countries()).containsEntry("Polska", 3L).containsEntry("Niemcy", 1L);
+    }
+
+    @Test
+    void query_combinesCountryVisibilityAndDateRange() {
+        PlaceQueryFilter filter = new PlaceQueryFilter(null, null, "polska", true, NOW.minusDays(10), NOW,
+                null, null, null, null, 100);
+
+        PlaceQueryResultDTO result = placeQueryService.query(user.getUsername(), filter);
+
+        assertThat(result.places()).extracting(PlaceDTO::name).containsExactly("Łazienki Królewskie");
+        assertThat(result.cities()).containsOnlyKeys("Warszawa");
+    }
+
+    @Test
+    void query_textMatchesNoteAndEscapesWildcards() {
+        assertThat(placeQueryService.query(user.getUsername(), filter("100%", null, null, null, null, null)).places())
+                .extracting(PlaceDTO::name).containsExactly("Tiergarten");
+        assertThat(placeQueryService.query(user.getUsername(), filter("SZKLARNIE", null, null, null, null, null)).places())
+                .extracting(PlaceDTO::name).containsExactly("Palmiarnia");
+    }
+
+    @Test
+    void query_radiusFilterKeepsOnlyNearbyPlaces() {
+        PlaceQueryResultDTO result = placeQueryService.query(user.getUsername(),
+                filter(null, null, null, 52.4082, 16.9335, 5.0));
+
+        assertThat(result.places()).extracting(PlaceDTO::name).containsExactlyInAnyOrder("Palmiarnia", "Park Cytadela");
+        assertThat(result.total()).isEqualTo(2);
+    }
+
+    @Test
+    void query_isCachedUntilNextPlaceChange() {
+        PlaceQueryFilter filter = filter(null, "Park", null, null, null, null);
+        PlaceQueryResultDTO first = placeQueryService.query(user.getUsername(), filter);
+
+        Place added = save("Ogród Botaniczny", "Park", "Poznań", "Polska", 52.4166, 16.8787, true, NOW, null);
+        assertThat(placeQueryService.query(user.getUsername(), filter)).isSameAs(first);
+
+        placeQueryCache.onPlaceChanged(PlaceChangedEvent.created(user.getId(), user.getUsername(), new PlaceDTO(
+                added.getId(), added.getName(), "Park", added.getLatitude(), added.getLongitude(), null,
+                added.getCountry(), added.getCity(), null, added.getPostDate(), added.isPublic())));
+
+        assertThat(placeQueryService.query(user.getUsername(), filter).total()).isEqualTo(5);
+    }
+
+    @Test
+    void query_partialGeoFilter_throwsIllegalArgument() {
+        assertThatThrownBy(() -> placeQueryService.query(user.getUsername(), filter(null, null, null, 52.4, 16.9, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private PlaceQueryFilter filter(String text, String category, String city, Double latitude, Double longitude, Double radiusKm) {
+        return new PlaceQueryFilter(category, city, null, null, null, null, text, latitude, longitude, radiusKm, 100);
+    }
+
+    private Place save(String name, String category, String city, String country, double latitude, double longitude,
+                       boolean isPublic, OffsetDateTime postDate, String note) {
+        Place place = new Place();
+        place.setName(name);
+        place.setCategory(categoryRepository.findByName(category).orElseThrow());
+        place.setCity(city);
+        place.setCountry(country);
+        place.setLatitude(latitude);
+        place.setLongitude(longitude);
+        place.setPublic(isPublic);
+        place.setPostDate(postDate);
+        place.setNote(note);
+        place.setUser(user);
+        return placeRepository.save(place);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.app.services;
+
+import com.example.app.components.PlaceIndexOperation;
+import com.example.app.dtos.PlaceDTO;
+import com.example.app.exception.SearchUnavailableException;
+import com.example.app.repositories.UserRepository;
+import com.example.app.support.InMemoryPlaceSearchClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+public class PlaceSearchServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private InMemoryPlaceSearchClient searchClient;
+    private PlaceSearchService placeSearchService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        searchClient = new InMemoryPlaceSearchClient();
+        placeSearchService = new PlaceSearchService(Optional.of(searchClient), userRepository);
+        when(userRepository.findIdByUsername("user")).thenReturn(Optional.of(7L));
+
+        searchClient.bulk(List.of(
+                PlaceIndexOperation.index(7L, place(1L, "Kawiarnia Pod Arkadami", "Restauracja", 52.41, 16.93)),
+                PlaceIndexOperation.index(7L, place(2L, "Kawiarnia Molo", "Restauracja", 54.44, 18.57)),
+                PlaceIndexOperation.index(7L, place(3L, "Palmiarnia", "Natura", 52.40, 16.89)),
+                PlaceIndexOperation.index(8L, place(4L, "Kawiarnia Obca", "Restauracja", 52.41, 16.93))));
+    }
+
+    @Test
+    void search_filtersByTextCategoryAndRadius() {
+        List<PlaceDTO> result = placeSearchService.search("user", "kawiarnia", "Restauracja", 52.40, 16.92, 10.0, 20);
+
+        assertThat(result).extracting(PlaceDTO::id).containsExactly(1L);
+    }
+
+    @Test
+    void search_onlyReturnsCallersPlaces() {
+        List<PlaceDTO> result = placeSearchService.search("user", "kawiarnia", null, null, null, null, 20);
+
+        assertThat(result).extracting(PlaceDTO::id).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void search_partialGeoFilter_throwsIllegalArgument() {
+        assertThatThrownBy(() -> placeSearchService.search("user", null, null, 52.4, null, 5.0, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void search_limitOutOfRange_throwsIllegalArgument() {
+        assertThatThrownBy(() -> placeSearchService.search("user", "park", null, null, null, null, 101))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void search_withoutSearchClient_throwsSearchUnavailable() {
+        PlaceSearchService disabled = new PlaceSearchService(Optional.empty(), userRepository);
+
+        assertThatThrownBy(() -> disabled.search("user", "park", null, null, null, null, 20))
+                .isInstanceOf(SearchUnavailableException.class);
+    }
+
+    private static PlaceDTO place(Long id, String name, String category, double latitude, double longitude) {
+        return new PlaceDTO(id, name, category, latitude, longitude, null, "Polska", null, null, OffsetDateTime.now(), false);
+    }
+}
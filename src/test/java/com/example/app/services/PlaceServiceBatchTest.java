@@ -0,0 +1,196 @@
+package com.example.app.services;
+
+import com.example.app.dtos.CreatePlaceDTO;
+import com.example.app.dtos.PlaceBatchAction;
+import com.example.app.dtos.PlaceBatchOperationDTO;
+import com.example.app.dtos.PlaceBatchResultDTO;
+import com.example.app.dtos.PlaceBatchResultDTO.Outcome;
+import com.example.app.dtos.PlaceDTO;
+import com.example.app.dtos.UpdatePlaceDTO;
+import com.example.app.entities.Role;
+import com.example.app.entities.RoleName;
+import com.example.app.entities.User;
+import com.example.app.repositories.RoleRepository;
+import com.example.app.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class PlaceServiceBatchTest {
+
+    @Autowired
+    private PlaceService placeService;
+    @Autowired
+    private PlaceStatsService placeStatsService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockitoBean
+    private GoogleMapsService googleMapsService;
+
+    private final List<User> users = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        for (User user : users) {
+            jdbcTemplate.update("DELETE FROM place_tombstones WHERE user_id = ?", user.getId());
+            jdbcTemplate.update("DELETE FROM user_place_stats WHERE user_id = ?", user.getId());
+            jdbcTemplate.update("DELETE FROM places WHERE user_id = ?", user.getId());
+            jdbcTemplate.update("DELETE FROM user_roles WHERE user_id = ?", user.getId());
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+        }
+    }
+
+    @Test
+    void mixedBatch_appliesEachOperationAndReportsFailuresInRequestOrder() {
+        User user = createUser("batchMixed", RoleName.PREMIUM_USER);
+        PlaceDTO kept = placeService.save(user.getUsername(), place("batchKept", "Park"));
+        PlaceDTO removed = placeService.save(user.getUsername(), place("batchRemoved", "Park"));
+
+        List<PlaceBatchResultDTO> results = placeService.applyBatch(user.getUsername(), List.of(
+                create(place("batchNew", "Muzeum")),
+                update(kept.id(), new UpdatePlaceDTO("batchRenamed", "Zabytek", 0, 0, null, "odnowione")),
+                delete(removed.id()),
+                create(place("batchKept", "Park")),
+                create(place("batchOdd", "Nieznana")),
+                delete(999_999L),
+                create(new CreatePlaceDTO("batchNowhere", "Park", 0, 0, "nigdzie", null, true))
+        ));
+
+        assertThat(results).extracting(PlaceBatchResultDTO::outcome).containsExactly(
+                Outcome.CREATED, Outcome.UPDATED, Outcome.DELETED, Outcome.CREATED,
+                Outcome.CATEGORY_NOT_FOUND, Outcome.NOT_FOUND, Outcome.INVALID);
+        assertThat(results).extracting(PlaceBatchResultDTO::index).containsExactly(0, 1, 2, 3, 4, 5, 6);
+        assertThat(results.get(0).place().category()).isEqualTo("Muzeum");
+        assertThat(results.get(1).place().name()).isEqualTo("batchRenamed");
+        assertThat(results.get(1).place().note()).isEqualTo("odnowione");
+
+        assertThat(placeService.findAll(user.getUsername()))
+                .extracting(PlaceDTO::name)
+                .containsExactlyInAnyOrder("batchNew", "batchRenamed", "batchKept");
+        assertThat(placeCount(user)).isEqualTo(3);
+        assertThat(placeStatsService.getStats(user.getUsername()).totalPlaces()).isEqualTo(3);
+        assertThat(placeStatsService.getStats(user.getUsername()).byCategory())
+                .containsEntry("Zabytek", 1L)
+                .containsEntry("Muzeum", 1L)
+                .containsEntry("Park", 1L);
+    }
+
+    @Test
+    void freeUserBatch_createsUpToThePlanLimitCountingDeletes() {
+        User user = createUser("batchFree", RoleName.FREE_USER);
+        List<PlaceDTO> existing = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            existing.add(placeService.save(user.getUsername(), place("batchFree" + i, "Park")));
+        }
+
+        List<PlaceBatchOperationDTO> operations = new ArrayList<>();
+        operations.add(delete(existing.get(0).id()));
+        for (int i = 0; i < 5; i++) {
+            operations.add(create(place("batchFreeNew" + i, "Park")));
+        }
+        operations.add(create(place("batchFree1", "Park")));
+
+        List<PlaceBatchResultDTO> results = placeService.applyBatch(user.getUsername(), operations);
+
+        assertThat(results).extracting(PlaceBatchResultDTO::outcome).containsExactly(
+                Outcome.DELETED, Outcome.CREATED, Outcome.CREATED, Outcome.CREATED,
+                Outcome.LIMIT_EXCEEDED, Outcome.LIMIT_EXCEEDED, Outcome.ALREADY_EXISTS);
+        assertThat(placeCount(user)).isEqualTo(10);
+        assertThat(countPlaces(user)).isEqualTo(10);
+    }
+
+    @Test
+    void nameFreedByDeleteOrRename_canBeReusedInTheSameBatch() {
+        User user = createUser("batchReuse", RoleName.PREMIUM_USER);
+        PlaceDTO deleted = placeService.save(user.getUsername(), place("batchReuseA", "Park"));
+        PlaceDTO renamed = placeService.save(user.getUsername(), place("batchReuseB", "Park"));
+
+        List<PlaceBatchResultDTO> results = placeService.applyBatch(user.getUsername(), List.of(
+                create(place("batchReuseA", "Kino")),
+                create(place("batchReuseB", "Kino")),
+                delete(deleted.id()),
+                update(renamed.id(), new UpdatePlaceDTO("batchReuseC", null, 0, 0, null, null))
+        ));
+
+        assertThat(results).extracting(PlaceBatchResultDTO::outcome).containsExactly(
+                Outcome.CREATED, Outcome.CREATED, Outcome.DELETED, Outcome.UPDATED);
+        assertThat(placeService.findAll(user.getUsername()))
+                .extracting(PlaceDTO::name)
+                .containsExactlyInAnyOrder("batchReuseA", "batchReuseB", "batchReuseC");
+        assertThat(placeCount(user)).isEqualTo(3);
+    }
+
+    @Test
+    void nameOwnedByAnotherUser_isReportedPerItem() {
+        User other = createUser("batchOther", RoleName.PREMIUM_USER);
+        placeService.save(other.getUsername(), place("batchOthers", "Park"));
+        User user = createUser("batchClash", RoleName.PREMIUM_USER);
+        PlaceDTO mine = placeService.save(user.getUsername(), place("batchMine", "Park"));
+
+        List<PlaceBatchResultDTO> results = placeService.applyBatch(user.getUsername(), List.of(
+                create(place("batchOthers", "Kino")),
+                update(mine.id(), new UpdatePlaceDTO("batchOthers", null, 0, 0, null, null)),
+                create(place("batchFresh", "Kino"))
+        ));
+
+        assertThat(results).extracting(PlaceBatchResultDTO::outcome).containsExactly(
+                Outcome.ALREADY_EXISTS, Outcome.ALREADY_EXISTS, Outcome.CREATED);
+        assertThat(placeService.findAll(user.getUsername()))
+                .extracting(PlaceDTO::name)
+                .containsExactlyInAnyOrder("batchMine", "batchFresh");
+        assertThat(placeCount(user)).isEqualTo(2);
+    }
+
+    private static CreatePlaceDTO place(String name, String category) {
+        return new CreatePlaceDTO(name, category, 52.4, 16.9, "Poznań", null, true);
+    }
+
+    private static PlaceBatchOperationDTO create(CreatePlaceDTO place) {
+        return new PlaceBatchOperationDTO(PlaceBatchAction.CREATE, null, place, null);
+    }
+
+    private static PlaceBatchOperationDTO update(Long id, UpdatePlaceDTO changes) {
+        return new PlaceBatchOperationDTO(PlaceBatchAction.UPDATE, id, null, changes);
+    }
+
+    private static PlaceBatchOperationDTO delete(Long id) {
+        return new PlaceBatchOperationDTO(PlaceBatchAction.DELETE, id, null, null);
+    }
+
+    private int placeCount(User user) {
+        return jdbcTemplate.queryForObject("SELECT place_count FROM users WHERE id = ?", Integer.class, user.getId());
+    }
+
+    private int countPlaces(User user) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM places WHERE user_id = ?", Integer.class, user.getId());
+    }
+
+    private User createUser(String username, RoleName roleName) {
+        Role role = roleRepository.findByName(roleName).orElseThrow();
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        Set<Role> roles = new HashSet<>();
+        roles.add(role);
+        user.setRoles(roles);
+        user = userRepository.save(user);
+        users.add(user);
+        return user;
+    }
+}
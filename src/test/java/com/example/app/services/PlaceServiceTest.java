@@ -1,18 +1,26 @@
 package com.example.app.services;
 
+import com.example.app.components.CategoryDictionary;
+import com.example.app.components.PlaceSuggestionIndex;
+import com.example.app.components.PlaceListCache;
+import com.example.app.components.UserRoleCache;
 import com.example.app.dtos.CreatePlaceDTO;
 import com.example.app.dtos.PlaceDTO;
 import com.example.app.dtos.UpdatePlaceDTO;
 import com.example.app.entities.*;
+import com.example.app.events.PlaceChangedEvent;
+import com.example.app.events.PlaceSharedEvent;
 import com.example.app.exception.*;
-import com.example.app.repositories.CategoryRepository;
 import com.example.app.repositories.PlaceRepository;
 import com.example.app.repositories.UserRepository;
 import org.assertj.core.api.AssertionsForClassTypes;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Clock;
 import java.time.Instant;
@@ -29,7 +37,7 @@ public class PlaceServiceTest {
     @Mock
     private PlaceRepository placeRepository;
     @Mock
-    private CategoryRepository categoryRepository;
+    private CategoryDictionary categoryDictionary;
     @Mock
     private UserRepository userRepository;
     @Mock
@@ -37,7 +45,17 @@ public class PlaceServiceTest {
     @Mock
     private GoogleMapsService googleMapsService;
     @Mock
+    private PlaceSuggestionIndex placeSuggestionIndex;
+    @Spy
+    private PlaceListCache placeListCache = new PlaceListCache();
+    @Mock
+    private UserRoleCache userRoleCache;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
     private Clock clock;
+    @Mock
+    private TransactionTemplate transactionTemplate;
 
     @InjectMocks
     private PlaceService placeService;
@@ -51,9 +69,9 @@ public class PlaceServiceTest {
         category.setId(1L);
         category.setName(categoryName);
 
-        when(userRepository.findByUsername(username)).thenReturn(Optional.of(new User()));
+        when(userRoleCache.get(username)).thenReturn(Optional.of(new UserRoleCache.Account(1L, Set.of())));
         when(placeRepository.save(any(Place.class))).thenReturn(new Place());
-        when(categoryRepository.findByName(categoryName)).thenReturn(Optional.of(category));
+        when(categoryDictionary.findByName(categoryName)).thenReturn(Optional.of(category));
         when(clock.getZone()).thenReturn(ZoneId.systemDefault());
         when(clock.instant()).thenReturn(Instant.now());
 
@@ -68,9 +86,10 @@ public class PlaceServiceTest {
         assertThat(result.note()).isEqualTo(dto.note());
         assertThat(result.isPublic()).isEqualTo(dto.isPublic());
 
-        verify(userRepository).findByUsername(username);
-        verify(categoryRepository).findByName(categoryName);
+        verify(userRoleCache).get(username);
+        verify(categoryDictionary).findByName(categoryName);
         verify(placeRepository).save(any(Place.class));
+        verify(eventPublisher).publishEvent(any(PlaceChangedEvent.class));
     }
 
     @Test
@@ -83,7 +102,7 @@ public class PlaceServiceTest {
 
         CreatePlaceDTO dto = new CreatePlaceDTO(placeName,categoryName,0,0,address,note,true);
 
-        when(userRepository.findByUsername(username)).thenReturn(Optional.of(new User()));
+        when(userRoleCache.get(username)).thenReturn(Optional.of(new UserRoleCache.Account(1L, Set.of())));
         when(placeRepository.findByNameAndUser_Username(placeName,username)).thenReturn(Optional.of(new Place()));
 
         assertThatThrownBy(() -> placeService.save(username,dto))
@@ -101,9 +120,9 @@ public class PlaceServiceTest {
 
         CreatePlaceDTO dto = new CreatePlaceDTO(placeName,categoryName,0,0,address,note,true);
 
-        when(userRepository.findByUsername(username)).thenReturn(Optional.of(new User()));
+        when(userRoleCache.get(username)).thenReturn(Optional.of(new UserRoleCache.Account(1L, Set.of())));
         when(placeRepository.findByNameAndUser_Username(placeName,username)).thenReturn(Optional.empty());
-        when(categoryRepository.findByName(categoryName)).thenReturn(Optional.empty());
+        when(categoryDictionary.findByName(categoryName)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> placeService.save(username,dto))
                 .isInstanceOf(CategoryNotFoundException.class)
@@ -111,6 +130,33 @@ public class PlaceServiceTest {
     }
 
 
+    @Test
+    void savePlace_freeUserAtLimit_shouldThrowException(){
+        String username = "username";
+        String categoryName = "category";
+        Role freeRole = new Role(RoleName.FREE_USER);
+        User user = new User();
+        user.setId(1L);
+        user.setUsername(username);
+        user.setRoles(Set.of(freeRole));
+
+        Category category = new Category();
+        category.setName(categoryName);
+
+        CreatePlaceDTO dto = new CreatePlaceDTO("place",categoryName,37.4220656,-122.0840897,"address","note",true);
+
+        when(userRoleCache.get(username)).thenReturn(Optional.of(new UserRoleCache.Account(user.getId(), Set.of(RoleName.FREE_USER))));
+        when(placeRepository.findByNameAndUser_Username(dto.name(),username)).thenReturn(Optional.empty());
+        when(categoryDictionary.findByName(categoryName)).thenReturn(Optional.of(category));
+        when(userRepository.incrementPlaceCountBelowLimit(user.getId(),10)).thenReturn(0);
+
+        assertThatThrownBy(() -> placeService.save(username,dto))
+                .isInstanceOf(PlaceLimitExceededException.class);
+
+        verify(placeRepository, never()).save(any(Place.class));
+        verify(userRepository, never()).findByUsername(username);
+    }
+
     @Test
     void deletePlaceById_shouldDeletePlace(){
         User user = new User();
@@ -118,6 +164,7 @@ public class PlaceServiceTest {
         Place place = new Place();
         place.setId(1L);
         place.setUser(user);
+        place.setCategory(new Category());
 
         when(placeRepository.findById(place.getId())).thenReturn(Optional.of(place));
         doNothing().when(placeRepository).delete(place);
@@ -126,6 +173,8 @@ public class PlaceServiceTest {
 
         verify(placeRepository).findById(place.getId());
         verify(placeRepository).delete(place);
+        verify(userRepository).decrementPlaceCount(user.getId());
+        verify(eventPublisher).publishEvent(argThat((PlaceChangedEvent event) -> event.isDelete() && event.placeId() == 1L));
     }
 
     @Test
@@ -150,21 +199,27 @@ public class PlaceServiceTest {
         String senderUsername = "senderUsername";
         User receiver = new User();
         receiver.setUsername("receiverUsername");
+        User sender = new User();
+        sender.setId(2L);
+        sender.setUsername(senderUsername);
         Place place = new Place();
         place.setId(1L);
+        place.setCategory(new Category());
+        place.setUser(sender);
 
         when(userRepository.findByUsername(receiver.getUsername())).thenReturn(Optional.of(receiver));
-        when(placeRepository.findByIdAndUser_Username(place.getId(),senderUsername)).thenReturn(Optional.of(place));
+        when(placeRepository.findWithSharedWithByIdAndUser_Username(place.getId(),senderUsername)).thenReturn(Optional.of(place));
         when(placeRepository.save(any(Place.class))).thenReturn(place);
         when(userRepository.save(any(User.class))).thenReturn(receiver);
 
         placeService.share(senderUsername,receiver.getUsername(),place.getId());
         assertThat(receiver.getSharedPlaces())
                 .contains(place);
-        verify(placeRepository).findByIdAndUser_Username(place.getId(),senderUsername);
+        verify(placeRepository).findWithSharedWithByIdAndUser_Username(place.getId(),senderUsername);
         verify(userRepository).findByUsername(receiver.getUsername());
         verify(userRepository).save(receiver);
         verify(placeRepository).save(place);
+        verify(eventPublisher).publishEvent(any(PlaceSharedEvent.class));
     }
 
     @Test
@@ -174,7 +229,7 @@ public class PlaceServiceTest {
         receiver.setUsername("receiverUsername");
         Long placeId = 1L;
 
-        when(placeRepository.findByIdAndUser_Username(placeId,senderUsername)).thenReturn(Optional.empty());
+        when(placeRepository.findWithSharedWithByIdAndUser_Username(placeId,senderUsername)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> placeService.share(senderUsername,receiver.getUsername(),placeId))
                 .isInstanceOf(PlaceNotFoundException.class)
@@ -190,7 +245,7 @@ public class PlaceServiceTest {
         Place place = new Place();
         place.setId(1L);
 
-        when(placeRepository.findByIdAndUser_Username(place.getId(),senderUsername)).thenReturn(Optional.of(place));
+        when(placeRepository.findWithSharedWithByIdAndUser_Username(place.getId(),senderUsername)).thenReturn(Optional.of(place));
         when(userRepository.findByUsername(receiver.getUsername())).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> placeService.share(senderUsername,receiver.getUsername(),place.getId()))
@@ -204,6 +259,8 @@ public class PlaceServiceTest {
         String username = "username";
         Place place = new Place();
         place.setId(1L);
+        place.setUser(new User());
+        place.setCategory(new Category());
         Category category = new Category();
         String categoryName = "category";
         category.setId(1L);
@@ -212,7 +269,7 @@ public class PlaceServiceTest {
         UpdatePlaceDTO updatePlaceDTO = new UpdatePlaceDTO("place",categoryName,37.4220656,-122.0840897,"1600 Amphitheatre Parkway, Mountain View, CA 94043, USA","note");
 
         when(placeRepository.findByIdAndUser_Username(place.getId(),username)).thenReturn(Optional.of(place));
-        when(categoryRepository.findByName(categoryName)).thenReturn(Optional.of(category));
+        when(categoryDictionary.findByName(categoryName)).thenReturn(Optional.of(category));
         when(placeRepository.save(any(Place.class))).thenReturn(place);
 
         PlaceDTO result = placeService.update(username,place.getId(),updatePlaceDTO);
@@ -224,8 +281,17 @@ public class PlaceServiceTest {
         assertThat(result.note()).isEqualTo(updatePlaceDTO.note());
 
         verify(placeRepository).findByIdAndUser_Username(place.getId(),username);
-        verify(categoryRepository).findByName(categoryName);
+        verify(categoryDictionary).findByName(categoryName);
         verify(placeRepository).save(place);
+        verify(eventPublisher).publishEvent(argThat((PlaceChangedEvent event) ->
+                event.previous() != null && event.current().name().equals("place")));
+    }
+
+    @Test
+    void suggest_invalidLimit_shouldThrowException(){
+        assertThatThrownBy(() -> placeService.suggest("username", "ka", 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(placeSuggestionIndex);
     }
 
     @Test
@@ -252,8 +318,11 @@ public class PlaceServiceTest {
 
         UpdatePlaceDTO updatePlaceDTO = new UpdatePlaceDTO("place",categoryName,37.4220656,-122.0840897,"1600 Amphitheatre Parkway, Mountain View, CA 94043, USA","note");
 
-        when(placeRepository.findByIdAndUser_Username(placeId,username)).thenReturn(Optional.of(new Place()));
-        when(categoryRepository.findByName(categoryName)).thenReturn(Optional.empty());
+        Place place = new Place();
+        place.setCategory(new Category());
+
+        when(placeRepository.findByIdAndUser_Username(placeId,username)).thenReturn(Optional.of(place));
+        when(categoryDictionary.findByName(categoryName)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> placeService.update(username,placeId,updatePlaceDTO))
                 .isInstanceOf(CategoryNotFoundException.class)
@@ -292,7 +361,7 @@ public class PlaceServiceTest {
 
 
 
-        when(placeRepository.findAllByUser_Username(username)).thenReturn(List.of(place1,place2,place3));;
+        when(placeRepository.findDTOsByUsername(username)).thenReturn(List.of(PlaceDTO.fromEntity(place1),PlaceDTO.fromEntity(place2),PlaceDTO.fromEntity(place3)));;
 
         List<PlaceDTO> places = placeService.findAll(username);
 
@@ -311,7 +380,7 @@ public class PlaceServiceTest {
         assertThat(places.get(2).id()).isEqualTo(place3.getId());
         assertThat(places.get(2).category()).isEqualTo(place3.getCategory().getName());
 
-        verify(placeRepository).findAllByUser_Username(username);
+        verify(placeRepository).findDTOsByUsername(username);
     }
 
     @Test
@@ -343,7 +412,7 @@ public class PlaceServiceTest {
         place3.setCategory(category);
         place3.setUser(user);
 
-        when(placeRepository.findPrivatePlacesByUsername(username)).thenReturn(List.of(place1,place3));;
+        when(placeRepository.findPrivateDTOsByUsername(username)).thenReturn(List.of(PlaceDTO.fromEntity(place1),PlaceDTO.fromEntity(place3)));;
 
         List<PlaceDTO> places = placeService.findAllPrivate(username);
 
@@ -357,7 +426,7 @@ public class PlaceServiceTest {
         assertThat(places.get(1).id()).isEqualTo(place3.getId());
         assertThat(places.get(1).category()).isEqualTo(place3.getCategory().getName());
 
-        verify(placeRepository).findPrivatePlacesByUsername(username);
+        verify(placeRepository).findPrivateDTOsByUsername(username);
     }
 
     @Test
@@ -390,7 +459,7 @@ public class PlaceServiceTest {
         place3.setCategory(category);
         place3.setUser(friend);
 
-        when(placeRepository.findPublicPlacesByUsername(friendUsername)).thenReturn(List.of(place1,place3));
+        when(placeRepository.findPublicDTOsByUsername(friendUsername)).thenReturn(List.of(PlaceDTO.fromEntity(place1),PlaceDTO.fromEntity(place3)));
         when(friendService.isFriendWith(username,friendUsername)).thenReturn(true);
 
         List<PlaceDTO> places = placeService.findFriendPlaces(username,friendUsername);
@@ -405,7 +474,7 @@ public class PlaceServiceTest {
         assertThat(places.get(1).id()).isEqualTo(place3.getId());
         assertThat(places.get(1).category()).isEqualTo(place3.getCategory().getName());
 
-        verify(placeRepository).findPublicPlacesByUsername(friendUsername);
+        verify(placeRepository).findPublicDTOsByUsername(friendUsername);
         verify(friendService).isFriendWith(username,friendUsername);
     }
 
@@ -457,7 +526,7 @@ public class PlaceServiceTest {
         place3.setLatitude(0.8);
         place3.setLongitude(0.8);
 
-        when(placeRepository.findAllByUser_Username(username)).thenReturn(List.of(place1,place2,place3));
+        when(placeRepository.findDTOsByUsername(username)).thenReturn(List.of(PlaceDTO.fromEntity(place1),PlaceDTO.fromEntity(place2),PlaceDTO.fromEntity(place3)));
 
         PlaceDTO placeDTO = placeService.findNearestPlace(username,0,0);
         assertThat(placeDTO).isNotNull();
@@ -472,7 +541,7 @@ public class PlaceServiceTest {
         String username = "username";
 
 
-        when(placeRepository.findAllByUser_Username(username)).thenReturn(Collections.emptyList());
+        when(placeRepository.findDTOsByUsername(username)).thenReturn(Collections.emptyList());
 
         assertThatThrownBy(() -> placeService.findNearestPlace(username,0,0))
                 .isInstanceOf(PlaceNotFoundException.class)
@@ -508,7 +577,7 @@ public class PlaceServiceTest {
         place2.setLatitude(0.5);
         place2.setLongitude(0.5);
 
-        when(placeRepository.findAllByCategoryAndUser_Username(category.getName(),username)).thenReturn(List.of(place1,place2));
+        when(placeRepository.findDTOsByCategoryAndUsername(category.getName(),username)).thenReturn(List.of(PlaceDTO.fromEntity(place1),PlaceDTO.fromEntity(place2)));
 
         PlaceDTO placeDTO = placeService.findNearestPlace(username,0,0,category.getName());
         assertThat(placeDTO).isNotNull();
@@ -524,7 +593,7 @@ public class PlaceServiceTest {
         String categoryName = "category";
 
 
-        when(placeRepository.findAllByCategoryAndUser_Username(categoryName,username)).thenReturn(Collections.emptyList());
+        when(placeRepository.findDTOsByCategoryAndUsername(categoryName,username)).thenReturn(Collections.emptyList());
 
         assertThatThrownBy(() -> placeService.findNearestPlace(username,0,0,categoryName))
                 .isInstanceOf(PlaceNotFoundException.class)
@@ -0,0 +1,144 @@
+package com.example.app.services;
+
+import com.example.app.components.UserRoleCache;
+import com.example.app.dtos.CreatePlaceDTO;
+import com.example.app.dtos.PlaceBatchAction;
+import com.example.app.dtos.PlaceBatchOperationDTO;
+import com.example.app.dtos.PlaceDTO;
+import com.example.app.dtos.PlaceStatsDTO;
+import com.example.app.dtos.UpdatePlaceDTO;
+import com.example.app.entities.Role;
+import com.example.app.entities.RoleName;
+import com.example.app.entities.User;
+import com.example.app.repositories.RoleRepository;
+import com.example.app.repositories.UserPlaceStatsRepository;
+import com.example.app.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+public class PlaceStatsServiceTest {
+
+    @Autowired
+    private PlaceStatsService placeStatsService;
+    @Autowired
+    private PlaceService placeService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private UserPlaceStatsRepository statsRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserRoleCache userRoleCache;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        Role premiumRole = roleRepository.findByName(RoleName.PREMIUM_USER).orElseThrow();
+        User newUser = new User();
+        newUser.setUsername("statsUser");
+        newUser.setEmail("statsUser@example.com");
+        newUser.setPassword("password");
+        Set<Role> roles = new HashSet<>();
+        roles.add(premiumRole);
+        newUser.setRoles(roles);
+        user = userRepository.save(newUser);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM user_place_stats WHERE user_id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM places WHERE user_id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM user_roles WHERE user_id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+        // the users are deleted behind UserService, so their cached ids must go too
+        userRoleCache.evictAll();
+    }
+
+    @Test
+    void placeWrites_keepStatisticsInStepWithAFullRebuild() {
+        PlaceDTO warsaw = save("statsWarszawa", "Park", 52.2297, 21.0122);
+        PlaceDTO krakow = save("statsKrakow", "Muzeum", 50.0647, 19.9450);
+        save("statsGdansk", "Park", 54.3520, 18.6466);
+
+        placeService.update(user.getUsername(), krakow.id(),
+                new UpdatePlaceDTO("statsKrakow", "Restauracja", 51.1079, 17.0385, "Wrocław", null));
+        placeService.deleteById(user.getUsername(), warsaw.id());
+
+        PlaceStatsDTO incremental = placeStatsService.getStats(user.getUsername());
+        assertThat(incremental.totalPlaces()).isEqualTo(2);
+        assertThat(incremental.byCategory()).containsOnlyKeys("Park", "Restauracja");
+        assertThat(incremental.totalDistanceKm()).isCloseTo(377.0, within(5.0));
+
+        transactionTemplate.executeWithoutResult(status -> placeStatsService.rebuild(user.getId()));
+        PlaceStatsDTO rebuilt = placeStatsService.getStats(user.getUsername());
+
+        assertThat(incremental.byCategory()).isEqualTo(rebuilt.byCategory());
+        assertThat(incremental.byMonth()).isEqualTo(rebuilt.byMonth());
+        assertThat(incremental.publicPlaces()).isEqualTo(rebuilt.publicPlaces());
+        assertThat(incremental.totalDistanceKm()).isCloseTo(rebuilt.totalDistanceKm(), within(1e-6));
+        assertThat(incremental.centroidLatitude()).isCloseTo(rebuilt.centroidLatitude(), within(1e-9));
+    }
+
+    @Test
+    void batchWrite_adjustsCountersAndDistanceLikeAFullRebuild() {
+        PlaceDTO warsaw = save("statsWarszawa", "Park", 52.2297, 21.0122);
+        PlaceDTO krakow = save("statsKrakow", "Muzeum", 50.0647, 19.9450);
+
+        placeService.applyBatch(user.getUsername(), List.of(
+                new PlaceBatchOperationDTO(PlaceBatchAction.CREATE, null,
+                        new CreatePlaceDTO("statsGdansk", "Park", 54.3520, 18.6466, "adres", null, false), null),
+                new PlaceBatchOperationDTO(PlaceBatchAction.UPDATE, krakow.id(), null,
+                        new UpdatePlaceDTO("statsKrakow", "Restauracja", 51.1079, 17.0385, "Wrocław", null)),
+                new PlaceBatchOperationDTO(PlaceBatchAction.DELETE, warsaw.id(), null, null)));
+
+        PlaceStatsDTO incremental = placeStatsService.getStats(user.getUsername());
+        assertThat(incremental.totalPlaces()).isEqualTo(2);
+        assertThat(incremental.publicPlaces()).isEqualTo(1);
+        assertThat(incremental.byCategory()).containsOnlyKeys("Park", "Restauracja");
+
+        transactionTemplate.executeWithoutResult(status -> placeStatsService.rebuild(user.getId()));
+        PlaceStatsDTO rebuilt = placeStatsService.getStats(user.getUsername());
+
+        assertThat(incremental.byCategory()).isEqualTo(rebuilt.byCategory());
+        assertThat(incremental.byMonth()).isEqualTo(rebuilt.byMonth());
+        assertThat(incremental.totalDistanceKm()).isCloseTo(rebuilt.totalDistanceKm(), within(1e-6));
+        assertThat(incremental.centroidLatitude()).isCloseTo(rebuilt.centroidLatitude(), within(1e-9));
+    }
+
+    @Test
+    void getStats_withoutStoredRow_rebuildsFromPlaces() {
+        save("statsPark", "Park", 52.2297, 21.0122);
+        jdbcTemplate.update("DELETE FROM user_place_stats WHERE user_id = ?", user.getId());
+
+        PlaceStatsDTO stats = placeStatsService.getStats(user.getUsername());
+
+        assertThat(stats.totalPlaces()).isEqualTo(1);
+        assertThat(stats.byCategory()).containsEntry("Park", 1L);
+        assertThat(stats.centroidLatitude()).isCloseTo(52.2297, within(1e-9));
+        assertThat(statsRepository.findById(user.getId())).isPresent();
+    }
+
+    private PlaceDTO save(String name, String category, double latitude, double longitude) {
+        return placeService.save(user.getUsername(),
+                new CreatePlaceDTO(name, category, latitude, longitude, "adres", null, true));
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.app.services;
+
+import com.example.app.dtos.CreatePlaceDTO;
+import com.example.app.dtos.PlaceBatchAction;
+import com.example.app.dtos.PlaceBatchOperationDTO;
+import com.example.app.dtos.PlaceChangesDTO;
+import com.example.app.dtos.PlaceDTO;
+import com.example.app.dtos.UpdatePlaceDTO;
+import com.example.app.entities.Role;
+import com.example.app.entities.RoleName;
+import com.example.app.entities.User;
+import com.example.app.repositories.RoleRepository;
+import com.example.app.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+public class PlaceSyncServiceTest {
+
+    @Autowired
+    private PlaceSyncService placeSyncService;
+    @Autowired
+    private PlaceService placeService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<User> users = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        for (User user : users) {
+            jdbcTemplate.update("DELETE FROM place_tombstones WHERE user_id = ?", user.getId());
+            jdbcTemplate.update("DELETE FROM user_place_stats WHERE user_id = ?", user.getId());
+            jdbcTemplate.update("DELETE FROM places WHERE user_id = ?", user.getId());
+            jdbcTemplate.update("DELETE FROM user_roles WHERE user_id = ?", user.getId());
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+        }
+    }
+
+    @Test
+    void changesSince_returnsOnlyWritesAfterTheTokenWithTombstones() {
+        User user = createUser("syncUser");
+        PlaceDTO kept = placeService.save(user.getUsername(), place("syncKept"));
+        PlaceDTO edited = placeService.save(user.getUsername(), place("syncEdited"));
+        PlaceDTO removed = placeService.save(user.getUsername(), place("syncRemoved"));
+
+        PlaceChangesDTO initial = placeSyncService.changesSince(user.getUsername(), null);
+        assertThat(initial.full()).isTrue();
+        assertThat(initial.places()).hasSize(3);
+
+        placeService.update(user.getUsername(), edited.id(), new UpdatePlaceDTO(null, "Muzeum", 0, 0, null, "nowa notatka"));
+        placeService.deleteById(user.getUsername(), removed.id());
+        PlaceDTO added = placeService.save(user.getUsername(), place("syncAdded"));
+
+        PlaceChangesDTO delta = placeSyncService.changesSince(user.getUsername(), initial.token());
+        assertThat(delta.full()).isFalse();
+        assertThat(delta.places()).extracting(PlaceDTO::id).containsExactlyInAnyOrder(edited.id(), added.id());
+        assertThat(delta.places()).extracting(PlaceDTO::id).doesNotContain(kept.id());
+        assertThat(delta.deleted()).containsExactly(removed.id());
+        assertThat(Long.parseLong(delta.token())).isGreaterThan(Long.parseLong(initial.token()));
+
+        PlaceChangesDTO unchanged = placeSyncService.changesSince(user.getUsername(), delta.token());
+        assertThat(unchanged.token()).isEqualTo(delta.token());
+        assertThat(unchanged.places()).isEmpty();
+        assertThat(unchanged.deleted()).isEmpty();
+    }
+
+    @Test
+    void changesSince_coversBatchWritesWithOneSequenceStep() {
+        User user = createUser("syncBatch");
+        PlaceDTO removed = placeService.save(user.getUsername(), place("syncBatchRemoved"));
+        String token = placeSyncService.changesSince(user.getUsername(), null).token();
+
+        placeService.applyBatch(user.getUsername(), List.of(
+                new PlaceBatchOperationDTO(PlaceBatchAction.CREATE, null, place("syncBatchA"), null),
+                new PlaceBatchOperationDTO(PlaceBatchAction.CREATE, null, place("syncBatchB"), null),
+                new PlaceBatchOperationDTO(PlaceBatchAction.DELETE, removed.id(), null, null)
+        ));
+
+        PlaceChangesDTO delta = placeSyncService.changesSince(user.getUsername(), token);
+        assertThat(delta.places()).extracting(PlaceDTO::name).containsExactlyInAnyOrder("syncBatchA", "syncBatchB");
+        assertThat(delta.deleted()).containsExactly(removed.id());
+        assertThat(Long.parseLong(delta.token())).isEqualTo(Long.parseLong(token) + 1);
+    }
+
+    @Test
+    void changesSince_unknownTokenFallsBackToFullListAndGarbageIsRejected() {
+        User user = createUser("syncReset");
+        placeService.save(user.getUsername(), place("syncResetPlace"));
+
+        PlaceChangesDTO reset = placeSyncService.changesSince(user.getUsername(), "999999");
+        assertThat(reset.full()).isTrue();
+        assertThat(reset.places()).extracting(PlaceDTO::name).containsExactly("syncResetPlace");
+
+        assertThatThrownBy(() -> placeSyncService.changesSince(user.getUsername(), "abc"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static CreatePlaceDTO place(String name) {
+        return new CreatePlaceDTO(name, "Park", 52.4, 16.9, "Poznań", null, true);
+    }
+
+    private User createUser(String username) {
+        Role role = roleRepository.findByName(RoleName.PREMIUM_USER).orElseThrow();
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        Set<Role> roles = new HashSet<>();
+        roles.add(role);
+        user.setRoles(roles);
+        user = userRepository.save(user);
+        users.add(user);
+        return user;
+    }
+}
@@ -1,5 +1,18 @@
 package com.example.app.services;
 
+import com.example.app.components.ContactDiscoveryIndex;
+import com.example.app.components.ContactDiscoveryQuota;
+import com.example.app.components.FriendGraphCache;
+import com.example.app.components.PlaceListCache;
+import com.example.app.components.PlaceQueryCache;
+import com.example.app.components.PlaceSearchIndexer;
+import com.example.app.components.ResourceVersions;
+import com.example.app.components.TrendingPlaces;
+import com.example.app.components.PlaceSuggestionIndex;
+import com.example.app.components.UserAvailabilityFilter;
+import com.example.app.components.UserRoleCache;
+import com.example.app.dtos.AvailabilityDTO;
+import com.example.app.dtos.ContactMatchDTO;
 import com.example.app.dtos.CreateUserDTO;
 import com.example.app.dtos.PasswordDTO;
 import com.example.app.dtos.UpdateUserDTO;
@@ -18,15 +31,19 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -39,6 +56,28 @@ public class UserServiceTest {
     private RoleRepository roleRepository;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private FriendGraphCache friendGraphCache;
+    @Mock
+    private ContactDiscoveryIndex contactDiscoveryIndex;
+    @Mock
+    private ContactDiscoveryQuota contactDiscoveryQuota;
+    @Mock
+    private UserAvailabilityFilter userAvailabilityFilter;
+    @Mock
+    private PlaceSuggestionIndex placeSuggestionIndex;
+    @Mock
+    private PlaceQueryCache placeQueryCache;
+    @Mock
+    private PlaceListCache placeListCache;
+    @Mock
+    private ResourceVersions resourceVersions;
+    @Mock
+    private UserRoleCache userRoleCache;
+    @Mock
+    private PlaceSearchIndexer placeSearchIndexer;
+    @Mock
+    private TrendingPlaces trendingPlaces;
 
     @InjectMocks
     private UserService userService;
@@ -48,8 +87,10 @@ public class UserServiceTest {
         CreateUserDTO dto = new CreateUserDTO("username", "email@email.com", "password");
 
         Role freeUserRole = new Role(RoleName.FREE_USER);
+        when(userAvailabilityFilter.mightContainUsername("username")).thenReturn(true);
+        when(userAvailabilityFilter.mightContainEmail("email@email.com")).thenReturn(true);
 
-        when(userRepository.findByUsername("username")).thenReturn(Optional.empty());
+        when(userRepository.existsByUsername("username")).thenReturn(false);
         when(userRepository.existsByEmail("email@email.com")).thenReturn(false);
         when(roleRepository.findByName(RoleName.FREE_USER)).thenReturn(Optional.of(freeUserRole));
         when(passwordEncoder.encode("password")).thenReturn("encodedPassword");
@@ -71,13 +112,98 @@ public class UserServiceTest {
 
         verify(userRepository).save(any(User.class));
         verify(passwordEncoder).encode("password");
+        verify(contactDiscoveryIndex).put(1L, "username", "email@email.com");
+        verify(userAvailabilityFilter).put("username", "email@email.com");
+        verify(userRepository).existsByUsername("username");
+        verify(userRepository).existsByEmail("email@email.com");
+    }
+
+    @Test
+    void registerUser_definitelyFreeValues_skipDatabaseChecks() {
+        CreateUserDTO dto = new CreateUserDTO("username", "email@email.com", "password");
+        when(roleRepository.findByName(RoleName.FREE_USER)).thenReturn(Optional.of(new Role(RoleName.FREE_USER)));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        userService.registerUser(dto);
+
+        verify(userRepository, never()).existsByUsername("username");
+        verify(userRepository, never()).existsByEmail("email@email.com");
+    }
+
+    @Test
+    void registerUser_usernameTakenOnAnotherNode_isRejectedByTheUniqueConstraint() {
+        CreateUserDTO dto = new CreateUserDTO("username", "email@email.com", "password");
+
+        // this node's filter never saw the registration made elsewhere
+        when(userAvailabilityFilter.mightContainUsername("username")).thenReturn(false);
+        when(roleRepository.findByName(RoleName.FREE_USER)).thenReturn(Optional.of(new Role(RoleName.FREE_USER)));
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("users_username_key"));
+        when(userRepository.existsByUsername("username")).thenReturn(true);
+
+        assertThatThrownBy(() -> userService.registerUser(dto))
+                .isInstanceOf(UsernameAlreadyUsedException.class);
+        verify(userAvailabilityFilter, never()).put(anyString(), anyString());
+    }
+
+    @Test
+    void checkAvailability_definitelyFreeValues_skipDatabase() {
+        when(userAvailabilityFilter.mightContainUsername("free")).thenReturn(false);
+        when(userAvailabilityFilter.mightContainEmail("free@example.com")).thenReturn(false);
+
+        AvailabilityDTO result = userService.checkAvailability("free", "free@example.com");
+
+        assertThat(result.usernameAvailable()).isTrue();
+        assertThat(result.emailAvailable()).isTrue();
+        verify(userRepository, never()).existsByUsername("free");
+        verify(userRepository, never()).existsByEmail("free@example.com");
+    }
+
+    @Test
+    void checkAvailability_maybeTakenValues_confirmedInDatabase() {
+        when(userAvailabilityFilter.mightContainUsername("taken")).thenReturn(true);
+        when(userAvailabilityFilter.mightContainEmail("fp@example.com")).thenReturn(true);
+        when(userRepository.existsByUsername("taken")).thenReturn(true);
+        when(userRepository.existsByEmail("fp@example.com")).thenReturn(false);
+
+        AvailabilityDTO result = userService.checkAvailability("taken", "fp@example.com");
+
+        assertThat(result.usernameAvailable()).isFalse();
+        assertThat(result.emailAvailable()).isTrue();
+    }
+
+    @Test
+    void updateCurrentUser_renamed_retiresPreviousUsername() {
+        User user = new User();
+        user.setUsername("old");
+        user.setEmail("same@example.com");
+
+        when(userRepository.findByUsername("old")).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        userService.updateCurrentUser(new UpdateUserDTO("new", "same@example.com"), "old");
+
+        verify(userAvailabilityFilter).put("new", "same@example.com");
+        verify(userAvailabilityFilter).retire("old", null);
+    }
+
+    @Test
+    void discoverContacts_excludesCurrentUser() {
+        when(contactDiscoveryIndex.match(List.of("h1", "h2"))).thenReturn(List.of(
+                new ContactMatchDTO("h1", "me"), new ContactMatchDTO("h2", "friend")));
+
+        List<ContactMatchDTO> result = userService.discoverContacts("me", List.of("h1", "h2"));
+
+        assertThat(result).extracting(ContactMatchDTO::username).containsExactly("friend");
+        verify(contactDiscoveryQuota).consume("me", 2);
     }
 
     @Test
     void registerUser_emailAlreadyUsed_throwsException() {
         CreateUserDTO dto = new CreateUserDTO("username", "email@email.com", "password");
+        when(userAvailabilityFilter.mightContainUsername("username")).thenReturn(true);
+        when(userAvailabilityFilter.mightContainEmail("email@email.com")).thenReturn(true);
 
-        when(userRepository.findByUsername("username")).thenReturn(Optional.empty());
+        when(userRepository.existsByUsername("username")).thenReturn(false);
         when(userRepository.existsByEmail("email@email.com")).thenReturn(true);
 
         assertThatThrownBy(() -> userService.registerUser(dto))
@@ -88,8 +214,9 @@ public class UserServiceTest {
     @Test
     void registerUser_usernameAlreadyUsed_throwsException() {
         CreateUserDTO dto = new CreateUserDTO("username", "email@email.com", "password");
+        when(userAvailabilityFilter.mightContainUsername("username")).thenReturn(true);
 
-        when(userRepository.findByUsername("username")).thenReturn(Optional.of(new User()));
+        when(userRepository.existsByUsername("username")).thenReturn(true);
 
         assertThatThrownBy(() -> userService.registerUser(dto))
                 .isInstanceOf(UsernameAlreadyUsedException.class)
@@ -212,14 +339,9 @@ public class UserServiceTest {
     @Test
     void getCurrentUserPremiumStatus_userHasPremiumRole_returnsPremium() {
         String username = "premiumUser";
-        User user = new User();
-        user.setUsername(username);
-
-        Role premiumRole = new Role();
-        premiumRole.setName(RoleName.PREMIUM_USER);
-        user.setRoles(Set.of(premiumRole));
 
-        when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+        when(userRoleCache.get(username)).thenReturn(Optional.of(
+                new UserRoleCache.Account(1L, Set.of(RoleName.FREE_USER, RoleName.PREMIUM_USER))));
 
         PremiumStatus result = userService.getCurrentUserPremiumStatus(username);
 
@@ -229,14 +351,8 @@ public class UserServiceTest {
     @Test
     void getCurrentUserPremiumStatus_userHasOnlyFreeRole_returnsNonPremium() {
         String username = "freeUser";
-        User user = new User();
-        user.setUsername(username);
 
-        Role freeRole = new Role();
-        freeRole.setName(RoleName.FREE_USER);
-        user.setRoles(Set.of(freeRole));
-
-        when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+        when(userRoleCache.get(username)).thenReturn(Optional.of(new UserRoleCache.Account(1L, Set.of(RoleName.FREE_USER))));
 
         PremiumStatus result = userService.getCurrentUserPremiumStatus(username);
 
@@ -247,7 +363,7 @@ public class UserServiceTest {
     void getCurrentUserPremiumStatus_userNotFound_throwsException() {
         String username = "unknown";
 
-        when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
+        when(userRoleCache.get(username)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> userService.getCurrentUserPremiumStatus(username))
                 .isInstanceOf(UserNotFoundException.class)
@@ -273,6 +389,7 @@ public class UserServiceTest {
 
         assertThat(user.getRoles()).contains(role);
         verify(userRepository).save(user);
+        verify(userRoleCache).evict(user.getUsername());
     }
 
     @Test
@@ -321,6 +438,7 @@ public class UserServiceTest {
                 .doesNotContain(RoleName.PREMIUM_USER);
 
         verify(userRepository).save(user);
+        verify(userRoleCache).evict(user.getUsername());
     }
 
     @Test
@@ -0,0 +1,40 @@
+package com.example.app.support;
+
+import com.example.app.components.CategoryChangeNotifier;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Local stand-in for Postgres LISTEN/NOTIFY: one instance plays the channel and hands out a
+ * notifier per simulated node. A node's notification reaches every other node, never itself.
+ */
+public class InMemoryCategoryChangeNotifier {
+
+    private final List<Node> nodes = new CopyOnWriteArrayList<>();
+
+    public CategoryChangeNotifier node() {
+        Node node = new Node();
+        nodes.add(node);
+        return node;
+    }
+
+    private class Node implements CategoryChangeNotifier {
+
+        private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void notifyChanged() {
+            for (Node node : nodes) {
+                if (node != this) {
+                    node.listeners.forEach(Runnable::run);
+                }
+            }
+        }
+
+        @Override
+        public void subscribe(Runnable listener) {
+            listeners.add(listener);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.app.support;
+
+import com.example.app.components.PlaceIndexOperation;
+import com.example.app.components.PlaceSearchClient;
+import com.example.app.dtos.PlaceDTO;
+import com.example.app.dtos.PlaceSearchQuery;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for Elasticsearch: keeps documents in memory and evaluates the same query
+ * semantics (all terms in name/note/address, category term, geo distance, owner filter).
+ */
+public class InMemoryPlaceSearchClient implements PlaceSearchClient {
+
+    private final Map<Long, PlaceIndexOperation> documents = new ConcurrentHashMap<>();
+    private final List<List<PlaceIndexOperation>> bulkRequests = new ArrayList<>();
+    private final AtomicInteger failuresToSimulate = new AtomicInteger();
+    private final AtomicInteger indexFailuresToSimulate = new AtomicInteger();
+    private boolean indexExists;
+
+    @Override
+    public synchronized boolean ensureIndex() {
+        if (indexFailuresToSimulate.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+            throw new IllegalStateException("simulated cluster failure");
+        }
+        boolean created = !indexExists;
+        indexExists = true;
+        return created;
+    }
+
+    @Override
+    public synchronized BulkResult bulk(List<PlaceIndexOperation> operations) {
+        bulkRequests.add(List.copyOf(operations));
+        if (failuresToSimulate.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+            throw new IllegalStateException("simulated cluster failure");
+        }
+        for (PlaceIndexOperation operation : operations) {
+            if (operation.isDelete()) {
+                documents.remove(operation.placeId());
+            } else {
+                documents.put(operation.placeId(), operation);
+            }
+        }
+        return BulkResult.success();
+    }
+
+    @Override
+    public List<PlaceDTO> search(PlaceSearchQuery query) {
+        return documents.values().stream()
+                .filter(doc -> doc.userId().equals(query.userId()))
+                .filter(doc -> !query.hasCategory() || query.category().equals(doc.place().category()))
+                .filter(doc -> !query.hasGeoFilter() || distanceKm(query.latitude(), query.longitude(),
+                        doc.place().latitude(), doc.place().longitude()) <= query.radiusKm())
+                .filter(doc -> !query.hasText() || matchesAllTerms(doc.place(), query.text()))
+                .map(PlaceIndexOperation::place)
+                .sorted(Comparator.comparing(PlaceDTO::id))
+                .limit(query.limit())
+                .toList();
+    }
+
+    public void failNextBulkRequests(int count) {
+        failuresToSimulate.set(count);
+    }
+
+    public void failNextIndexChecks(int count) {
+        indexFailuresToSimulate.set(count);
+    }
+
+    public synchronized List<List<PlaceIndexOperation>> bulkRequests() {
+        return List.copyOf(bulkRequests);
+    }
+
+    public int documentCount() {
+        return documents.size();
+    }
+
+    private static boolean matchesAllTerms(PlaceDTO place, String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String field : new String[]{place.name(), place.note(), place.address()}) {
+            if (field != null) {
+                tokens.addAll(Arrays.asList(field.toLowerCase(Locale.ROOT).split("\\W+")));
+            }
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("\\W+"))
+                .filter(term -> !term.isEmpty())
+                .allMatch(tokens::contains);
+    }
+
+    private static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 6371 * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+}